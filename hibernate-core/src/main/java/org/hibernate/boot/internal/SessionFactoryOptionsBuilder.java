@@ -81,12 +81,15 @@ import static org.hibernate.cfg.AvailableSettings.ALLOW_REFRESH_DETACHED_ENTITY;
 import static org.hibernate.cfg.AvailableSettings.ALLOW_UPDATE_OUTSIDE_TRANSACTION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_CLOSE_SESSION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_EVICT_COLLECTION_CACHE;
+import static org.hibernate.cfg.AvailableSettings.AUTO_FLUSH_QUERY_SPACES_PRECHECK;
 import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
+import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_ARRAY_PARAMETER;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
 import static org.hibernate.cfg.AvailableSettings.CALLABLE_NAMED_PARAMS_ENABLED;
 import static org.hibernate.cfg.AvailableSettings.CHECK_NULLABILITY;
+import static org.hibernate.cfg.AvailableSettings.COMPILED_ROW_READERS;
 import static org.hibernate.cfg.AvailableSettings.CONNECTION_HANDLING;
 import static org.hibernate.cfg.AvailableSettings.CRITERIA_VALUE_HANDLING_MODE;
 import static org.hibernate.cfg.AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY;
@@ -98,6 +101,8 @@ import static org.hibernate.cfg.AvailableSettings.DISCARD_PC_ON_CLOSE;
 import static org.hibernate.cfg.AvailableSettings.ENABLE_LAZY_LOAD_NO_TRANS;
 import static org.hibernate.cfg.AvailableSettings.FAIL_ON_PAGINATION_OVER_COLLECTION_FETCH;
 import static org.hibernate.cfg.AvailableSettings.FLUSH_BEFORE_COMPLETION;
+import static org.hibernate.cfg.AvailableSettings.FLUSH_DIRTY_REGION_ONLY;
+import static org.hibernate.cfg.AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD;
 import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.IMMUTABLE_ENTITY_UPDATE_QUERY_HANDLING_MODE;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
@@ -108,10 +113,16 @@ import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
 import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
 import static org.hibernate.cfg.AvailableSettings.MAX_FETCH_DEPTH;
 import static org.hibernate.cfg.AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER;
+import static org.hibernate.cfg.AvailableSettings.ORDER_DELETES;
 import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.PACK_LOADED_STATE;
+import static org.hibernate.cfg.AvailableSettings.PRECOMPILE_NAMED_QUERIES;
 import static org.hibernate.cfg.AvailableSettings.PREFER_USER_TRANSACTION;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_COALESCING_TIMEOUT;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_INVALIDATION_BUCKETS;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_REFRESH_AHEAD;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STATISTICS_MAX_SIZE;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
@@ -120,6 +131,8 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_SCOPED_INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
+import static org.hibernate.cfg.AvailableSettings.USE_COLUMNAR_QUERY_CACHE;
+import static org.hibernate.cfg.AvailableSettings.USE_COMPACT_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
@@ -192,10 +205,16 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private BatchFetchStyle batchFetchStyle;
 	private boolean delayBatchFetchLoaderCreations;
 	private int defaultBatchFetchSize;
+	private boolean batchFetchArrayParameterEnabled;
 	private Integer maximumFetchDepth;
 	private NullPrecedence defaultNullPrecedence;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private boolean orderDeletesEnabled;
+	private boolean flushDirtyRegionOnlyEnabled;
+	private boolean autoFlushQuerySpacesPrecheckEnabled;
+	private int flushParallelDirtyCheckThreshold;
+	private boolean packLoadedStateEnabled;
 	private boolean postInsertIdentifierDelayed;
 	private boolean collectionsInDefaultFetchGroupEnabled;
 
@@ -214,6 +233,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private SqmTranslatorFactory sqmTranslatorFactory;
 	private Boolean useOfJdbcNamedParametersEnabled;
 	private boolean namedQueryStartupCheckingEnabled;
+	private boolean namedQueryPrecompilationEnabled;
 	private final int preferredSqlTypeCodeForBoolean;
 	private final int preferredSqlTypeCodeForDuration;
 	private final int preferredSqlTypeCodeForUuid;
@@ -228,6 +248,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean compactCacheEntriesEnabled;
+	private boolean columnarQueryCacheEntriesEnabled;
+	private int queryCacheInvalidationBuckets;
+	private int queryCacheCoalescingTimeout;
+	private int queryCacheRefreshAhead;
 	private boolean directReferenceCacheEntriesEnabled;
 	private boolean autoEvictCollectionCache;
 
@@ -239,6 +264,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private int jdbcBatchSize;
 	private boolean jdbcBatchVersionedData;
 	private Integer jdbcFetchSize;
+	private boolean compiledRowReadersEnabled;
 	private boolean scrollableResultSetsEnabled;
 	private boolean commentsEnabled;
 	private PhysicalConnectionHandlingMode connectionHandlingMode;
@@ -367,6 +393,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.batchFetchStyle = BatchFetchStyle.interpret( configurationSettings.get( BATCH_FETCH_STYLE ) );
 		this.delayBatchFetchLoaderCreations = cfgService.getSetting( DELAY_ENTITY_LOADER_CREATIONS, BOOLEAN, true );
 		this.defaultBatchFetchSize = ConfigurationHelper.getInt( DEFAULT_BATCH_FETCH_SIZE, configurationSettings, -1 );
+		this.batchFetchArrayParameterEnabled = ConfigurationHelper.getBoolean( BATCH_FETCH_ARRAY_PARAMETER, configurationSettings );
 		this.maximumFetchDepth = ConfigurationHelper.getInteger( MAX_FETCH_DEPTH, configurationSettings );
 		final String defaultNullPrecedence = ConfigurationHelper.getString(
 				AvailableSettings.DEFAULT_NULL_ORDERING, configurationSettings, "none", "first", "last"
@@ -374,6 +401,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.defaultNullPrecedence = NullPrecedence.parse( defaultNullPrecedence );
 		this.orderUpdatesEnabled = ConfigurationHelper.getBoolean( ORDER_UPDATES, configurationSettings );
 		this.orderInsertsEnabled = ConfigurationHelper.getBoolean( ORDER_INSERTS, configurationSettings );
+		this.orderDeletesEnabled = ConfigurationHelper.getBoolean( ORDER_DELETES, configurationSettings );
+		this.flushDirtyRegionOnlyEnabled = ConfigurationHelper.getBoolean( FLUSH_DIRTY_REGION_ONLY, configurationSettings );
+		this.autoFlushQuerySpacesPrecheckEnabled = ConfigurationHelper.getBoolean( AUTO_FLUSH_QUERY_SPACES_PRECHECK, configurationSettings );
+		this.flushParallelDirtyCheckThreshold = ConfigurationHelper.getInt( FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, configurationSettings, 0 );
+		this.packLoadedStateEnabled = ConfigurationHelper.getBoolean( PACK_LOADED_STATE, configurationSettings );
 
 		this.callbacksEnabled = ConfigurationHelper.getBoolean( JPA_CALLBACKS_ENABLED, configurationSettings, true );
 
@@ -425,6 +457,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.useOfJdbcNamedParametersEnabled = cfgService.getSetting( CALLABLE_NAMED_PARAMS_ENABLED, BOOLEAN, true );
 
 		this.namedQueryStartupCheckingEnabled = cfgService.getSetting( QUERY_STARTUP_CHECKING, BOOLEAN, true );
+		this.namedQueryPrecompilationEnabled = cfgService.getSetting( PRECOMPILE_NAMED_QUERIES, BOOLEAN, false );
 		this.preferredSqlTypeCodeForBoolean = ConfigurationHelper.getPreferredSqlTypeCodeForBoolean( serviceRegistry );
 		this.preferredSqlTypeCodeForDuration = ConfigurationHelper.getPreferredSqlTypeCodeForDuration( serviceRegistry );
 		this.preferredSqlTypeCodeForUuid = ConfigurationHelper.getPreferredSqlTypeCodeForUuid( serviceRegistry );
@@ -451,6 +484,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 					regionFactory.isMinimalPutsEnabledByDefault()
 			);
 			this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
+			this.compactCacheEntriesEnabled = cfgService.getSetting( USE_COMPACT_CACHE_ENTRIES, BOOLEAN, false );
+			this.columnarQueryCacheEntriesEnabled = cfgService.getSetting( USE_COLUMNAR_QUERY_CACHE, BOOLEAN, false );
+			this.queryCacheInvalidationBuckets = ConfigurationHelper.getInt( QUERY_CACHE_INVALIDATION_BUCKETS, configurationSettings, 0 );
+			this.queryCacheCoalescingTimeout = ConfigurationHelper.getInt( QUERY_CACHE_COALESCING_TIMEOUT, configurationSettings, 0 );
+			this.queryCacheRefreshAhead = ConfigurationHelper.getInt( QUERY_CACHE_REFRESH_AHEAD, configurationSettings, 0 );
 			this.directReferenceCacheEntriesEnabled = cfgService.getSetting(
 					USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 					BOOLEAN,
@@ -465,6 +503,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 			this.cacheRegionPrefix = null;
 			this.minimalPutsEnabled = false;
 			this.structuredCacheEntriesEnabled = false;
+			this.columnarQueryCacheEntriesEnabled = false;
+			this.queryCacheInvalidationBuckets = 0;
 			this.directReferenceCacheEntriesEnabled = false;
 			this.autoEvictCollectionCache = false;
 		}
@@ -506,6 +546,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				meta.supportsGetGeneratedKeys()
 		);
 		this.jdbcFetchSize = ConfigurationHelper.getInteger( STATEMENT_FETCH_SIZE, configurationSettings );
+		this.compiledRowReadersEnabled = ConfigurationHelper.getBoolean( COMPILED_ROW_READERS, configurationSettings );
 
 		this.connectionHandlingMode = interpretConnectionHandlingMode( configurationSettings, serviceRegistry );
 		this.connectionProviderDisablesAutoCommit = ConfigurationHelper.getBoolean(
@@ -1009,6 +1050,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return defaultBatchFetchSize;
 	}
 
+	@Override
+	public boolean isBatchFetchArrayParameterEnabled() {
+		return batchFetchArrayParameterEnabled;
+	}
+
 	@Override
 	public Integer getMaximumFetchDepth() {
 		return maximumFetchDepth;
@@ -1029,6 +1075,31 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return orderInsertsEnabled;
 	}
 
+	@Override
+	public boolean isOrderDeletesEnabled() {
+		return orderDeletesEnabled;
+	}
+
+	@Override
+	public boolean isFlushDirtyRegionOnlyEnabled() {
+		return flushDirtyRegionOnlyEnabled;
+	}
+
+	@Override
+	public boolean isAutoFlushQuerySpacesPrecheckEnabled() {
+		return autoFlushQuerySpacesPrecheckEnabled;
+	}
+
+	@Override
+	public int getFlushParallelDirtyCheckThreshold() {
+		return flushParallelDirtyCheckThreshold;
+	}
+
+	@Override
+	public boolean isPackLoadedStateEnabled() {
+		return packLoadedStateEnabled;
+	}
+
 	@Override
 	public boolean isMultiTenancyEnabled() {
 		return multiTenancyEnabled;
@@ -1049,6 +1120,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	@Override
+	public boolean isNamedQueryPrecompilationEnabled() {
+		return namedQueryPrecompilationEnabled;
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return secondLevelCacheEnabled;
@@ -1079,6 +1155,31 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return structuredCacheEntriesEnabled;
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return compactCacheEntriesEnabled;
+	}
+
+	@Override
+	public boolean isColumnarQueryCacheEntriesEnabled() {
+		return columnarQueryCacheEntriesEnabled;
+	}
+
+	@Override
+	public int getQueryCacheInvalidationBuckets() {
+		return queryCacheInvalidationBuckets;
+	}
+
+	@Override
+	public int getQueryCacheCoalescingTimeout() {
+		return queryCacheCoalescingTimeout;
+	}
+
+	@Override
+	public int getQueryCacheRefreshAhead() {
+		return queryCacheRefreshAhead;
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
@@ -1119,6 +1220,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return jdbcFetchSize;
 	}
 
+	@Override
+	public boolean isCompiledRowReadersEnabled() {
+		return compiledRowReadersEnabled;
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return connectionHandlingMode;
@@ -182,6 +182,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getDefaultBatchFetchSize();
 	}
 
+	@Override
+	public boolean isBatchFetchArrayParameterEnabled() {
+		return delegate.isBatchFetchArrayParameterEnabled();
+	}
+
 	@Override
 	public Integer getMaximumFetchDepth() {
 		return delegate.getMaximumFetchDepth();
@@ -202,6 +207,31 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isOrderInsertsEnabled();
 	}
 
+	@Override
+	public boolean isOrderDeletesEnabled() {
+		return delegate.isOrderDeletesEnabled();
+	}
+
+	@Override
+	public boolean isFlushDirtyRegionOnlyEnabled() {
+		return delegate.isFlushDirtyRegionOnlyEnabled();
+	}
+
+	@Override
+	public boolean isAutoFlushQuerySpacesPrecheckEnabled() {
+		return delegate.isAutoFlushQuerySpacesPrecheckEnabled();
+	}
+
+	@Override
+	public int getFlushParallelDirtyCheckThreshold() {
+		return delegate.getFlushParallelDirtyCheckThreshold();
+	}
+
+	@Override
+	public boolean isPackLoadedStateEnabled() {
+		return delegate.isPackLoadedStateEnabled();
+	}
+
 	@Override
 	public boolean isMultiTenancyEnabled() {
 		return delegate.isMultiTenancyEnabled();
@@ -222,6 +252,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public boolean isNamedQueryPrecompilationEnabled() {
+		return delegate.isNamedQueryPrecompilationEnabled();
+	}
+
 	@Override
 	public boolean isAllowOutOfTransactionUpdateOperations() {
 		return delegate.isAllowOutOfTransactionUpdateOperations();
@@ -262,6 +297,31 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return delegate.isCompactCacheEntriesEnabled();
+	}
+
+	@Override
+	public boolean isColumnarQueryCacheEntriesEnabled() {
+		return delegate.isColumnarQueryCacheEntriesEnabled();
+	}
+
+	@Override
+	public int getQueryCacheInvalidationBuckets() {
+		return delegate.getQueryCacheInvalidationBuckets();
+	}
+
+	@Override
+	public int getQueryCacheCoalescingTimeout() {
+		return delegate.getQueryCacheCoalescingTimeout();
+	}
+
+	@Override
+	public int getQueryCacheRefreshAhead() {
+		return delegate.getQueryCacheRefreshAhead();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -302,6 +362,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getJdbcFetchSize();
 	}
 
+	@Override
+	public boolean isCompiledRowReadersEnabled() {
+		return delegate.isCompiledRowReadersEnabled();
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return delegate.getPhysicalConnectionHandlingMode();
@@ -142,6 +142,13 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	int getDefaultBatchFetchSize();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER
+	 */
+	default boolean isBatchFetchArrayParameterEnabled() {
+		return false;
+	}
+
 	Integer getMaximumFetchDepth();
 
 	NullPrecedence getDefaultNullPrecedence();
@@ -150,6 +157,44 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isOrderInsertsEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#ORDER_DELETES
+	 */
+	default boolean isOrderDeletesEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_DIRTY_REGION_ONLY
+	 */
+	default boolean isFlushDirtyRegionOnlyEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK
+	 */
+	default boolean isAutoFlushQuerySpacesPrecheckEnabled() {
+		return false;
+	}
+
+	/**
+	 * The minimum number of entities for a flush to dirty check them in parallel,
+	 * or {@code 0} if dirty checking is never performed in parallel.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 */
+	default int getFlushParallelDirtyCheckThreshold() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#PACK_LOADED_STATE
+	 */
+	default boolean isPackLoadedStateEnabled() {
+		return false;
+	}
+
 	boolean isMultiTenancyEnabled();
 
 	CurrentTenantIdentifierResolver getCurrentTenantIdentifierResolver();
@@ -158,6 +203,13 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isNamedQueryStartupCheckingEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#PRECOMPILE_NAMED_QUERIES
+	 */
+	default boolean isNamedQueryPrecompilationEnabled() {
+		return false;
+	}
+
 	boolean isSecondLevelCacheEnabled();
 
 	boolean isQueryCacheEnabled();
@@ -170,6 +222,41 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isStructuredCacheEntriesEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_CACHE_ENTRIES
+	 */
+	default boolean isCompactCacheEntriesEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_COLUMNAR_QUERY_CACHE
+	 */
+	default boolean isColumnarQueryCacheEntriesEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	default int getQueryCacheInvalidationBuckets() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT
+	 */
+	default int getQueryCacheCoalescingTimeout() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_REFRESH_AHEAD
+	 */
+	default int getQueryCacheRefreshAhead() {
+		return 0;
+	}
+
 	boolean isDirectReferenceCacheEntriesEnabled();
 
 	boolean isAutoEvictCollectionCache();
@@ -186,6 +273,13 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	Integer getJdbcFetchSize();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#COMPILED_ROW_READERS
+	 */
+	default boolean isCompiledRowReadersEnabled() {
+		return false;
+	}
+
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
 
 	default boolean doesConnectionProviderDisableAutoCommit() {
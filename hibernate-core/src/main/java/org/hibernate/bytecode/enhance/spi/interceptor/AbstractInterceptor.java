@@ -57,6 +57,19 @@ public abstract class AbstractInterceptor implements SessionAssociableIntercepto
 		return sessionFactoryUuid;
 	}
 
+	/**
+	 * Notifies the persistence context of the linked session, if any, that the given
+	 * entity might have been modified.
+	 *
+	 * @see org.hibernate.engine.spi.PersistenceContext#markEntityPossiblyDirty(Object)
+	 */
+	protected void markPossiblyDirty(Object target) {
+		final SharedSessionContractImplementor session = this.session;
+		if ( session != null && !session.isClosed() ) {
+			session.getPersistenceContextInternal().markEntityPossiblyDirty( target );
+		}
+	}
+
 	/**
 	 * Handle the case of reading an attribute.  The result is what is returned to the caller
 	 */
@@ -296,6 +296,7 @@ public class EnhancementAsProxyLazinessInterceptor extends AbstractLazyLoadInter
 			( (SelfDirtinessTracker) target ).$$_hibernate_trackChange( attributeName );
 		}
 
+		markPossiblyDirty( target );
 		return newValue;
 	}
 
@@ -65,6 +65,7 @@ public class LazyAttributeLoadingInterceptor extends AbstractLazyLoadInterceptor
 		if ( !isAttributeLoaded( attributeName ) ) {
 			attributeInitialized( attributeName );
 		}
+		markPossiblyDirty( target );
 		return newValue;
 	}
 
@@ -50,6 +50,8 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 
 	private final ByteBuddyProxyHelper byteBuddyProxyHelper;
 
+	private final RowReaderCompiler rowReaderCompiler;
+
 	/**
 	 * Constructs a ByteBuddy BytecodeProvider instance which attempts to auto-detect the target JVM version
 	 * from the currently running one, with a fallback on Java 8.
@@ -65,6 +67,7 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 	public BytecodeProviderImpl(ClassFileVersion targetCompatibleJVM) {
 		this.byteBuddyState = new ByteBuddyState( targetCompatibleJVM );
 		this.byteBuddyProxyHelper = new ByteBuddyProxyHelper( byteBuddyState );
+		this.rowReaderCompiler = new RowReaderCompiler( byteBuddyState );
 	}
 
 	@Override
@@ -126,6 +129,10 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		return byteBuddyProxyHelper;
 	}
 
+	public RowReaderCompiler getRowReaderCompiler() {
+		return rowReaderCompiler;
+	}
+
 	private static class GetPropertyValues implements ByteCodeAppender {
 
 		private final Class clazz;
@@ -299,6 +306,7 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 	@Override
 	public void resetCaches() {
 		byteBuddyState.clearState();
+		rowReaderCompiler.clear();
 	}
 
 }
@@ -0,0 +1,283 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.bytecode.internal.bytebuddy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.HibernateException;
+import org.hibernate.sql.results.graph.DomainResultAssembler;
+import org.hibernate.sql.results.graph.Initializer;
+import org.hibernate.sql.results.internal.CompiledRowReader;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesSourceProcessingOptions;
+import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
+import org.hibernate.sql.results.spi.RowReader;
+import org.hibernate.sql.results.spi.RowTransformer;
+
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * Generates a {@link CompiledRowReader} subclass for each distinct shape of assemblers
+ * and initializers, that is, for each distinct list of their concrete classes.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#COMPILED_ROW_READERS
+ */
+public final class RowReaderCompiler {
+
+	private static final String ROW_READER_NAMING_SUFFIX = "HibernateRowReader";
+
+	/**
+	 * The maximum number of assemblers, or of initializers, of a compiled RowReader.
+	 * Each call site takes about a dozen bytes of code, so this keeps the generated
+	 * methods well below the maximum size of a method.
+	 */
+	public static final int MAX_CALL_SITES = 1024;
+	// the shapes are only bounded by the queries of the application
+	private static final int MAX_SHAPES = 2048;
+
+	private static final Method RESOLVE_KEY = method( Initializer.class, "resolveKey", RowProcessingState.class );
+	private static final Method RESOLVE_INSTANCE = method( Initializer.class, "resolveInstance", RowProcessingState.class );
+	private static final Method INITIALIZE_INSTANCE = method( Initializer.class, "initializeInstance", RowProcessingState.class );
+	private static final Method FINISH_UP_ROW = method( Initializer.class, "finishUpRow", RowProcessingState.class );
+	private static final Method ASSEMBLE = method(
+			DomainResultAssembler.class,
+			"assemble",
+			RowProcessingState.class,
+			JdbcValuesSourceProcessingOptions.class
+	);
+
+	private final ByteBuddyState byteBuddyState;
+	private final ConcurrentMap<Shape, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+	RowReaderCompiler(ByteBuddyState byteBuddyState) {
+		this.byteBuddyState = byteBuddyState;
+	}
+
+	/**
+	 * Create a compiled {@link RowReader} for the given assemblers and initializers.
+	 *
+	 * @return The compiled RowReader, or {@code null} if the shape is too large, or if too
+	 * many shapes were compiled already
+	 */
+	public <T> RowReader<T> compile(
+			List<DomainResultAssembler<?>> assemblers,
+			List<Initializer> initializers,
+			RowTransformer<T> rowTransformer,
+			Class<T> domainResultJavaType) {
+		if ( assemblers.size() > MAX_CALL_SITES || initializers.size() > MAX_CALL_SITES ) {
+			return null;
+		}
+
+		final Shape shape = new Shape( assemblers, initializers );
+		Constructor<?> constructor = constructors.get( shape );
+		if ( constructor == null ) {
+			if ( constructors.size() >= MAX_SHAPES ) {
+				return null;
+			}
+			constructor = constructors.computeIfAbsent( shape, this::generate );
+		}
+
+		try {
+			//noinspection unchecked
+			return (RowReader<T>) constructor.newInstance( assemblers, initializers, rowTransformer, domainResultJavaType );
+		}
+		catch (Exception e) {
+			throw new HibernateException( "Unable to instantiate compiled RowReader", e );
+		}
+	}
+
+	/**
+	 * The number of shapes for which a RowReader class was generated
+	 */
+	public int getCompiledShapeCount() {
+		return constructors.size();
+	}
+
+	void clear() {
+		constructors.clear();
+	}
+
+	private Constructor<?> generate(Shape shape) {
+		final int assemblerCount = shape.assemblerClasses.length;
+		final int initializerCount = shape.initializerClasses.length;
+		final Class<?> rowReaderClass = byteBuddyState.load( CompiledRowReader.class, byteBuddy -> byteBuddy
+				.with( new NamingStrategy.SuffixingRandom( ROW_READER_NAMING_SUFFIX,
+						new NamingStrategy.SuffixingRandom.BaseNameResolver.ForFixedValue( CompiledRowReader.class.getName() ) ) )
+				.subclass( CompiledRowReader.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_PUBLIC )
+				.method( named( "resolveKeys" ) )
+						.intercept( new Implementation.Simple( new InitializerCalls( "keyInitializers", RESOLVE_KEY, initializerCount ) ) )
+				.method( named( "resolveInstances" ) )
+						.intercept( new Implementation.Simple( new InitializerCalls( "instanceInitializers", RESOLVE_INSTANCE, initializerCount ) ) )
+				.method( named( "initializeInstances" ) )
+						.intercept( new Implementation.Simple( new InitializerCalls( "initializers", INITIALIZE_INSTANCE, initializerCount ) ) )
+				.method( named( "finishUpRow" ) )
+						.intercept( new Implementation.Simple( new InitializerCalls( "initializers", FINISH_UP_ROW, initializerCount ) ) )
+				.method( named( "assemble" ) )
+						.intercept( new Implementation.Simple( new AssemblerCalls( assemblerCount ) ) )
+		);
+
+		try {
+			return rowReaderClass.getConstructor( List.class, List.class, RowTransformer.class, Class.class );
+		}
+		catch (NoSuchMethodException e) {
+			throw new HibernateException( "Unable to locate constructor of compiled RowReader", e );
+		}
+	}
+
+	private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			return type.getMethod( name, parameterTypes );
+		}
+		catch (NoSuchMethodException e) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	/**
+	 * Calls the given method of each element of an array of initializers, passing the
+	 * RowProcessingState
+	 */
+	private static class InitializerCalls implements ByteCodeAppender {
+
+		private final String arrayFieldName;
+
+		private final Method method;
+
+		private final int count;
+
+		public InitializerCalls(String arrayFieldName, Method method, int count) {
+			this.arrayFieldName = arrayFieldName;
+			this.method = method;
+			this.count = count;
+		}
+
+		@Override
+		public Size apply(
+				MethodVisitor methodVisitor,
+				Implementation.Context implementationContext,
+				MethodDescription instrumentedMethod) {
+			for ( int i = 0; i < count; i++ ) {
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 0 );
+				methodVisitor.visitFieldInsn(
+						Opcodes.GETFIELD,
+						Type.getInternalName( CompiledRowReader.class ),
+						arrayFieldName,
+						Type.getDescriptor( Initializer[].class )
+				);
+				methodVisitor.visitLdcInsn( i );
+				methodVisitor.visitInsn( Opcodes.AALOAD );
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 1 );
+				methodVisitor.visitMethodInsn(
+						Opcodes.INVOKEINTERFACE,
+						Type.getInternalName( Initializer.class ),
+						method.getName(),
+						Type.getMethodDescriptor( method ),
+						true
+				);
+			}
+			methodVisitor.visitInsn( Opcodes.RETURN );
+			return new Size( 2, instrumentedMethod.getStackSize() );
+		}
+	}
+
+	/**
+	 * Stores the value assembled by each of the assemblers into the result row
+	 */
+	private static class AssemblerCalls implements ByteCodeAppender {
+
+		private final int count;
+
+		public AssemblerCalls(int count) {
+			this.count = count;
+		}
+
+		@Override
+		public Size apply(
+				MethodVisitor methodVisitor,
+				Implementation.Context implementationContext,
+				MethodDescription instrumentedMethod) {
+			for ( int i = 0; i < count; i++ ) {
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 1 );
+				methodVisitor.visitLdcInsn( i );
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 0 );
+				methodVisitor.visitFieldInsn(
+						Opcodes.GETFIELD,
+						Type.getInternalName( CompiledRowReader.class ),
+						"assemblers",
+						Type.getDescriptor( DomainResultAssembler[].class )
+				);
+				methodVisitor.visitLdcInsn( i );
+				methodVisitor.visitInsn( Opcodes.AALOAD );
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 2 );
+				methodVisitor.visitVarInsn( Opcodes.ALOAD, 3 );
+				methodVisitor.visitMethodInsn(
+						Opcodes.INVOKEINTERFACE,
+						Type.getInternalName( DomainResultAssembler.class ),
+						ASSEMBLE.getName(),
+						Type.getMethodDescriptor( ASSEMBLE ),
+						true
+				);
+				methodVisitor.visitInsn( Opcodes.AASTORE );
+			}
+			methodVisitor.visitInsn( Opcodes.RETURN );
+			return new Size( 6, instrumentedMethod.getStackSize() );
+		}
+	}
+
+	/**
+	 * The concrete classes of the assemblers and initializers of a RowReader
+	 */
+	private static final class Shape {
+		private final Class<?>[] assemblerClasses;
+		private final Class<?>[] initializerClasses;
+		private final int hashCode;
+
+		private Shape(List<DomainResultAssembler<?>> assemblers, List<Initializer> initializers) {
+			this.assemblerClasses = new Class<?>[assemblers.size()];
+			for ( int i = 0; i < assemblerClasses.length; i++ ) {
+				assemblerClasses[i] = assemblers.get( i ).getClass();
+			}
+			this.initializerClasses = new Class<?>[initializers.size()];
+			for ( int i = 0; i < initializerClasses.length; i++ ) {
+				initializerClasses[i] = initializers.get( i ).getClass();
+			}
+			this.hashCode = 31 * Arrays.hashCode( assemblerClasses ) + Arrays.hashCode( initializerClasses );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Shape ) ) {
+				return false;
+			}
+			final Shape that = (Shape) o;
+			return hashCode == that.hashCode
+					&& Arrays.equals( assemblerClasses, that.assemblerClasses )
+					&& Arrays.equals( initializerClasses, that.initializerClasses );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -99,7 +99,10 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 			regionsByName.put( queryResultsRegion.getName(), queryResultsRegion );
 			defaultQueryResultsCache = new QueryResultsCacheImpl(
 					queryResultsRegion,
-					timestampsCache
+					timestampsCache,
+					sessionFactory.getSessionFactoryOptions().isColumnarQueryCacheEntriesEnabled(),
+					sessionFactory.getSessionFactoryOptions().getQueryCacheCoalescingTimeout(),
+					sessionFactory.getSessionFactoryOptions().getQueryCacheRefreshAhead()
 			);
 		}
 		else {
@@ -548,7 +551,10 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 		}
 		final QueryResultsCacheImpl regionAccess = new QueryResultsCacheImpl(
 				queryResultsRegion,
-				timestampsCache
+				timestampsCache,
+				getSessionFactory().getSessionFactoryOptions().isColumnarQueryCacheEntriesEnabled(),
+				getSessionFactory().getSessionFactoryOptions().getQueryCacheCoalescingTimeout(),
+				getSessionFactory().getSessionFactoryOptions().getQueryCacheRefreshAhead()
 		);
 		namedQueryResultsCacheMap.put( regionName, regionAccess );
 		legacySecondLevelCacheNames.add( regionName );
@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import static org.hibernate.cfg.AvailableSettings.OFF_HEAP_CACHE_MAX_SIZE;
+
+/**
+ * A {@link org.hibernate.cache.spi.RegionFactory} which keeps the entity, collection,
+ * natural-id and query result regions in off-heap memory, using {@link OffHeapStorageAccess},
+ * and which does not depend on any caching provider. It is meant for large, read-mostly data
+ * in a single JVM, and supports the {@code read-only}, {@code nonstrict-read-write} and
+ * {@code read-write} access types.
+ * <p/>
+ * The update timestamps region is kept on the heap, as its entries must not be evicted.
+ * <p/>
+ * The entries are best stored using {@link org.hibernate.cfg.AvailableSettings#USE_COMPACT_CACHE_ENTRIES
+ * compact cache entries}, which are written to the off-heap memory without being serialized.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#OFF_HEAP_CACHE_MAX_SIZE
+ */
+public class OffHeapRegionFactory extends RegionFactoryTemplate {
+	public static final int DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+
+	private Map<String, Object> configValues;
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+		this.configValues = configValues;
+	}
+
+	@Override
+	protected void releaseFromUse() {
+		configValues = null;
+	}
+
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess(
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		return new OffHeapStorageAccess( getMaxSize( regionConfig.getRegionName() ) );
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return new OffHeapStorageAccess( getMaxSize( regionName ) );
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return new TimestampsStorageAccess();
+	}
+
+	private long getMaxSize(String regionName) {
+		final String regionSetting = OFF_HEAP_CACHE_MAX_SIZE + '.' + regionName;
+		return configValues.containsKey( regionSetting )
+				? ConfigurationHelper.getLong( regionSetting, configValues, DEFAULT_MAX_SIZE )
+				: ConfigurationHelper.getLong( OFF_HEAP_CACHE_MAX_SIZE, configValues, DEFAULT_MAX_SIZE );
+	}
+
+	private static class TimestampsStorageAccess implements StorageAccess {
+		private final Map<Object, Object> timestamps = new ConcurrentHashMap<>();
+
+		@Override
+		public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+			return timestamps.get( key );
+		}
+
+		@Override
+		public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+			timestamps.put( key, value );
+		}
+
+		@Override
+		public boolean contains(Object key) {
+			return timestamps.containsKey( key );
+		}
+
+		@Override
+		public void evictData() {
+			timestamps.clear();
+		}
+
+		@Override
+		public void evictData(Object key) {
+			timestamps.remove( key );
+		}
+
+		@Override
+		public void release() {
+			timestamps.clear();
+		}
+	}
+}
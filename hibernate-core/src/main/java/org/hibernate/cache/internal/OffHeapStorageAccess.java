@@ -0,0 +1,199 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+
+/**
+ * A {@link DomainDataStorageAccess} which keeps the values of its entries in direct
+ * byte buffers, outside the Java heap, so that a large cache does not lengthen garbage
+ * collection pauses. Only the index of the entries is kept on the heap.
+ * <p/>
+ * The memory of the region is divided into segments, which are filled one after the
+ * other, as a ring: once the last segment is full, the first one is reused, evicting
+ * all the entries it holds. The values are written as they are when they already are
+ * byte arrays, as the {@link org.hibernate.cache.spi.entry.CompactCacheEntry compact}
+ * entity cache entries are, and using Java serialization otherwise.
+ * <p/>
+ * Writes are serialized, but reads take no lock: a read copies the value out of its
+ * segment, and then checks that the segment was not reused while it was copying.
+ *
+ * @see OffHeapRegionFactory
+ */
+public class OffHeapStorageAccess implements DomainDataStorageAccess {
+	private static final int MAX_SEGMENT_SIZE = 1 << 30;
+	private static final int MIN_SEGMENT_COUNT = 16;
+
+	private final ConcurrentHashMap<Object, Slot> slots = new ConcurrentHashMap<>();
+	private final Segment[] segments;
+	private final int segmentSize;
+
+	// guarded by this
+	private int currentSegment;
+
+	public OffHeapStorageAccess(long maxSize) {
+		this.segmentSize = (int) Math.max( 1, Math.min( maxSize / MIN_SEGMENT_COUNT, MAX_SEGMENT_SIZE ) );
+		final int segmentCount = (int) Math.max( MIN_SEGMENT_COUNT, ( maxSize + segmentSize - 1 ) / segmentSize );
+		this.segments = new Segment[segmentCount];
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * The number of entries currently held
+	 */
+	public int getEntryCount() {
+		return slots.size();
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Slot slot = slots.get( key );
+		if ( slot == null ) {
+			return null;
+		}
+		final byte[] bytes = slot.read();
+		if ( bytes == null ) {
+			// the segment was reused meanwhile
+			slots.remove( key, slot );
+			return null;
+		}
+		return slot.serialized ? SerializationHelper.deserialize( bytes ) : bytes;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		final boolean serialized = !( value instanceof byte[] );
+		final byte[] bytes = serialized ? SerializationHelper.serialize( (Serializable) value ) : (byte[]) value;
+		synchronized ( this ) {
+			if ( bytes.length > segmentSize ) {
+				// too large to ever be held
+				slots.remove( key );
+				return;
+			}
+			Segment segment = segments[currentSegment];
+			if ( segment.buffer == null ) {
+				segment.buffer = ByteBuffer.allocateDirect( segmentSize );
+			}
+			else if ( segment.position + bytes.length > segmentSize ) {
+				currentSegment = ( currentSegment + 1 ) % segments.length;
+				segment = segments[currentSegment];
+				reuse( segment );
+			}
+			final Slot slot = new Slot( key, segment, segment.generation, segment.position, bytes.length, serialized );
+			final ByteBuffer view = segment.buffer.duplicate();
+			view.position( segment.position );
+			view.put( bytes );
+			segment.position += bytes.length;
+			segment.slots.add( slot );
+			slots.put( key, slot );
+		}
+	}
+
+	private void reuse(Segment segment) {
+		if ( segment.buffer == null ) {
+			segment.buffer = ByteBuffer.allocateDirect( segmentSize );
+		}
+		else {
+			segment.generation++;
+			// make sure a concurrent read sees the new generation, before any overwritten bytes
+			VarHandle.storeStoreFence();
+			for ( Slot slot : segment.slots ) {
+				slots.remove( slot.key, slot );
+			}
+			segment.slots.clear();
+			segment.position = 0;
+		}
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final Slot slot = slots.get( key );
+		return slot != null && slot.segment.generation == slot.generation;
+	}
+
+	@Override
+	public void evictData() {
+		synchronized ( this ) {
+			slots.clear();
+			for ( Segment segment : segments ) {
+				segment.generation++;
+				segment.slots.clear();
+				segment.position = 0;
+			}
+			currentSegment = 0;
+		}
+	}
+
+	@Override
+	public void evictData(Object key) {
+		slots.remove( key );
+	}
+
+	@Override
+	public void release() {
+		synchronized ( this ) {
+			evictData();
+			for ( Segment segment : segments ) {
+				// the memory is freed once the buffer is garbage collected
+				segment.buffer = null;
+			}
+		}
+	}
+
+	private static final class Segment {
+		private volatile long generation;
+		private ByteBuffer buffer;
+		private int position;
+		private final List<Slot> slots = new ArrayList<>();
+	}
+
+	private static final class Slot {
+		private final Object key;
+		private final Segment segment;
+		private final long generation;
+		private final int offset;
+		private final int length;
+		private final boolean serialized;
+
+		private Slot(Object key, Segment segment, long generation, int offset, int length, boolean serialized) {
+			this.key = key;
+			this.segment = segment;
+			this.generation = generation;
+			this.offset = offset;
+			this.length = length;
+			this.serialized = serialized;
+		}
+
+		/**
+		 * Copies the value out of the segment, or returns {@code null}
+		 * if the segment was, or is being, reused
+		 */
+		private byte[] read() {
+			final ByteBuffer buffer = segment.buffer;
+			if ( buffer == null || segment.generation != generation ) {
+				return null;
+			}
+			final byte[] bytes = new byte[length];
+			final ByteBuffer view = buffer.duplicate();
+			view.position( offset );
+			view.get( bytes );
+			VarHandle.loadLoadFence();
+			return segment.generation == generation ? bytes : null;
+		}
+	}
+}
@@ -8,8 +8,13 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.QueryKey;
@@ -18,6 +23,7 @@ import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.SecondLevelCacheLogger;
 import org.hibernate.cache.spi.TimestampsCache;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.results.caching.internal.ColumnarQueryResults;
 
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.DEBUG_ENABLED;
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.L2CACHE_LOGGER;
@@ -26,6 +32,10 @@ import static org.hibernate.cache.spi.SecondLevelCacheLogger.L2CACHE_LOGGER;
  * The standard implementation of the Hibernate QueryCache interface.  Works
  * hind-in-hand with {@link TimestampsCache} to help in recognizing
  * stale query results.
+ * <p/>
+ * Keeps track of the queries being run by a session to cache their results,
+ * so that concurrent executions of the same query may wait for these results,
+ * and so that only one session refreshes results which are due for refresh-ahead.
  *
  * @author Gavin King
  * @author Steve Ebersole
@@ -34,12 +44,23 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 
 	private final QueryResultsRegion cacheRegion;
 	private final TimestampsCache timestampsCache;
+	private final boolean columnarEntries;
+	private final long coalescingTimeout;
+	private final long refreshAhead;
+
+	private final ConcurrentHashMap<QueryKey, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
 
 	QueryResultsCacheImpl(
 			QueryResultsRegion cacheRegion,
-			TimestampsCache timestampsCache) {
+			TimestampsCache timestampsCache,
+			boolean columnarEntries,
+			long coalescingTimeout,
+			long refreshAhead) {
 		this.cacheRegion = cacheRegion;
 		this.timestampsCache = timestampsCache;
+		this.columnarEntries = columnarEntries;
+		this.coalescingTimeout = coalescingTimeout;
+		this.refreshAhead = refreshAhead;
 	}
 
 	@Override
@@ -58,7 +79,8 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 
 		final CacheItem cacheItem = new CacheItem(
 				session.getTransactionStartTimestamp(),
-				deepCopy( results )
+				System.currentTimeMillis(),
+				columnarEntries ? toColumnar( results ) : deepCopy( results )
 		);
 
 		try {
@@ -76,6 +98,16 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return new ArrayList<>( results );
 	}
 
+	private static List<?> toColumnar(List<?> results) {
+		final ColumnarQueryResults columnarResults = ColumnarQueryResults.from( results );
+		return columnarResults == null ? deepCopy( results ) : columnarResults;
+	}
+
+	private static List<?> copyCachedResults(List<?> results) {
+		// the columnar results are immutable, so they need not be copied
+		return results instanceof ColumnarQueryResults ? results : deepCopy( results );
+	}
+
 	@Override
 	public List<?> get(
 			final QueryKey key,
@@ -93,7 +125,7 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			return null;
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		if ( !isUpToDate( key, spaces, cacheItem.timestamp, session ) ) {
 			if ( DEBUG_ENABLED ) {
 				L2CACHE_LOGGER.debug( "Cached query results were not up-to-date" );
 			}
@@ -104,7 +136,11 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			L2CACHE_LOGGER.debug( "Returning cached query results" );
 		}
 
-		return deepCopy( cacheItem.results );
+		if ( refreshAhead > 0 && System.currentTimeMillis() - cacheItem.creationTime >= refreshAhead ) {
+			startRefresh( key, session );
+		}
+
+		return copyCachedResults( cacheItem.results );
 	}
 
 	@Override
@@ -124,7 +160,7 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			return null;
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		if ( !isUpToDate( key, Arrays.asList( spaces ), cacheItem.timestamp, session ) ) {
 			if ( DEBUG_ENABLED ) {
 				L2CACHE_LOGGER.debug( "Cached query results were not up-to-date" );
 			}
@@ -135,7 +171,83 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			L2CACHE_LOGGER.debug( "Returning cached query results" );
 		}
 
-		return deepCopy( cacheItem.results );
+		if ( refreshAhead > 0 && System.currentTimeMillis() - cacheItem.creationTime >= refreshAhead ) {
+			startRefresh( key, session );
+		}
+
+		return copyCachedResults( cacheItem.results );
+	}
+
+	private boolean isUpToDate(
+			QueryKey key,
+			Collection<String> spaces,
+			long timestamp,
+			SharedSessionContractImplementor session) {
+		if ( key.getRowKey() == null ) {
+			return timestampsCache.isUpToDate( spaces, timestamp, session );
+		}
+		else {
+			return timestampsCache.isUpToDate( spaces, key.getRowKey(), timestamp, session );
+		}
+	}
+
+	@Override
+	public boolean startLoad(QueryKey key, SharedSessionContractImplementor session) {
+		if ( coalescingTimeout <= 0 ) {
+			return true;
+		}
+		final PendingLoad load = new PendingLoad( session, false, coalescingTimeout );
+		while ( true ) {
+			final PendingLoad pendingLoad = pendingLoads.putIfAbsent( key, load );
+			if ( pendingLoad == null || pendingLoad.session == session ) {
+				return true;
+			}
+			else if ( pendingLoad.isExpired() ) {
+				// the other session is taking too long, or failed to end its load
+				if ( pendingLoads.replace( key, pendingLoad, load ) ) {
+					return true;
+				}
+			}
+			else {
+				if ( DEBUG_ENABLED ) {
+					L2CACHE_LOGGER.debug( "Waiting for query results being cached by another session" );
+				}
+				try {
+					pendingLoad.done.await( coalescingTimeout, TimeUnit.MILLISECONDS );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return false;
+			}
+		}
+	}
+
+	private void startRefresh(QueryKey key, SharedSessionContractImplementor session) {
+		final PendingLoad pendingLoad = pendingLoads.get( key );
+		if ( pendingLoad == null ) {
+			pendingLoads.putIfAbsent( key, new PendingLoad( session, true, refreshAhead ) );
+		}
+		else if ( pendingLoad.isExpired() ) {
+			pendingLoads.replace( key, pendingLoad, new PendingLoad( session, true, refreshAhead ) );
+		}
+	}
+
+	@Override
+	public boolean isRefreshDue(QueryKey key, SharedSessionContractImplementor session) {
+		if ( refreshAhead <= 0 ) {
+			return false;
+		}
+		final PendingLoad pendingLoad = pendingLoads.get( key );
+		return pendingLoad != null && pendingLoad.refresh && pendingLoad.session == session;
+	}
+
+	@Override
+	public void endLoad(QueryKey key, SharedSessionContractImplementor session) {
+		final PendingLoad pendingLoad = pendingLoads.get( key );
+		if ( pendingLoad != null && pendingLoad.session == session && pendingLoads.remove( key, pendingLoad ) ) {
+			pendingLoad.done.countDown();
+		}
 	}
 
 	private CacheItem getCachedData(QueryKey key, SharedSessionContractImplementor session) {
@@ -157,11 +269,33 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 
 	public static class CacheItem implements Serializable {
 		private final long timestamp;
+		private final long creationTime;
 		private final List<?> results;
 
-		CacheItem(long timestamp, List<?> results) {
+		CacheItem(long timestamp, long creationTime, List<?> results) {
 			this.timestamp = timestamp;
+			this.creationTime = creationTime;
 			this.results = results;
 		}
 	}
+
+	/**
+	 * The running of a query by a session, to cache its results
+	 */
+	private static final class PendingLoad {
+		private final SharedSessionContractImplementor session;
+		private final boolean refresh;
+		private final long expiresAt;
+		private final CountDownLatch done = new CountDownLatch( 1 );
+
+		private PendingLoad(SharedSessionContractImplementor session, boolean refresh, long timeout) {
+			this.session = session;
+			this.refresh = refresh;
+			this.expiresAt = System.currentTimeMillis() + timeout;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+	}
 }
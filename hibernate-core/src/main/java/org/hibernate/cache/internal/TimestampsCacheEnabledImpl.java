@@ -8,6 +8,10 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsCache;
@@ -29,6 +33,8 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 
 	public static final boolean DEBUG_ENABLED = log.isDebugEnabled();
 
+	private static final int ALL_ROWS = -1;
+
 	private final TimestampsRegion timestampsRegion;
 
 	public TimestampsCacheEnabledImpl(TimestampsRegion timestampsRegion) {
@@ -74,6 +80,10 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 			if ( stats ) {
 				statistics.updateTimestampsCachePut();
 			}
+
+			if ( rowKeyBuckets( session ) > 0 ) {
+				putTimestamp( new RowKeyBucket( (String) space, ALL_ROWS ), ts, session );
+			}
 		}
 	}
 
@@ -104,6 +114,80 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 					statistics.updateTimestampsCachePut();
 				}
 			}
+
+			if ( rowKeyBuckets( session ) > 0 ) {
+				putTimestamp( new RowKeyBucket( (String) space, ALL_ROWS ), ts, session );
+			}
+		}
+	}
+
+	@Override
+	public void preInvalidate(
+			Map<String, ? extends Collection<?>> rowKeysBySpace,
+			SharedSessionContractImplementor session) {
+		final int buckets = rowKeyBuckets( session );
+		if ( buckets <= 0 ) {
+			TimestampsCache.super.preInvalidate( rowKeysBySpace, session );
+			return;
+		}
+
+		final RegionFactory regionFactory = session.getFactory().getCache().getRegionFactory();
+		final Long ts = regionFactory.nextTimestamp() + regionFactory.getTimeout();
+		invalidateRows( rowKeysBySpace, buckets, ts, "Pre-invalidating", session );
+	}
+
+	@Override
+	public void invalidate(
+			Map<String, ? extends Collection<?>> rowKeysBySpace,
+			SharedSessionContractImplementor session) {
+		final int buckets = rowKeyBuckets( session );
+		if ( buckets <= 0 ) {
+			TimestampsCache.super.invalidate( rowKeysBySpace, session );
+			return;
+		}
+
+		final Long ts = session.getFactory().getCache().getRegionFactory().nextTimestamp();
+		invalidateRows( rowKeysBySpace, buckets, ts, "Invalidating", session );
+	}
+
+	private void invalidateRows(
+			Map<String, ? extends Collection<?>> rowKeysBySpace,
+			int buckets,
+			Long ts,
+			String action,
+			SharedSessionContractImplementor session) {
+		for ( Map.Entry<String, ? extends Collection<?>> entry : rowKeysBySpace.entrySet() ) {
+			final String space = entry.getKey();
+			if ( DEBUG_ENABLED ) {
+				log.debugf( "%s rows %s of space [%s], timestamp: %s", action, entry.getValue(), space, ts );
+			}
+
+			// queries reading any row of the space
+			putTimestamp( space, ts, session );
+
+			final Set<Integer> invalidatedBuckets = new HashSet<>();
+			for ( Object rowKey : entry.getValue() ) {
+				invalidatedBuckets.add( bucket( rowKey, buckets ) );
+			}
+			for ( Integer bucket : invalidatedBuckets ) {
+				putTimestamp( new RowKeyBucket( space, bucket ), ts, session );
+			}
+		}
+	}
+
+	private void putTimestamp(Serializable key, Long ts, SharedSessionContractImplementor session) {
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		try {
+			eventListenerManager.cachePutStart();
+			timestampsRegion.putIntoCache( key, ts, session );
+		}
+		finally {
+			eventListenerManager.cachePutEnd();
+		}
+
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.updateTimestampsCachePut();
 		}
 	}
 
@@ -174,6 +258,37 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return true;
 	}
 
+	@Override
+	public boolean isUpToDate(
+			Collection<String> spaces,
+			Object rowKey,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		final int buckets = rowKeyBuckets( session );
+		if ( buckets <= 0 || rowKey == null ) {
+			return isUpToDate( spaces, timestamp, session );
+		}
+
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		final int bucket = bucket( rowKey, buckets );
+		for ( String space : spaces ) {
+			if ( isSpaceOutOfDate( new RowKeyBucket( space, ALL_ROWS ), timestamp, session, statistics )
+					|| isSpaceOutOfDate( new RowKeyBucket( space, bucket ), timestamp, session, statistics ) ) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static int rowKeyBuckets(SharedSessionContractImplementor session) {
+		return session.getFactory().getSessionFactoryOptions().getQueryCacheInvalidationBuckets();
+	}
+
+	private static int bucket(Object rowKey, int buckets) {
+		return Math.floorMod( rowKey.hashCode(), buckets );
+	}
+
 	private Long getLastUpdateTimestampForSpace(Serializable space, SharedSessionContractImplementor session) {
 		Long ts = null;
 		try {
@@ -186,4 +301,39 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return ts;
 	}
 
+	/**
+	 * The key of the timestamp of the last change to some rows of a space: either to the
+	 * rows whose key falls into the given bucket, or to {@link #ALL_ROWS any rows}
+	 */
+	private static final class RowKeyBucket implements Serializable {
+		private final String space;
+		private final int bucket;
+
+		private RowKeyBucket(String space, int bucket) {
+			this.space = space;
+			this.bucket = bucket;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof RowKeyBucket ) ) {
+				return false;
+			}
+			final RowKeyBucket that = (RowKeyBucket) o;
+			return bucket == that.bucket && space.equals( that.space );
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash( space, bucket );
+		}
+
+		@Override
+		public String toString() {
+			return bucket == ALL_ROWS ? space + "#*" : space + "#" + bucket;
+		}
+	}
 }
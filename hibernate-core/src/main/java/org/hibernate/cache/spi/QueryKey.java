@@ -34,6 +34,20 @@ public class QueryKey implements Serializable {
 			Limit limit,
 			QueryParameterBindings parameterBindings,
 			SharedSessionContractImplementor persistenceContext) {
+		return from( sqlQueryString, limit, parameterBindings, null, persistenceContext );
+	}
+
+	/**
+	 * Create the key of a query which only reads the rows with the given key, if not {@code null}
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	public static QueryKey from(
+			String sqlQueryString,
+			Limit limit,
+			QueryParameterBindings parameterBindings,
+			Serializable rowKey,
+			SharedSessionContractImplementor persistenceContext) {
 		// todo (6.0) : here is where we should centralize cacheable-or-not
 		//		if this method returns null, the query should be considered un-cacheable
 		//
@@ -48,7 +62,8 @@ public class QueryKey implements Serializable {
 				limitToUse.getFirstRow(),
 				limitToUse.getMaxRows(),
 				persistenceContext.getTenantIdentifier(),
-				persistenceContext.getLoadQueryInfluencers().getEnabledFilterNames()
+				persistenceContext.getLoadQueryInfluencers().getEnabledFilterNames(),
+				rowKey
 		);
 	}
 
@@ -59,6 +74,8 @@ public class QueryKey implements Serializable {
 	private final Integer maxRows;
 	private final String tenantIdentifier;
 	private final Set<String> enabledFilterNames;
+	// determined by the parameter bindings, so not part of the identity of the key
+	private final Serializable rowKey;
 
 	/**
 	 * For performance reasons, the hashCode is cached; however, it is marked transient so that it can be
@@ -73,15 +90,37 @@ public class QueryKey implements Serializable {
 			Integer maxRows,
 			String tenantIdentifier,
 			Set<String> enabledFilterNames) {
+		this( sql, parameterBindingsMemento, firstRow, maxRows, tenantIdentifier, enabledFilterNames, null );
+	}
+
+	public QueryKey(
+			String sql,
+			ParameterBindingsMemento parameterBindingsMemento,
+			Integer firstRow,
+			Integer maxRows,
+			String tenantIdentifier,
+			Set<String> enabledFilterNames,
+			Serializable rowKey) {
 		this.sqlQueryString = sql;
 		this.parameterBindingsMemento = parameterBindingsMemento;
 		this.firstRow = firstRow;
 		this.maxRows = maxRows;
 		this.tenantIdentifier = tenantIdentifier;
 		this.enabledFilterNames = enabledFilterNames;
+		this.rowKey = rowKey;
 		this.hashCode = generateHashCode();
 	}
 
+	/**
+	 * The identifier of the single entity read by the query, or {@code null} if the query
+	 * may read any row of the tables it reads.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	public Serializable getRowKey() {
+		return rowKey;
+	}
+
 	/**
 	 * Deserialization hook used to re-init the cached hashcode which is needed for proper clustering support.
 	 *
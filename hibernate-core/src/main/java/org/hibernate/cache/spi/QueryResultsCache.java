@@ -74,6 +74,49 @@ public interface QueryResultsCache {
 			String[] spaces,
 			SharedSessionContractImplementor session) throws HibernateException;
 
+	/**
+	 * Called when the results of a query were not found in the cache, before running the
+	 * query, so that concurrent executions of the same query may be coalesced. Unless the
+	 * same query is already being run by another session, the caller becomes responsible
+	 * for running it, and for calling {@link #endLoad} once its results are cached.
+	 * Otherwise, waits for the other session to cache the results.
+	 *
+	 * @param key The cache key
+	 * @param session The originating session
+	 *
+	 * @return {@code true} if the caller should run the query, {@code false} if it waited
+	 * for another session, and should look the results up in the cache again.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT
+	 */
+	default boolean startLoad(QueryKey key, SharedSessionContractImplementor session) {
+		return true;
+	}
+
+	/**
+	 * Whether the results just returned by {@link #get} are due to be refreshed ahead of their
+	 * expiry, by the given session. If so, the caller should run the query, as if the results had
+	 * not been found in the cache, and call {@link #endLoad} once the new results are cached.
+	 *
+	 * @param key The cache key
+	 * @param session The originating session
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_REFRESH_AHEAD
+	 */
+	default boolean isRefreshDue(QueryKey key, SharedSessionContractImplementor session) {
+		return false;
+	}
+
+	/**
+	 * Called once the results of a query run by the given session are cached, or
+	 * failed to be, waking up the concurrent executions of the same query.
+	 *
+	 * @param key The cache key
+	 * @param session The originating session
+	 */
+	default void endLoad(QueryKey key, SharedSessionContractImplementor session) {
+	}
+
 	/**
 	 * Clear items from the query cache.
 	 *
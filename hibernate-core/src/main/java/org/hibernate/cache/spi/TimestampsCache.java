@@ -7,6 +7,7 @@
 package org.hibernate.cache.spi;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -56,6 +57,51 @@ public interface TimestampsCache {
 			Long timestamp,
 			SharedSessionContractImplementor session);
 
+	/**
+	 * Perform pre-invalidation of the rows with the passed keys of the
+	 * passed spaces (table names) against the timestamps region data.
+	 * <p/>
+	 * By default, the whole spaces are pre-invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	default void preInvalidate(
+			Map<String, ? extends Collection<?>> rowKeysBySpace,
+			SharedSessionContractImplementor session) {
+		preInvalidate( rowKeysBySpace.keySet().toArray( new String[0] ), session );
+	}
+
+	/**
+	 * Perform invalidation of the rows with the passed keys of the
+	 * passed spaces (table names) against the timestamps region data.
+	 * <p/>
+	 * By default, the whole spaces are invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	default void invalidate(
+			Map<String, ? extends Collection<?>> rowKeysBySpace,
+			SharedSessionContractImplementor session) {
+		invalidate( rowKeysBySpace.keySet().toArray( new String[0] ), session );
+	}
+
+	/**
+	 * Perform an up-to-date check for the rows with the given key of the
+	 * given set of query spaces as part of verifying the validity of cached
+	 * query results which only read such rows.
+	 * <p/>
+	 * By default, the whole spaces are checked.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	default boolean isUpToDate(
+			Collection<String> spaces,
+			Object rowKey,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		return isUpToDate( spaces, timestamp, session );
+	}
+
 	default void clear() throws CacheException {
 		getRegion().clear();
 	}
@@ -57,6 +57,29 @@ public interface CachedDomainDataAccess {
 	 */
 	Object get(SharedSessionContractImplementor session, Object key);
 
+	/**
+	 * Attempt to retrieve several objects from the cache at once, as by
+	 * {@link #get}, but with a single access to the underlying cache if
+	 * supported by the cache provider.
+	 *
+	 * @param session Current session.
+	 * @param keys The keys of the items to be retrieved, some of which may be {@code null}.
+	 *
+	 * @return the cached data, in the order of the given keys, with {@code null}
+	 * for the keys which are {@code null} or not cached
+	 *
+	 * @throws CacheException Propagated from underlying cache provider
+	 */
+	default Object[] getAll(SharedSessionContractImplementor session, Object[] keys) {
+		final Object[] values = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( keys[i] != null ) {
+				values[i] = get( session, keys[i] );
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Attempt to cache an object, afterQuery loading from the database.
 	 *
@@ -0,0 +1,500 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+
+/**
+ * Compact CacheEntry format for entities. Stores the entry into the second-level cache
+ * as a {@code byte[]}, which is much smaller, and much cheaper to copy into an off-heap
+ * or remote cache, than the Java serialization of a {@link StandardCacheEntryImpl}.
+ * <p/>
+ * The array starts with a format version, followed by the entity name, the version and
+ * the disassembled state. Arrays of values are written as their length and a bitmap of
+ * their null elements, followed by the non-null elements. Each value is written with a
+ * tag identifying its type: integral numbers as variable length integers, dates and times
+ * as their numeric components, and strings through a dictionary local to the entry, so
+ * that a repeated string, such as the entity name of an embedded entity, is written once.
+ * Values of any other type are written using Java serialization.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_CACHE_ENTRIES
+ */
+public class CompactCacheEntry implements CacheEntryStructure {
+	/**
+	 * The version of the format, written as the first byte of each entry, and
+	 * incremented whenever the format changes in an incompatible way
+	 */
+	public static final byte FORMAT_VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte LONG = 3;
+	private static final byte SHORT = 4;
+	private static final byte BYTE = 5;
+	private static final byte TRUE = 6;
+	private static final byte FALSE = 7;
+	private static final byte CHARACTER = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte FLOAT = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte BYTES = 13;
+	private static final byte UUID_VALUE = 14;
+	private static final byte DATE = 15;
+	private static final byte SQL_DATE = 16;
+	private static final byte SQL_TIME = 17;
+	private static final byte SQL_TIMESTAMP = 18;
+	private static final byte LOCAL_DATE = 19;
+	private static final byte LOCAL_TIME = 20;
+	private static final byte LOCAL_DATE_TIME = 21;
+	private static final byte INSTANT = 22;
+	private static final byte ENUM = 23;
+	private static final byte OBJECT_ARRAY = 24;
+	private static final byte SERIALIZABLE_ARRAY = 25;
+	private static final byte UNFETCHED_PROPERTY = 26;
+	private static final byte UNKNOWN_BACK_REFERENCE = 27;
+	private static final byte SERIALIZED = 28;
+
+	private final Map<String, Class<?>> enumClasses = new ConcurrentHashMap<>();
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Writer writer = new Writer();
+		writer.writeByte( FORMAT_VERSION );
+		writer.writeString( entry.getSubclass() );
+		writer.writeValue( entry.getVersion() );
+		writer.writeArray( entry.getDisassembledState() );
+		return writer.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final Reader reader = new Reader( (byte[]) structured, factory );
+		final byte formatVersion = reader.readByte();
+		if ( formatVersion != FORMAT_VERSION ) {
+			throw new HibernateException( "Unsupported compact cache entry format version: " + formatVersion );
+		}
+		final String subclass = reader.readString();
+		final Object version = reader.readValue();
+		final Serializable[] disassembledState = (Serializable[]) reader.readArray( true );
+		return new StandardCacheEntryImpl( disassembledState, subclass, version );
+	}
+
+	private static class Writer {
+		private byte[] buffer = new byte[64];
+		private int position;
+		private Map<String, Integer> strings;
+
+		private void writeArray(Object[] values) {
+			writeVarInt( values.length );
+			final int bitmapPosition = position;
+			final int bitmapLength = ( values.length + 7 ) >>> 3;
+			ensureCapacity( bitmapLength );
+			position += bitmapLength;
+			for ( int i = 0; i < values.length; i++ ) {
+				if ( values[i] == null ) {
+					buffer[bitmapPosition + ( i >>> 3 )] |= (byte) ( 1 << ( i & 7 ) );
+				}
+				else {
+					writeValue( values[i] );
+				}
+			}
+		}
+
+		private void writeValue(Object value) {
+			if ( value == null ) {
+				writeByte( NULL );
+			}
+			else if ( value instanceof String ) {
+				writeByte( STRING );
+				writeString( (String) value );
+			}
+			else if ( value instanceof Integer ) {
+				writeByte( INTEGER );
+				writeVarLong( zigZag( (Integer) value ) );
+			}
+			else if ( value instanceof Long ) {
+				writeByte( LONG );
+				writeVarLong( zigZag( (Long) value ) );
+			}
+			else if ( value instanceof Boolean ) {
+				writeByte( (Boolean) value ? TRUE : FALSE );
+			}
+			else if ( value instanceof Short ) {
+				writeByte( SHORT );
+				writeVarLong( zigZag( (Short) value ) );
+			}
+			else if ( value instanceof Byte ) {
+				writeByte( BYTE );
+				writeByte( (Byte) value );
+			}
+			else if ( value instanceof Character ) {
+				writeByte( CHARACTER );
+				writeVarInt( (Character) value );
+			}
+			else if ( value instanceof Double ) {
+				writeByte( DOUBLE );
+				writeFixedLong( Double.doubleToRawLongBits( (Double) value ) );
+			}
+			else if ( value instanceof Float ) {
+				writeByte( FLOAT );
+				writeFixedInt( Float.floatToRawIntBits( (Float) value ) );
+			}
+			else if ( value.getClass() == BigDecimal.class ) {
+				final BigDecimal decimal = (BigDecimal) value;
+				writeByte( BIG_DECIMAL );
+				writeVarLong( zigZag( decimal.scale() ) );
+				writeBytes( decimal.unscaledValue().toByteArray() );
+			}
+			else if ( value.getClass() == BigInteger.class ) {
+				writeByte( BIG_INTEGER );
+				writeBytes( ( (BigInteger) value ).toByteArray() );
+			}
+			else if ( value instanceof byte[] ) {
+				writeByte( BYTES );
+				writeBytes( (byte[]) value );
+			}
+			else if ( value instanceof UUID ) {
+				final UUID uuid = (UUID) value;
+				writeByte( UUID_VALUE );
+				writeFixedLong( uuid.getMostSignificantBits() );
+				writeFixedLong( uuid.getLeastSignificantBits() );
+			}
+			else if ( value.getClass() == Date.class ) {
+				writeByte( DATE );
+				writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+			}
+			else if ( value.getClass() == java.sql.Date.class ) {
+				writeByte( SQL_DATE );
+				writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+			}
+			else if ( value.getClass() == java.sql.Time.class ) {
+				writeByte( SQL_TIME );
+				writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+			}
+			else if ( value.getClass() == java.sql.Timestamp.class ) {
+				final java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+				writeByte( SQL_TIMESTAMP );
+				writeVarLong( zigZag( timestamp.getTime() ) );
+				writeVarInt( timestamp.getNanos() );
+			}
+			else if ( value instanceof LocalDate ) {
+				writeByte( LOCAL_DATE );
+				writeVarLong( zigZag( ( (LocalDate) value ).toEpochDay() ) );
+			}
+			else if ( value instanceof LocalTime ) {
+				writeByte( LOCAL_TIME );
+				writeVarLong( ( (LocalTime) value ).toNanoOfDay() );
+			}
+			else if ( value instanceof LocalDateTime ) {
+				final LocalDateTime dateTime = (LocalDateTime) value;
+				writeByte( LOCAL_DATE_TIME );
+				writeVarLong( zigZag( dateTime.toLocalDate().toEpochDay() ) );
+				writeVarLong( dateTime.toLocalTime().toNanoOfDay() );
+			}
+			else if ( value instanceof Instant ) {
+				final Instant instant = (Instant) value;
+				writeByte( INSTANT );
+				writeVarLong( zigZag( instant.getEpochSecond() ) );
+				writeVarInt( instant.getNano() );
+			}
+			else if ( value instanceof Enum ) {
+				final Enum<?> enumValue = (Enum<?>) value;
+				writeByte( ENUM );
+				writeString( enumValue.getDeclaringClass().getName() );
+				writeString( enumValue.name() );
+			}
+			else if ( value.getClass() == Object[].class ) {
+				writeByte( OBJECT_ARRAY );
+				writeArray( (Object[]) value );
+			}
+			else if ( value.getClass() == Serializable[].class ) {
+				writeByte( SERIALIZABLE_ARRAY );
+				writeArray( (Object[]) value );
+			}
+			else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				writeByte( UNFETCHED_PROPERTY );
+			}
+			else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+				writeByte( UNKNOWN_BACK_REFERENCE );
+			}
+			else {
+				writeByte( SERIALIZED );
+				writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+			}
+		}
+
+		/**
+		 * Writes a string the first time it occurs in the entry, and its
+		 * index in the dictionary of the entry any other time
+		 */
+		private void writeString(String value) {
+			if ( strings == null ) {
+				strings = new HashMap<>();
+			}
+			final Integer index = strings.get( value );
+			if ( index != null ) {
+				writeVarInt( index + 1 );
+			}
+			else {
+				strings.put( value, strings.size() );
+				writeVarInt( 0 );
+				writeBytes( value.getBytes( StandardCharsets.UTF_8 ) );
+			}
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarInt( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeByte(byte value) {
+			ensureCapacity( 1 );
+			buffer[position++] = value;
+		}
+
+		private void writeVarInt(int value) {
+			writeVarLong( value & 0xFFFFFFFFL );
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeFixedInt(int value) {
+			ensureCapacity( 4 );
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeFixedLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length << 1, position + length ) );
+			}
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+
+		private static long zigZag(long value) {
+			return ( value << 1 ) ^ ( value >> 63 );
+		}
+	}
+
+	private class Reader {
+		private final byte[] buffer;
+		private final SessionFactoryImplementor factory;
+		private int position;
+		private List<String> strings;
+
+		private Reader(byte[] buffer, SessionFactoryImplementor factory) {
+			this.buffer = buffer;
+			this.factory = factory;
+		}
+
+		private Object[] readArray(boolean serializable) {
+			final int length = readVarInt();
+			final Object[] values = serializable ? new Serializable[length] : new Object[length];
+			final int bitmapPosition = position;
+			position += ( length + 7 ) >>> 3;
+			for ( int i = 0; i < length; i++ ) {
+				if ( ( buffer[bitmapPosition + ( i >>> 3 )] & ( 1 << ( i & 7 ) ) ) == 0 ) {
+					values[i] = readValue();
+				}
+			}
+			return values;
+		}
+
+		private Object readValue() {
+			final byte tag = readByte();
+			switch ( tag ) {
+				case NULL:
+					return null;
+				case STRING:
+					return readString();
+				case INTEGER:
+					return (int) unZigZag( readVarLong() );
+				case LONG:
+					return unZigZag( readVarLong() );
+				case SHORT:
+					return (short) unZigZag( readVarLong() );
+				case BYTE:
+					return readByte();
+				case TRUE:
+					return Boolean.TRUE;
+				case FALSE:
+					return Boolean.FALSE;
+				case CHARACTER:
+					return (char) readVarInt();
+				case DOUBLE:
+					return Double.longBitsToDouble( readFixedLong() );
+				case FLOAT:
+					return Float.intBitsToFloat( readFixedInt() );
+				case BIG_DECIMAL: {
+					final int scale = (int) unZigZag( readVarLong() );
+					return new BigDecimal( new BigInteger( readBytes() ), scale );
+				}
+				case BIG_INTEGER:
+					return new BigInteger( readBytes() );
+				case BYTES:
+					return readBytes();
+				case UUID_VALUE:
+					return new UUID( readFixedLong(), readFixedLong() );
+				case DATE:
+					return new Date( unZigZag( readVarLong() ) );
+				case SQL_DATE:
+					return new java.sql.Date( unZigZag( readVarLong() ) );
+				case SQL_TIME:
+					return new java.sql.Time( unZigZag( readVarLong() ) );
+				case SQL_TIMESTAMP: {
+					final java.sql.Timestamp timestamp = new java.sql.Timestamp( unZigZag( readVarLong() ) );
+					timestamp.setNanos( readVarInt() );
+					return timestamp;
+				}
+				case LOCAL_DATE:
+					return LocalDate.ofEpochDay( unZigZag( readVarLong() ) );
+				case LOCAL_TIME:
+					return LocalTime.ofNanoOfDay( readVarLong() );
+				case LOCAL_DATE_TIME: {
+					final LocalDate date = LocalDate.ofEpochDay( unZigZag( readVarLong() ) );
+					return LocalDateTime.of( date, LocalTime.ofNanoOfDay( readVarLong() ) );
+				}
+				case INSTANT: {
+					final long seconds = unZigZag( readVarLong() );
+					return Instant.ofEpochSecond( seconds, readVarInt() );
+				}
+				case ENUM:
+					return readEnum();
+				case OBJECT_ARRAY:
+					return readArray( false );
+				case SERIALIZABLE_ARRAY:
+					return readArray( true );
+				case UNFETCHED_PROPERTY:
+					return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+				case UNKNOWN_BACK_REFERENCE:
+					return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+				case SERIALIZED:
+					return SerializationHelper.deserialize( readBytes() );
+				default:
+					throw new HibernateException( "Unknown value type in compact cache entry: " + tag );
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object readEnum() {
+			final String className = readString();
+			final String name = readString();
+			final Class enumClass = enumClasses.computeIfAbsent(
+					className,
+					key -> factory.getServiceRegistry().getService( ClassLoaderService.class ).classForName( key )
+			);
+			return Enum.valueOf( enumClass, name );
+		}
+
+		private String readString() {
+			if ( strings == null ) {
+				strings = new ArrayList<>();
+			}
+			final int index = readVarInt();
+			if ( index > 0 ) {
+				return strings.get( index - 1 );
+			}
+			final int length = readVarInt();
+			final String value = new String( buffer, position, length, StandardCharsets.UTF_8 );
+			position += length;
+			strings.add( value );
+			return value;
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarInt();
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		private byte readByte() {
+			return buffer[position++];
+		}
+
+		private int readVarInt() {
+			return (int) readVarLong();
+		}
+
+		private long readVarLong() {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = buffer[position++];
+				value |= (long) ( b & 0x7F ) << shift;
+				shift += 7;
+			} while ( b < 0 );
+			return value;
+		}
+
+		private int readFixedInt() {
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long readFixedLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long unZigZag(long value) {
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+	}
+}
@@ -90,6 +90,27 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		}
 	}
 
+	/**
+	 * Returns <code>null</code> for the items which are not readable, as {@link #get} does.
+	 */
+	@Override
+	public Object[] getAll(SharedSessionContractImplementor session, Object[] keys) {
+		log.debugf( "Getting %s cached data from region [`%s` (%s)]", keys.length, getRegion().getName(), getAccessType() );
+		try {
+			readLock.lock();
+			final Object[] items = getStorageAccess().getAllFromCache( keys, session );
+			final long txTimestamp = session.getTransactionStartTimestamp();
+			for ( int i = 0; i < items.length; i++ ) {
+				final Lockable item = (Lockable) items[i];
+				items[i] = item != null && item.isReadable( txTimestamp ) ? item.getValue() : null;
+			}
+			return items;
+		}
+		finally {
+			readLock.unlock();
+		}
+	}
+
 	@Override
 	public boolean putFromLoad(
 			SharedSessionContractImplementor session,
@@ -24,4 +24,25 @@ public interface DomainDataStorageAccess extends StorageAccess {
 	default void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
 		putIntoCache( key, value, session );
 	}
+
+	/**
+	 * Get several items from the cache at once, which implementations backed
+	 * by a remote cache should do in a single round trip
+	 *
+	 * @param keys The keys of the items, some of which may be {@code null}
+	 *
+	 * @return The items, in the order of the given keys, with {@code null} for
+	 * the keys which are {@code null} or not cached
+	 *
+	 * @implNote the method default is to call {@link #getFromCache} for each key
+	 */
+	default Object[] getAllFromCache(Object[] keys, SharedSessionContractImplementor session) {
+		final Object[] values = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( keys[i] != null ) {
+				values[i] = getFromCache( keys[i], session );
+			}
+		}
+		return values;
+	}
 }
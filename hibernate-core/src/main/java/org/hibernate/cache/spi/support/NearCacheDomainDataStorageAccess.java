@@ -0,0 +1,201 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.spi.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * A {@link DomainDataStorageAccess} which keeps a bounded number of recently read entries
+ * of another storage access in process, so that repeated reads of the same entries do not
+ * reach the underlying, typically remote, cache.
+ * <p/>
+ * Every write made through this storage access, including the locks of the read-write
+ * access strategies and the evictions triggered by bulk operations, is applied to the
+ * underlying storage, and then removes the entry from the near cache. Writes made by
+ * other nodes are not seen until the entry expires.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#NEAR_CACHE_MAX_ENTRIES
+ */
+public class NearCacheDomainDataStorageAccess implements DomainDataStorageAccess {
+	private final DomainDataStorageAccess delegate;
+	private final String regionName;
+	private final long timeToLive;
+
+	private final BoundedConcurrentHashMap<Object, Entry> entries;
+
+	/**
+	 * Incremented by every write, so that a read which raced with a write
+	 * does not leave the value it read in the near cache
+	 */
+	private final AtomicLong writeCount = new AtomicLong();
+
+	public NearCacheDomainDataStorageAccess(
+			DomainDataStorageAccess delegate,
+			String regionName,
+			int maxEntries,
+			long timeToLive) {
+		this.delegate = delegate;
+		this.regionName = regionName;
+		this.timeToLive = timeToLive;
+		this.entries = new BoundedConcurrentHashMap<>( maxEntries, 16, BoundedConcurrentHashMap.Eviction.LIRS );
+	}
+
+	public DomainDataStorageAccess getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Entry entry = entries.get( key );
+		if ( entry != null ) {
+			if ( entry.isAlive() ) {
+				final StatisticsImplementor statistics = session.getFactory().getStatistics();
+				if ( statistics.isStatisticsEnabled() ) {
+					statistics.nearCacheHit( regionName );
+				}
+				return entry.value;
+			}
+			entries.remove( key, entry );
+		}
+
+		final long writes = writeCount.get();
+		final Object value = delegate.getFromCache( key, session );
+		if ( value != null ) {
+			final Entry newEntry = new Entry( value, System.currentTimeMillis() + timeToLive );
+			entries.put( key, newEntry );
+			if ( writeCount.get() != writes ) {
+				// a write happened meanwhile, so the value might already be outdated
+				entries.remove( key, newEntry );
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public Object[] getAllFromCache(Object[] keys, SharedSessionContractImplementor session) {
+		final Object[] values = new Object[keys.length];
+		Object[] missingKeys = null;
+		int hits = 0;
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( keys[i] != null ) {
+				final Entry entry = entries.get( keys[i] );
+				if ( entry != null && entry.isAlive() ) {
+					values[i] = entry.value;
+					hits++;
+				}
+				else {
+					if ( missingKeys == null ) {
+						missingKeys = new Object[keys.length];
+					}
+					missingKeys[i] = keys[i];
+				}
+			}
+		}
+
+		if ( hits > 0 ) {
+			final StatisticsImplementor statistics = session.getFactory().getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				for ( int i = 0; i < hits; i++ ) {
+					statistics.nearCacheHit( regionName );
+				}
+			}
+		}
+
+		if ( missingKeys != null ) {
+			final long writes = writeCount.get();
+			final Object[] missingValues = delegate.getAllFromCache( missingKeys, session );
+			final long expiresAt = System.currentTimeMillis() + timeToLive;
+			for ( int i = 0; i < keys.length; i++ ) {
+				if ( missingValues[i] != null ) {
+					values[i] = missingValues[i];
+					final Entry newEntry = new Entry( missingValues[i], expiresAt );
+					entries.put( keys[i], newEntry );
+					if ( writeCount.get() != writes ) {
+						entries.remove( keys[i], newEntry );
+					}
+				}
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		delegate.putIntoCache( key, value, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+		delegate.putFromLoad( key, value, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+		delegate.removeFromCache( key, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void clearCache(SharedSessionContractImplementor session) {
+		delegate.clearCache( session );
+		invalidateAll();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final Entry entry = entries.get( key );
+		return entry != null && entry.isAlive() || delegate.contains( key );
+	}
+
+	@Override
+	public void evictData() {
+		delegate.evictData();
+		invalidateAll();
+	}
+
+	@Override
+	public void evictData(Object key) {
+		delegate.evictData( key );
+		invalidate( key );
+	}
+
+	@Override
+	public void release() {
+		entries.clear();
+		delegate.release();
+	}
+
+	private void invalidate(Object key) {
+		writeCount.incrementAndGet();
+		entries.remove( key );
+	}
+
+	private void invalidateAll() {
+		writeCount.incrementAndGet();
+		entries.clear();
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long expiresAt;
+
+		private Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isAlive() {
+			return System.currentTimeMillis() < expiresAt;
+		}
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.Map;
+
 import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
 import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
 import org.hibernate.cache.internal.DefaultCacheKeysFactory;
@@ -14,7 +16,12 @@ import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import static org.hibernate.cfg.AvailableSettings.NEAR_CACHE_MAX_ENTRIES;
+import static org.hibernate.cfg.AvailableSettings.NEAR_CACHE_TIME_TO_LIVE;
 
 /**
  * @author Steve Ebersole
@@ -28,12 +35,43 @@ public abstract class RegionFactoryTemplate extends AbstractRegionFactory {
 		return new DomainDataRegionTemplate(
 				regionConfig,
 				this,
-				createDomainDataStorageAccess( regionConfig, buildingContext ),
+				applyNearCache( createDomainDataStorageAccess( regionConfig, buildingContext ), regionConfig, buildingContext ),
 				getImplicitCacheKeysFactory(),
 				buildingContext
 		);
 	}
 
+	/**
+	 * Wrap the storage access of a domain data region in a {@link NearCacheDomainDataStorageAccess},
+	 * if a near cache is configured for the region.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#NEAR_CACHE_MAX_ENTRIES
+	 */
+	protected DomainDataStorageAccess applyNearCache(
+			DomainDataStorageAccess storageAccess,
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		final Map<String, Object> settings = buildingContext.getSessionFactory()
+				.getServiceRegistry()
+				.getService( ConfigurationService.class )
+				.getSettings();
+		final String regionName = regionConfig.getRegionName();
+		final int maxEntries = ConfigurationHelper.getInt(
+				NEAR_CACHE_MAX_ENTRIES + '.' + regionName,
+				settings,
+				ConfigurationHelper.getInt( NEAR_CACHE_MAX_ENTRIES, settings, 0 )
+		);
+		if ( maxEntries <= 0 ) {
+			return storageAccess;
+		}
+		final int timeToLive = ConfigurationHelper.getInt(
+				NEAR_CACHE_TIME_TO_LIVE + '.' + regionName,
+				settings,
+				ConfigurationHelper.getInt( NEAR_CACHE_TIME_TO_LIVE, settings, 10_000 )
+		);
+		return new NearCacheDomainDataStorageAccess( storageAccess, regionName, maxEntries, timeToLive );
+	}
+
 	protected CacheKeysFactory getImplicitCacheKeysFactory() {
 		return DefaultCacheKeysFactory.INSTANCE;
 	}
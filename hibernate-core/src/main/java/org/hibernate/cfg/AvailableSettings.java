@@ -919,6 +919,23 @@ public interface AvailableSettings {
 	 */
 	String DEFAULT_BATCH_FETCH_SIZE = "hibernate.default_batch_fetch_size";
 
+	/**
+	 * When enabled, specifies that the keys of a batch of entities or collections to
+	 * be loaded should be bound to a single array parameter, using a restriction like
+	 * {@code id = any(?)}, rather than to an {@code in} list of parameters, on databases
+	 * which {@linkplain org.hibernate.dialect.Dialect#supportsArrayAnyComparison() support it}.
+	 * A single SQL statement is then used to load any number of keys of a given entity
+	 * or collection, and the statement caches of the database and of the driver are not
+	 * polluted by statements for each possible batch size.
+	 * <p>
+	 * Only single-column keys are bound to an array parameter.
+	 * <p>
+	 * By default, the keys are bound to an {@code in} list.
+	 *
+	 * @see #DEFAULT_BATCH_FETCH_SIZE
+	 */
+	String BATCH_FETCH_ARRAY_PARAMETER = "hibernate.batch_fetch_array_parameter";
+
 	/**
 	 * When enabled, specifies that JDBC scrollable {@code ResultSet}s may be used.
 	 * This property is only necessary when there is no {@code ConnectionProvider},
@@ -951,6 +968,25 @@ public interface AvailableSettings {
 	 */
 	String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
 
+	/**
+	 * Specifies the maximum number of idle {@link java.sql.PreparedStatement}s kept open
+	 * for each JDBC connection, so that a statement may be reused, by any session, when
+	 * the same SQL is executed again over the same physical connection. A nonzero value
+	 * enables the cache, which is evicted in least recently used order.
+	 * <p/>
+	 * This is meant for connection pools and drivers which do not cache statements, for
+	 * example the built-in
+	 * {@link org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl}.
+	 * Statements are only reused when the pool hands out the same {@link java.sql.Connection}
+	 * object again. Callable statements, and statements returning generated keys, are not
+	 * cached.
+	 * <p/>
+	 * The default is {@code 0}.
+	 *
+	 * @see org.hibernate.stat.Statistics#getPreparedStatementCacheHitCount()
+	 */
+	String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
+
 	/**
 	 * Specifies the maximum JDBC batch size. A nonzero value enables batch updates.
 	 *
@@ -964,6 +1000,39 @@ public interface AvailableSettings {
 	 */
 	String BATCH_STRATEGY = "hibernate.jdbc.factory_class";
 
+	/**
+	 * When enabled, specifies that batched inserts of entities should be written as a
+	 * single multi-row {@code insert ... values (...), (...)} statement, rather than as
+	 * a JDBC batch of single-row statements, when the {@link org.hibernate.dialect.Dialect}
+	 * {@linkplain org.hibernate.dialect.Dialect#supportsMultiRowValuesListForInsert() supports it}.
+	 * The number of rows written by each statement is limited by the
+	 * {@linkplain #STATEMENT_BATCH_SIZE batch size}, and by the
+	 * {@linkplain org.hibernate.dialect.Dialect#getParameterCountLimit() parameter count limit}
+	 * and the {@linkplain org.hibernate.dialect.Dialect#getValuesListRowLimit() values list row limit}
+	 * of the database. Entities inserted by custom SQL are still written as a JDBC batch.
+	 * <p/>
+	 * The default is {@code false}.
+	 *
+	 * @see org.hibernate.engine.jdbc.batch.internal.MultiRowInsertBatch
+	 */
+	String BATCH_MULTI_ROW_INSERTS = "hibernate.jdbc.batch_multi_row_inserts";
+
+	/**
+	 * When enabled, specifies that once a JDBC batch is full, it should be executed
+	 * by a background thread, while the session binds the rows of the next batch to
+	 * a second statement. At most one batch is executed at once for a given session,
+	 * and any failure is reported no later than the end of the flush.
+	 * <p/>
+	 * The JDBC driver must support the execution of a statement concurrently with the
+	 * binding of the parameters of another statement of the same connection.
+	 * <p/>
+	 * The default is {@code false}. This setting is ignored when
+	 * {@value #BATCH_MULTI_ROW_INSERTS} is enabled.
+	 *
+	 * @see org.hibernate.engine.jdbc.batch.internal.PipelinedBatchingBatch
+	 */
+	String BATCH_PIPELINING = "hibernate.jdbc.batch_pipelining";
+
 	/**
 	 * When enabled, specifies that {@link jakarta.persistence.Version versioned}
 	 * data should be included in batching.
@@ -1077,6 +1146,22 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * When enabled, specifies that the query plans of named HQL select queries be built,
+	 * and their SQL generated, in parallel during startup, instead of on their first
+	 * execution, so that the first execution of each named query does not pay the cost
+	 * of its translation.
+	 * <p>
+	 * A query plan is only built ahead of time when query plan caching is enabled and the
+	 * query does not declare multi-valued parameters. A query that cannot be translated
+	 * ahead of time is logged and translated on its first execution, as usual.
+	 * <p>
+	 * By default, query plans are built on first execution.
+	 *
+	 * @see #QUERY_PLAN_CACHE_ENABLED
+	 */
+	String PRECOMPILE_NAMED_QUERIES = "hibernate.query.precompile_named_queries";
+
 	/**
 	 * Enable ordering of update statements by primary key value.
 	 *
@@ -1091,6 +1176,104 @@ public interface AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * Enable ordering of delete statements by entity type, for the purpose of more
+	 * efficient JDBC batching. The rows referencing other rows through a foreign key
+	 * are deleted before the rows they reference, unless the entity types depend on
+	 * each other, in which case the deletes are left in the order they were requested.
+	 * <p>
+	 * By default, the deletes are not ordered.
+	 *
+	 * @see #ORDER_INSERTS
+	 *
+	 * @since 6.1
+	 */
+	String ORDER_DELETES = "hibernate.order_deletes";
+
+	/**
+	 * When enabled, a flush only visits the managed entities which might have been
+	 * modified since the previous flush, rather than every entity associated with the
+	 * persistence context.
+	 * <p>
+	 * An entity leaves this "dirty region" once it has been flushed if it is bytecode
+	 * enhanced for inline dirty tracking, has neither collections nor mutable attributes,
+	 * and is linked to a lazy-loading interceptor of the session. It re-enters the region
+	 * as soon as one of its attributes is written through that interceptor. Every other
+	 * entity is always visited.
+	 * <p>
+	 * Custom {@link org.hibernate.event.spi.FlushEntityEventListener}s are not notified
+	 * about entities outside the region, and an {@link org.hibernate.Interceptor} which
+	 * detects dirtiness on its own should report it via
+	 * {@link org.hibernate.engine.spi.PersistenceContext#markEntityPossiblyDirty(Object)}.
+	 * <p>
+	 * By default, every managed entity is visited.
+	 *
+	 * @since 6.1
+	 */
+	String FLUSH_DIRTY_REGION_ONLY = "hibernate.flush.dirty_region_only";
+
+	/**
+	 * When enabled, an auto-flush triggered by the execution of a query is skipped
+	 * altogether, without dirty checking the persistence context, when neither the
+	 * pending actions nor the entity types which might have been modified affect the
+	 * table spaces of the query.
+	 * <p>
+	 * The table spaces an entity type might affect are those of its own tables, of its
+	 * collections, and of the entity types its cascading associations lead to. When
+	 * {@link #FLUSH_DIRTY_REGION_ONLY} is enabled as well, only the entity types with
+	 * at least one entity in the dirty region are considered.
+	 * <p>
+	 * By default, the persistence context is always dirty checked before deciding whether
+	 * an auto-flush is needed.
+	 *
+	 * @since 6.1
+	 */
+	String AUTO_FLUSH_QUERY_SPACES_PRECHECK = "hibernate.flush.auto.query_spaces_precheck";
+
+	/**
+	 * The minimum number of entities a flush has to visit for their state to be dirty
+	 * checked in parallel, on the common {@link java.util.concurrent.ForkJoinPool}.
+	 * Events are still fired, and actions still scheduled, in order on the thread
+	 * performing the flush.
+	 * <p>
+	 * Only the entities which are not bytecode enhanced, and whose attributes are all
+	 * of basic or embeddable type, are dirty checked in parallel: their state is read,
+	 * and compared with the loaded state, on the pool threads.
+	 * Parallel dirty checking is not applied when a custom
+	 * {@link org.hibernate.CustomEntityDirtinessStrategy} or additional
+	 * {@link org.hibernate.event.spi.FlushEntityEventListener}s are registered.
+	 * <p>
+	 * The state of all these entities is read before the flush events are fired, so it
+	 * would miss the changes an {@link org.hibernate.Interceptor} or a JPA
+	 * {@code @PreUpdate} callback makes to other entities. Parallel dirty checking is
+	 * therefore not applied when the session has an Interceptor, or when the flush
+	 * visits an entity with {@code @PreUpdate} callbacks.
+	 * <p>
+	 * By default, dirty checking is never performed in parallel.
+	 *
+	 * @since 6.1
+	 */
+	String FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD = "hibernate.flush.parallel_dirty_check_threshold";
+
+	/**
+	 * When enabled, the snapshot of the loaded state kept for each managed entity packs
+	 * the values of the attributes declared with a primitive type ({@code long}, {@code int},
+	 * {@code double}, {@code float}, {@code short} or {@code char}) into a {@code long[]},
+	 * instead of retaining a boxed instance per value.
+	 * <p>
+	 * The snapshot is packed once the entity is loaded, and stays packed while the entity
+	 * is dirty checked by a flush: the packed values are compared as primitives. It is only
+	 * unpacked when an {@link org.hibernate.Interceptor} needs it, or when the entity is
+	 * updated, in which case the new snapshot is packed once the flush completed. Entities
+	 * which track their own dirtiness through bytecode enhancement, and entities whose
+	 * persister overrides {@code findDirty()}, are never packed.
+	 * <p>
+	 * By default, the loaded state is not packed.
+	 *
+	 * @since 6.1
+	 */
+	String PACK_LOADED_STATE = "hibernate.session.pack_loaded_state";
+
 	/**
 	 * JPA callbacks are enabled by default. Set this to {@code false} to disable them.
 	 * Mostly useful to save a bit of memory when they are not used.
@@ -1314,6 +1497,81 @@ public interface AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enables the use of compact second-level cache entries for entities, which store
+	 * the entity name, version and disassembled state of an entity in a versioned binary
+	 * format, instead of relying on the Java serialization of the cache entry. Such entries
+	 * are several times smaller, and cheaper to copy, when stored in an off-heap or remote cache.
+	 * <p>
+	 * Takes precedence over {@link #USE_STRUCTURED_CACHE}.
+	 *
+	 * @see org.hibernate.cache.spi.entry.CompactCacheEntry
+	 */
+	String USE_COMPACT_CACHE_ENTRIES = "hibernate.cache.use_compact_entries";
+
+	/**
+	 * Enables the use of column-oriented query cache entries, which store each column
+	 * of the cached results in an array of a primitive type, or of dictionary-encoded
+	 * strings, where possible, instead of storing an array of values for each row.
+	 * Such entries are more compact, especially once serialized by a distributed cache,
+	 * and are read without copying each row.
+	 * <p>
+	 * By default, a query cache entry stores a list of rows.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 */
+	String USE_COLUMNAR_QUERY_CACHE = "hibernate.cache.use_columnar_query_cache_entries";
+
+	/**
+	 * When set to a positive number, enables the invalidation of cached query results by
+	 * row key. The cached results of a query which only reads the rows of a single entity,
+	 * whose identifier is restricted to be equal to a parameter, are then invalidated only
+	 * by a change to a row whose identifier falls into the same bucket as the bound
+	 * identifier, among the given number of buckets per table, or by a change to the table
+	 * which is not made by an entity insert, update or delete, such as a bulk operation or
+	 * a collection update. The cached results of any other query are still invalidated by
+	 * any change to the tables it reads.
+	 * <p>
+	 * The tables of an entity are assumed to be identified by the identifier of the entity,
+	 * and to only be written through that entity, or through operations affecting whole tables.
+	 * <p>
+	 * By default, cached query results are invalidated by any change to the tables they read.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 */
+	String QUERY_CACHE_INVALIDATION_BUCKETS = "hibernate.cache.query_cache_invalidation_buckets";
+
+	/**
+	 * When set to a positive number of milliseconds, enables the coalescing of concurrent
+	 * executions of a cacheable query whose results are not found in the query cache. The
+	 * first execution runs the query and caches its results, while the other executions of
+	 * the same query, with the same parameters, wait for the cached results, for at most
+	 * the given number of milliseconds, instead of running it too. An execution which waited
+	 * in vain runs the query itself.
+	 * <p>
+	 * Only executions within this {@code SessionFactory} are coalesced.
+	 * <p>
+	 * By default, concurrent executions are not coalesced.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 */
+	String QUERY_CACHE_COALESCING_TIMEOUT = "hibernate.cache.query_cache_coalescing_timeout";
+
+	/**
+	 * When set to a positive number of milliseconds, enables the refresh-ahead of cached
+	 * query results which are older than the given number of milliseconds, typically a fraction
+	 * of the time to live of the query cache region. The first execution of the query which
+	 * finds such results in the cache runs the query, and replaces the cached results, while
+	 * the concurrent executions of the query keep using the cached results. The results of
+	 * popular queries are thus refreshed before they expire from the cache, and the refreshes
+	 * are counted by {@link org.hibernate.stat.QueryStatistics#getCacheRefreshCount()}.
+	 * <p>
+	 * By default, cached query results are not refreshed ahead.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 */
+	String QUERY_CACHE_REFRESH_AHEAD = "hibernate.cache.query_cache_refresh_ahead";
+
 	/**
 	 * Enables the automatic eviction of a bidirectional association's collection
 	 * cache when an element in the {@link jakarta.persistence.ManyToOne} collection
@@ -1334,6 +1592,46 @@ public interface AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * When set to a positive number, enables a bounded in-process near cache, holding at
+	 * most the given number of entries, in front of each entity, collection and natural-id
+	 * region built by a {@link org.hibernate.cache.spi.support.RegionFactoryTemplate}.
+	 * This avoids a round trip for reads of a remote or clustered cache provider.
+	 * <p>
+	 * The setting may be given for a single region by appending the region name, for example
+	 * {@code hibernate.cache.near_cache.max_entries.org.example.Country}, which takes precedence,
+	 * so that a value of {@code 0} disables the near cache for that region.
+	 * <p>
+	 * Changes made through this {@code SessionFactory} are applied to the near cache, but
+	 * changes made by other nodes are only seen once the entry has expired, as specified by
+	 * {@link #NEAR_CACHE_TIME_TO_LIVE}. The near cache is therefore meant for read-mostly data.
+	 * <p>
+	 * By default, no near cache is used.
+	 *
+	 * @see org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess
+	 */
+	String NEAR_CACHE_MAX_ENTRIES = "hibernate.cache.near_cache.max_entries";
+
+	/**
+	 * The number of milliseconds an entry is kept in the near cache enabled by
+	 * {@link #NEAR_CACHE_MAX_ENTRIES}. The setting may be given for a single region by
+	 * appending the region name.
+	 * <p>
+	 * The default is {@code 10000}.
+	 */
+	String NEAR_CACHE_TIME_TO_LIVE = "hibernate.cache.near_cache.time_to_live";
+
+	/**
+	 * The maximum number of bytes of off-heap memory used by each region of the
+	 * {@link org.hibernate.cache.internal.OffHeapRegionFactory}. Once a region is full,
+	 * its oldest entries are evicted. The setting may be given for a single region by
+	 * appending the region name, for example
+	 * {@code hibernate.cache.off_heap.max_size.org.example.Country}.
+	 * <p>
+	 * The default is {@code 67108864}, that is, 64 MB.
+	 */
+	String OFF_HEAP_CACHE_MAX_SIZE = "hibernate.cache.off_heap.max_size";
+
 
 
 
@@ -1419,6 +1717,19 @@ public interface AvailableSettings {
 	@Deprecated(since="6.0")
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * When enabled, specifies that the rows of query results should be read by a class
+	 * generated, using the {@linkplain #BYTECODE_PROVIDER bytecode provider},
+	 * for each distinct shape of {@link org.hibernate.sql.results.graph.DomainResultAssembler}s
+	 * and {@link org.hibernate.sql.results.graph.Initializer}s. The generated class calls each
+	 * assembler and initializer from its own call site, instead of from a loop over all of
+	 * them, allowing the JVM to inline the calls for frequently executed queries.
+	 * <p>
+	 * Requires the ByteBuddy bytecode provider. By default, rows are read by a
+	 * {@link org.hibernate.sql.results.internal.StandardRowReader}.
+	 */
+	String COMPILED_ROW_READERS = "hibernate.query.compiled_row_readers";
+
 	/**
 	 * When enabled, specifies that Hibernate should not use contextual LOB creation.
 	 *
@@ -437,6 +437,11 @@ public class CockroachDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean supportsArrayAnyComparison() {
+		return true;
+	}
+
 	@Override
 	public void appendDateTimeLiteral(
 			SqlAppender appender,
@@ -3115,6 +3115,42 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Return the limit that the underlying database places on the number of parameters
+	 * of a single statement. If the database defines no such limits, simply return zero
+	 * or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getParameterCountLimit() {
+		return 0;
+	}
+
+	/**
+	 * Does this dialect/database accept several rows in the {@code values} clause of an
+	 * {@code insert} statement, as written by
+	 * {@linkplain org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS multi-row insert batching}?
+	 * <p/>
+	 * Unlike {@link #supportsValuesListForInsert()}, this must not rely on an emulation of
+	 * the {@code values} list by the SQL AST translator.
+	 *
+	 * @return {@code true} if multi-row {@code insert ... values (...), (...)} statements are supported
+	 */
+	public boolean supportsMultiRowValuesListForInsert() {
+		return supportsValuesListForInsert();
+	}
+
+	/**
+	 * Return the limit that the underlying database places on the number of rows of a
+	 * {@code values} list. If the database defines no such limits, simply return zero
+	 * or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getValuesListRowLimit() {
+		return 0;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
@@ -3192,6 +3228,17 @@ public abstract class Dialect implements ConversionContext {
 		return ScrollMode.SCROLL_INSENSITIVE;
 	}
 
+	/**
+	 * The JDBC fetch size to use for results which are scrolled or streamed
+	 * {@linkplain org.hibernate.query.SelectionQuery#setEvictOnScroll(boolean) with eviction},
+	 * when no fetch size was set explicitly.
+	 *
+	 * @return The fetch size, or {@code 0} to leave it to the driver
+	 */
+	public int getDefaultStreamingFetchSize() {
+		return 256;
+	}
+
 	/**
 	 * Does this dialect support offset in subqueries?  Ex:
 	 * select * from Table1 where col1 in (select col1 from Table2 order by col2 limit 1 offset 1)
@@ -3359,6 +3406,18 @@ public abstract class Dialect implements ConversionContext {
 		return false;
 	}
 
+	/**
+	 * Does this dialect support comparing a value with the elements of an array
+	 * bound to a parameter, using the syntax {@code value = any(?)}?
+	 *
+	 * @return boolean
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER
+	 */
+	public boolean supportsArrayAnyComparison() {
+		return false;
+	}
+
 	/**
 	 * The SQL type name for the array of the given type name.
 	 *
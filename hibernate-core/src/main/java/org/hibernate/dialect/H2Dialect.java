@@ -175,6 +175,11 @@ public class H2Dialect extends Dialect {
 		return getVersion().isSameOrAfter( 2 );
 	}
 
+	@Override
+	public boolean supportsArrayAnyComparison() {
+		return supportsStandardArrays();
+	}
+
 	@Override
 	protected String columnType(int sqlTypeCode) {
 		switch ( sqlTypeCode ) {
@@ -884,6 +884,11 @@ public class MySQLDialect extends Dialect {
 		return 64;
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		return 65_535;
+	}
+
 	@Override
 	public boolean supportsCurrentTimestampSelection() {
 		return true;
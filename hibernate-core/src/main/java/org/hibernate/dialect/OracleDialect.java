@@ -933,6 +933,13 @@ public class OracleDialect extends Dialect {
 		return PARAM_LIST_SIZE_LIMIT;
 	}
 
+	@Override
+	public boolean supportsMultiRowValuesListForInsert() {
+		// only a single row may be listed by the values clause of an insert,
+		// the translator emulates values lists using 'union all' instead
+		return false;
+	}
+
 	@Override
 	public boolean forceLobAsLastValue() {
 		return true;
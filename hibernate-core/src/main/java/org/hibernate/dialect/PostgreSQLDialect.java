@@ -588,6 +588,12 @@ public class PostgreSQLDialect extends Dialect {
 		return getVersion().isSameOrAfter( 8, 2 );
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		// the number of parameters is sent as a 16-bit integer by the wire protocol
+		return Short.MAX_VALUE;
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return getVersion().isSameOrAfter( 9, 1 );
@@ -901,6 +907,11 @@ public class PostgreSQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean supportsArrayAnyComparison() {
+		return true;
+	}
+
 	@Override
 	public boolean supportsJdbcConnectionLobCreation(DatabaseMetaData databaseMetaData) {
 		return false;
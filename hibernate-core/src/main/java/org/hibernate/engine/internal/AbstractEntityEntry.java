@@ -28,6 +28,7 @@ import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
 import org.hibernate.pretty.MessageHelper;
@@ -51,6 +52,9 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 	protected final transient PersistenceContext persistenceContext;
 	protected EntityEntryExtraState next;
 
+	// the values of the primitive typed attributes of the loaded state, when packed; see PackedStateLayout
+	private transient long[] packedLoadedState;
+
 	/**
 	 * Holds several boolean and enum typed attributes in a very compact manner. Enum values are stored in 4 bits
 	 * (where 0 represents {@code null}, and each enum value is represented by its ordinal value + 1), thus allowing
@@ -103,6 +107,10 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		setCompressedValue( BooleanState.IS_BEING_REPLICATED, disableVersionIncrement );
 		this.persister=persister;
 		this.persistenceContext = persistenceContext;
+		if ( status == Status.MANAGED ) {
+			// typically the state of a new entity, which is packed once it has been flushed
+			loadedStateUnpacked();
+		}
 	}
 
 	/**
@@ -165,6 +173,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		if ( status == Status.READ_ONLY ) {
 			//memory optimization
 			loadedState = null;
+			packedLoadedState = null;
 		}
 
 		final Status currentStatus = this.getStatus();
@@ -172,6 +181,10 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		if ( currentStatus != status ) {
 			setCompressedValue( EnumState.PREVIOUS_STATUS, currentStatus );
 			setCompressedValue( EnumState.STATUS, status );
+			if ( currentStatus == Status.LOADING && status == Status.MANAGED ) {
+				// the snapshot of the loaded state is complete
+				packLoadedState();
+			}
 		}
 	}
 
@@ -182,9 +195,77 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 
 	@Override
 	public Object[] getLoadedState() {
+		if ( packedLoadedState != null ) {
+			packedStateLayout().unpack( packedLoadedState, loadedState );
+			packedLoadedState = null;
+			loadedStateUnpacked();
+		}
 		return loadedState;
 	}
 
+	/**
+	 * Pack the values of the primitive typed attributes of the loaded state, if enabled for the
+	 * entity type, and not already packed. They are unpacked as soon as the loaded state is
+	 * accessed through {@link #getLoadedState()}, but not by {@link #findDirty}.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PACK_LOADED_STATE
+	 */
+	public void packLoadedState() {
+		if ( packedLoadedState == null && loadedState != null ) {
+			final PackedStateLayout layout = packedStateLayout();
+			if ( layout != null ) {
+				final long[] packed = layout.pack( loadedState );
+				if ( packed != null ) {
+					// the loaded state array may be shared, for example with the update action which produced it
+					loadedState = layout.withoutPackedValues( loadedState );
+					packedLoadedState = packed;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether the loaded state is currently packed.
+	 */
+	public boolean isLoadedStatePacked() {
+		return packedLoadedState != null;
+	}
+
+	/**
+	 * Dirty check the given state against the loaded state, leaving the loaded state packed
+	 * if it is: its packed values are compared as primitives.
+	 *
+	 * @param currentState The current state of the entity
+	 * @param entity The entity
+	 * @param session The session in which the check is occurring
+	 *
+	 * @return {@code null} or the indices of the dirty properties
+	 *
+	 * @see EntityPersister#findDirty
+	 */
+	public int[] findDirty(Object[] currentState, Object entity, SharedSessionContractImplementor session) {
+		final long[] packed = packedLoadedState;
+		return packed == null
+				? persister.findDirty( currentState, getLoadedState(), entity, session )
+				: ( (AbstractEntityPersister) persister ).findDirty( currentState, loadedState, packed, entity, session );
+	}
+
+	private void loadedStateUnpacked() {
+		// the loaded state is packed again once the next flush completed
+		if ( loadedState != null
+				&& persistenceContext instanceof StatefulPersistenceContext
+				&& packedStateLayout() != null ) {
+			( (StatefulPersistenceContext) persistenceContext ).loadedStateUnpacked( this );
+		}
+	}
+
+	private PackedStateLayout packedStateLayout() {
+		// the entries of immutable entities are never packed, since they may be shared between sessions
+		return persister instanceof AbstractEntityPersister && persister.isMutable()
+				? ( (AbstractEntityPersister) persister ).getPackedStateLayout()
+				: null;
+	}
+
 	private static final Object[] DEFAULT_DELETED_STATE = null;
 
 	@Override
@@ -252,6 +333,8 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 	@Override
 	public void postUpdate(Object entity, Object[] updatedState, Object nextVersion) {
 		this.loadedState = updatedState;
+		this.packedLoadedState = null;
+		loadedStateUnpacked();
 		setLockMode( LockMode.WRITE );
 
 		if ( getPersister().isVersioned() ) {
@@ -301,7 +384,9 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		}
 		else {
 			final int propertyIndex = ( (UniqueKeyLoadable) persister ).getPropertyIndex( propertyName );
-			return loadedState[propertyIndex];
+			return packedLoadedState == null
+					? loadedState[propertyIndex]
+					: packedStateLayout().getValue( packedLoadedState, loadedState, propertyIndex );
 		}
 	}
 
@@ -313,7 +398,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 			assert loadedState != null;
 
 			final int propertyIndex = ( (UniqueKeyLoadable) persister ).getPropertyIndex( propertyName );
-			loadedState[propertyIndex] = collection;
+			getLoadedState()[propertyIndex] = collection;
 		}
 	}
 
@@ -379,7 +464,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 	@Override
 	public void forceLocked(Object entity, Object nextVersion) {
 		version = nextVersion;
-		loadedState[ persister.getVersionProperty() ] = version;
+		getLoadedState()[ persister.getVersionProperty() ] = version;
 		setLockMode( LockMode.PESSIMISTIC_FORCE_INCREMENT );
 		persister.setValue( entity, getPersister().getVersionProperty(), nextVersion );
 	}
@@ -402,6 +487,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		if ( readOnly ) {
 			setStatus( Status.READ_ONLY );
 			loadedState = null;
+			packedLoadedState = null;
 		}
 		else {
 			if ( ! persister.isMutable() ) {
@@ -409,6 +495,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 			}
 			setStatus( Status.MANAGED );
 			loadedState = getPersister().getValues( entity );
+			loadedStateUnpacked();
 			getPersistenceContext().getNaturalIdResolutions().manageLocalResolution(
 					id, loadedState, persister,
 					CachedNaturalIdValueSource.LOAD
@@ -431,7 +518,7 @@ public abstract class AbstractEntityEntry implements Serializable, EntityEntry {
 		oos.writeObject( getStatus().name() );
 		oos.writeObject( (previousStatus == null ? "" : previousStatus.name()) );
 		// todo : potentially look at optimizing these two arrays
-		oos.writeObject( loadedState );
+		oos.writeObject( getLoadedState() );
 		oos.writeObject( getDeletedState() );
 		oos.writeObject( version );
 		oos.writeObject( getLockMode().toString() );
@@ -37,4 +37,36 @@ public final class CacheHelper {
 		return cachedValue;
 	}
 
+	/**
+	 * Get the cached values of several keys with a single {@linkplain CachedDomainDataAccess#getAll bulk access}
+	 *
+	 * @param cacheKeys The cache keys, some of which may be {@code null}
+	 *
+	 * @return The cached values, in the order of the given keys
+	 */
+	public static Object[] fromSharedCache(
+			SharedSessionContractImplementor session,
+			Object[] cacheKeys,
+			CachedDomainDataAccess cacheAccess) {
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		Object[] cachedValues = null;
+		eventListenerManager.cacheGetStart();
+		try {
+			cachedValues = cacheAccess.getAll( session, cacheKeys );
+		}
+		finally {
+			eventListenerManager.cacheGetEnd( cachedValues != null && containsValue( cachedValues ) );
+		}
+		return cachedValues;
+	}
+
+	private static boolean containsValue(Object[] values) {
+		for ( Object value : values ) {
+			if ( value != null ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -9,19 +9,29 @@ package org.hibernate.engine.internal;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.bytecode.enhance.spi.interceptor.SessionAssociableInterceptor;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.Status;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.MutableInteger;
+import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.persister.entity.EntityPersister;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Defines a context for maintaining the relation between an entity associated with the Session ultimately owning this
@@ -35,6 +45,12 @@ import java.util.Map;
  *     </li>
  * </ul>
  * <p/>
+ * When {@link org.hibernate.cfg.AvailableSettings#FLUSH_DIRTY_REGION_ONLY} is enabled, the context additionally
+ * maintains the "dirty region": the sequenced subset of its entities which need to be visited by the next flush.
+ * <p/>
+ * When {@link org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK} is enabled, the context
+ * keeps a count of the entities which might have been modified by entity type: that is, of all its entities,
+ * or of the ones in the dirty region when it is tracked.
  *
  * @author Steve Ebersole
  */
@@ -55,11 +71,32 @@ public class EntityEntryContext {
 	private transient Map.Entry<Object,EntityEntry>[] reentrantSafeEntries = new Map.Entry[0];
 	private transient boolean dirty;
 
+	// the entities which might have been modified since the last flush, by entity instance;
+	// null unless tracking of the dirty region has been enabled
+	private transient IdentityMap<Object,ManagedEntity> dirtyRegion;
+
+	// the number of entities which might have been modified, by entity type;
+	// null unless the auto-flush query spaces pre-check has been enabled
+	private transient IdentityHashMap<EntityPersister,MutableInteger> possiblyDirtyCountByPersister;
+
+	// the entries whose loaded state was unpacked, or replaced, since the last flush, to be packed
+	// again once the next flush completed; null unless packing of the loaded state has been enabled
+	private transient ArrayList<AbstractEntityEntry> unpackedEntries;
+
 	/**
 	 * Constructs a EntityEntryContext
 	 */
 	public EntityEntryContext(PersistenceContext persistenceContext) {
 		this.persistenceContext = persistenceContext;
+		if ( persistenceContext.getSession().getFactory().getSessionFactoryOptions().isFlushDirtyRegionOnlyEnabled() ) {
+			this.dirtyRegion = IdentityMap.instantiateSequenced( 8 );
+		}
+		if ( persistenceContext.getSession().getFactory().getSessionFactoryOptions().isAutoFlushQuerySpacesPrecheckEnabled() ) {
+			this.possiblyDirtyCountByPersister = new IdentityHashMap<>();
+		}
+		if ( persistenceContext.getSession().getFactory().getSessionFactoryOptions().isPackLoadedStateEnabled() ) {
+			this.unpackedEntries = new ArrayList<>();
+		}
 	}
 
 	/**
@@ -121,6 +158,16 @@ public class EntityEntryContext {
 		// associate the EntityEntry with the entity
 		managedEntity.$$_hibernate_setEntityEntry( entityEntry );
 
+		// newly associated entities, as well as the re-associated ones, need to be visited by the next flush
+		if ( dirtyRegion != null ) {
+			if ( dirtyRegion.put( entity, managedEntity ) == null ) {
+				countPossiblyDirty( entityEntry.getPersister(), 1 );
+			}
+		}
+		else if ( !alreadyAssociated ) {
+			countPossiblyDirty( entityEntry.getPersister(), 1 );
+		}
+
 		if ( alreadyAssociated ) {
 			// if the entity was already associated with the context, skip the linking step.
 			return;
@@ -246,6 +293,10 @@ public class EntityEntryContext {
 
 		dirty = true;
 
+		if ( dirtyRegion == null || dirtyRegion.remove( entity ) != null ) {
+			countPossiblyDirty( managedEntity.$$_hibernate_getEntityEntry().getPersister(), -1 );
+		}
+
 		if (managedEntity instanceof ImmutableManagedEntityHolder) {
 			assert entity == ( (ImmutableManagedEntityHolder) managedEntity ).managedEntity;
 			immutableManagedEntityXref.remove( entity );
@@ -324,6 +375,133 @@ public class EntityEntryContext {
 		return reentrantSafeEntries;
 	}
 
+	/**
+	 * Is the dirty region of this context being tracked?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_DIRTY_REGION_ONLY
+	 */
+	public boolean isDirtyRegionTracked() {
+		return dirtyRegion != null;
+	}
+
+	/**
+	 * Notification that the given entity might have been modified, and must be visited
+	 * by the next flush.  A no-op if the entity is not associated with this context, or
+	 * if the dirty region is not being tracked.
+	 *
+	 * @param entity The entity which might have been modified
+	 */
+	public void markPossiblyDirty(Object entity) {
+		if ( dirtyRegion != null && entity != null ) {
+			final ManagedEntity managedEntity = getAssociatedManagedEntity( entity );
+			if ( managedEntity != null && dirtyRegion.put( entity, managedEntity ) == null ) {
+				countPossiblyDirty( managedEntity.$$_hibernate_getEntityEntry().getPersister(), 1 );
+			}
+		}
+	}
+
+	/**
+	 * Like {@link #reentrantSafeEntityEntries()}, but only returning the entities of the dirty
+	 * region, in the order in which they entered it.  When the dirty region is not being tracked,
+	 * all the entity/EntityEntry pairs of this context are returned.
+	 *
+	 * @return The safe array
+	 */
+	public Map.Entry<Object, EntityEntry>[] reentrantSafePossiblyDirtyEntityEntries() {
+		if ( dirtyRegion == null ) {
+			return reentrantSafeEntityEntries();
+		}
+		final Map.Entry<Object, EntityEntry>[] entries = new EntityEntryCrossRefImpl[ dirtyRegion.size() ];
+		int i = 0;
+		for ( ManagedEntity managedEntity : dirtyRegion.values() ) {
+			entries[i++] = new EntityEntryCrossRefImpl(
+					managedEntity.$$_hibernate_getEntityInstance(),
+					managedEntity.$$_hibernate_getEntityEntry()
+			);
+		}
+		return entries;
+	}
+
+	/**
+	 * Notification that the loaded state of the given entry was unpacked, or replaced by a state which
+	 * is not packed, so that it is packed again once the next flush completed.
+	 *
+	 * @param entry The entry
+	 */
+	void loadedStateUnpacked(AbstractEntityEntry entry) {
+		if ( unpackedEntries != null ) {
+			unpackedEntries.add( entry );
+		}
+	}
+
+	/**
+	 * Removes from the dirty region the entities known to be in sync with the database once a flush
+	 * completed, that is the ones which will report any further modification on their own, and packs
+	 * the loaded state of the entries unpacked since the previous flush, typically those of the updated
+	 * entities.
+	 */
+	public void postFlush() {
+		if ( unpackedEntries != null && !unpackedEntries.isEmpty() ) {
+			for ( int i = 0; i < unpackedEntries.size(); i++ ) {
+				unpackedEntries.get( i ).packLoadedState();
+			}
+			unpackedEntries.clear();
+		}
+		if ( dirtyRegion == null || dirtyRegion.isEmpty() ) {
+			return;
+		}
+		for ( Map.Entry<Object, ManagedEntity> entry : IdentityMap.concurrentEntries( dirtyRegion ) ) {
+			final EntityEntry entityEntry = entry.getValue().$$_hibernate_getEntityEntry();
+			if ( isSelfReportingClean( entry.getKey(), entityEntry ) ) {
+				dirtyRegion.remove( entry.getKey() );
+				countPossiblyDirty( entityEntry.getPersister(), -1 );
+			}
+		}
+	}
+
+	private boolean isSelfReportingClean(Object entity, EntityEntry entityEntry) {
+		final Status status = entityEntry.getStatus();
+		if ( status != Status.MANAGED && status != Status.READ_ONLY ) {
+			return false;
+		}
+		// the collections need to be visited anyway, to determine their reachability
+		if ( entityEntry.getPersister().hasCollections() ) {
+			return false;
+		}
+		if ( entity instanceof SelfDirtinessTracker && entity instanceof PersistentAttributeInterceptable ) {
+			// writes are only reported when they go through an interceptor linked to our session
+			final PersistentAttributeInterceptor interceptor =
+					( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor();
+			return interceptor instanceof SessionAssociableInterceptor
+					&& ( (SessionAssociableInterceptor) interceptor ).getLinkedSession() == persistenceContext.getSession()
+					&& !entityEntry.requiresDirtyCheck( entity );
+		}
+		return false;
+	}
+
+	private void countPossiblyDirty(EntityPersister persister, int delta) {
+		if ( possiblyDirtyCountByPersister != null ) {
+			final MutableInteger count = possiblyDirtyCountByPersister.computeIfAbsent(
+					persister,
+					p -> new MutableInteger()
+			);
+			count.plus( delta );
+			if ( count.get() <= 0 ) {
+				possiblyDirtyCountByPersister.remove( persister );
+			}
+		}
+	}
+
+	/**
+	 * The entity types of the entities in this context which might have been modified since the
+	 * last flush, or {@code null} if this summary is not being tracked.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK
+	 */
+	public Set<EntityPersister> getPossiblyDirtyEntityPersisters() {
+		return possiblyDirtyCountByPersister == null ? null : possiblyDirtyCountByPersister.keySet();
+	}
+
 	/**
 	 * Clear this context of all managed entities
 	 */
@@ -354,6 +532,16 @@ public class EntityEntryContext {
 		tail = null;
 		count = 0;
 
+		if ( dirtyRegion != null ) {
+			dirtyRegion.clear();
+		}
+		if ( unpackedEntries != null ) {
+			unpackedEntries.clear();
+		}
+		if ( possiblyDirtyCountByPersister != null ) {
+			possiblyDirtyCountByPersister.clear();
+		}
+
 		reentrantSafeEntries = null;
 	}
 
@@ -467,6 +655,15 @@ public class EntityEntryContext {
 			}
 			managedEntity.$$_hibernate_setEntityEntry( entry );
 
+			if ( context.dirtyRegion != null ) {
+				context.dirtyRegion.put( entity, managedEntity );
+			}
+			if ( entry instanceof AbstractEntityEntry ) {
+				// the loaded state is serialized unpacked
+				context.loadedStateUnpacked( (AbstractEntityEntry) entry );
+			}
+			context.countPossiblyDirty( entry.getPersister(), 1 );
+
 			if ( previous == null ) {
 				context.head = managedEntity;
 			}
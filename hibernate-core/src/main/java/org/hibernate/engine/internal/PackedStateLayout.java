@@ -0,0 +1,242 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.Arrays;
+
+/**
+ * Describes how the loaded state of the entities of a given type is packed by their
+ * {@link AbstractEntityEntry}: the values of the attributes of primitive type are kept
+ * in a {@code long[]}, rather than as boxed values referenced from the state array.
+ * <p/>
+ * Only the attributes of type {@code long}, {@code int}, {@code double}, {@code float},
+ * {@code short} and {@code char} are packed. Booleans and bytes are always boxed to
+ * shared instances, so there would be nothing to gain from packing them.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PACK_LOADED_STATE
+ */
+public final class PackedStateLayout {
+	private static final byte NOT_PACKED = 0;
+	private static final byte LONG = 1;
+	private static final byte INT = 2;
+	private static final byte DOUBLE = 3;
+	private static final byte FLOAT = 4;
+	private static final byte SHORT = 5;
+	private static final byte CHAR = 6;
+
+	// the kind of value of each attribute, by position in the state array
+	private final byte[] kinds;
+	// the state array position of each packed value
+	private final int[] positions;
+	// the index of the packed value of each state array position, or -1
+	private final int[] slots;
+
+	private PackedStateLayout(byte[] kinds) {
+		this.kinds = kinds;
+		this.slots = new int[kinds.length];
+		int count = 0;
+		for ( int i = 0; i < kinds.length; i++ ) {
+			slots[i] = kinds[i] == NOT_PACKED ? -1 : count++;
+		}
+		this.positions = new int[count];
+		for ( int i = 0; i < kinds.length; i++ ) {
+			if ( slots[i] >= 0 ) {
+				positions[slots[i]] = i;
+			}
+		}
+	}
+
+	/**
+	 * Build the layout for state arrays holding values of the given Java types, by position
+	 *
+	 * @param javaTypes The declared Java types of the attributes, {@code null} for those which must not be packed
+	 *
+	 * @return The layout, or {@code null} if no attribute would be packed
+	 */
+	public static PackedStateLayout forJavaTypes(Class<?>[] javaTypes) {
+		final byte[] kinds = new byte[javaTypes.length];
+		boolean packable = false;
+		for ( int i = 0; i < javaTypes.length; i++ ) {
+			kinds[i] = kind( javaTypes[i] );
+			packable = packable || kinds[i] != NOT_PACKED;
+		}
+		return packable ? new PackedStateLayout( kinds ) : null;
+	}
+
+	private static byte kind(Class<?> javaType) {
+		if ( javaType == long.class ) {
+			return LONG;
+		}
+		else if ( javaType == int.class ) {
+			return INT;
+		}
+		else if ( javaType == double.class ) {
+			return DOUBLE;
+		}
+		else if ( javaType == float.class ) {
+			return FLOAT;
+		}
+		else if ( javaType == short.class ) {
+			return SHORT;
+		}
+		else if ( javaType == char.class ) {
+			return CHAR;
+		}
+		else {
+			return NOT_PACKED;
+		}
+	}
+
+	/**
+	 * Pack the values of the given state which are of primitive type.
+	 *
+	 * @param state The state to pack, left untouched
+	 *
+	 * @return The packed values, or {@code null} if the state does not match this layout
+	 *
+	 * @see #withoutPackedValues
+	 */
+	public long[] pack(Object[] state) {
+		if ( state.length != kinds.length ) {
+			return null;
+		}
+		final long[] packed = new long[positions.length];
+		for ( int slot = 0; slot < positions.length; slot++ ) {
+			final Object value = state[positions[slot]];
+			switch ( kinds[positions[slot]] ) {
+				case LONG:
+					if ( !( value instanceof Long ) ) {
+						return null;
+					}
+					packed[slot] = (Long) value;
+					break;
+				case INT:
+					if ( !( value instanceof Integer ) ) {
+						return null;
+					}
+					packed[slot] = (Integer) value;
+					break;
+				case DOUBLE:
+					if ( !( value instanceof Double ) ) {
+						return null;
+					}
+					packed[slot] = Double.doubleToRawLongBits( (Double) value );
+					break;
+				case FLOAT:
+					if ( !( value instanceof Float ) ) {
+						return null;
+					}
+					packed[slot] = Float.floatToRawIntBits( (Float) value );
+					break;
+				case SHORT:
+					if ( !( value instanceof Short ) ) {
+						return null;
+					}
+					packed[slot] = (Short) value;
+					break;
+				case CHAR:
+					if ( !( value instanceof Character ) ) {
+						return null;
+					}
+					packed[slot] = (Character) value;
+					break;
+				default:
+					throw new AssertionError();
+			}
+		}
+		return packed;
+	}
+
+	/**
+	 * A copy of the given state, without the values which are packed.
+	 */
+	public Object[] withoutPackedValues(Object[] state) {
+		final Object[] packedState = state.clone();
+		for ( int position : positions ) {
+			packedState[position] = null;
+		}
+		return packedState;
+	}
+
+	/**
+	 * Box the packed values back into the given state array.
+	 */
+	public void unpack(long[] packed, Object[] packedState) {
+		for ( int slot = 0; slot < positions.length; slot++ ) {
+			packedState[positions[slot]] = unpack( packed[slot], kinds[positions[slot]] );
+		}
+	}
+
+	/**
+	 * Whether the value at the given position of the state array is packed.
+	 */
+	public boolean isPacked(int position) {
+		return slots[position] >= 0;
+	}
+
+	/**
+	 * Whether the given value is equal to the packed value at the given position, which is
+	 * compared as a primitive, without being boxed.
+	 */
+	public boolean isEqual(long[] packed, int position, Object value) {
+		final long packedValue = packed[slots[position]];
+		switch ( kinds[position] ) {
+			case LONG:
+				return value instanceof Long && (Long) value == packedValue;
+			case INT:
+				return value instanceof Integer && (Integer) value == packedValue;
+			case DOUBLE:
+				// the same equality as Double.equals()
+				return value instanceof Double
+						&& Double.doubleToLongBits( (Double) value )
+								== Double.doubleToLongBits( Double.longBitsToDouble( packedValue ) );
+			case FLOAT:
+				// the same equality as Float.equals()
+				return value instanceof Float
+						&& Float.floatToIntBits( (Float) value )
+								== Float.floatToIntBits( Float.intBitsToFloat( (int) packedValue ) );
+			case SHORT:
+				return value instanceof Short && (Short) value == packedValue;
+			case CHAR:
+				return value instanceof Character && (Character) value == packedValue;
+			default:
+				throw new AssertionError();
+		}
+	}
+
+	/**
+	 * Read a single value of the given packed state, without unpacking it.
+	 */
+	public Object getValue(long[] packed, Object[] packedState, int position) {
+		final int slot = slots[position];
+		return slot < 0 ? packedState[position] : unpack( packed[slot], kinds[position] );
+	}
+
+	private static Object unpack(long value, byte kind) {
+		switch ( kind ) {
+			case LONG:
+				return value;
+			case INT:
+				return (int) value;
+			case DOUBLE:
+				return Double.longBitsToDouble( value );
+			case FLOAT:
+				return Float.intBitsToFloat( (int) value );
+			case SHORT:
+				return (short) value;
+			case CHAR:
+				return (char) value;
+			default:
+				throw new AssertionError();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "PackedStateLayout" + Arrays.toString( positions );
+	}
+}
@@ -41,9 +41,14 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 	public BatchBuilder initiateService(Map<String, Object> configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BUILDER );
 		if ( builder == null ) {
-			return new BatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
-			);
+			final int jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+			if ( ConfigurationHelper.getBoolean( Environment.BATCH_MULTI_ROW_INSERTS, configurationValues ) ) {
+				return new MultiRowInsertBatchBuilder( jdbcBatchSize );
+			}
+			if ( ConfigurationHelper.getBoolean( Environment.BATCH_PIPELINING, configurationValues ) ) {
+				return new PipelinedBatchBuilder( jdbcBatchSize );
+			}
+			return new BatchBuilderImpl( jdbcBatchSize );
 		}
 
 		if ( builder instanceof BatchBuilder ) {
@@ -0,0 +1,25 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.jdbc.Expectation;
+
+/**
+ * The key of the batch of the inserts of the rows of an entity, which
+ * {@link MultiRowInsertBatchBuilder} may write using multi-row inserts.
+ */
+public class EntityInsertBatchKey extends BasicBatchKey {
+	/**
+	 * Constructs an EntityInsertBatchKey
+	 *
+	 * @param entityName The name of the inserted entity
+	 * @param expectation The expectation for the batch
+	 */
+	public EntityInsertBatchKey(String entityName, Expectation expectation) {
+		super( entityName + "#INSERT", expectation );
+	}
+}
@@ -0,0 +1,469 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.HibernateException;
+import org.hibernate.StaleStateException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.Expectations;
+import org.hibernate.resource.jdbc.ResourceRegistry;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which writes the rows of
+ * a batched {@code insert ... values (...)} statement using a single multi-row
+ * {@code insert ... values (...), (...), (...)} statement, rather than a JDBC batch.
+ * <p/>
+ * The parameters bound for each row are recorded, and then replayed against the multi-row statement
+ * when the batch is executed. The number of rows written by each statement is limited by the batch
+ * size, and by the {@linkplain Dialect#getParameterCountLimit() parameter count limit} and the
+ * {@linkplain Dialect#getValuesListRowLimit() values list row limit} of the database.
+ * <p/>
+ * Any other statement, including a callable statement, is batched just like by {@link BatchingBatch}.
+ * A multi-row statement which does not report one inserted row per row fails as a whole, since its
+ * row count does not tell which rows were not inserted.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+ */
+public class MultiRowInsertBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			MultiRowInsertBatch.class.getName()
+	);
+
+	// an optional comment, "insert into", the table, its optional column list, "values",
+	// and the rest of the statement, which must be the row only
+	private static final Pattern INSERT_VALUES_PATTERN = Pattern.compile(
+			"^((?:/\\*.*?\\*/\\s*)?insert\\s+into\\s+[^\\s(]+\\s*(?:\\([^()]*\\)\\s*)?values\\s*)(\\(.*\\))\\s*$",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+	);
+
+	private final Dialect dialect;
+	private final LinkedHashMap<String, RowBuffer> rowBuffers = new LinkedHashMap<>();
+
+	private int batchSize;
+	private final int configuredBatchSize;
+	private int batchPosition;
+	private boolean batchExecuted;
+	private int statementPosition;
+
+	private RowBuffer currentRowBuffer;
+
+	/**
+	 * Constructs a MultiRowInsertBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 */
+	public MultiRowInsertBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.batchSize = batchSize;
+		this.configuredBatchSize = batchSize;
+		this.dialect = jdbcCoordinator.getJdbcSessionOwner()
+				.getJdbcSessionContext()
+				.getServiceRegistry()
+				.getService( JdbcServices.class )
+				.getDialect();
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		final int previousBatchSize = getStatements().size();
+		final PreparedStatement statement = super.getBatchStatement( sql, callable );
+		final int currentBatchSize = getStatements().size();
+		if ( currentBatchSize > previousBatchSize ) {
+			this.batchSize = this.configuredBatchSize * currentBatchSize;
+		}
+
+		RowBuffer rowBuffer = rowBuffers.get( sql );
+		if ( rowBuffer == null || rowBuffer.statement != statement ) {
+			rowBuffer = new RowBuffer( sql, statement, callable ? null : parseInsertValues( sql ) );
+			rowBuffers.put( sql, rowBuffer );
+		}
+		currentRowBuffer = rowBuffer;
+		return rowBuffer.getBindingStatement();
+	}
+
+	/**
+	 * Split the given SQL into the part preceding the row of its {@code values} clause, and that row.
+	 *
+	 * @return The two parts, or {@code null} if the SQL is not a single-row {@code insert ... values (...)}
+	 */
+	private String[] parseInsertValues(String sql) {
+		if ( !dialect.supportsMultiRowValuesListForInsert() ) {
+			return null;
+		}
+		final Matcher matcher = INSERT_VALUES_PATTERN.matcher( sql );
+		if ( !matcher.matches() ) {
+			return null;
+		}
+		final String row = matcher.group( 2 );
+		int depth = 0;
+		for ( int i = 0; i < row.length(); i++ ) {
+			switch ( row.charAt( i ) ) {
+				case '(':
+					depth++;
+					break;
+				case ')':
+					depth--;
+					// the row must end with the parenthesis which closes it
+					if ( depth == 0 && i < row.length() - 1 ) {
+						return null;
+					}
+					break;
+				case '\'':
+				case '"':
+				case ';':
+					// a literal might contain a parameter marker
+					return null;
+			}
+		}
+		return depth == 0 ? new String[] { matcher.group( 1 ), row } : null;
+	}
+
+	@Override
+	public void addToBatch() {
+		try {
+			currentRowBuffer.addRow();
+		}
+		catch ( SQLException e ) {
+			abortBatch( e );
+			LOG.debug( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentRowBuffer.sql );
+		}
+		catch (RuntimeException e) {
+			abortBatch( e );
+			throw e;
+		}
+		statementPosition++;
+		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
+			batchPosition++;
+			if ( batchPosition == batchSize ) {
+				notifyObserversImplicitExecution();
+				performExecution();
+				batchPosition = 0;
+				batchExecuted = true;
+			}
+			statementPosition = 0;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		if ( batchPosition == 0 ) {
+			if ( !batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing batch size: %s", batchPosition );
+		try {
+			for ( RowBuffer rowBuffer : rowBuffers.values() ) {
+				try {
+					rowBuffer.execute();
+				}
+				catch ( SQLException e ) {
+					abortBatch( e );
+					LOG.unableToExecuteBatch( e, rowBuffer.sql );
+					throw sqlExceptionHelper().convert( e, "could not execute batch", rowBuffer.sql );
+				}
+				catch ( RuntimeException re ) {
+					abortBatch( re );
+					LOG.unableToExecuteBatch( re, rowBuffer.sql );
+					throw re;
+				}
+			}
+		}
+		finally {
+			batchPosition = 0;
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		rowBuffers.clear();
+		currentRowBuffer = null;
+		super.releaseStatements();
+	}
+
+	/**
+	 * The rows added for one of the statements of this batch.
+	 */
+	private class RowBuffer {
+		private final String sql;
+		private final PreparedStatement statement;
+
+		// null when the statement is batched using JDBC batching
+		private final String insertPrefix;
+		private final String row;
+		private final int parametersPerRow;
+		private final int maxRowsPerStatement;
+		private final PreparedStatement recordingStatement;
+
+		private final List<List<ParameterBinding>> rows = new ArrayList<>();
+		private List<ParameterBinding> currentRow = new ArrayList<>();
+		private int batchedRowCount;
+
+		private RowBuffer(String sql, PreparedStatement statement, String[] insertValues) {
+			this.sql = sql;
+			this.statement = statement;
+			final int parametersPerRow = insertValues == null ? 0 : countParameters( insertValues[1] );
+			final int maxRowsPerStatement = maxRowsPerStatement( parametersPerRow );
+			if ( maxRowsPerStatement > 1 ) {
+				this.insertPrefix = insertValues[0];
+				this.row = insertValues[1];
+				this.parametersPerRow = parametersPerRow;
+				this.maxRowsPerStatement = maxRowsPerStatement;
+				this.recordingStatement = (PreparedStatement) Proxy.newProxyInstance(
+						PreparedStatement.class.getClassLoader(),
+						new Class<?>[] { PreparedStatement.class },
+						(proxy, method, args) -> record( method, args )
+				);
+			}
+			else {
+				this.insertPrefix = null;
+				this.row = null;
+				this.parametersPerRow = 0;
+				this.maxRowsPerStatement = 1;
+				this.recordingStatement = null;
+			}
+		}
+
+		private int countParameters(String row) {
+			int count = 0;
+			for ( int i = 0; i < row.length(); i++ ) {
+				if ( row.charAt( i ) == '?' ) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		private int maxRowsPerStatement(int parametersPerRow) {
+			if ( parametersPerRow == 0 ) {
+				return 1;
+			}
+			int maxRows = configuredBatchSize;
+			final int parameterCountLimit = dialect.getParameterCountLimit();
+			if ( parameterCountLimit > 0 ) {
+				maxRows = Math.min( maxRows, parameterCountLimit / parametersPerRow );
+			}
+			final int rowLimit = dialect.getValuesListRowLimit();
+			if ( rowLimit > 0 ) {
+				maxRows = Math.min( maxRows, rowLimit );
+			}
+			return maxRows;
+		}
+
+		private PreparedStatement getBindingStatement() {
+			return recordingStatement == null ? statement : recordingStatement;
+		}
+
+		private Object record(Method method, Object[] args) throws Throwable {
+			if ( method.getDeclaringClass() == PreparedStatement.class
+					&& method.getName().startsWith( "set" )
+					&& method.getParameterCount() > 1
+					&& method.getParameterTypes()[0] == int.class ) {
+				currentRow.add( new ParameterBinding( method, args ) );
+				return null;
+			}
+			else if ( method.getName().equals( "clearParameters" ) && method.getParameterCount() == 0 ) {
+				currentRow.clear();
+				return null;
+			}
+			try {
+				return method.invoke( statement, args );
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private void addRow() throws SQLException {
+			if ( recordingStatement == null ) {
+				statement.addBatch();
+				batchedRowCount++;
+			}
+			else {
+				rows.add( currentRow );
+				currentRow = new ArrayList<>( currentRow.size() );
+			}
+		}
+
+		private void execute() throws SQLException {
+			if ( recordingStatement == null ) {
+				executeBatch();
+			}
+			else {
+				try {
+					executeMultiRowInserts();
+				}
+				finally {
+					rows.clear();
+				}
+			}
+		}
+
+		private void executeBatch() throws SQLException {
+			final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+			final int[] rowCounts;
+			try {
+				observer.jdbcExecuteBatchStart();
+				rowCounts = statement.executeBatch();
+			}
+			finally {
+				observer.jdbcExecuteBatchEnd();
+			}
+			if ( rowCounts.length != batchedRowCount ) {
+				LOG.unexpectedRowCounts();
+			}
+			batchedRowCount = 0;
+			for ( int i = 0; i < rowCounts.length; i++ ) {
+				getKey().getExpectation().verifyOutcome( rowCounts[i], statement, i, sql );
+			}
+		}
+
+		private void executeMultiRowInserts() throws SQLException {
+			PreparedStatement multiRowStatement = null;
+			PreparedStatement remainderStatement = null;
+			try {
+				int position = 0;
+				while ( position < rows.size() ) {
+					final int rowCount = Math.min( maxRowsPerStatement, rows.size() - position );
+					final PreparedStatement insert;
+					if ( rowCount == 1 ) {
+						insert = statement;
+					}
+					else if ( rowCount == maxRowsPerStatement ) {
+						if ( multiRowStatement == null ) {
+							multiRowStatement = prepareMultiRowStatement( rowCount );
+						}
+						insert = multiRowStatement;
+					}
+					else {
+						remainderStatement = prepareMultiRowStatement( rowCount );
+						insert = remainderStatement;
+					}
+					executeMultiRowInsert( insert, position, rowCount );
+					position += rowCount;
+				}
+			}
+			finally {
+				final ResourceRegistry resourceRegistry = getJdbcCoordinator().getLogicalConnection().getResourceRegistry();
+				if ( multiRowStatement != null ) {
+					resourceRegistry.release( multiRowStatement );
+				}
+				if ( remainderStatement != null ) {
+					resourceRegistry.release( remainderStatement );
+				}
+			}
+		}
+
+		private PreparedStatement prepareMultiRowStatement(int rowCount) {
+			final StringBuilder multiRowSql = new StringBuilder( insertPrefix.length() + ( row.length() + 2 ) * rowCount );
+			multiRowSql.append( insertPrefix ).append( row );
+			for ( int i = 1; i < rowCount; i++ ) {
+				multiRowSql.append( ", " ).append( row );
+			}
+			// this variant does not execute the current batch, which is this one
+			return getJdbcCoordinator().getStatementPreparer().prepareStatement( multiRowSql.toString() );
+		}
+
+		private void executeMultiRowInsert(PreparedStatement insert, int position, int rowCount) throws SQLException {
+			for ( int i = 0; i < rowCount; i++ ) {
+				final int offset = i * parametersPerRow;
+				for ( ParameterBinding binding : rows.get( position + i ) ) {
+					binding.bind( insert, offset );
+				}
+			}
+			final int insertedRowCount = getJdbcCoordinator().getResultSetReturn().executeUpdate( insert );
+			if ( insertedRowCount >= 0 && insertedRowCount != rowCount ) {
+				// the row count does not tell which rows were not inserted,
+				// so the statement fails as a whole
+				if ( getKey().getExpectation() != Expectations.NONE ) {
+					throw new StaleStateException(
+							"Multi-row insert of rows [" + position + ".." + ( position + rowCount - 1 )
+									+ "] returned unexpected row count; actual row count: " + insertedRowCount
+									+ "; expected: " + rowCount + "; statement executed: " + sql
+					);
+				}
+			}
+			else {
+				for ( int i = 0; i < rowCount; i++ ) {
+					getKey().getExpectation().verifyOutcome(
+							insertedRowCount < 0 ? insertedRowCount : 1,
+							insert,
+							position + i,
+							sql
+					);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A call to one of the parameter setters of a {@link PreparedStatement}
+	 */
+	private static class ParameterBinding {
+		private final Method setter;
+		private final Object[] args;
+
+		private ParameterBinding(Method setter, Object[] args) {
+			this.setter = setter;
+			this.args = args;
+		}
+
+		private void bind(PreparedStatement statement, int offset) throws SQLException {
+			final Object[] shiftedArgs = args.clone();
+			shiftedArgs[0] = (Integer) args[0] + offset;
+			try {
+				setter.invoke( statement, shiftedArgs );
+			}
+			catch (InvocationTargetException e) {
+				if ( e.getCause() instanceof SQLException ) {
+					throw (SQLException) e.getCause();
+				}
+				else if ( e.getCause() instanceof RuntimeException ) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new HibernateException( "Unable to bind parameter", e.getCause() );
+			}
+			catch (IllegalAccessException e) {
+				throw new HibernateException( "Unable to bind parameter", e );
+			}
+		}
+	}
+}
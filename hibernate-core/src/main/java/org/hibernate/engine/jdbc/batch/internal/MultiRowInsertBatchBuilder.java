@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link BatchBuilder} which builds {@link MultiRowInsertBatch}es for the
+ * {@linkplain EntityInsertBatchKey inserts of entities}, and {@link BatchingBatch}es
+ * for any other statement.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+ */
+public class MultiRowInsertBatchBuilder implements BatchBuilder {
+	private final int jdbcBatchSize;
+
+	/**
+	 * Constructs a MultiRowInsertBatchBuilder
+	 *
+	 * @param jdbcBatchSize The batch jdbcBatchSize to use.
+	 */
+	public MultiRowInsertBatchBuilder(int jdbcBatchSize) {
+		this.jdbcBatchSize = jdbcBatchSize;
+	}
+
+	public int getJdbcBatchSize() {
+		return jdbcBatchSize;
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		// only the inserts of entities are rewritten, other statements are batched as usual
+		return key instanceof EntityInsertBatchKey
+				? SharedBatchBuildingCode.buildMultiRowInsertBatch( jdbcBatchSize, key, jdbcCoordinator )
+				: SharedBatchBuildingCode.buildBatch( jdbcBatchSize, key, jdbcCoordinator );
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+ * A {@link BatchBuilder} which builds {@link PipelinedBatchingBatch}es, all sharing
+ * the same pool of threads for the execution of full batches.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_PIPELINING
+ */
+public class PipelinedBatchBuilder implements BatchBuilder, Stoppable {
+	private final int jdbcBatchSize;
+	private final ExecutorService executor;
+
+	/**
+	 * Constructs a PipelinedBatchBuilder
+	 *
+	 * @param jdbcBatchSize The batch jdbcBatchSize to use.
+	 */
+	public PipelinedBatchBuilder(int jdbcBatchSize) {
+		this.jdbcBatchSize = jdbcBatchSize;
+		this.executor = Executors.newCachedThreadPool( new BatchExecutionThreadFactory() );
+	}
+
+	public int getJdbcBatchSize() {
+		return jdbcBatchSize;
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		return SharedBatchBuildingCode.buildPipelinedBatch( jdbcBatchSize, executor, key, jdbcCoordinator );
+	}
+
+	@Override
+	public void stop() {
+		// any batch still pending is left to complete
+		executor.shutdown();
+	}
+
+	private static class BatchExecutionThreadFactory implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread( runnable );
+			thread.setDaemon( true );
+			thread.setName( "Hibernate Batch Execution Thread" );
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.resource.jdbc.ResourceRegistry;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which does batching based on a given
+ * size, just like {@link BatchingBatch}, except that a full batch is executed by another thread, while the
+ * rows of the next batch are bound to a second set of statements.
+ * <p/>
+ * At most one execution is pending at any time, and it is always completed before the next execution
+ * starts, so that the statements are executed in the same order as by {@link BatchingBatch}. The outcome
+ * of a pending execution is checked once it completes, that is, before the next execution, or before
+ * this batch is explicitly executed or released.
+ * <p/>
+ * A batch containing a callable statement is always executed by the session thread.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_PIPELINING
+ */
+public class PipelinedBatchingBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PipelinedBatchingBatch.class.getName()
+	);
+
+	private final Executor executor;
+
+	private int batchSize;
+	private final int configuredBatchSize;
+	private int batchPosition;
+	private boolean batchExecuted;
+	private int statementPosition;
+
+	private String currentStatementSql;
+	private PreparedStatement currentStatement;
+
+	private final Set<String> callableStatementSqls = new HashSet<>();
+	// the statements of the last completed execution, ready to be reused by the next batch
+	private final Map<String, PreparedStatement> spareStatements = new HashMap<>();
+	private PendingExecution pendingExecution;
+
+	/**
+	 * Constructs a PipelinedBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param executor The executor of the full batches
+	 */
+	public PipelinedBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			Executor executor) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.batchSize = batchSize;
+		this.configuredBatchSize = batchSize;
+		this.executor = executor;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		currentStatementSql = sql;
+		if ( callable ) {
+			callableStatementSqls.add( sql );
+		}
+		int previousBatchSize = getStatements().size();
+		currentStatement = super.getBatchStatement( sql, callable );
+		int currentBatchSize = getStatements().size();
+		if ( currentBatchSize > previousBatchSize ) {
+			this.batchSize = this.configuredBatchSize * currentBatchSize;
+		}
+		return currentStatement;
+	}
+
+	@Override
+	public void addToBatch() {
+		try {
+			currentStatement.addBatch();
+		}
+		catch ( SQLException e ) {
+			abortBatch( e );
+			LOG.debug( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentStatementSql );
+		}
+		catch (RuntimeException e) {
+			abortBatch( e );
+			throw e;
+		}
+		statementPosition++;
+		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
+			batchPosition++;
+			if ( batchPosition == batchSize ) {
+				notifyObserversImplicitExecution();
+				completePendingExecution();
+				if ( callableStatementSqls.isEmpty() ) {
+					startPendingExecution();
+				}
+				else {
+					performExecution();
+				}
+				batchPosition = 0;
+				batchExecuted = true;
+			}
+			statementPosition = 0;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		completePendingExecution();
+		if ( batchPosition == 0 ) {
+			if ( !batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	/**
+	 * Hand the current statements over to the executor, and replace them with spare ones.
+	 */
+	private void startPendingExecution() {
+		LOG.debugf( "Executing batch size in background: %s", batchPosition );
+		final LinkedHashMap<String, PreparedStatement> statements = getStatements();
+		final PendingExecution execution = new PendingExecution( new LinkedHashMap<>( statements ), batchPosition );
+		// the spare statements must be in place before the execution starts: preparing
+		// them later, through the StatementPreparer, would execute this batch
+		for ( Map.Entry<String, PreparedStatement> entry : statements.entrySet() ) {
+			final PreparedStatement spareStatement = spareStatements.remove( entry.getKey() );
+			entry.setValue(
+					spareStatement == null
+							? getJdbcCoordinator().getStatementPreparer().prepareStatement( entry.getKey() )
+							: spareStatement
+			);
+		}
+		if ( currentStatementSql != null ) {
+			currentStatement = statements.get( currentStatementSql );
+		}
+
+		getObserver().jdbcExecuteBatchStart();
+		pendingExecution = execution;
+		try {
+			executor.execute( execution.task );
+		}
+		catch (RejectedExecutionException e) {
+			LOG.debug( "Batch execution rejected, executing in the session thread", e );
+			execution.task.run();
+		}
+	}
+
+	/**
+	 * Wait for the pending execution, if any, and check its outcome.
+	 */
+	private void completePendingExecution() {
+		final PendingExecution execution = pendingExecution;
+		if ( execution == null ) {
+			return;
+		}
+		pendingExecution = null;
+		try {
+			execution.await();
+		}
+		finally {
+			getObserver().jdbcExecuteBatchEnd();
+			spareStatements.putAll( execution.statements );
+		}
+
+		String sql = null;
+		try {
+			final Throwable failure = execution.getFailure();
+			if ( failure != null ) {
+				sql = execution.failedSql;
+				if ( failure instanceof SQLException ) {
+					throw (SQLException) failure;
+				}
+				else if ( failure instanceof RuntimeException ) {
+					throw (RuntimeException) failure;
+				}
+				else if ( failure instanceof Error ) {
+					throw (Error) failure;
+				}
+				throw new HibernateException( "Unable to execute batch", failure );
+			}
+			for ( Map.Entry<String, PreparedStatement> entry : execution.statements.entrySet() ) {
+				sql = entry.getKey();
+				checkRowCounts(
+						execution.rowCounts.get( sql ),
+						entry.getValue(),
+						sql,
+						execution.batchPosition,
+						execution.statements.size()
+				);
+			}
+		}
+		catch ( SQLException e ) {
+			abortBatch( e );
+			LOG.unableToExecuteBatch( e, sql );
+			throw sqlExceptionHelper().convert( e, "could not execute batch", sql );
+		}
+		catch ( RuntimeException re ) {
+			abortBatch( re );
+			LOG.unableToExecuteBatch( re, sql );
+			throw re;
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing batch size: %s", batchPosition );
+		final JdbcObserver observer = getObserver();
+		try {
+			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+				final String sql = entry.getKey();
+				try {
+					final PreparedStatement statement = entry.getValue();
+					final int[] rowCounts;
+					try {
+						observer.jdbcExecuteBatchStart();
+						rowCounts = statement.executeBatch();
+					}
+					finally {
+						observer.jdbcExecuteBatchEnd();
+					}
+					checkRowCounts( rowCounts, statement, sql, batchPosition, getStatements().size() );
+				}
+				catch ( SQLException e ) {
+					abortBatch( e );
+					LOG.unableToExecuteBatch( e, sql );
+					throw sqlExceptionHelper().convert( e, "could not execute batch", sql );
+				}
+				catch ( RuntimeException re ) {
+					abortBatch( re );
+					LOG.unableToExecuteBatch( re, sql );
+					throw re;
+				}
+			}
+		}
+		finally {
+			batchPosition = 0;
+		}
+	}
+
+	private void checkRowCounts(int[] rowCounts, PreparedStatement ps, String statementSQL, int batchPosition, int statementCount)
+			throws SQLException, HibernateException {
+		final int numberOfRowCounts = rowCounts.length;
+		if ( batchPosition != 0 && numberOfRowCounts != batchPosition / statementCount ) {
+			LOG.unexpectedRowCounts();
+		}
+		for ( int i = 0; i < numberOfRowCounts; i++ ) {
+			getKey().getExpectation().verifyOutcome( rowCounts[i], ps, i, statementSQL );
+		}
+	}
+
+	private JdbcObserver getObserver() {
+		return getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+	}
+
+	@Override
+	protected void releaseStatements() {
+		if ( pendingExecution != null ) {
+			// the batch is being aborted, and the outcome of the pending execution no longer matters
+			final PendingExecution execution = pendingExecution;
+			pendingExecution = null;
+			try {
+				execution.await();
+			}
+			finally {
+				getObserver().jdbcExecuteBatchEnd();
+				spareStatements.putAll( execution.statements );
+			}
+		}
+		final ResourceRegistry resourceRegistry = getJdbcCoordinator().getLogicalConnection().getResourceRegistry();
+		for ( PreparedStatement statement : spareStatements.values() ) {
+			clearBatch( statement );
+			resourceRegistry.release( statement );
+		}
+		spareStatements.clear();
+		callableStatementSqls.clear();
+		super.releaseStatements();
+	}
+
+	/**
+	 * The execution of a full batch, by the executor
+	 */
+	private static class PendingExecution {
+		private final LinkedHashMap<String, PreparedStatement> statements;
+		private final int batchPosition;
+		private final FutureTask<Void> task;
+
+		// written by the executing thread, and read once the task is done
+		private final Map<String, int[]> rowCounts = new HashMap<>();
+		private String failedSql;
+
+		private PendingExecution(LinkedHashMap<String, PreparedStatement> statements, int batchPosition) {
+			this.statements = statements;
+			this.batchPosition = batchPosition;
+			this.task = new FutureTask<>( this::execute );
+		}
+
+		private Void execute() throws SQLException {
+			for ( Map.Entry<String, PreparedStatement> entry : statements.entrySet() ) {
+				failedSql = entry.getKey();
+				rowCounts.put( entry.getKey(), entry.getValue().executeBatch() );
+			}
+			failedSql = null;
+			return null;
+		}
+
+		private void await() {
+			boolean interrupted = false;
+			try {
+				while ( true ) {
+					try {
+						task.get();
+						return;
+					}
+					catch (InterruptedException e) {
+						// the statements can't be released until the execution is over
+						interrupted = true;
+					}
+					catch (ExecutionException e) {
+						return;
+					}
+				}
+			}
+			finally {
+				if ( interrupted ) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		private Throwable getFailure() {
+			try {
+				task.get();
+				return null;
+			}
+			catch (ExecutionException e) {
+				return e.getCause();
+			}
+			catch (InterruptedException e) {
+				// the task is already done
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted while waiting for batch execution", e );
+			}
+		}
+	}
+}
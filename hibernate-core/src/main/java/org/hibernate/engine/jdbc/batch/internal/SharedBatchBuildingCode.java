@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.concurrent.Executor;
+
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
@@ -16,13 +18,31 @@ import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 final class SharedBatchBuildingCode {
 
 	static Batch buildBatch(final int defaultJdbcBatchSize, final BatchKey key, final JdbcCoordinator jdbcCoordinator) {
+		final int jdbcBatchSizeToUse = jdbcBatchSizeToUse( defaultJdbcBatchSize, jdbcCoordinator );
+		return jdbcBatchSizeToUse > 1
+				? new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
+				: new NonBatchingBatch( key, jdbcCoordinator );
+	}
+
+	static Batch buildMultiRowInsertBatch(final int defaultJdbcBatchSize, final BatchKey key, final JdbcCoordinator jdbcCoordinator) {
+		final int jdbcBatchSizeToUse = jdbcBatchSizeToUse( defaultJdbcBatchSize, jdbcCoordinator );
+		return jdbcBatchSizeToUse > 1
+				? new MultiRowInsertBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
+				: new NonBatchingBatch( key, jdbcCoordinator );
+	}
+
+	static Batch buildPipelinedBatch(final int defaultJdbcBatchSize, final Executor executor, final BatchKey key, final JdbcCoordinator jdbcCoordinator) {
+		final int jdbcBatchSizeToUse = jdbcBatchSizeToUse( defaultJdbcBatchSize, jdbcCoordinator );
+		return jdbcBatchSizeToUse > 1
+				? new PipelinedBatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse, executor )
+				: new NonBatchingBatch( key, jdbcCoordinator );
+	}
+
+	private static int jdbcBatchSizeToUse(final int defaultJdbcBatchSize, final JdbcCoordinator jdbcCoordinator) {
 		final Integer sessionJdbcBatchSize = jdbcCoordinator.getJdbcSessionOwner()
 				.getJdbcBatchSize();
-		final int jdbcBatchSizeToUse = sessionJdbcBatchSize == null ?
+		return sessionJdbcBatchSize == null ?
 				defaultJdbcBatchSize :
 				sessionJdbcBatchSize;
-		return jdbcBatchSizeToUse > 1
-				? new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
-				: new NonBatchingBatch( key, jdbcCoordinator );
 	}
 }
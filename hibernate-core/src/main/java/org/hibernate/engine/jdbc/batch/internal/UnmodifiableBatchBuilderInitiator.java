@@ -38,9 +38,14 @@ public final class UnmodifiableBatchBuilderInitiator implements StandardServiceI
 	public BatchBuilder initiateService(Map<String, Object> configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BatchBuilderInitiator.BUILDER );
 		if ( builder == null ) {
-			return new UnmodifiableBatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
-			);
+			final int jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+			if ( ConfigurationHelper.getBoolean( Environment.BATCH_MULTI_ROW_INSERTS, configurationValues ) ) {
+				return new MultiRowInsertBatchBuilder( jdbcBatchSize );
+			}
+			if ( ConfigurationHelper.getBoolean( Environment.BATCH_PIPELINING, configurationValues ) ) {
+				return new PipelinedBatchBuilder( jdbcBatchSize );
+			}
+			return new UnmodifiableBatchBuilderImpl( jdbcBatchSize );
 		}
 		else {
 			throw new ServiceException( "This Hibernate ORM serviceregistry has been configured explicitly to use " + this.getClass() +
@@ -57,6 +57,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	private transient final JdbcSessionOwner owner;
 
 	private transient final JdbcServices jdbcServices;
+	private transient final PreparedStatementCache preparedStatementCache;
 
 	private transient Batch currentBatch;
 
@@ -81,8 +82,11 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			JdbcServices jdbcServices) {
 		this.isUserSuppliedConnection = userSuppliedConnection != null;
 
+		// statements are only cached for connections obtained from the connection provider
+		this.preparedStatementCache = isUserSuppliedConnection ? null : jdbcServices.getPreparedStatementCache();
 		final ResourceRegistry resourceRegistry = new ResourceRegistryStandardImpl(
-				owner.getJdbcSessionContext().getObserver()
+				owner.getJdbcSessionContext().getObserver(),
+				preparedStatementCache
 		);
 		if ( isUserSuppliedConnection ) {
 			this.logicalConnection = new LogicalConnectionProvidedImpl( userSuppliedConnection, resourceRegistry );
@@ -109,6 +113,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		this.jdbcServices = owner.getJdbcSessionContext()
 				.getServiceRegistry()
 				.getService( JdbcServices.class );
+		this.preparedStatementCache = null;
 	}
 
 	@Override
@@ -116,6 +121,13 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		return logicalConnection;
 	}
 
+	/**
+	 * The cache of idle statements used for the connection of this coordinator, if any
+	 */
+	PreparedStatementCache getPreparedStatementCache() {
+		return preparedStatementCache;
+	}
+
 	protected SessionFactoryImplementor sessionFactory() {
 		return this.owner.getJdbcSessionContext().getSessionFactory();
 	}
@@ -8,6 +8,7 @@ package org.hibernate.engine.jdbc.internal;
 
 import java.util.Map;
 
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.LobCreationContext;
@@ -38,6 +39,8 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 
 	private SqlStatementLogger sqlStatementLogger;
 
+	private PreparedStatementCache preparedStatementCache;
+
 	@Override
 	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
 		this.serviceRegistry = serviceRegistry;
@@ -56,6 +59,9 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 		final long logSlowQuery = ConfigurationHelper.getLong( Environment.LOG_SLOW_QUERY, configValues, 0 );
 
 		this.sqlStatementLogger = new SqlStatementLogger( showSQL, formatSQL, highlightSQL, logSlowQuery );
+
+		final int statementCacheSize = ConfigurationHelper.getInt( AvailableSettings.STATEMENT_CACHE_SIZE, configValues, 0 );
+		this.preparedStatementCache = statementCacheSize > 0 ? new PreparedStatementCache( statementCacheSize ) : null;
 	}
 
 	@Override
@@ -81,6 +87,11 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 		return sqlStatementLogger;
 	}
 
+	@Override
+	public PreparedStatementCache getPreparedStatementCache() {
+		return preparedStatementCache;
+	}
+
 	@Override
 	public SqlExceptionHelper getSqlExceptionHelper() {
 		if ( jdbcEnvironment != null ) {
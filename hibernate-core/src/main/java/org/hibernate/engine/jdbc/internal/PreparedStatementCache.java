@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.resource.jdbc.internal.ResourceRegistryStandardImpl;
+
+/**
+ * A cache of idle {@link PreparedStatement}s for each physical JDBC {@link Connection},
+ * which outlives the sessions using the connection.
+ * <p/>
+ * A statement is removed from the cache while it is in use, and is returned to the cache,
+ * rather than closed, when it is released, so that a statement is never used twice at once.
+ * The least recently used statements of a connection are closed when the number of idle
+ * statements exceeds the configured size.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+ */
+public final class PreparedStatementCache {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( PreparedStatementCache.class );
+
+	private final int maxIdleStatements;
+	private final Map<Connection, ConnectionStatements> statementsByConnection = new ConcurrentHashMap<>();
+	private final Map<Statement, StatementInUse> statementsInUse = new ConcurrentHashMap<>();
+
+	public PreparedStatementCache(int maxIdleStatements) {
+		this.maxIdleStatements = maxIdleStatements;
+	}
+
+	/**
+	 * Take an idle statement for the given SQL out of the cache of the connection
+	 *
+	 * @return The statement, or {@code null} if no idle statement is cached
+	 */
+	public PreparedStatement checkOut(Connection connection, String sql, int resultSetType) {
+		final ConnectionStatements connectionStatements = statementsByConnection.get( connection );
+		if ( connectionStatements == null ) {
+			return null;
+		}
+		final StatementKey key = new StatementKey( sql, resultSetType );
+		final PreparedStatement statement = connectionStatements.remove( key );
+		if ( statement != null ) {
+			statementsInUse.put( statement, new StatementInUse( connectionStatements, key ) );
+		}
+		return statement;
+	}
+
+	/**
+	 * Register a newly prepared statement, so that it is returned to the cache of the
+	 * connection when it is {@linkplain #release released}
+	 */
+	public void track(Connection connection, String sql, int resultSetType, PreparedStatement statement) {
+		ConnectionStatements connectionStatements = statementsByConnection.get( connection );
+		if ( connectionStatements == null ) {
+			// the first statement of the connection, so forget the connections closed in the meantime
+			removeClosedConnections();
+			connectionStatements = statementsByConnection.computeIfAbsent( connection, c -> new ConnectionStatements() );
+		}
+		statementsInUse.put( statement, new StatementInUse( connectionStatements, new StatementKey( sql, resultSetType ) ) );
+	}
+
+	/**
+	 * Return the statement to the cache of its connection, if it was obtained through
+	 * this cache.
+	 *
+	 * @return {@code true} if the statement was kept or closed by the cache, or {@code false}
+	 * if the statement is unknown to the cache, and has to be closed by the caller
+	 */
+	public boolean release(Statement statement) {
+		final StatementInUse statementInUse = statementsInUse.remove( statement );
+		if ( statementInUse == null ) {
+			return false;
+		}
+		final PreparedStatement preparedStatement = (PreparedStatement) statement;
+		if ( reset( preparedStatement ) ) {
+			statementInUse.connectionStatements.add( statementInUse.key, preparedStatement );
+		}
+		else {
+			ResourceRegistryStandardImpl.close( statement );
+		}
+		return true;
+	}
+
+	private static boolean reset(PreparedStatement statement) {
+		try {
+			if ( statement.isClosed() ) {
+				return false;
+			}
+			statement.clearParameters();
+			statement.clearBatch();
+			statement.clearWarnings();
+			if ( statement.getMaxRows() != 0 ) {
+				statement.setMaxRows( 0 );
+			}
+			if ( statement.getQueryTimeout() != 0 ) {
+				statement.setQueryTimeout( 0 );
+			}
+			statement.setFetchSize( 0 );
+			return true;
+		}
+		catch (SQLException | RuntimeException e) {
+			LOG.debugf( "Unable to reset JDBC statement for reuse [%s]", e.getMessage() );
+			return false;
+		}
+	}
+
+	private void removeClosedConnections() {
+		final Iterator<Connection> connections = statementsByConnection.keySet().iterator();
+		while ( connections.hasNext() ) {
+			final Connection connection = connections.next();
+			try {
+				if ( connection.isClosed() ) {
+					connections.remove();
+				}
+			}
+			catch (SQLException e) {
+				connections.remove();
+			}
+		}
+	}
+
+	private static final class StatementKey {
+		private final String sql;
+		private final int resultSetType;
+
+		private StatementKey(String sql, int resultSetType) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof StatementKey ) ) {
+				return false;
+			}
+			final StatementKey that = (StatementKey) o;
+			return resultSetType == that.resultSetType && sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * sql.hashCode() + resultSetType;
+		}
+	}
+
+	private static final class StatementInUse {
+		private final ConnectionStatements connectionStatements;
+		private final StatementKey key;
+
+		private StatementInUse(ConnectionStatements connectionStatements, StatementKey key) {
+			this.connectionStatements = connectionStatements;
+			this.key = key;
+		}
+	}
+
+	/**
+	 * The idle statements of a connection, in least recently used order
+	 */
+	private final class ConnectionStatements {
+		private final LinkedHashMap<StatementKey, PreparedStatement> idleStatements = new LinkedHashMap<>();
+
+		private PreparedStatement remove(StatementKey key) {
+			final PreparedStatement statement;
+			synchronized ( this ) {
+				statement = idleStatements.remove( key );
+			}
+			try {
+				return statement == null || statement.isClosed() ? null : statement;
+			}
+			catch (SQLException e) {
+				return null;
+			}
+		}
+
+		private void add(StatementKey key, PreparedStatement statement) {
+			final PreparedStatement replaced;
+			PreparedStatement evicted = null;
+			synchronized ( this ) {
+				replaced = idleStatements.put( key, statement );
+				if ( replaced == null && idleStatements.size() > maxIdleStatements ) {
+					final Iterator<PreparedStatement> iterator = idleStatements.values().iterator();
+					evicted = iterator.next();
+					iterator.remove();
+				}
+			}
+			if ( replaced != null ) {
+				// another statement for the same SQL was in use at the same time
+				ResourceRegistryStandardImpl.close( replaced );
+			}
+			if ( evicted != null ) {
+				ResourceRegistryStandardImpl.close( evicted );
+			}
+		}
+	}
+}
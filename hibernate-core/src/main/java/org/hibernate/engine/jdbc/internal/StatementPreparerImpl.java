@@ -20,6 +20,7 @@ import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.StatementPreparer;
 import org.hibernate.resource.jdbc.spi.JdbcObserver;
 import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Standard implementation of StatementPreparer
@@ -82,7 +83,7 @@ class StatementPreparerImpl implements StatementPreparer {
 	}
 
 	private StatementPreparationTemplate buildPreparedStatementPreparationTemplate(String sql, final boolean isCallable) {
-		return new StatementPreparationTemplate( sql ) {
+		return new StatementPreparationTemplate( sql, isCallable ? NOT_CACHEABLE : ResultSet.TYPE_FORWARD_ONLY ) {
 			@Override
 			protected PreparedStatement doPrepare() throws SQLException {
 				return isCallable
@@ -131,7 +132,8 @@ class StatementPreparerImpl implements StatementPreparer {
 			if ( ! settings().isScrollableResultSetsEnabled() ) {
 				throw new AssertionFailure("scrollable result sets are not enabled");
 			}
-			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql ) {
+			final int resultSetType = isCallable ? NOT_CACHEABLE : scrollMode.toResultSetType();
+			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql, resultSetType ) {
 				public PreparedStatement doPrepare() throws SQLException {
 						return isCallable
 								? connection().prepareCall( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY )
@@ -142,7 +144,8 @@ class StatementPreparerImpl implements StatementPreparer {
 			return ps;
 		}
 		else {
-			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql ) {
+			final int resultSetType = isCallable ? NOT_CACHEABLE : ResultSet.TYPE_FORWARD_ONLY;
+			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql, resultSetType ) {
 				public PreparedStatement doPrepare() throws SQLException {
 						return isCallable
 								? connection().prepareCall( sql )
@@ -154,30 +157,58 @@ class StatementPreparerImpl implements StatementPreparer {
 		}
 	}
 
+	/**
+	 * Marks statements which must not be taken from, or returned to, the {@link PreparedStatementCache}
+	 */
+	private static final int NOT_CACHEABLE = -1;
+
 	private abstract class StatementPreparationTemplate {
 		protected final String sql;
+		private final int resultSetType;
 
 		protected StatementPreparationTemplate(String incomingSql) {
+			this( incomingSql, NOT_CACHEABLE );
+		}
+
+		/**
+		 * @param resultSetType The result set type of the statement, used to look up an idle
+		 * statement in the {@link PreparedStatementCache}, or {@link #NOT_CACHEABLE}
+		 */
+		protected StatementPreparationTemplate(String incomingSql, int resultSetType) {
 			final String inspectedSql = jdbcCoordinator.getJdbcSessionOwner()
 					.getJdbcSessionContext()
 					.getStatementInspector()
 					.inspect( incomingSql );
 			this.sql = inspectedSql == null ? incomingSql : inspectedSql;
+			this.resultSetType = resultSetType;
 		}
 
 		public PreparedStatement prepareStatement() {
 			try {
 				jdbcServices.getSqlStatementLogger().logStatement( sql );
 
-				final PreparedStatement preparedStatement;
-				final JdbcObserver observer = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getObserver();
-				try {
-					observer.jdbcPrepareStatementStart();
-					preparedStatement = doPrepare();
-					setStatementTimeout( preparedStatement );
+				final PreparedStatementCache statementCache = resultSetType == NOT_CACHEABLE
+						? null
+						: jdbcCoordinator.getPreparedStatementCache();
+				PreparedStatement preparedStatement = statementCache == null
+						? null
+						: checkOutCachedStatement( statementCache );
+				if ( preparedStatement == null ) {
+					final JdbcObserver observer = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+					try {
+						observer.jdbcPrepareStatementStart();
+						preparedStatement = doPrepare();
+						if ( statementCache != null ) {
+							statementCache.track( connection(), sql, resultSetType, preparedStatement );
+						}
+						setStatementTimeout( preparedStatement );
+					}
+					finally {
+						observer.jdbcPrepareStatementEnd();
+					}
 				}
-				finally {
-					observer.jdbcPrepareStatementEnd();
+				else {
+					setStatementTimeout( preparedStatement );
 				}
 				postProcess( preparedStatement );
 				return preparedStatement;
@@ -189,6 +220,20 @@ class StatementPreparerImpl implements StatementPreparer {
 
 		protected abstract PreparedStatement doPrepare() throws SQLException;
 
+		private PreparedStatement checkOutCachedStatement(PreparedStatementCache statementCache) {
+			final PreparedStatement preparedStatement = statementCache.checkOut( connection(), sql, resultSetType );
+			final StatisticsImplementor statistics = jdbcCoordinator.sessionFactory().getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				if ( preparedStatement == null ) {
+					statistics.preparedStatementCacheMiss();
+				}
+				else {
+					statistics.preparedStatementCacheHit();
+				}
+			}
+			return preparedStatement;
+		}
+
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
 			jdbcCoordinator.getLogicalConnection().getResourceRegistry().register( preparedStatement, true );
 //			logicalConnection().notifyObserversStatementPrepared();
@@ -203,8 +248,8 @@ class StatementPreparerImpl implements StatementPreparer {
 	}
 
 	private abstract class QueryStatementPreparationTemplate extends StatementPreparationTemplate {
-		protected QueryStatementPreparationTemplate(String sql) {
-			super( sql );
+		protected QueryStatementPreparationTemplate(String sql, int resultSetType) {
+			super( sql, resultSetType );
 		}
 
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
@@ -12,6 +12,7 @@ import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
 import org.hibernate.engine.jdbc.env.spi.ExtractedDatabaseMetaData;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.internal.PreparedStatementCache;
 import org.hibernate.service.Service;
 import org.hibernate.sql.exec.internal.JdbcSelectExecutorStandardImpl;
 import org.hibernate.sql.exec.internal.StandardJdbcMutationExecutor;
@@ -56,6 +57,17 @@ public interface JdbcServices extends Service {
 	 */
 	SqlExceptionHelper getSqlExceptionHelper();
 
+	/**
+	 * Obtain the cache of idle prepared statements shared by all sessions.
+	 *
+	 * @return The statement cache, or {@code null} if statement caching is disabled.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+	 */
+	default PreparedStatementCache getPreparedStatementCache() {
+		return null;
+	}
+
 	/**
 	 * Obtain information about supported behavior reported by the JDBC driver.
 	 * <p/>
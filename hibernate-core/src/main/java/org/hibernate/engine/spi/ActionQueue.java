@@ -11,13 +11,14 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -30,6 +31,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityActionVetoException;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
@@ -47,7 +49,7 @@ import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
-import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.type.CollectionType;
@@ -129,7 +131,7 @@ public class ActionQueue {
 					ExecutableList<AbstractEntityInsertAction> init(ActionQueue instance) {
 						if ( instance.isOrderInsertsEnabled() ) {
 							return instance.insertions = new ExecutableList<>(
-									new InsertActionSorter()
+									new EntityActionSorter<>( true )
 							);
 						}
 						else {
@@ -212,8 +214,16 @@ public class ActionQueue {
 						return instance.deletions;
 					}
 					ExecutableList<EntityDeleteAction> init(ActionQueue instance) {
-						// EntityDeleteAction executables never require sorting.
-						return instance.deletions = new ExecutableList<>( false );
+						if ( instance.isOrderDeletesEnabled() ) {
+							return instance.deletions = new ExecutableList<>(
+									new EntityActionSorter<>( false )
+							);
+						}
+						else {
+							return instance.deletions = new ExecutableList<>(
+									false
+							);
+						}
 					}
 				}
 		);
@@ -402,7 +412,12 @@ public class ActionQueue {
 			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
 		}
 		if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
-			invalidateSpaces( convertTimestampSpaces( executable.getPropertySpaces() ) );
+			if ( isRowKeyInvalidationEnabled() ) {
+				invalidateSpacesAndRows( Collections.singletonList( executable ) );
+			}
+			else {
+				invalidateSpaces( convertTimestampSpaces( executable.getPropertySpaces() ) );
+			}
 		}
 		if ( executable.getAfterTransactionCompletionProcess() != null ) {
 			if ( afterTransactionProcesses == null ) {
@@ -632,8 +647,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				if ( isRowKeyInvalidationEnabled() ) {
+					invalidateSpacesAndRows( list );
+				}
+				else {
+					Set propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				}
 			}
 		}
 
@@ -675,6 +695,55 @@ public class ActionQueue {
 		}
 	}
 
+	private boolean isRowKeyInvalidationEnabled() {
+		return session.getFactory().getSessionFactoryOptions().getQueryCacheInvalidationBuckets() > 0;
+	}
+
+	/**
+	 * Invalidate only the rows written by the entity actions among the given executables,
+	 * and the whole spaces written by any other executable.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	private void invalidateSpacesAndRows(Iterable<? extends Executable> executables) {
+		final Set<String> spaces = new HashSet<>();
+		final Map<String, Set<Object>> rowKeysBySpace = new HashMap<>();
+		for ( Executable executable : executables ) {
+			final Object rowKey = resolveRowKey( executable );
+			for ( Serializable space : executable.getPropertySpaces() ) {
+				if ( rowKey == null ) {
+					spaces.add( (String) space );
+				}
+				else {
+					rowKeysBySpace.computeIfAbsent( (String) space, s -> new HashSet<>() ).add( rowKey );
+				}
+			}
+		}
+		invalidateSpaces( convertTimestampSpaces( spaces ) );
+		if ( !rowKeysBySpace.isEmpty() ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			afterTransactionProcesses.addRowKeysToInvalidate( rowKeysBySpace );
+			session.getFactory().getCache().getTimestampsCache().preInvalidate( rowKeysBySpace, session );
+		}
+	}
+
+	/**
+	 * The identifier of the rows written by the given executable, if it is an entity action
+	 */
+	private static Object resolveRowKey(Executable executable) {
+		if ( executable instanceof EntityAction ) {
+			final EntityAction action = (EntityAction) executable;
+			if ( action.getPersister().getIdentifierMapping() instanceof BasicEntityIdentifierMapping ) {
+				return action instanceof EntityIdentityInsertAction
+						? ( (EntityIdentityInsertAction) action ).getGeneratedId()
+						: action.getId();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 *
@@ -791,6 +860,9 @@ public class ActionQueue {
 		if ( isOrderInsertsEnabled() && insertions != null ) {
 			insertions.sort();
 		}
+		if ( isOrderDeletesEnabled() && deletions != null ) {
+			deletions.sort();
+		}
 	}
 
 	private boolean isOrderUpdatesEnabled() {
@@ -801,6 +873,10 @@ public class ActionQueue {
 		return session.getFactory().getSessionFactoryOptions().isOrderInsertsEnabled();
 	}
 
+	private boolean isOrderDeletesEnabled() {
+		return session.getFactory().getSessionFactoryOptions().isOrderDeletesEnabled();
+	}
+
 	public void clearFromFlushNeededCheck(int previousCollectionRemovalSize) {
 		if ( collectionCreations != null ) {
 			collectionCreations.clear();
@@ -982,6 +1058,7 @@ public class ActionQueue {
 	private static class AfterTransactionCompletionProcessQueue
 			extends AbstractTransactionCompletionProcessQueue<AfterTransactionCompletionProcess> {
 		private final Set<String> querySpacesToInvalidate = new HashSet<>();
+		private final Map<String, Set<Object>> rowKeysToInvalidate = new HashMap<>();
 
 		private AfterTransactionCompletionProcessQueue(SessionImplementor session) {
 			super( session );
@@ -991,6 +1068,12 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addRowKeysToInvalidate(Map<String, Set<Object>> rowKeysBySpace) {
+			for ( Map.Entry<String, Set<Object>> entry : rowKeysBySpace.entrySet() ) {
+				rowKeysToInvalidate.computeIfAbsent( entry.getKey(), s -> new HashSet<>() ).addAll( entry.getValue() );
+			}
+		}
+
 		public void afterTransactionCompletion(boolean success) {
 			while ( !processes.isEmpty() ) {
 				try {
@@ -1010,8 +1093,12 @@ public class ActionQueue {
 						querySpacesToInvalidate.toArray(StringHelper.EMPTY_STRINGS),
 						session
 				);
+				if ( !rowKeysToInvalidate.isEmpty() ) {
+					session.getFactory().getCache().getTimestampsCache().invalidate( rowKeysToInvalidate, session );
+				}
 			}
 			querySpacesToInvalidate.clear();
+			rowKeysToInvalidate.clear();
 		}
 	}
 
@@ -1036,57 +1123,39 @@ public class ActionQueue {
 	 * directionality of foreign-keys. So even though we will be changing the ordering here, we need to make absolutely
 	 * certain that we do not circumvent this FK ordering to the extent of causing constraint violations.
 	 * <p>
-	 * Sorts the insert actions using more hashes.
+	 * The entity types are sorted topologically, according to the dependencies between them as determined from the
+	 * state of the actions, and ties are broken by the order in which the entity types first appear in the queue.
+	 * When the dependencies between the entity types are cyclic, the queue is left untouched.
 	 * </p>
+	 * The same ordering, reversed, is applied to the {@link #deletions} queue.
+	 * <p>
 	 * NOTE: this class is not thread-safe.
 	 *
 	 * @author Jay Erb
 	 */
-	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
-		/**
-		 * Singleton access
-		 */
-		public static final InsertActionSorter INSTANCE = new InsertActionSorter();
+	private static class EntityActionSorter<T extends EntityAction> implements ExecutableList.Sorter<T> {
 
 		private static class BatchIdentifier {
 
 			private final String entityName;
 			private final String rootEntityName;
+			// the position of the first action on the entity type
+			private final int index;
 
 			private final Set<String> parentEntityNames = new HashSet<>( );
 
 			private final Set<String> childEntityNames = new HashSet<>( );
 
-			private BatchIdentifier parent;
+			private final List<EntityAction> actions = new ArrayList<>();
+
+			// the entity types which must be processed after this one
+			private final List<BatchIdentifier> dependents = new ArrayList<>();
+			private int dependencyCount;
 
-			BatchIdentifier(String entityName, String rootEntityName) {
+			BatchIdentifier(String entityName, String rootEntityName, int index) {
 				this.entityName = entityName;
 				this.rootEntityName = rootEntityName;
-			}
-
-			public BatchIdentifier getParent() {
-				return parent;
-			}
-
-			public void setParent(BatchIdentifier parent) {
-				this.parent = parent;
-			}
-
-			@Override
-			public boolean equals(Object o) {
-				if ( this == o ) {
-					return true;
-				}
-				if ( !( o instanceof BatchIdentifier ) ) {
-					return false;
-				}
-				BatchIdentifier that = (BatchIdentifier) o;
-				return Objects.equals( entityName, that.entityName );
-			}
-
-			@Override
-			public int hashCode() {
-				return Objects.hash( entityName );
+				this.index = index;
 			}
 
 			String getEntityName() {
@@ -1105,186 +1174,169 @@ public class ActionQueue {
 				return childEntityNames;
 			}
 
-			boolean hasAnyParentEntityNames(BatchIdentifier batchIdentifier) {
-				return parentEntityNames.contains( batchIdentifier.getEntityName() ) ||
-						parentEntityNames.contains( batchIdentifier.getRootEntityName() );
-			}
-
-			boolean hasAnyChildEntityNames(BatchIdentifier batchIdentifier) {
-				return childEntityNames.contains( batchIdentifier.getEntityName() );
-			}
-
-			/**
-			 * Check if this {@link BatchIdentifier} has a parent or grand parent
-			 * matching the given {@link BatchIdentifier} reference.
-			 *
-			 * @param batchIdentifier {@link BatchIdentifier} reference
-			 *
-			 * @return This {@link BatchIdentifier} has a parent matching the given {@link BatchIdentifier} reference
-			 */
-			boolean hasParent(BatchIdentifier batchIdentifier) {
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-					|| ( parentEntityNames.contains( batchIdentifier.getRootEntityName() )
-							&& !this.getEntityName().equals( batchIdentifier.getRootEntityName() ) )
-					|| parent != null && parent.hasParent( batchIdentifier, new ArrayList<>() )
-				);
-			}
-
-			private boolean hasParent(BatchIdentifier batchIdentifier, List<BatchIdentifier> stack) {
-				if ( !stack.contains( this ) && parent != null ) {
-					stack.add( this );
-					return parent.hasParent( batchIdentifier, stack );
+			void addDependent(BatchIdentifier dependent) {
+				if ( dependent != this && !dependents.contains( dependent ) ) {
+					dependents.add( dependent );
+					dependent.dependencyCount++;
 				}
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-				);
 			}
 		}
 
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<BatchIdentifier, List<AbstractEntityInsertAction>> actionBatches;
+		private final boolean parentsFirst;
 
-		public InsertActionSorter() {
-		}
+		// the root entity names, by entity name
+		private Map<String, String> rootEntityNames;
 
 		/**
-		 * Sort the insert actions.
+		 * @param parentsFirst {@code true} if the actions on the entity types referenced by foreign keys should be
+		 * executed first, as for inserts; {@code false} if they should be executed last, as for deletes
 		 */
-		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.actionBatches = new HashMap<>();
-
-			// the mapping of entity names to their latest batch numbers.
-			final List<BatchIdentifier> latestBatches = new ArrayList<>();
-
-			for ( AbstractEntityInsertAction action : insertions ) {
-				BatchIdentifier batchIdentifier = new BatchIdentifier(
-						action.getEntityName(),
-						action.getSession()
-								.getFactory()
-								.getRuntimeMetamodels()
-								.getMappingMetamodel()
-								.getEntityDescriptor( action.getEntityName() )
-								.getRootEntityName()
-				);
-
-				int index = latestBatches.indexOf( batchIdentifier );
+		EntityActionSorter(boolean parentsFirst) {
+			this.parentsFirst = parentsFirst;
+		}
 
-				if ( index != -1 )  {
-					batchIdentifier = latestBatches.get( index );
+		/**
+		 * Sort the entity actions.
+		 */
+		@Override
+		public void sort(List<T> actions) {
+			this.rootEntityNames = new HashMap<>();
+			try {
+				final Map<String, BatchIdentifier> batchesByEntityName = new LinkedHashMap<>();
+				for ( EntityAction action : actions ) {
+					BatchIdentifier batchIdentifier = batchesByEntityName.get( action.getEntityName() );
+					if ( batchIdentifier == null ) {
+						batchIdentifier = new BatchIdentifier(
+								action.getEntityName(),
+								getRootEntityName( action, action.getEntityName() ),
+								batchesByEntityName.size()
+						);
+						batchesByEntityName.put( action.getEntityName(), batchIdentifier );
+					}
+					addParentChildEntityNames( action, batchIdentifier );
+					batchIdentifier.actions.add( action );
 				}
-				else {
-					latestBatches.add( batchIdentifier );
+
+				if ( batchesByEntityName.size() > 1 ) {
+					final List<BatchIdentifier> sortedBatches = sort( batchesByEntityName );
+					if ( sortedBatches != null ) {
+						actions.clear();
+						for ( BatchIdentifier batchIdentifier : sortedBatches ) {
+							//noinspection unchecked
+							actions.addAll( (List<T>) (List<?>) batchIdentifier.actions );
+						}
+					}
 				}
-				addParentChildEntityNames( action, batchIdentifier );
-				addToBatch( batchIdentifier, action );
 			}
+			finally {
+				this.rootEntityNames = null;
+			}
+		}
 
-			// Examine each entry in the batch list, and build the dependency graph.
-			for ( int i = 0; i < latestBatches.size(); i++ ) {
-				BatchIdentifier batchIdentifier = latestBatches.get( i );
+		/**
+		 * Sort the entity types topologically, the first ones to appear in the queue coming first when they
+		 * do not depend on each other.
+		 *
+		 * @return The sorted entity types, or {@code null} if their dependencies are cyclic
+		 */
+		private List<BatchIdentifier> sort(Map<String, BatchIdentifier> batchesByEntityName) {
+			final Map<String, List<BatchIdentifier>> batchesByRootEntityName = new HashMap<>();
+			for ( BatchIdentifier batchIdentifier : batchesByEntityName.values() ) {
+				batchesByRootEntityName.computeIfAbsent( batchIdentifier.getRootEntityName(), k -> new ArrayList<>() )
+						.add( batchIdentifier );
+			}
 
-				for ( int j = i - 1; j >= 0; j-- ) {
-					BatchIdentifier prevBatchIdentifier = latestBatches.get( j );
-					if ( prevBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
+			// build the dependency graph
+			for ( BatchIdentifier batchIdentifier : batchesByEntityName.values() ) {
+				for ( String parentEntityName : batchIdentifier.getParentEntityNames() ) {
+					final BatchIdentifier parent = batchesByEntityName.get( parentEntityName );
+					if ( parent != null ) {
+						addDependency( parent, batchIdentifier );
 					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( prevBatchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
+					// a reference to the root entity type may be to any of its subtypes
+					final List<BatchIdentifier> subtypes = batchesByRootEntityName.get( parentEntityName );
+					if ( subtypes != null && !batchIdentifier.getEntityName().equals( parentEntityName ) ) {
+						for ( BatchIdentifier subtype : subtypes ) {
+							addDependency( subtype, batchIdentifier );
+						}
 					}
 				}
-
-				for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-					BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-					if ( nextBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
-					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( nextBatchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
+				for ( String childEntityName : batchIdentifier.getChildEntityNames() ) {
+					final BatchIdentifier child = batchesByEntityName.get( childEntityName );
+					if ( child != null ) {
+						addDependency( batchIdentifier, child );
 					}
 				}
 			}
 
-			boolean sorted = false;
-
-			long maxIterations = latestBatches.size() * latestBatches.size();
-			long iterations = 0;
-
-			sort:
-			do {
-				// Examine each entry in the batch list, sorting them based on parent/child association
-				// as depicted by the dependency graph.
-				iterations++;
-
-				for ( int i = 0; i < latestBatches.size(); i++ ) {
-					BatchIdentifier batchIdentifier = latestBatches.get( i );
-
-					// Iterate next batches and make sure that children types are after parents.
-					// Since the outer loop looks at each batch entry individually and the prior loop will reorder
-					// entries as well, we need to look and verify if the current batch is a child of the next
-					// batch or if the current batch is seen as a parent or child of the next batch.
-					for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-						BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-						if ( batchIdentifier.hasParent( nextBatchIdentifier ) ) {
-							if ( nextBatchIdentifier.hasParent( batchIdentifier ) ) {
-								//cycle detected, no need to continue
-								break sort;
-							}
-
-							latestBatches.remove( batchIdentifier );
-							latestBatches.add( j, batchIdentifier );
-
-							continue sort;
-						}
-					}
+			final List<BatchIdentifier> sortedBatches = new ArrayList<>( batchesByEntityName.size() );
+			final PriorityQueue<BatchIdentifier> ready = new PriorityQueue<>(
+					Comparator.comparingInt( batchIdentifier -> batchIdentifier.index )
+			);
+			for ( BatchIdentifier batchIdentifier : batchesByEntityName.values() ) {
+				if ( batchIdentifier.dependencyCount == 0 ) {
+					ready.add( batchIdentifier );
 				}
-				sorted = true;
 			}
-			while ( !sorted && iterations <= maxIterations );
-
-			if ( iterations > maxIterations ) {
-				LOG.warn( "The batch containing "
-						+ latestBatches.size()
-						+ " statements could not be sorted after "
-						+ maxIterations
-						+ " iterations. "
-						+ "This might indicate a circular entity relationship." );
+			while ( !ready.isEmpty() ) {
+				final BatchIdentifier batchIdentifier = ready.poll();
+				sortedBatches.add( batchIdentifier );
+				for ( BatchIdentifier dependent : batchIdentifier.dependents ) {
+					if ( --dependent.dependencyCount == 0 ) {
+						ready.add( dependent );
+					}
+				}
 			}
 
-			// Now, rebuild the insertions list. There is a batch for each entry in the name list.
-			if ( sorted ) {
-				insertions.clear();
+			if ( sortedBatches.size() < batchesByEntityName.size() ) {
+				LOG.debugf(
+						"The actions on %s entity types could not be sorted, as they depend on each other",
+						batchesByEntityName.size()
+				);
+				return null;
+			}
+			return sortedBatches;
+		}
 
-				for ( BatchIdentifier rootIdentifier : latestBatches ) {
-					List<AbstractEntityInsertAction> batch = actionBatches.get( rootIdentifier );
-					insertions.addAll( batch );
-				}
+		private void addDependency(BatchIdentifier parent, BatchIdentifier child) {
+			if ( parentsFirst ) {
+				parent.addDependent( child );
+			}
+			else {
+				child.addDependent( parent );
 			}
 		}
 
+		private String getRootEntityName(EntityAction action, String entityName) {
+			return rootEntityNames.computeIfAbsent(
+					entityName,
+					name -> action.getSession()
+							.getFactory()
+							.getRuntimeMetamodels()
+							.getMappingMetamodel()
+							.getEntityDescriptor( name )
+							.getRootEntityName()
+			);
+		}
+
 		/**
 		 * Add parent and child entity names so that we know how to rearrange dependencies
 		 *
 		 * @param action The action being sorted
 		 * @param batchIdentifier The batch identifier of the entity affected by the action
 		 */
-		private void addParentChildEntityNames(AbstractEntityInsertAction action, BatchIdentifier batchIdentifier) {
-			final Object[] propertyValues = action.getState();
+		private void addParentChildEntityNames(EntityAction action, BatchIdentifier batchIdentifier) {
+			final Object[] propertyValues = getState( action );
 			final Type[] propertyTypes = action.getPersister().getPropertyTypes();
 			final Type identifierType = action.getPersister().getIdentifierType();
 
-			for ( int i = 0; i < propertyValues.length; i++ ) {
-				Object value = propertyValues[i];
-				if ( value != null ) {
-					Type type = propertyTypes[i];
-					addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, value );
+			if ( propertyValues != null ) {
+				for ( int i = 0; i < propertyValues.length; i++ ) {
+					Object value = propertyValues[i];
+					if ( value != null ) {
+						Type type = propertyTypes[i];
+						addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, value );
+					}
 				}
 			}
 
@@ -1298,19 +1350,27 @@ public class ActionQueue {
 			}
 		}
 
+		private static Object[] getState(EntityAction action) {
+			if ( action instanceof AbstractEntityInsertAction ) {
+				return ( (AbstractEntityInsertAction) action ).getState();
+			}
+			else if ( action instanceof EntityDeleteAction ) {
+				return ( (EntityDeleteAction) action ).getState();
+			}
+			else {
+				return null;
+			}
+		}
+
 		private void addParentChildEntityNameByPropertyAndValue(
-				AbstractEntityInsertAction action,
+				EntityAction action,
 				BatchIdentifier batchIdentifier,
 				Type type,
 				Object value) {
-			final MappingMetamodelImplementor mappingMetamodel = action.getSession()
-					.getFactory()
-					.getRuntimeMetamodels()
-					.getMappingMetamodel();
 			if ( type.isEntityType() ) {
 				final EntityType entityType = (EntityType) type;
 				final String entityName = entityType.getName();
-				final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
+				final String rootEntityName = getRootEntityName( action, entityName );
 
 				if ( entityType.isOneToOne() && entityType.getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT ) {
 					if ( !entityType.isReferenceToPrimaryKey() ) {
@@ -1339,9 +1399,9 @@ public class ActionQueue {
 				CollectionType collectionType = (CollectionType) type;
 				final SessionFactoryImplementor sessionFactory = action.getSession().getSessionFactory();
 				if ( collectionType.getElementType( sessionFactory ).isEntityType()
-						&& !mappingMetamodel.getCollectionDescriptor( collectionType.getRole() ).isManyToMany() ) {
+						&& !sessionFactory.getMappingMetamodel().getCollectionDescriptor( collectionType.getRole() ).isManyToMany() ) {
 					final String entityName = collectionType.getAssociatedEntityName( sessionFactory );
-					final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
+					final String rootEntityName = getRootEntityName( action, entityName );
 					batchIdentifier.getChildEntityNames().add( entityName );
 					if ( !rootEntityName.equals( entityName ) ) {
 						batchIdentifier.getChildEntityNames().add( rootEntityName );
@@ -1361,16 +1421,6 @@ public class ActionQueue {
 			}
 		}
 
-		private void addToBatch(BatchIdentifier batchIdentifier, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchIdentifier );
-
-			if ( actions == null ) {
-				actions = new LinkedList<>();
-				actionBatches.put( batchIdentifier, actions );
-			}
-			actions.add( action );
-		}
-
 	}
 
 	private abstract static class ListProvider<T extends Executable & Comparable<? super T> & Serializable> {
@@ -6,11 +6,15 @@
  */
 package org.hibernate.engine.spi;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -209,7 +213,15 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( entityDescriptor.getEntityName() );
 		if ( set != null ) {
+			final CachedKeyLookAhead<EntityKey> cachedKeys = entityCacheLookAhead(
+					set,
+					entityDescriptor.getEntityPersister(),
+					maxBatchSize
+			);
 			for ( EntityKey key : set ) {
+				// the look-ahead has to be advanced for every key to stay in line with the iteration
+				final boolean cached = cachedKeys != null && cachedKeys.isNextCached();
+
 				if ( checkForEnd && i == end ) {
 					// the first id found after the given id
 					return ids;
@@ -220,7 +232,7 @@ public class BatchFetchQueue {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, entityDescriptor.getEntityPersister() ) ) {
+					if ( !cached ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
@@ -238,19 +250,27 @@ public class BatchFetchQueue {
 		return ids;
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private CachedKeyLookAhead<EntityKey> entityCacheLookAhead(
+			LinkedHashSet<EntityKey> keys,
+			EntityPersister persister,
+			int batchSize) {
 		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
+		if ( session.getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
 			final EntityDataAccess cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			return new CachedKeyLookAhead<>(
+					keys.iterator(),
+					entityKey -> cache.generateCacheKey(
+							entityKey.getIdentifier(),
+							persister,
+							session.getFactory(),
+							session.getTenantIdentifier()
+					),
+					cache,
+					session,
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
 		}
-		return false;
+		return null;
 	}
 
 
@@ -319,9 +339,16 @@ public class BatchFetchQueue {
 		final LinkedHashMap<CollectionEntry, PersistentCollection<?>> map =
 				batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
+			final CachedKeyLookAhead<CollectionEntry> cachedKeys = collectionCacheLookAhead(
+					map,
+					collectionPersister,
+					batchSize
+			);
 			for ( Entry<CollectionEntry, PersistentCollection<?>> me : map.entrySet() ) {
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection<?> collection = me.getValue();
+				// the look-ahead has to be advanced for every entry to stay in line with the iteration
+				final boolean cached = cachedKeys != null && cachedKeys.isNextCached();
 
 				if ( ce.getLoadedKey() == null ) {
 					// the loadedKey of the collectionEntry might be null as it might have been reset to null
@@ -352,7 +379,7 @@ public class BatchFetchQueue {
 					end = i;
 					//checkForEnd = false;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				else if ( !cached ) {
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
@@ -368,19 +395,77 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Object collectionKey, CollectionPersister persister) {
-		SharedSessionContractImplementor session = context.getSession();
+	private CachedKeyLookAhead<CollectionEntry> collectionCacheLookAhead(
+			LinkedHashMap<CollectionEntry, PersistentCollection<?>> entries,
+			CollectionPersister persister,
+			int batchSize) {
+		final SharedSessionContractImplementor session = context.getSession();
 		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionDataAccess cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			final CollectionDataAccess cache = persister.getCacheAccessStrategy();
+			return new CachedKeyLookAhead<>(
+					entries.keySet().iterator(),
+					ce -> ce.getLoadedKey() == null ? null : cache.generateCacheKey(
+							ce.getLoadedKey(),
+							persister,
+							session.getFactory(),
+							session.getTenantIdentifier()
+					),
+					cache,
+					session,
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
 		}
-		return false;
+		return null;
+	}
+
+	/**
+	 * Determines whether the keys of an iteration are cached in the second-level cache,
+	 * by looking up the keys ahead of the iteration, in chunks of the batch size, with
+	 * a single access to the cache for each chunk rather than for each key.
+	 */
+	private static final class CachedKeyLookAhead<K> {
+		private final Iterator<K> keys;
+		private final Function<K, Object> cacheKeyGenerator;
+		private final CachedDomainDataAccess cacheAccess;
+		private final SharedSessionContractImplementor session;
+
+		private final Object[] cacheKeys;
+		private Object[] cachedValues;
+		private int position;
+		private int size;
+
+		private CachedKeyLookAhead(
+				Iterator<K> keys,
+				Function<K, Object> cacheKeyGenerator,
+				CachedDomainDataAccess cacheAccess,
+				SharedSessionContractImplementor session,
+				int chunkSize) {
+			this.keys = keys;
+			this.cacheKeyGenerator = cacheKeyGenerator;
+			this.cacheAccess = cacheAccess;
+			this.session = session;
+			this.cacheKeys = new Object[Math.max( chunkSize, 1 )];
+		}
+
+		/**
+		 * Whether the next key of the iteration is cached
+		 */
+		private boolean isNextCached() {
+			if ( position == size ) {
+				lookUpNextChunk();
+			}
+			return position < size && cachedValues[position++] != null;
+		}
+
+		private void lookUpNextChunk() {
+			size = 0;
+			position = 0;
+			while ( size < cacheKeys.length && keys.hasNext() ) {
+				cacheKeys[size++] = cacheKeyGenerator.apply( keys.next() );
+			}
+			Arrays.fill( cacheKeys, size, cacheKeys.length, null );
+			cachedValues = size == 0 ? null : CacheHelper.fromSharedCache( session, cacheKeys, cacheAccess );
+		}
 	}
 
 }
@@ -9,6 +9,7 @@ package org.hibernate.engine.spi;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
@@ -489,6 +490,47 @@ public interface PersistenceContext {
 	 */
 	Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Like {@link #reentrantSafeEntityEntries()}, but limited to the entity/EntityEntry combos which need to be
+	 * visited by a flush: when {@link org.hibernate.cfg.AvailableSettings#FLUSH_DIRTY_REGION_ONLY} is enabled,
+	 * entities which are known to be unmodified since the previous flush are left out.
+	 * <p/>
+	 * By default, all the entity/EntityEntry combos are returned.
+	 */
+	default Map.Entry<Object,EntityEntry>[] reentrantSafePossiblyDirtyEntityEntries() {
+		return reentrantSafeEntityEntries();
+	}
+
+	/**
+	 * Notification that the given managed entity might have been modified, and hence needs to be visited
+	 * by the next flush.  Only relevant when {@link org.hibernate.cfg.AvailableSettings#FLUSH_DIRTY_REGION_ONLY}
+	 * is enabled.
+	 *
+	 * @param entity The entity which might have been modified
+	 */
+	default void markEntityPossiblyDirty(Object entity) {
+		//For backward compatibility
+	}
+
+	/**
+	 * The entity types of the managed entities which might have been modified since the previous flush, or
+	 * {@code null} when {@link org.hibernate.cfg.AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK} is not
+	 * enabled.  The returned set is a live view, and must not be modified.
+	 * <p/>
+	 * By default, returns {@code null}, meaning that the entity types are unknown, and that the
+	 * full dirty check is needed.
+	 */
+	default Set<EntityPersister> getPossiblyDirtyEntityPersisters() {
+		return null;
+	}
+
+	/**
+	 * Called after the actions scheduled by a flush have been executed.
+	 */
+	default void postFlush() {
+		//For backward compatibility
+	}
+
 //	/**
 //	 * Get the mapping from entity instance to entity entry
 //	 *
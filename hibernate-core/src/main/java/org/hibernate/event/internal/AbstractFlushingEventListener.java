@@ -137,7 +137,7 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 
 		final PersistContext context = getContext();
 		//safe from concurrent modification because of how concurrentEntries() is implemented on IdentityMap
-		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
+		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafePossiblyDirtyEntityEntries() ) {
 //		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
 			EntityEntry entry = me.getValue();
 			Status status = entry.getStatus();
@@ -200,17 +200,27 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 
 		// So this needs to be safe from concurrent modification problems.
 
-		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
+		// Unless hibernate.flush.dirty_region_only is enabled, this covers all the
+		// managed entities.
+
+		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafePossiblyDirtyEntityEntries();
 		final int count = entityEntries.length;
 
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
+		// when hibernate.flush.parallel_dirty_check_threshold is reached, some of the
+		// events have already been populated with the outcome of their dirty check
+		final FlushEntityEvent[] precomputedEvents = ParallelDirtyCheck.precompute( source, entityEntries, flushListeners );
+
+		for ( int i = 0; i < count; i++ ) {
 			// Update the status of the object and if necessary, schedule an update
 
+			final Map.Entry<Object,EntityEntry> me = entityEntries[i];
 			EntityEntry entry = me.getValue();
 			Status status = entry.getStatus();
 
 			if ( status != Status.LOADING && status != Status.GONE ) {
-				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+				final FlushEntityEvent entityEvent = precomputedEvents == null || precomputedEvents[i] == null
+						? new FlushEntityEvent( source, me.getKey(), entry )
+						: precomputedEvents[i];
 				flushListeners.fireEventOnEachListener( entityEvent, FlushEntityEventListener::onFlushEntity );
 			}
 		}
@@ -350,6 +360,7 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 
 		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
 		persistenceContext.clearCollectionsByKey();
+		persistenceContext.postFlush();
 		
 		// the database has changed now, so the subselect results need to be invalidated
 		// the batch fetching queues should also be cleared - especially the collection batch fetching one
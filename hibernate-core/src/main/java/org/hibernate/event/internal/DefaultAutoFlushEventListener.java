@@ -6,16 +6,32 @@
  */
 package org.hibernate.event.internal;
 
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionEventListenerManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -29,6 +45,10 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, DefaultAutoFlushEventListener.class.getName() );
 
+	// the table spaces a flush might write to because of the entities of a given type,
+	// see AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK
+	private final ConcurrentMap<EntityPersister, Set<Serializable>> affectedSpacesByPersister = new ConcurrentHashMap<>();
+
 	/**
 	 * Handle the given auto-flush event.
 	 * 
@@ -40,7 +60,7 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 		try {
 			eventListenerManager.partialFlushStart();
 
-			if ( flushMightBeNeeded( source ) ) {
+			if ( flushMightBeNeeded( source ) && !flushCanBeSkipped( event, source ) ) {
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final ActionQueue actionQueue = source.getActionQueue();
@@ -82,6 +102,98 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 			|| source.getActionQueue().areTablesToBeUpdated( event.getQuerySpaces() );
 	}
 
+	/**
+	 * Determines, without dirty checking the persistence context, whether the execution of
+	 * the query is known not to require a flush: that is, when neither the actions already
+	 * scheduled nor the entity types of the entities which might have been modified could
+	 * affect the table spaces of the query.  Always {@code false} unless the pre-check has
+	 * been enabled.
+	 */
+	private boolean flushCanBeSkipped(AutoFlushEvent event, EventSource source) {
+		final Set<EntityPersister> possiblyDirtyPersisters =
+				source.getPersistenceContextInternal().getPossiblyDirtyEntityPersisters();
+		if ( possiblyDirtyPersisters == null || source.getHibernateFlushMode() == FlushMode.ALWAYS ) {
+			return false;
+		}
+		final Set<String> querySpaces = event.getQuerySpaces();
+		if ( source.getActionQueue().areTablesToBeUpdated( querySpaces ) ) {
+			return false;
+		}
+		for ( EntityPersister persister : possiblyDirtyPersisters ) {
+			for ( Serializable space : getAffectedSpaces( persister, source.getFactory() ) ) {
+				if ( querySpaces.contains( space ) ) {
+					return false;
+				}
+			}
+		}
+		LOG.trace( "No pending change affects the query spaces, skipping the auto-flush" );
+		return true;
+	}
+
+	private Set<Serializable> getAffectedSpaces(EntityPersister persister, SessionFactoryImplementor factory) {
+		final Set<Serializable> spaces = affectedSpacesByPersister.get( persister );
+		if ( spaces != null ) {
+			return spaces;
+		}
+		final Set<Serializable> affectedSpaces = new HashSet<>();
+		collectAffectedSpaces( persister, factory.getMappingMetamodel(), affectedSpaces, new HashSet<>() );
+		final Set<Serializable> unmodifiable = Collections.unmodifiableSet( affectedSpaces );
+		affectedSpacesByPersister.put( persister, unmodifiable );
+		return unmodifiable;
+	}
+
+	private void collectAffectedSpaces(
+			EntityPersister persister,
+			MappingMetamodel metamodel,
+			Set<Serializable> spaces,
+			Set<String> visited) {
+		if ( !visited.add( persister.getEntityName() ) ) {
+			return;
+		}
+		Collections.addAll( spaces, persister.getQuerySpaces() );
+		final Type[] types = persister.getPropertyTypes();
+		final CascadeStyle[] cascadeStyles = persister.getPropertyCascadeStyles();
+		for ( int i = 0; i < types.length; i++ ) {
+			collectAffectedSpaces( types[i], cascadeStyles[i], metamodel, spaces, visited );
+		}
+		// an association might lead to any subclass of its target entity type
+		for ( String subclassEntityName : persister.getEntityMetamodel().getSubclassEntityNames() ) {
+			collectAffectedSpaces( metamodel.getEntityDescriptor( subclassEntityName ), metamodel, spaces, visited );
+		}
+	}
+
+	private void collectAffectedSpaces(
+			Type type,
+			CascadeStyle cascadeStyle,
+			MappingMetamodel metamodel,
+			Set<Serializable> spaces,
+			Set<String> visited) {
+		if ( type.isCollectionType() ) {
+			final CollectionPersister collectionPersister =
+					metamodel.getCollectionDescriptor( ( (CollectionType) type ).getRole() );
+			Collections.addAll( spaces, collectionPersister.getCollectionSpaces() );
+			// the cascades apply to the elements
+			collectAffectedSpaces( collectionPersister.getElementType(), cascadeStyle, metamodel, spaces, visited );
+		}
+		else if ( type.isEntityType() ) {
+			if ( cascadeStyle.doCascade( getCascadingAction() ) || cascadeStyle.hasOrphanDelete() ) {
+				collectAffectedSpaces(
+						metamodel.getEntityDescriptor( ( (EntityType) type ).getAssociatedEntityName() ),
+						metamodel,
+						spaces,
+						visited
+				);
+			}
+		}
+		else if ( type.isComponentType() ) {
+			final CompositeType compositeType = (CompositeType) type;
+			final Type[] subtypes = compositeType.getSubtypes();
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				collectAffectedSpaces( subtypes[i], compositeType.getCascadeStyle( i ), metamodel, spaces, visited );
+			}
+		}
+	}
+
 	private boolean flushMightBeNeeded(final EventSource source) {
 		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
 		return !source.getHibernateFlushMode().lessThan( FlushMode.AUTO )
@@ -10,13 +10,16 @@ import java.util.Arrays;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.CustomEntityDirtinessStrategy;
+import org.hibernate.EmptyInterceptor;
 import org.hibernate.HibernateException;
+import org.hibernate.Interceptor;
 import org.hibernate.SessionFactory;
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.action.internal.EntityUpdateAction;
 import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
 import org.hibernate.bytecode.enhance.spi.interceptor.EnhancementAsProxyLazinessInterceptor;
+import org.hibernate.engine.internal.AbstractEntityEntry;
 import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -36,6 +39,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jpa.event.spi.CallbackRegistry;
 import org.hibernate.jpa.event.spi.CallbackRegistryConsumer;
+import org.hibernate.jpa.event.spi.CallbackType;
 import org.hibernate.metamodel.mapping.NaturalIdMapping;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -57,6 +61,14 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		this.callbackRegistry = callbackRegistry;
 	}
 
+	/**
+	 * Are there JPA {@code @PreUpdate} callbacks for the given entity class?
+	 */
+	boolean hasPreUpdateCallbacks(Class<?> entityClass) {
+		return callbackRegistry != null
+				&& callbackRegistry.hasRegisteredCallbacks( entityClass, CallbackType.PRE_UPDATE );
+	}
+
 	/**
 	 * make sure user didn't mangle the id
 	 */
@@ -90,7 +102,6 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			Object entity,
 			EntityEntry entry,
 			Object[] current,
-			Object[] loaded,
 			SessionImplementor session) {
 		if ( entity instanceof PersistentAttributeInterceptable ) {
 			final PersistentAttributeInterceptor interceptor =
@@ -104,7 +115,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		final NaturalIdMapping naturalIdMapping = persister.getNaturalIdMapping();
 		if ( naturalIdMapping != null && entry.getStatus() != Status.READ_ONLY ) {
-			naturalIdMapping.verifyFlushState( entry.getId(), current, loaded, session );
+			naturalIdMapping.verifyFlushState( entry.getId(), current, entry.getLoadedState(), session );
 		}
 	}
 
@@ -122,7 +133,11 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		final boolean mightBeDirty = entry.requiresDirtyCheck( entity );
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		if ( event.isDirtyCheckPrecomputed() && ( status != Status.MANAGED || !mightBeDirty ) ) {
+			event.discardPrecomputedDirtyCheck();
+		}
+
+		final Object[] values = getValues( event, mightBeDirty, session );
 
 		event.setPropertyValues( values );
 
@@ -150,25 +165,28 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
-		final Object[] loadedState = entry.getLoadedState();
+	private Object[] getValues(FlushEntityEvent event, boolean mightBeDirty, SessionImplementor session) {
+		final Object entity = event.getEntity();
+		final EntityEntry entry = event.getEntityEntry();
 
 		if ( entry.getStatus() == Status.DELETED ) {
 			//grab its state saved at deletion
 			return entry.getDeletedState();
 		}
-		else if ( !mightBeDirty && loadedState != null ) {
-			return loadedState;
+		else if ( !mightBeDirty && !isLoadedStatePacked( entry ) && entry.getLoadedState() != null ) {
+			return entry.getLoadedState();
 		}
 		else {
 			final EntityPersister persister = entry.getPersister();
 
 			checkId( entity, persister, entry.getId(), session );
 
-			// grab its current state
-			Object[] values = persister.getValues( entity );
+			// grab its current state, unless it was already read for a parallel dirty check
+			Object[] values = event.isDirtyCheckPrecomputed()
+					? event.getPropertyValues()
+					: persister.getValues( entity );
 
-			checkNaturalId( persister, entity, entry, values, loadedState, session );
+			checkNaturalId( persister, entity, entry, values, session );
 
 			return values;
 		}
@@ -483,16 +501,25 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final EntityEntry entry = event.getEntityEntry();
 		final EntityPersister persister = entry.getPersister();
 		final Object id = entry.getId();
-		final Object[] loadedState = entry.getLoadedState();
-
-		int[] dirtyProperties = session.getInterceptor().findDirty(
-				entity,
-				id,
-				values,
-				loadedState,
-				persister.getPropertyNames(),
-				persister.getPropertyTypes()
-		);
+		// a packed loaded state is left packed, unless an interceptor needs it
+		final boolean loadedStatePacked = isLoadedStatePacked( entry );
+
+		// only the first dirty check of the entity may use the precomputed result
+		final boolean dirtyCheckPrecomputed = event.isDirtyCheckPrecomputed();
+		final int[] precomputedDirtyProperties = event.getPrecomputedDirtyProperties();
+		event.discardPrecomputedDirtyCheck();
+
+		final Interceptor interceptor = session.getInterceptor();
+		int[] dirtyProperties = loadedStatePacked && interceptor == EmptyInterceptor.INSTANCE
+				? null
+				: interceptor.findDirty(
+						entity,
+						id,
+						values,
+						entry.getLoadedState(),
+						persister.getPropertyNames(),
+						persister.getPropertyTypes()
+				);
 
 		if ( dirtyProperties == null ) {
 			if ( entity instanceof SelfDirtinessTracker ) {
@@ -501,7 +528,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 					String[] dirtyAttributes = ((SelfDirtinessTracker) entity).$$_hibernate_getDirtyAttributes();
 					dirtyProperties = persister.resolveDirtyAttributeIndexes(
 							values,
-							loadedState,
+							entry.getLoadedState(),
 							dirtyAttributes,
 							session
 					);
@@ -547,10 +574,20 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 				interceptorHandledDirtyCheck = false;
 				// object loaded by update()
-				dirtyCheckPossible = loadedState != null;
+				dirtyCheckPossible = loadedStatePacked || entry.getLoadedState() != null;
 				if ( dirtyCheckPossible ) {
-					// dirty check against the usual snapshot of the entity
-					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					if ( dirtyCheckPrecomputed ) {
+						// already checked against the usual snapshot, in parallel
+						dirtyProperties = precomputedDirtyProperties;
+					}
+					else if ( loadedStatePacked ) {
+						// dirty check against the usual snapshot of the entity, without unpacking it
+						dirtyProperties = ( (AbstractEntityEntry) entry ).findDirty( values, entity, session );
+					}
+					else {
+						// dirty check against the usual snapshot of the entity
+						dirtyProperties = persister.findDirty( values, entry.getLoadedState(), entity, session );
+					}
 				}
 				else if ( entry.getStatus() == Status.DELETED && !entry.isModifiableEntity() ) {
 					// A non-modifiable (e.g., read-only or immutable) entity needs to be have
@@ -599,6 +636,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	private static boolean isLoadedStatePacked(EntityEntry entry) {
+		return entry instanceof AbstractEntityEntry && ( (AbstractEntityEntry) entry ).isLoadedStatePacked();
+	}
+
 	private class DirtyCheckAttributeInfoImpl implements CustomEntityDirtinessStrategy.AttributeInformation {
 		private final FlushEntityEvent event;
 		private final EntityPersister persister;
@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.event.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.boot.internal.DefaultCustomEntityDirtinessStrategy;
+import org.hibernate.engine.internal.AbstractEntityEntry;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Reads the state of the managed entities, and compares it with their loaded state, on the
+ * threads of the common {@link java.util.concurrent.ForkJoinPool}, ahead of the
+ * {@link FlushEntityEvent}s being fired in order by the flushing thread.
+ * <p/>
+ * Only the entities whose dirty check does not involve the session are considered: they must
+ * not be bytecode enhanced, and their attributes must all be of basic or embeddable type, so
+ * that neither associations nor collections are ever touched off the flushing thread.
+ * <p/>
+ * Since the state of every entity is read before any event is fired, nothing is dirty checked
+ * ahead of time when an {@link org.hibernate.Interceptor} or a JPA {@code @PreUpdate} callback
+ * could modify other entities of the flush while its events are fired.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+ */
+final class ParallelDirtyCheck {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ParallelDirtyCheck.class );
+
+	private ParallelDirtyCheck() {
+	}
+
+	/**
+	 * Dirty check the given entities in parallel, if enabled.
+	 *
+	 * @return The events to fire for the entities at the same positions, those for which the dirty check
+	 * was performed ahead of time being already populated; or {@code null} if no dirty check was performed
+	 */
+	static FlushEntityEvent[] precompute(
+			EventSource source,
+			Map.Entry<Object, EntityEntry>[] entityEntries,
+			EventListenerGroup<FlushEntityEventListener> flushListeners) {
+		final SessionFactoryImplementor factory = source.getFactory();
+		final int threshold = factory.getSessionFactoryOptions().getFlushParallelDirtyCheckThreshold();
+		if ( threshold <= 0 || entityEntries.length < threshold ) {
+			return null;
+		}
+		final DefaultFlushEntityEventListener flushListener = defaultFlushListener( factory, flushListeners );
+		if ( flushListener == null || source.getInterceptor() != EmptyInterceptor.INSTANCE ) {
+			return null;
+		}
+
+		final FlushEntityEvent[] events = new FlushEntityEvent[entityEntries.length];
+		final Map<EntityPersister, Boolean> eligiblePersisters = new IdentityHashMap<>();
+		final Map<Class<?>, Boolean> callbackClasses = new IdentityHashMap<>();
+		int candidates = 0;
+		for ( int i = 0; i < entityEntries.length; i++ ) {
+			final Object entity = entityEntries[i].getKey();
+			final EntityEntry entry = entityEntries[i].getValue();
+			if ( callbackClasses.computeIfAbsent( entity.getClass(), flushListener::hasPreUpdateCallbacks ) ) {
+				// the callback may modify any other entity, before its event is fired
+				return null;
+			}
+			if ( entry.getStatus() == Status.MANAGED
+					&& hasLoadedState( entry )
+					&& entry.isModifiableEntity()
+					&& !( entity instanceof SelfDirtinessTracker )
+					&& !( entity instanceof PersistentAttributeInterceptable )
+					&& eligiblePersisters.computeIfAbsent( entry.getPersister(), ParallelDirtyCheck::isEligible ) ) {
+				events[i] = new FlushEntityEvent( source, entity, entry );
+				candidates++;
+			}
+		}
+		if ( candidates < threshold ) {
+			return null;
+		}
+
+		LOG.debugf( "Dirty checking %s entities in parallel", candidates );
+		IntStream.range( 0, events.length ).parallel().forEach(
+				i -> {
+					final FlushEntityEvent event = events[i];
+					if ( event != null ) {
+						precompute( event, source );
+					}
+				}
+		);
+		return events;
+	}
+
+	private static void precompute(FlushEntityEvent event, EventSource source) {
+		final Object entity = event.getEntity();
+		final EntityEntry entry = event.getEntityEntry();
+		final EntityPersister persister = entry.getPersister();
+		try {
+			final Object[] values = persister.getValues( entity );
+			// a packed loaded state must not be unpacked concurrently
+			final int[] dirtyProperties = entry instanceof AbstractEntityEntry
+					? ( (AbstractEntityEntry) entry ).findDirty( values, entity, source )
+					: persister.findDirty( values, entry.getLoadedState(), entity, source );
+			event.setPrecomputedDirtyCheck( values, dirtyProperties );
+		}
+		catch (RuntimeException e) {
+			// leave it to the flushing thread, which reports the failure where it would otherwise have occurred
+			LOG.tracef( e, "Could not dirty check entity %s in parallel", entry.getEntityKey() );
+		}
+	}
+
+	private static boolean hasLoadedState(EntityEntry entry) {
+		// without unpacking the loaded state, if packed
+		return entry instanceof AbstractEntityEntry && ( (AbstractEntityEntry) entry ).isLoadedStatePacked()
+				|| entry.getLoadedState() != null;
+	}
+
+	/**
+	 * @return The only FlushEntityEventListener, or {@code null} if it is not the default one, or if
+	 * the dirty check is customized otherwise
+	 */
+	private static DefaultFlushEntityEventListener defaultFlushListener(
+			SessionFactoryImplementor factory,
+			EventListenerGroup<FlushEntityEventListener> flushListeners) {
+		if ( !( factory.getCustomEntityDirtinessStrategy() instanceof DefaultCustomEntityDirtinessStrategy ) ) {
+			return null;
+		}
+		if ( flushListeners.count() != 1 ) {
+			return null;
+		}
+		for ( FlushEntityEventListener listener : flushListeners.listeners() ) {
+			if ( listener.getClass() == DefaultFlushEntityEventListener.class ) {
+				return (DefaultFlushEntityEventListener) listener;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isEligible(EntityPersister persister) {
+		if ( persister.hasCollections() ) {
+			return false;
+		}
+		for ( Type type : persister.getPropertyTypes() ) {
+			if ( !isEligible( type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isEligible(Type type) {
+		if ( type instanceof BasicType ) {
+			return true;
+		}
+		else if ( type instanceof CompositeType && !type.isAnyType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( !isEligible( subtype ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+}
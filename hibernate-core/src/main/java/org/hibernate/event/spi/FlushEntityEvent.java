@@ -19,6 +19,8 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean hasDirtyCollection;
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
+	private boolean dirtyCheckPrecomputed;
+	private int[] precomputedDirtyProperties;
 	private final EntityEntry entityEntry;
 	
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
@@ -72,4 +74,26 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+
+	/**
+	 * Has the state of the entity been read, and compared with its loaded state, ahead of the
+	 * event being fired?  In that case, {@link #getPropertyValues()} is the state which was read.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 */
+	public boolean isDirtyCheckPrecomputed() {
+		return dirtyCheckPrecomputed;
+	}
+	public int[] getPrecomputedDirtyProperties() {
+		return precomputedDirtyProperties;
+	}
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, int[] dirtyProperties) {
+		this.propertyValues = propertyValues;
+		this.precomputedDirtyProperties = dirtyProperties;
+		this.dirtyCheckPrecomputed = true;
+	}
+	public void discardPrecomputedDirtyCheck() {
+		this.precomputedDirtyProperties = null;
+		this.dirtyCheckPrecomputed = false;
+	}
 }
@@ -6,8 +6,15 @@
  */
 package org.hibernate.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.Status;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.sql.results.jdbc.internal.JdbcValuesSourceProcessingStateStandardImpl;
 import org.hibernate.sql.results.internal.RowProcessingStateStandardImpl;
@@ -29,6 +36,8 @@ public abstract class AbstractScrollableResults<R> implements ScrollableResultsI
 	private final RowReader<R> rowReader;
 	private final SharedSessionContractImplementor persistenceContext;
 
+	private List<Object> entitiesToEvict;
+
 	private boolean closed;
 
 	public AbstractScrollableResults(
@@ -85,6 +94,42 @@ public abstract class AbstractScrollableResults<R> implements ScrollableResultsI
 		getPersistenceContext().afterScrollOperation();
 	}
 
+	@Override
+	public void setEvictOnScroll(boolean evictOnScroll) {
+		// a stateless session has no persistence context to evict from
+		if ( evictOnScroll && persistenceContext instanceof SessionImplementor ) {
+			entitiesToEvict = new ArrayList<>();
+			jdbcValuesSourceProcessingState.setLoadedEntityConsumer( entitiesToEvict::add );
+		}
+		else {
+			entitiesToEvict = null;
+			jdbcValuesSourceProcessingState.setLoadedEntityConsumer( null );
+		}
+	}
+
+	/**
+	 * Evict the entities loaded for the previous row, if {@linkplain #setEvictOnScroll(boolean) requested}.
+	 * To be called before reading the next row.
+	 */
+	protected void evictPreviousRow() {
+		if ( entitiesToEvict == null || entitiesToEvict.isEmpty() ) {
+			return;
+		}
+		final SessionImplementor session = (SessionImplementor) persistenceContext;
+		if ( !session.isClosed() ) {
+			final PersistenceContext context = session.getPersistenceContextInternal();
+			for ( Object entity : entitiesToEvict ) {
+				final EntityEntry entry = context.getEntry( entity );
+				// entities already evicted by cascade are no longer associated, and
+				// entities deleted while their row was current must remain so
+				if ( entry != null && ( entry.getStatus() == Status.MANAGED || entry.getStatus() == Status.READ_ONLY ) ) {
+					session.evict( entity );
+				}
+			}
+		}
+		entitiesToEvict.clear();
+	}
+
 	@Override
 	public void setFetchSize(int fetchSize) {
 		getJdbcValues().setFetchSize(fetchSize);
@@ -97,6 +142,8 @@ public abstract class AbstractScrollableResults<R> implements ScrollableResultsI
 			return;
 		}
 
+		evictPreviousRow();
+
 		rowReader.finishUp( jdbcValuesSourceProcessingState );
 		jdbcValues.finishUp( persistenceContext );
 
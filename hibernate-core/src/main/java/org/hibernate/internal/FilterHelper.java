@@ -181,21 +181,40 @@ public class FilterHelper {
 							final Iterator<?> iterator = ( (Iterable<?>) parameterValue ).iterator();
 							if ( iterator.hasNext() ) {
 								final Object value = iterator.next();
-								final FilterJdbcParameter jdbcParameter = new FilterJdbcParameter( jdbcMapping, value );
+								final FilterJdbcParameter jdbcParameter = new FilterJdbcParameter(
+										jdbcMapping,
+										value,
+										filterName,
+										parameterName,
+										0
+								);
 								filterPredicate.applyParameter( jdbcParameter );
 
+								int valueIndex = 1;
 								while ( iterator.hasNext() ) {
 									paramMarkers.append( ",?" );
-									filterPredicate.applyParameter( new FilterJdbcParameter( jdbcMapping, iterator.next() ) );
+									filterPredicate.applyParameter( new FilterJdbcParameter(
+											jdbcMapping,
+											iterator.next(),
+											filterName,
+											parameterName,
+											valueIndex++
+									) );
 								}
 							}
 							else {
 								// We need a dummy value if the list is empty
-								filterPredicate.applyParameter( new FilterJdbcParameter( jdbcMapping, null ) );
+								filterPredicate.applyParameter( new FilterJdbcParameter( jdbcMapping, null, filterName, parameterName, 0 ) );
 							}
 						}
 						else {
-							filterPredicate.applyParameter( new FilterJdbcParameter( jdbcMapping, parameterValue ) );
+							filterPredicate.applyParameter( new FilterJdbcParameter(
+									jdbcMapping,
+									parameterValue,
+									filterName,
+									parameterName,
+									-1
+							) );
 						}
 
 						final String marker = ":" + filterNames[ i ] + "." + parameterName;
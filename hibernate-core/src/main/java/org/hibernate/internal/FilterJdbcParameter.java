@@ -6,8 +6,11 @@
  */
 package org.hibernate.internal;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
+import org.hibernate.Filter;
 import org.hibernate.metamodel.mapping.JdbcMapping;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
@@ -22,11 +25,35 @@ public class FilterJdbcParameter {
 	private final JdbcParameter parameter;
 	private final JdbcMapping jdbcMapping;
 	private final Object jdbcParameterValue;
+	private final JdbcParameterBinding binding;
+	private final String filterName;
+	private final String filterParameterName;
+	private final int valueIndex;
 
 	public FilterJdbcParameter(JdbcMapping jdbcMapping, Object jdbcParameterValue) {
+		this( jdbcMapping, jdbcParameterValue, null, null, -1 );
+	}
+
+	/**
+	 * @param filterName The name of the filter which defines the parameter
+	 * @param filterParameterName The name of the filter parameter
+	 * @param valueIndex The position of the value in the values of a multi-valued
+	 * filter parameter, or {@code -1} for a single-valued one
+	 */
+	public FilterJdbcParameter(
+			JdbcMapping jdbcMapping,
+			Object jdbcParameterValue,
+			String filterName,
+			String filterParameterName,
+			int valueIndex) {
 		this.parameter = new JdbcParameterImpl( jdbcMapping );
 		this.jdbcMapping = jdbcMapping;
 		this.jdbcParameterValue = jdbcParameterValue;
+		// the binding is immutable, so it is shared by all executions
+		this.binding = new JdbcParameterBindingImpl( jdbcMapping, jdbcParameterValue );
+		this.filterName = filterName;
+		this.filterParameterName = filterParameterName;
+		this.valueIndex = valueIndex;
 	}
 
 	public JdbcParameter getParameter() {
@@ -38,7 +65,40 @@ public class FilterJdbcParameter {
 	}
 
 	public JdbcParameterBinding getBinding() {
-		return new JdbcParameterBindingImpl( jdbcMapping, jdbcParameterValue );
+		return binding;
+	}
+
+	/**
+	 * The binding of the current value of the filter parameter, for the execution
+	 * of a cached translation with the given enabled filters.  The values of the
+	 * parameters of enabled filters may have changed since the translation, but
+	 * the number of values of a multi-valued parameter has not, since it is part
+	 * of the key of the cached translation.
+	 */
+	public JdbcParameterBinding getBinding(Map<String, Filter> enabledFilters) {
+		if ( filterName == null ) {
+			return binding;
+		}
+		final FilterImpl filter = (FilterImpl) enabledFilters.get( filterName );
+		if ( filter == null ) {
+			return binding;
+		}
+		final Object value = currentValue( filter.getParameter( filterParameterName ) );
+		return Objects.equals( value, jdbcParameterValue )
+				? binding
+				: new JdbcParameterBindingImpl( jdbcMapping, value );
+	}
+
+	private Object currentValue(Object parameterValue) {
+		if ( valueIndex < 0 ) {
+			return parameterValue;
+		}
+		final Iterator<?> iterator = ( (Iterable<?>) parameterValue ).iterator();
+		for ( int i = 0; i < valueIndex && iterator.hasNext(); i++ ) {
+			iterator.next();
+		}
+		// an empty list is bound as a single null value
+		return iterator.hasNext() ? iterator.next() : null;
 	}
 
 	@Override
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
@@ -75,6 +76,7 @@ import org.hibernate.engine.profile.FetchProfile;
 import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.SessionBuilderImplementor;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.event.spi.EventEngine;
 import org.hibernate.graph.spi.RootGraphImplementor;
@@ -111,7 +113,10 @@ import org.hibernate.query.spi.QueryEngine;
 import org.hibernate.query.spi.QueryImplementor;
 import org.hibernate.query.sql.spi.NativeQueryImplementor;
 import org.hibernate.query.sqm.NodeBuilder;
+import org.hibernate.query.sqm.internal.QuerySqmImpl;
 import org.hibernate.query.sqm.spi.NamedSqmQueryMemento;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.select.SqmSelection;
 import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.hibernate.resource.transaction.backend.jta.internal.synchronization.ExceptionMapper;
@@ -393,6 +398,10 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 			bootstrapContext.getReflectionManager().reset();
 
 			this.entityNameResolver = new CoordinatingEntityNameResolver( this, getInterceptor() );
+
+			if ( options.isNamedQueryPrecompilationEnabled() ) {
+				precompileNamedQueries();
+			}
 		}
 		catch (Exception e) {
 			for ( Integrator integrator : serviceRegistry.getService( IntegratorService.class ).getIntegrators() ) {
@@ -411,6 +420,46 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 		}
 	}
 
+	private void precompileNamedQueries() {
+		if ( temporarySessionOpenOptions == null || !queryEngine.getInterpretationCache().isEnabled() ) {
+			LOG.debug( "Skipping precompilation of named queries" );
+			return;
+		}
+		final List<NamedSqmQueryMemento> mementos = new ArrayList<>();
+		queryEngine.getNamedObjectRepository().visitSqmQueryMementos( mementos::add );
+		final long start = System.nanoTime();
+		final long precompiled = mementos.parallelStream().filter( this::precompileNamedQuery ).count();
+		LOG.debugf(
+				"Precompiled %s of %s named queries in %s ms",
+				precompiled,
+				mementos.size(),
+				TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start )
+		);
+	}
+
+	private boolean precompileNamedQuery(NamedSqmQueryMemento memento) {
+		try ( Session session = temporarySessionOpenOptions.openSession() ) {
+			final SharedSessionContractImplementor sessionImplementor = (SharedSessionContractImplementor) session;
+			// a plan is cached per result type: precompile the plan used by untyped queries,
+			// and the one used by queries typed with the type of the selection
+			final SqmQueryImplementor<?> query = memento.toQuery( sessionImplementor, null );
+			if ( !( query instanceof QuerySqmImpl<?> ) || !( (QuerySqmImpl<?>) query ).prepareSelectQueryPlan() ) {
+				return false;
+			}
+			final SqmSelectStatement<?> statement = (SqmSelectStatement<?>) query.getSqmStatement();
+			final List<SqmSelection<?>> selections = statement.getQuerySpec().getSelectClause().getSelections();
+			final Class<?> resultType = selections.size() == 1
+					? selections.get( 0 ).getNodeJavaType().getJavaTypeClass()
+					: Object[].class;
+			( (QuerySqmImpl<?>) memento.toQuery( sessionImplementor, resultType ) ).prepareSelectQueryPlan();
+			return true;
+		}
+		catch (RuntimeException e) {
+			LOG.debugf( e, "Unable to precompile named query [%s]", memento.getRegistrationName() );
+			return false;
+		}
+	}
+
 	private SessionBuilder createDefaultSessionOpenOptionsIfPossible() {
 		final CurrentTenantIdentifierResolver currentTenantIdentifierResolver = getCurrentTenantIdentifierResolver();
 		if ( currentTenantIdentifierResolver == null ) {
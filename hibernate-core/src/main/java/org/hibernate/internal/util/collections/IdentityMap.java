@@ -6,12 +6,11 @@
  */
 package org.hibernate.internal.util.collections;
 
-import java.io.Serializable;
+import java.util.AbstractCollection;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,12 +18,30 @@ import java.util.function.Consumer;
 /**
  * A {@code Map} where keys are compared by object identity,
  * rather than {@code equals()}.
+ * <p/>
+ * Keys and values are kept in two flat arrays, in the order in which
+ * they were added; a separate open-addressing table of positions into
+ * these arrays is used for lookups. No entry node nor key wrapper is
+ * allocated per mapping.
  */
 public final class IdentityMap<K,V> implements Map<K,V> {
 
-	private final LinkedHashMap<IdentityKey<K>,V> map;
+	private static final int MINIMUM_CAPACITY = 4;
 
-	private transient Entry<IdentityKey<K>,V>[] entryArray = null;
+	// keys and values in insertion order; a removed mapping leaves a null
+	// key behind, until the next compaction
+	private Object[] keys;
+	private Object[] values;
+
+	// linear-probing table holding (position + 1) into the keys and values
+	// arrays, zero marking a free slot; always twice as large as the arrays
+	private int[] table;
+
+	// number of positions of the arrays in use, including removed ones
+	private int used;
+	private int size;
+
+	private transient Entry<K,V>[] entryArray = null;
 
 	/**
 	 * Return a new instance of this class, with iteration
@@ -34,16 +51,16 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	 * @return The map
 	 */
 	public static <K,V> IdentityMap<K,V> instantiateSequenced(int size) {
-		return new IdentityMap<>( new LinkedHashMap<>( size << 1, 0.6f ) );
+		return new IdentityMap<>( size );
 	}
 
-	/**
-	 * Private ctor used in serialization.
-	 *
-	 * @param underlyingMap The delegate map.
-	 */
-	private IdentityMap(LinkedHashMap<IdentityKey<K>,V> underlyingMap) {
-		map = underlyingMap;
+	private IdentityMap(int size) {
+		final int capacity = size <= MINIMUM_CAPACITY
+				? MINIMUM_CAPACITY
+				: Integer.highestOneBit( size - 1 ) << 1;
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		table = new int[capacity << 1];
 	}
 
 	/**
@@ -58,9 +75,17 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 		return ( (IdentityMap<K,V>) map ).entryArray();
 	}
 
+	@SuppressWarnings("unchecked")
 	public static <K,V> void onEachKey(Map<K,V> map, Consumer<K> consumer) {
 		final IdentityMap<K, V> identityMap = (IdentityMap<K, V>) map;
-		identityMap.map.forEach( (kIdentityKey, v) -> consumer.accept( kIdentityKey.key ) );
+		final Object[] keys = identityMap.keys;
+		final int used = identityMap.used;
+		for ( int i = 0; i < used; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				consumer.accept( (K) key );
+			}
+		}
 	}
 
 	/**
@@ -68,53 +93,178 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	 * @param action the operation to apply to each element
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public void forEach(BiConsumer<? super K, ? super V> action) {
-		map.forEach( (k,v) -> action.accept( k.key, v ) );
+		final Object[] keys = this.keys;
+		final Object[] values = this.values;
+		final int used = this.used;
+		for ( int i = 0; i < used; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				action.accept( (K) key, (V) values[i] );
+			}
+		}
 	}
 
 	public Iterator<K> keyIterator() {
-		return new KeyIterator<>( map.keySet().iterator() );
+		return new PositionIterator<K>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			K element(Object key, Object value) {
+				return (K) key;
+			}
+		};
+	}
+
+	private static int slotFor(Object key, int mask) {
+		return System.identityHashCode( key ) & mask;
+	}
+
+	private int positionOf(Object key) {
+		final int[] table = this.table;
+		final int mask = table.length - 1;
+		int slot = slotFor( key, mask );
+		int entry;
+		while ( ( entry = table[slot] ) != 0 ) {
+			if ( keys[entry - 1] == key ) {
+				return entry - 1;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
 	}
 
 	@Override
 	public int size() {
-		return map.size();
+		return size;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return map.isEmpty();
+		return size == 0;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean containsKey(Object key) {
-		return map.containsKey( new IdentityKey( key ) );
+		return key != null && positionOf( key ) >= 0;
 	}
 
 	@Override
 	public boolean containsValue(Object val) {
 		throw new UnsupportedOperationException( "Avoid this operation: does not perform well" );
-		//return map.containsValue( val );
 	}
 
 	@Override
 	@SuppressWarnings( {"unchecked"})
 	public V get(Object key) {
-		return map.get( new IdentityKey( key ) );
+		if ( key == null ) {
+			return null;
+		}
+		final int position = positionOf( key );
+		return position < 0 ? null : (V) values[position];
 	}
 
 	@Override
+	@SuppressWarnings( {"unchecked"})
 	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new IllegalArgumentException( "Null keys are not supported" );
+		}
 		this.entryArray = null;
-		return map.put( new IdentityKey<>( key ), value );
+		final int position = positionOf( key );
+		if ( position >= 0 ) {
+			final V previous = (V) values[position];
+			values[position] = value;
+			return previous;
+		}
+		if ( used == keys.length ) {
+			// only grow when most positions hold live mappings,
+			// otherwise compacting away the removed ones is enough
+			rehash( size >= ( keys.length >> 1 ) ? keys.length << 1 : keys.length );
+		}
+		keys[used] = key;
+		values[used] = value;
+		final int mask = table.length - 1;
+		int slot = slotFor( key, mask );
+		while ( table[slot] != 0 ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		table[slot] = ++used;
+		size++;
+		return null;
+	}
+
+	private void rehash(int capacity) {
+		final Object[] newKeys = new Object[capacity];
+		final Object[] newValues = new Object[capacity];
+		final int[] newTable = new int[capacity << 1];
+		final int mask = newTable.length - 1;
+		int position = 0;
+		for ( int i = 0; i < used; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				newKeys[position] = key;
+				newValues[position] = values[i];
+				int slot = slotFor( key, mask );
+				while ( newTable[slot] != 0 ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				newTable[slot] = ++position;
+			}
+		}
+		keys = newKeys;
+		values = newValues;
+		table = newTable;
+		used = position;
 	}
 
 	@Override
 	@SuppressWarnings( {"unchecked"})
 	public V remove(Object key) {
-		this.entryArray = null;
-		return map.remove( new IdentityKey( key ) );
+		if ( key == null ) {
+			return null;
+		}
+		final int[] table = this.table;
+		final int mask = table.length - 1;
+		int slot = slotFor( key, mask );
+		int entry;
+		while ( ( entry = table[slot] ) != 0 ) {
+			if ( keys[entry - 1] == key ) {
+				this.entryArray = null;
+				final V previous = (V) values[entry - 1];
+				keys[entry - 1] = null;
+				values[entry - 1] = null;
+				size--;
+				deleteSlot( slot );
+				return previous;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Frees the given slot of the lookup table, shifting back the slots
+	 * of the same probe sequence rather than leaving a tombstone behind.
+	 */
+	private void deleteSlot(int slot) {
+		final int[] table = this.table;
+		final int mask = table.length - 1;
+		int gap = slot;
+		int current = slot;
+		while ( true ) {
+			current = ( current + 1 ) & mask;
+			final int entry = table[current];
+			if ( entry == 0 ) {
+				break;
+			}
+			final int home = slotFor( keys[entry - 1], mask );
+			if ( ( ( current - home ) & mask ) >= ( ( current - gap ) & mask ) ) {
+				table[gap] = entry;
+				gap = current;
+			}
+		}
+		table[gap] = 0;
 	}
 
 	@Override
@@ -127,7 +277,15 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	@Override
 	public void clear() {
 		entryArray = null;
-		map.clear();
+		for ( int i = 0; i < used; i++ ) {
+			keys[i] = null;
+			values[i] = null;
+		}
+		for ( int i = 0; i < table.length; i++ ) {
+			table[i] = 0;
+		}
+		used = 0;
+		size = 0;
 	}
 
 	@Override
@@ -139,14 +297,34 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 
 	@Override
 	public Collection<V> values() {
-		return map.values();
+		return new AbstractCollection<V>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new PositionIterator<V>() {
+					@Override
+					@SuppressWarnings("unchecked")
+					V element(Object key, Object value) {
+						return (V) value;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Set<Entry<K,V>> entrySet() {
-		Set<Entry<K,V>> set = CollectionHelper.setOfSize( map.size() );
-		for ( Entry<IdentityKey<K>, V> entry : map.entrySet() ) {
-			set.add( new IdentityMapEntry<>( entry.getKey().key, entry.getValue() ) );
+		Set<Entry<K,V>> set = CollectionHelper.setOfSize( size );
+		for ( int i = 0; i < used; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				set.add( new IdentityMapEntry<>( (K) key, (V) values[i] ) );
+			}
 		}
 		return set;
 	}
@@ -154,12 +332,13 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	@SuppressWarnings( {"unchecked"})
 	public Entry[] entryArray() {
 		if ( entryArray == null ) {
-			entryArray = new Entry[ map.size() ];
-			final Iterator<Entry<IdentityKey<K>, V>> itr = map.entrySet().iterator();
-			int i = 0;
-			while ( itr.hasNext() ) {
-				final Entry<IdentityKey<K>, V> me = itr.next();
-				entryArray[i++] = new IdentityMapEntry( me.getKey().key, me.getValue() );
+			entryArray = new Entry[ size ];
+			int j = 0;
+			for ( int i = 0; i < used; i++ ) {
+				final Object key = keys[i];
+				if ( key != null ) {
+					entryArray[j++] = new IdentityMapEntry( key, values[i] );
+				}
 			}
 		}
 		return entryArray;
@@ -167,28 +346,51 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 
 	@Override
 	public String toString() {
-		return map.toString();
+		final StringBuilder buffer = new StringBuilder( "{" );
+		for ( int i = 0; i < used; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				if ( buffer.length() > 1 ) {
+					buffer.append( ", " );
+				}
+				buffer.append( key ).append( '=' ).append( values[i] );
+			}
+		}
+		return buffer.append( '}' ).toString();
 	}
 
-	private static final class KeyIterator<K> implements Iterator<K> {
-		private final Iterator<IdentityKey<K>> identityKeyIterator;
-
-		private KeyIterator(Iterator<IdentityKey<K>> iterator) {
-			identityKeyIterator = iterator;
+	/**
+	 * Iterates the live positions of the keys and values arrays, in insertion order
+	 */
+	private abstract class PositionIterator<E> implements Iterator<E> {
+		private final Object[] keys = IdentityMap.this.keys;
+		private final Object[] values = IdentityMap.this.values;
+		private final int used = IdentityMap.this.used;
+		private int nextPosition = advance( 0 );
+
+		private int advance(int position) {
+			while ( position < used && keys[position] == null ) {
+				position++;
+			}
+			return position;
 		}
 
+		@Override
 		public boolean hasNext() {
-			return identityKeyIterator.hasNext();
-		}
-
-		public K next() {
-			return identityKeyIterator.next().key;
+			return nextPosition < used;
 		}
 
-		public void remove() {
-			throw new UnsupportedOperationException();
+		@Override
+		public E next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			final int position = nextPosition;
+			nextPosition = advance( position + 1 );
+			return element( keys[position], values[position] );
 		}
 
+		abstract E element(Object key, Object value);
 	}
 
 	private static final class IdentityMapEntry<K,V> implements Entry<K,V> {
@@ -214,33 +416,4 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 		}
 	}
 
-	/**
-	 * We need to base the identity on {@link System#identityHashCode(Object)}
-	 */
-	private static final class IdentityKey<K> implements Serializable {
-
-		private final K key;
-
-		IdentityKey(K key) {
-			this.key = key;
-		}
-
-		@SuppressWarnings( {"EqualsWhichDoesntCheckParameterClass"})
-		@Override
-		public boolean equals(Object other) {
-			return other != null && key == ( (IdentityKey) other ).key;
-		}
-
-		@Override
-		public int hashCode() {
-			return System.identityHashCode( key );
-		}
-
-		@Override
-		public String toString() {
-			return key.toString();
-		}
-
-	}
-
 }
@@ -0,0 +1,345 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code Map} based on open addressing with linear probing: keys and values
+ * are stored in two flat arrays, so that no entry node is allocated per mapping.
+ * <p/>
+ * Meant for keys which cache their own hash code, such as
+ * {@link org.hibernate.engine.spi.EntityKey} and {@link org.hibernate.engine.spi.CollectionKey}:
+ * hash codes are not stored in the table, and are requested again from the key when
+ * probing after a removal or when resizing.
+ * <p/>
+ * Null keys are not supported. Iteration order is unspecified, and the iterators
+ * of the collection views do not support removal.
+ */
+public final class LinearProbingHashMap<K,V> extends AbstractMap<K,V> {
+
+	private static final int MINIMUM_CAPACITY = 8;
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private Object[] keys;
+	private Object[] values;
+	private int size;
+	private int resizeThreshold;
+	private int modCount;
+
+	private transient Set<K> keySetView;
+	private transient Collection<V> valuesView;
+	private transient Set<Entry<K,V>> entrySetView;
+
+	public LinearProbingHashMap() {
+		this( MINIMUM_CAPACITY );
+	}
+
+	/**
+	 * @param expectedSize The number of mappings the map should be able to hold without resizing
+	 */
+	public LinearProbingHashMap(int expectedSize) {
+		allocate( tableSizeFor( expectedSize ) );
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		// keep the load factor at or below 2/3
+		final long minimum = Math.max( MINIMUM_CAPACITY, expectedSize + ( expectedSize >> 1 ) + 1L );
+		if ( minimum >= MAXIMUM_CAPACITY ) {
+			return MAXIMUM_CAPACITY;
+		}
+		return Integer.highestOneBit( (int) minimum - 1 ) << 1;
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		resizeThreshold = capacity == MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY - 1 : capacity - capacity / 3;
+	}
+
+	private static int indexFor(int hashCode, int mask) {
+		// the key hash codes are frequently sequential, spread them before masking
+		final int h = hashCode * 0x9E3779B9;
+		return ( h ^ ( h >>> 16 ) ) & mask;
+	}
+
+	private int slotOf(Object key) {
+		if ( key == null ) {
+			return -1;
+		}
+		final Object[] keys = this.keys;
+		final int mask = keys.length - 1;
+		int slot = indexFor( key.hashCode(), mask );
+		Object candidate;
+		while ( ( candidate = keys[slot] ) != null ) {
+			if ( candidate == key || candidate.equals( key ) ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slotOf( key ) >= 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int slot = slotOf( key );
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new IllegalArgumentException( "Null keys are not supported" );
+		}
+		final Object[] keys = this.keys;
+		final int mask = keys.length - 1;
+		int slot = indexFor( key.hashCode(), mask );
+		Object candidate;
+		while ( ( candidate = keys[slot] ) != null ) {
+			if ( candidate == key || candidate.equals( key ) ) {
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		modCount++;
+		if ( ++size > resizeThreshold ) {
+			resize( keys.length << 1 );
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		final int slot = slotOf( key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V previous = (V) values[slot];
+		deleteSlot( slot );
+		return previous;
+	}
+
+	/**
+	 * Removes the mapping at the given slot, shifting back the mappings of the
+	 * same probe sequence rather than leaving a tombstone behind.
+	 */
+	private void deleteSlot(int slot) {
+		final Object[] keys = this.keys;
+		final Object[] values = this.values;
+		final int mask = keys.length - 1;
+		int gap = slot;
+		int current = slot;
+		while ( true ) {
+			current = ( current + 1 ) & mask;
+			final Object candidate = keys[current];
+			if ( candidate == null ) {
+				break;
+			}
+			final int home = indexFor( candidate.hashCode(), mask );
+			// the gap is on the probe path of the candidate: move it back
+			if ( ( ( current - home ) & mask ) >= ( ( current - gap ) & mask ) ) {
+				keys[gap] = candidate;
+				values[gap] = values[current];
+				gap = current;
+			}
+		}
+		keys[gap] = null;
+		values[gap] = null;
+		size--;
+		modCount++;
+	}
+
+	private void resize(int capacity) {
+		if ( capacity > MAXIMUM_CAPACITY ) {
+			throw new IllegalStateException( "Map capacity exceeded" );
+		}
+		final Object[] oldKeys = this.keys;
+		final Object[] oldValues = this.values;
+		allocate( capacity );
+		final Object[] keys = this.keys;
+		final int mask = keys.length - 1;
+		for ( int i = 0; i < oldKeys.length; i++ ) {
+			final Object key = oldKeys[i];
+			if ( key != null ) {
+				int slot = indexFor( key.hashCode(), mask );
+				while ( keys[slot] != null ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		if ( size > 0 ) {
+			Arrays.fill( keys, null );
+			Arrays.fill( values, null );
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		final Object[] keys = this.keys;
+		final Object[] values = this.values;
+		final int expectedModCount = modCount;
+		for ( int i = 0; i < keys.length; i++ ) {
+			final Object key = keys[i];
+			if ( key != null ) {
+				action.accept( (K) key, (V) values[i] );
+			}
+		}
+		if ( modCount != expectedModCount ) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySetView == null ) {
+			keySetView = new AbstractSet<K>() {
+				@Override
+				public Iterator<K> iterator() {
+					return new SlotIterator<K>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						K element(int slot) {
+							return (K) keys[slot];
+						}
+					};
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return keySetView;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( valuesView == null ) {
+			valuesView = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new SlotIterator<V>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						V element(int slot) {
+							return (V) LinearProbingHashMap.this.values[slot];
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return valuesView;
+	}
+
+	@Override
+	public Set<Entry<K,V>> entrySet() {
+		if ( entrySetView == null ) {
+			entrySetView = new AbstractSet<Entry<K,V>>() {
+				@Override
+				public Iterator<Entry<K,V>> iterator() {
+					return new SlotIterator<Entry<K,V>>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						Entry<K,V> element(int slot) {
+							return new SimpleImmutableEntry<>( (K) keys[slot], (V) LinearProbingHashMap.this.values[slot] );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySetView;
+	}
+
+	private abstract class SlotIterator<E> implements Iterator<E> {
+		private final int expectedModCount = modCount;
+		private int nextSlot = advance( 0 );
+
+		private int advance(int slot) {
+			final Object[] keys = LinearProbingHashMap.this.keys;
+			while ( slot < keys.length && keys[slot] == null ) {
+				slot++;
+			}
+			return slot;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextSlot < keys.length;
+		}
+
+		@Override
+		public E next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			final int slot = nextSlot;
+			nextSlot = advance( slot + 1 );
+			return element( slot );
+		}
+
+		abstract E element(int slot);
+	}
+}
@@ -29,6 +29,7 @@ import org.hibernate.sql.ast.Clause;
 import org.hibernate.sql.ast.SqlAstTranslatorFactory;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
 import org.hibernate.sql.exec.internal.JdbcParameterBindingsImpl;
 import org.hibernate.sql.exec.spi.Callback;
 import org.hibernate.sql.exec.spi.ExecutionContext;
@@ -37,6 +38,7 @@ import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.results.graph.entity.LoadingEntityEntry;
 import org.hibernate.sql.results.internal.RowTransformerStandardImpl;
 import org.hibernate.sql.results.spi.ListResultsConsumer;
+import org.hibernate.type.BasicType;
 
 import org.jboss.logging.Logger;
 
@@ -52,6 +54,7 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 	private final int batchSize;
 
 	private final int keyJdbcCount;
+	private final BasicType<?> keyArrayType;
 
 	private SelectStatement batchSizeSqlAst;
 	private List<JdbcParameter> batchSizeJdbcParameters;
@@ -66,18 +69,36 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 
 		this.keyJdbcCount = attributeMapping.getKeyDescriptor().getJdbcTypeCount();
 
+		this.keyArrayType = LoaderHelper.resolveKeyArrayType( attributeMapping.getKeyDescriptor(), sessionFactory );
+
 		this.batchSizeJdbcParameters = new ArrayList<>();
-		this.batchSizeSqlAst = LoaderSelectBuilder.createSelect(
-				attributeMapping,
-				null,
-				attributeMapping.getKeyDescriptor(),
-				null,
-				batchSize,
-				influencers,
-				LockOptions.NONE,
-				batchSizeJdbcParameters::add,
-				sessionFactory
-		);
+		if ( keyArrayType != null ) {
+			// a single statement, with a single parameter, serves batches of any size
+			this.batchSizeSqlAst = LoaderSelectBuilder.createSelectByKeyArray(
+					attributeMapping,
+					null,
+					attributeMapping.getKeyDescriptor(),
+					null,
+					keyArrayType,
+					influencers,
+					LockOptions.NONE,
+					batchSizeJdbcParameters::add,
+					sessionFactory
+			);
+		}
+		else {
+			this.batchSizeSqlAst = LoaderSelectBuilder.createSelect(
+					attributeMapping,
+					null,
+					attributeMapping.getKeyDescriptor(),
+					null,
+					batchSize,
+					influencers,
+					LockOptions.NONE,
+					batchSizeJdbcParameters::add,
+					sessionFactory
+			);
+		}
 	}
 
 	@Override
@@ -145,7 +166,7 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 			final List<JdbcParameter> jdbcParameters;
 			final SelectStatement sqlAst;
 
-			if ( smallBatchLength == batchSize ) {
+			if ( smallBatchLength == batchSize || keyArrayType != null ) {
 				jdbcParameters = this.batchSizeJdbcParameters;
 				sqlAst = this.batchSizeSqlAst;
 			}
@@ -174,22 +195,37 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 					.buildSelectTranslator( sessionFactory, sqlAst )
 					.translate( null, QueryOptions.NONE );
 
-			final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl( keyJdbcCount * smallBatchLength );
-			jdbcSelect.bindFilterJdbcParameters( jdbcParameterBindings );
-
-			int offset = 0;
-
-			for ( int i = smallBatchStart; i < smallBatchStart + smallBatchLength; i++ ) {
-				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-						batchIds[i],
-						Clause.WHERE,
-						offset,
-						getLoadable().getKeyDescriptor(),
-						jdbcParameters,
-						session
+			final JdbcParameterBindings jdbcParameterBindings;
+			if ( keyArrayType != null ) {
+				jdbcParameterBindings = new JdbcParameterBindingsImpl( 1 );
+				jdbcSelect.bindFilterJdbcParameters( jdbcParameterBindings );
+
+				jdbcParameterBindings.addBinding(
+						jdbcParameters.get( 0 ),
+						new JdbcParameterBindingImpl(
+								keyArrayType,
+								LoaderHelper.createKeyArray( keyArrayType, batchIds, smallBatchStart, smallBatchLength )
+						)
 				);
 			}
-			assert offset == jdbcParameters.size();
+			else {
+				jdbcParameterBindings = new JdbcParameterBindingsImpl( keyJdbcCount * smallBatchLength );
+				jdbcSelect.bindFilterJdbcParameters( jdbcParameterBindings );
+
+				int offset = 0;
+
+				for ( int i = smallBatchStart; i < smallBatchStart + smallBatchLength; i++ ) {
+					offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+							batchIds[i],
+							Clause.WHERE,
+							offset,
+							getLoadable().getKeyDescriptor(),
+							jdbcParameters,
+							session
+					);
+				}
+				assert offset == jdbcParameters.size();
+			}
 
 			final SubselectFetch.RegistrationHandler subSelectFetchableKeysHandler = SubselectFetch.createRegistrationHandler(
 					session.getPersistenceContext().getBatchFetchQueue(),
@@ -6,16 +6,24 @@
  */
 package org.hibernate.loader.ast.internal;
 
+import java.lang.reflect.Array;
+
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.loader.LoaderLogging;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.ModelPart;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.descriptor.java.ArrayJavaType;
 
 /**
  * @author Steve Ebersole
@@ -79,4 +87,55 @@ public class LoaderHelper {
 
 		}
 	}
+
+	/**
+	 * Resolve the type of an array of values of the given key, if batches of keys should
+	 * be bound to a single array parameter, that is, if
+	 * {@link org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER} is enabled,
+	 * the Dialect {@linkplain Dialect#supportsArrayAnyComparison() supports} it, and the
+	 * key is mapped to a single column of a basic type.
+	 *
+	 * @return The array type, or {@code null} if the keys should be bound individually
+	 */
+	public static BasicType<?> resolveKeyArrayType(ModelPart keyPart, SessionFactoryImplementor sessionFactory) {
+		if ( !sessionFactory.getSessionFactoryOptions().isBatchFetchArrayParameterEnabled() ) {
+			return null;
+		}
+		final Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+		if ( !dialect.supportsArrayAnyComparison() || keyPart.getJdbcTypeCount() != 1 ) {
+			return null;
+		}
+		final JdbcMapping jdbcMapping = keyPart.getJdbcMappings().get( 0 );
+		if ( !( jdbcMapping instanceof BasicType<?> ) ) {
+			return null;
+		}
+		final BasicType<?> elementType = (BasicType<?>) jdbcMapping;
+		if ( elementType.getValueConverter() != null ) {
+			return null;
+		}
+		return resolveArrayType( elementType, sessionFactory, dialect );
+	}
+
+	private static <T> BasicType<?> resolveArrayType(
+			BasicType<T> elementType,
+			SessionFactoryImplementor sessionFactory,
+			Dialect dialect) {
+		return new ArrayJavaType<>( elementType ).resolveType(
+				sessionFactory.getTypeConfiguration(),
+				dialect,
+				elementType,
+				null
+		);
+	}
+
+	/**
+	 * Copy the given keys into an array, typed as expected by the binder of the
+	 * {@linkplain #resolveKeyArrayType key array type}
+	 */
+	public static Object[] createKeyArray(BasicType<?> keyArrayType, Object[] keys, int offset, int numberOfKeys) {
+		final Class<?> arrayClass = keyArrayType.getJavaTypeDescriptor().getJavaTypeClass();
+		final Object[] keyArray = (Object[]) Array.newInstance( arrayClass.getComponentType(), numberOfKeys );
+		System.arraycopy( keys, offset, keyArray, 0, numberOfKeys );
+		return keyArray;
+	}
 }
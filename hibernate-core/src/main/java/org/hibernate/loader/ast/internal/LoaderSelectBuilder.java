@@ -57,6 +57,7 @@ import org.hibernate.sql.ast.spi.SqlAstCreationContext;
 import org.hibernate.sql.ast.spi.SqlAstCreationState;
 import org.hibernate.sql.ast.spi.SqlExpressionResolver;
 import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.AnyOfArray;
 import org.hibernate.sql.ast.tree.expression.Expression;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.ast.tree.expression.SqlTuple;
@@ -83,6 +84,7 @@ import org.hibernate.sql.results.graph.collection.internal.CollectionDomainResul
 import org.hibernate.sql.results.graph.entity.EntityValuedFetchable;
 import org.hibernate.sql.results.internal.SqlSelectionImpl;
 import org.hibernate.sql.results.internal.StandardEntityGraphTraversalStateImpl;
+import org.hibernate.type.BasicType;
 
 import org.jboss.logging.Logger;
 
@@ -201,6 +203,50 @@ public class LoaderSelectBuilder {
 		return process.generateSelect();
 	}
 
+	/**
+	 * Create an SQL AST select-statement based on matching the elements of an array of keys,
+	 * bound to a single JDBC parameter, so that the same statement serves any number of keys
+	 *
+	 * @param loadable The root Loadable
+	 * @param partsToSelect Parts of the Loadable to select.  Null/empty indicates to select the Loadable itself
+	 * @param restrictedPart Single-column part to base the where-clause restriction on
+	 * @param cachedDomainResult DomainResult to be used.  Null indicates to generate the DomainResult
+	 * @param keyArrayType The type of the array of keys
+	 * @param loadQueryInfluencers Any influencers (entity graph, fetch profile) to account for
+	 * @param lockOptions Pessimistic lock options to apply
+	 * @param jdbcParameterConsumer Consumer for the array JdbcParameter
+	 * @param sessionFactory The SessionFactory
+	 *
+	 * @see LoaderHelper#resolveKeyArrayType
+	 */
+	public static SelectStatement createSelectByKeyArray(
+			Loadable loadable,
+			List<? extends ModelPart> partsToSelect,
+			ModelPart restrictedPart,
+			DomainResult<?> cachedDomainResult,
+			BasicType<?> keyArrayType,
+			LoadQueryInfluencers loadQueryInfluencers,
+			LockOptions lockOptions,
+			Consumer<JdbcParameter> jdbcParameterConsumer,
+			SessionFactoryImplementor sessionFactory) {
+		final LoaderSelectBuilder process = new LoaderSelectBuilder(
+				sessionFactory,
+				loadable,
+				partsToSelect,
+				Collections.singletonList( restrictedPart ),
+				cachedDomainResult,
+				-1,
+				loadQueryInfluencers,
+				lockOptions != null ? lockOptions : LockOptions.NONE,
+				determineGraphTraversalState( loadQueryInfluencers ),
+				true,
+				jdbcParameterConsumer
+		);
+		process.keyArrayType = keyArrayType;
+
+		return process.generateSelect();
+	}
+
 	/**
 	 * Create an SQL AST select-statement used for subselect-based CollectionLoader
 	 *
@@ -249,6 +295,7 @@ public class LoaderSelectBuilder {
 	private final Consumer<JdbcParameter> jdbcParameterConsumer;
 	private final EntityGraphTraversalState entityGraphTraversalState;
 
+	private BasicType<?> keyArrayType;
 	private int fetchDepth;
 	private List<Map.Entry<OrderByFragment, TableGroup>> orderByFragments;
 	private boolean hasCollectionJoinFetches;
@@ -520,7 +567,19 @@ public class LoaderSelectBuilder {
 										)
 
 								);
-						if ( numberOfKeysToLoad == 1 ) {
+						if ( keyArrayType != null ) {
+							final JdbcParameter jdbcParameter = new JdbcParameterImpl( keyArrayType );
+							jdbcParameterConsumer.accept( jdbcParameter );
+
+							rootQuerySpec.applyPredicate(
+									new ComparisonPredicate(
+											columnRef,
+											ComparisonOperator.EQUAL,
+											new AnyOfArray( jdbcParameter, columnRef.getJdbcMapping() )
+									)
+							);
+						}
+						else if ( numberOfKeysToLoad == 1 ) {
 							final JdbcParameter jdbcParameter = new JdbcParameterImpl( selection.getJdbcMapping() );
 							jdbcParameterConsumer.accept( jdbcParameter );
 
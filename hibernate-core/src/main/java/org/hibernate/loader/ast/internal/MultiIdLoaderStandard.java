@@ -41,6 +41,7 @@ import org.hibernate.sql.ast.Clause;
 import org.hibernate.sql.ast.SqlAstTranslatorFactory;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
 import org.hibernate.sql.exec.internal.JdbcParameterBindingsImpl;
 import org.hibernate.sql.exec.spi.Callback;
 import org.hibernate.sql.exec.spi.ExecutionContext;
@@ -49,19 +50,21 @@ import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.results.graph.entity.LoadingEntityEntry;
 import org.hibernate.sql.results.internal.RowTransformerStandardImpl;
 import org.hibernate.sql.results.spi.ListResultsConsumer;
+import org.hibernate.type.BasicType;
 
 import org.jboss.logging.Logger;
 
 /**
  * @author Steve Ebersole
  */
-public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
+public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T>, Preparable {
 	private static final Logger log = Logger.getLogger( MultiIdLoaderStandard.class );
 
 	private final EntityPersister entityDescriptor;
 	private final SessionFactoryImplementor sessionFactory;
 
 	private final int idJdbcTypeCount;
+	private BasicType<?> keyArrayType;
 
 	public MultiIdLoaderStandard(
 			EntityPersister entityDescriptor,
@@ -74,6 +77,11 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		assert idJdbcTypeCount > 0;
 	}
 
+	@Override
+	public void prepare() {
+		keyArrayType = LoaderHelper.resolveKeyArrayType( entityDescriptor.getIdentifierMapping(), sessionFactory );
+	}
+
 	@Override
 	public EntityMappingType getLoadable() {
 		return entityDescriptor;
@@ -114,6 +122,10 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( keyArrayType != null ) {
+			// the ids are bound as a single array, not limited by the in-expression size
+			maxBatchSize = ids.length;
+		}
 		else {
 			maxBatchSize = dialect.getDefaultBatchLoadSizingStrategy().determineOptimalBatchLoadSize(
 					idJdbcTypeCount,
@@ -126,6 +138,9 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		final List<Integer> elementPositionsLoadedByBatch = new ArrayList<>();
 
 		final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+		final Object[] cacheEntries = loadOptions.isSecondLevelCacheCheckingEnabled()
+				? getFromSecondLevelCache( ids, coerce, lockOptions, loadOptions, session )
+				: null;
 		for ( int i = 0; i < ids.length; i++ ) {
 			final Object id;
 			if ( coerce ) {
@@ -166,12 +181,13 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+				if ( managedEntity == null && cacheEntries != null ) {
 					// look for it in the SessionFactory
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cacheEntries[i]
 					);
 				}
 
@@ -242,43 +258,71 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 			log.tracef( "#loadEntitiesById(`%s`, `%s`, ..)", entityDescriptor.getEntityName(), numberOfIdsInBatch );
 		}
 
-		final List<JdbcParameter> jdbcParameters = new ArrayList<>( numberOfIdsInBatch * idJdbcTypeCount);
-
-		final SelectStatement sqlAst = LoaderSelectBuilder.createSelect(
-				getLoadable(),
-				// null here means to select everything
-				null,
-				getLoadable().getIdentifierMapping(),
-				null,
-				numberOfIdsInBatch,
-				session.getLoadQueryInfluencers(),
-				lockOptions,
-				jdbcParameters::add,
-				sessionFactory
-		);
-
 		final JdbcServices jdbcServices = sessionFactory.getJdbcServices();
 		final JdbcEnvironment jdbcEnvironment = jdbcServices.getJdbcEnvironment();
 		final SqlAstTranslatorFactory sqlAstTranslatorFactory = jdbcEnvironment.getSqlAstTranslatorFactory();
 
-		final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl( jdbcParameters.size() );
-		int offset = 0;
-
-		for ( int i = 0; i < numberOfIdsInBatch; i++ ) {
-			final Object id = idsInBatch.get( i );
+		final List<JdbcParameter> jdbcParameters;
+		final SelectStatement sqlAst;
+		final JdbcParameterBindings jdbcParameterBindings;
+		if ( keyArrayType != null ) {
+			jdbcParameters = new ArrayList<>( 1 );
+			sqlAst = LoaderSelectBuilder.createSelectByKeyArray(
+					getLoadable(),
+					// null here means to select everything
+					null,
+					getLoadable().getIdentifierMapping(),
+					null,
+					keyArrayType,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
 
-			offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-					id,
-					Clause.WHERE,
-					offset,
-					entityDescriptor.getIdentifierMapping(),
-					jdbcParameters,
-					session
+			jdbcParameterBindings = new JdbcParameterBindingsImpl( 1 );
+			jdbcParameterBindings.addBinding(
+					jdbcParameters.get( 0 ),
+					new JdbcParameterBindingImpl(
+							keyArrayType,
+							LoaderHelper.createKeyArray( keyArrayType, idsInBatch.toArray(), 0, numberOfIdsInBatch )
+					)
 			);
 		}
+		else {
+			jdbcParameters = new ArrayList<>( numberOfIdsInBatch * idJdbcTypeCount );
+			sqlAst = LoaderSelectBuilder.createSelect(
+					getLoadable(),
+					// null here means to select everything
+					null,
+					getLoadable().getIdentifierMapping(),
+					null,
+					numberOfIdsInBatch,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
+
+			jdbcParameterBindings = new JdbcParameterBindingsImpl( jdbcParameters.size() );
+			int offset = 0;
+
+			for ( int i = 0; i < numberOfIdsInBatch; i++ ) {
+				final Object id = idsInBatch.get( i );
+
+				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+						id,
+						Clause.WHERE,
+						offset,
+						entityDescriptor.getIdentifierMapping(),
+						jdbcParameters,
+						session
+				);
+			}
 
-		// we should have used all the JdbcParameter references (created bindings for all)
-		assert offset == jdbcParameters.size();
+			// we should have used all the JdbcParameter references (created bindings for all)
+			assert offset == jdbcParameters.size();
+		}
 		final JdbcSelect jdbcSelect = sqlAstTranslatorFactory.buildSelectTranslator( sessionFactory, sqlAst )
 				.translate( jdbcParameterBindings, QueryOptions.NONE );
 
@@ -336,6 +380,38 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		);
 	}
 
+	/**
+	 * Looks up the second-level cache entries of the given ids with a single access to the cache,
+	 * skipping the ids of entities which are already associated with the session, if the session
+	 * is checked first
+	 *
+	 * @return The cache entries, in the order of the given ids, or {@code null} if the cache may not be used
+	 */
+	private Object[] getFromSecondLevelCache(
+			Object[] ids,
+			boolean coerce,
+			LockOptions lockOptions,
+			MultiIdLoadOptions loadOptions,
+			SharedSessionContractImplementor session) {
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final EntityKey[] entityKeys = new EntityKey[ids.length];
+		for ( int i = 0; i < ids.length; i++ ) {
+			final Object id = coerce
+					? entityDescriptor.getIdentifierMapping().getJavaType().coerce( ids[i], session )
+					: ids[i];
+			final EntityKey entityKey = new EntityKey( id, entityDescriptor );
+			if ( !loadOptions.isSessionCheckingEnabled() || persistenceContext.getEntity( entityKey ) == null ) {
+				entityKeys[i] = entityKey;
+			}
+		}
+		return CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				(EventSource) session,
+				lockOptions.getLockMode(),
+				entityDescriptor.getEntityPersister(),
+				entityKeys
+		);
+	}
+
 	private List<T> performSingleMultiLoad(Object id, LockOptions lockOptions, SharedSessionContractImplementor session) {
 		T loaded = (T) entityDescriptor.load( id, null, lockOptions, session );
 		return Collections.singletonList( loaded );
@@ -368,6 +444,9 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 			final List<Object> nonManagedIds = new ArrayList<>();
 
 			final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+			final Object[] cacheEntries = loadOptions.isSecondLevelCacheCheckingEnabled()
+					? getFromSecondLevelCache( ids, coerce, lockOptions, loadOptions, session )
+					: null;
 			for ( int i = 0; i < ids.length; i++ ) {
 				final Object id;
 				if ( coerce ) {
@@ -407,11 +486,12 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+				if ( managedEntity == null && cacheEntries != null ) {
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cacheEntries[i]
 					);
 				}
 
@@ -448,6 +528,9 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( keyArrayType != null ) {
+			maxBatchSize = numberOfIdsLeft;
+		}
 		else {
 			maxBatchSize = session.getJdbcServices().getJdbcEnvironment().getDialect().getDefaultBatchLoadSizingStrategy().determineOptimalBatchLoadSize(
 					entityDescriptor.getIdentifierType().getColumnSpan( session.getFactory() ),
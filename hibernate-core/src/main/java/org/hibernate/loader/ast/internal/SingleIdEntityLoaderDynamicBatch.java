@@ -26,6 +26,7 @@ import org.hibernate.sql.ast.Clause;
 import org.hibernate.sql.ast.SqlAstTranslatorFactory;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
 import org.hibernate.sql.exec.internal.JdbcParameterBindingsImpl;
 import org.hibernate.sql.exec.spi.Callback;
 import org.hibernate.sql.exec.spi.ExecutionContext;
@@ -34,16 +35,18 @@ import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.results.graph.entity.LoadingEntityEntry;
 import org.hibernate.sql.results.internal.RowTransformerStandardImpl;
 import org.hibernate.sql.results.spi.ListResultsConsumer;
+import org.hibernate.type.BasicType;
 
 import org.jboss.logging.Logger;
 
 /**
  * @author Steve Ebersole
  */
-public class SingleIdEntityLoaderDynamicBatch<T> extends SingleIdEntityLoaderSupport<T> {
+public class SingleIdEntityLoaderDynamicBatch<T> extends SingleIdEntityLoaderSupport<T> implements Preparable {
 	private static final Logger log = Logger.getLogger( SingleIdEntityLoaderDynamicBatch.class );
 
 	private final int maxBatchSize;
+	private BasicType<?> keyArrayType;
 
 	private SingleIdEntityLoaderStandardImpl<T> singleIdLoader;
 
@@ -55,6 +58,11 @@ public class SingleIdEntityLoaderDynamicBatch<T> extends SingleIdEntityLoaderSup
 		this.maxBatchSize = maxBatchSize;
 	}
 
+	@Override
+	public void prepare() {
+		keyArrayType = LoaderHelper.resolveKeyArrayType( getLoadable().getIdentifierMapping(), sessionFactory );
+	}
+
 	@Override
 	public T load(Object pkValue, LockOptions lockOptions, Boolean readOnly, SharedSessionContractImplementor session) {
 		return load( pkValue, null, lockOptions, readOnly, session );
@@ -92,42 +100,68 @@ public class SingleIdEntityLoaderDynamicBatch<T> extends SingleIdEntityLoaderSup
 			log.debugf( "Batch loading entity [%s] : %s", getLoadable().getEntityName(), idsToLoad );
 		}
 
-		final List<JdbcParameter> jdbcParameters = new ArrayList<>();
-
-		final SelectStatement sqlAst = LoaderSelectBuilder.createSelect(
-				getLoadable(),
-				// null here means to select everything
-				null,
-				getLoadable().getIdentifierMapping(),
-				null,
-				numberOfIds,
-				session.getLoadQueryInfluencers(),
-				lockOptions,
-				jdbcParameters::add,
-				session.getFactory()
-		);
-
 		final SessionFactoryImplementor sessionFactory = session.getFactory();
 		final JdbcServices jdbcServices = sessionFactory.getJdbcServices();
 		final JdbcEnvironment jdbcEnvironment = jdbcServices.getJdbcEnvironment();
 		final SqlAstTranslatorFactory sqlAstTranslatorFactory = jdbcEnvironment.getSqlAstTranslatorFactory();
 
-		final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl(
-				getLoadable().getIdentifierMapping().getJdbcTypeCount()
-		);
+		final List<JdbcParameter> jdbcParameters = new ArrayList<>();
+		final SelectStatement sqlAst;
+		final JdbcParameterBindings jdbcParameterBindings;
+		if ( keyArrayType != null ) {
+			sqlAst = LoaderSelectBuilder.createSelectByKeyArray(
+					getLoadable(),
+					// null here means to select everything
+					null,
+					getLoadable().getIdentifierMapping(),
+					null,
+					keyArrayType,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
 
-		int offset = 0;
-		for ( int i = 0; i < numberOfIds; i++ ) {
-			offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-					idsToLoad[i],
-					Clause.WHERE,
-					offset,
+			jdbcParameterBindings = new JdbcParameterBindingsImpl( 1 );
+			jdbcParameterBindings.addBinding(
+					jdbcParameters.get( 0 ),
+					new JdbcParameterBindingImpl(
+							keyArrayType,
+							LoaderHelper.createKeyArray( keyArrayType, idsToLoad, 0, numberOfIds )
+					)
+			);
+		}
+		else {
+			sqlAst = LoaderSelectBuilder.createSelect(
+					getLoadable(),
+					// null here means to select everything
+					null,
 					getLoadable().getIdentifierMapping(),
-					jdbcParameters,
-					session
+					null,
+					numberOfIds,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
 			);
+
+			jdbcParameterBindings = new JdbcParameterBindingsImpl(
+					getLoadable().getIdentifierMapping().getJdbcTypeCount()
+			);
+
+			int offset = 0;
+			for ( int i = 0; i < numberOfIds; i++ ) {
+				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+						idsToLoad[i],
+						Clause.WHERE,
+						offset,
+						getLoadable().getIdentifierMapping(),
+						jdbcParameters,
+						session
+				);
+			}
+			assert offset == jdbcParameters.size();
 		}
-		assert offset == jdbcParameters.size();
 
 		final JdbcSelect jdbcSelect = sqlAstTranslatorFactory
 				.buildSelectTranslator( sessionFactory, sqlAst )
@@ -178,7 +178,41 @@ public class CacheEntityLoaderHelper {
 				persister,
 				entityKey
 		);
+		firePostLoadEvent( event, persister, entity );
+		return entity;
+	}
+
+	/**
+	 * Builds the entity from a second-level cache entry which was obtained in advance by
+	 * {@link #getFromSecondLevelCache(EventSource, LockMode, EntityPersister, EntityKey[])}.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param entityKey The entity key
+	 * @param cacheEntry The cache entry of the entity, or null
+	 *
+	 * @return The entity built from the cache entry, or null.
+	 */
+	public Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final Object cacheEntry) {
+		if ( cacheEntry == null ) {
+			return null;
+		}
+		final Object entity = processCachedEntry(
+				event.getInstanceToLoad(),
+				persister,
+				cacheEntry,
+				event.getSession(),
+				entityKey
+		);
+		firePostLoadEvent( event, persister, entity );
+		return entity;
+	}
 
+	private void firePostLoadEvent(LoadEvent event, EntityPersister persister, Object entity) {
 		if ( entity != null ) {
 			//PostLoad is needed for EJB3
 			final PostLoadEvent postLoadEvent = event.getPostLoadEvent()
@@ -190,7 +224,6 @@ public class CacheEntityLoaderHelper {
 					.getFastSessionServices()
 					.firePostLoadEvent( postLoadEvent );
 		}
-		return entity;
 	}
 
 	/**
@@ -231,6 +264,67 @@ public class CacheEntityLoaderHelper {
 	}
 
 
+	/**
+	 * Looks up the second-level cache entries of several entities, with a single access
+	 * to the cache.
+	 *
+	 * @param source The source
+	 * @param lockMode The lock mode
+	 * @param persister The persister for the entities being requested for load
+	 * @param entityKeys The entity keys, some of which may be null
+	 *
+	 * @return The cache entries, in the order of the given keys, or null if the
+	 * second-level cache may not be used.
+	 */
+	public Object[] getFromSecondLevelCache(
+			final EventSource source,
+			final LockMode lockMode,
+			final EntityPersister persister,
+			final EntityKey[] entityKeys) {
+		final boolean useCache = persister.canReadFromCache()
+				&& source.getCacheMode().isGetEnabled()
+				&& lockMode.lessThan( LockMode.READ );
+		if ( !useCache ) {
+			return null;
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final SessionFactoryImplementor factory = source.getFactory();
+		final Object[] cacheKeys = new Object[entityKeys.length];
+		for ( int i = 0; i < entityKeys.length; i++ ) {
+			if ( entityKeys[i] != null ) {
+				cacheKeys[i] = cache.generateCacheKey(
+						entityKeys[i].getIdentifier(),
+						persister,
+						factory,
+						source.getTenantIdentifier()
+				);
+			}
+		}
+
+		final Object[] cacheEntries = CacheHelper.fromSharedCache( source, cacheKeys, cache );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		if ( statistics.isStatisticsEnabled() ) {
+			for ( int i = 0; i < cacheKeys.length; i++ ) {
+				if ( cacheKeys[i] != null ) {
+					if ( cacheEntries[i] == null ) {
+						statistics.entityCacheMiss(
+								StatsHelper.INSTANCE.getRootEntityRole( persister ),
+								cache.getRegion().getName()
+						);
+					}
+					else {
+						statistics.entityCacheHit(
+								StatsHelper.INSTANCE.getRootEntityRole( persister ),
+								cache.getRegion().getName()
+						);
+					}
+				}
+			}
+		}
+		return cacheEntries;
+	}
+
 	private Object getFromSharedCache(
 			final Object entityId,
 			final EntityPersister persister,
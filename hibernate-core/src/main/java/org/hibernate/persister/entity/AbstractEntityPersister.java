@@ -59,6 +59,7 @@ import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
@@ -72,9 +73,11 @@ import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.ImmutableEntityEntryFactory;
 import org.hibernate.engine.internal.MutableEntityEntryFactory;
+import org.hibernate.engine.internal.PackedStateLayout;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.EntityInsertBatchKey;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
@@ -1177,6 +1180,10 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSessionFactoryOptions().isCompactCacheEntriesEnabled() ) {
+			return new CompactCacheEntryHelper( this );
+		}
+
 		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
@@ -3298,6 +3305,15 @@ public abstract class AbstractEntityPersister
 
 	private BasicBatchKey insertBatchKey;
 
+	private boolean hasCustomSQLInsert() {
+		for ( String sql : customSQLInsert ) {
+			if ( sql != null ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Perform an SQL INSERT.
 	 * <p/>
@@ -3338,10 +3354,10 @@ public abstract class AbstractEntityPersister
 						getIdentifierGenerator().supportsJdbcBatchInserts();
 
 		if ( useBatch && insertBatchKey == null ) {
-			insertBatchKey = new BasicBatchKey(
-					getEntityName() + "#INSERT",
-					expectation
-			);
+			// custom SQL is batched as it is, never rewritten to a multi-row insert
+			insertBatchKey = hasCustomSQLInsert()
+					? new BasicBatchKey( getEntityName() + "#INSERT", expectation )
+					: new EntityInsertBatchKey( getEntityName(), expectation );
 		}
 		final boolean callable = isInsertCallable( j );
 
@@ -4526,6 +4542,44 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	/**
+	 * Like {@link #findDirty(Object[], Object[], Object, SharedSessionContractImplementor)}, but with a
+	 * previous state packed according to {@link #getPackedStateLayout()}, which is left packed.
+	 *
+	 * @param currentState The current state of the entity
+	 * @param previousState The previous state of the entity, without its packed values
+	 * @param packedPreviousState The packed values of the previous state
+	 * @param entity The entity for which we are checking state dirtiness.
+	 * @param session The session in which the check is occurring.
+	 *
+	 * @return {@code null} or the indices of the dirty properties
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PACK_LOADED_STATE
+	 */
+	public int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			long[] packedPreviousState,
+			Object entity,
+			SharedSessionContractImplementor session) throws HibernateException {
+		int[] props = DirtyHelper.findDirty(
+				entityMetamodel.getProperties(),
+				currentState,
+				previousState,
+				packedStateLayout,
+				packedPreviousState,
+				propertyColumnUpdateable,
+				session
+		);
+		if ( props == null ) {
+			return null;
+		}
+		else {
+			logDirtyProperties( props );
+			return props;
+		}
+	}
+
 	/**
 	 * Locate the property-indices of all properties considered to be dirty.
 	 *
@@ -5577,6 +5631,31 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class CompactCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final CompactCacheEntry structure = new CompactCacheEntry();
+
+		private CompactCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
@@ -5613,6 +5692,8 @@ public abstract class AbstractEntityPersister
 
 	protected ReflectionOptimizer.AccessOptimizer accessOptimizer;
 
+	private PackedStateLayout packedStateLayout;
+
 	@Override
 	public void visitAttributeMappings(Consumer<? super AttributeMapping> action) {
 		attributeMappings.forEach( action );
@@ -5715,6 +5796,16 @@ public abstract class AbstractEntityPersister
 				}
 		);
 
+		if ( creationContext.getSessionFactory().getSessionFactoryOptions().isPackLoadedStateEnabled() ) {
+			creationProcess.registerInitializationCallback(
+					"Entity(" + getEntityName() + ") `packedStateLayout` generator",
+					() -> {
+						packedStateLayout = buildPackedStateLayout();
+						return true;
+					}
+			);
+		}
+
 		boolean needsMultiTableInsert = hasMultipleTables();
 		if ( needsMultiTableInsert ) {
 			creationProcess.registerInitializationCallback(
@@ -6470,6 +6561,57 @@ public abstract class AbstractEntityPersister
 		return discriminatorMapping;
 	}
 
+	private PackedStateLayout buildPackedStateLayout() {
+		if ( !isMutable() ) {
+			// the entries of immutable entities may be shared between sessions
+			return null;
+		}
+		if ( SelfDirtinessTracker.class.isAssignableFrom( getMappedClass() ) ) {
+			// the flush of entities tracking their own dirtiness reads their loaded state
+			return null;
+		}
+		if ( overridesFindDirty() ) {
+			// a packed loaded state is dirty checked without calling findDirty()
+			return null;
+		}
+		final boolean[] laziness = getPropertyLaziness();
+		final Class<?>[] javaTypes = new Class<?>[ getPropertySpan() ];
+		for ( AttributeMapping attributeMapping : getAttributeMappings() ) {
+			final int position = attributeMapping.getStateArrayPosition();
+			// an unfetched lazy attribute is represented by a marker in the loaded state
+			if ( !laziness[position] && attributeMapping.getPropertyAccess() != null ) {
+				javaTypes[position] = attributeMapping.getPropertyAccess().getGetter().getReturnTypeClass();
+			}
+		}
+		return PackedStateLayout.forJavaTypes( javaTypes );
+	}
+
+	private boolean overridesFindDirty() {
+		try {
+			return getClass().getMethod(
+					"findDirty",
+					Object[].class,
+					Object[].class,
+					Object.class,
+					SharedSessionContractImplementor.class
+			).getDeclaringClass() != AbstractEntityPersister.class;
+		}
+		catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * The layout used to pack the loaded state of the entities of this type, if enabled
+	 *
+	 * @return The layout, or {@code null} if the loaded state is not packed
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PACK_LOADED_STATE
+	 */
+	public PackedStateLayout getPackedStateLayout() {
+		return packedStateLayout;
+	}
+
 	@Override
 	public List<AttributeMapping> getAttributeMappings() {
 		if ( attributeMappings == null ) {
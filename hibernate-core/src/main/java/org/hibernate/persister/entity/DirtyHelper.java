@@ -7,6 +7,7 @@
 package org.hibernate.persister.entity;
 
 import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.internal.PackedStateLayout;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.tuple.NonIdentifierAttribute;
@@ -52,6 +53,60 @@ class DirtyHelper {
 		return count == 0 ? null : ArrayHelper.trim( results, count );
 	}
 
+	/**
+	 * Like {@link #findDirty(NonIdentifierAttribute[], Object[], Object[], boolean[][], SharedSessionContractImplementor)},
+	 * but with a baseline state packed according to the given layout. The packed values are compared
+	 * as primitives, and only boxed when they differ from the current ones.
+	 *
+	 * @param properties The property definitions
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity, without its packed values
+	 * @param layout The layout of the baseline state
+	 * @param packedPreviousState The packed values of the baseline state
+	 * @param includeColumns Columns to be included in the dirty checking, per property
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Array containing indices of the dirty properties, or null if no properties considered dirty.
+	 */
+	public static int[] findDirty(
+			final NonIdentifierAttribute[] properties,
+			final Object[] currentState,
+			final Object[] previousState,
+			final PackedStateLayout layout,
+			final long[] packedPreviousState,
+			final boolean[][] includeColumns,
+			final SharedSessionContractImplementor session) {
+		int[] results = null;
+		int count = 0;
+		int span = properties.length;
+
+		for ( int i = 0; i < span; i++ ) {
+			final boolean dirty;
+			if ( layout.isPacked( i ) ) {
+				dirty = currentState[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
+						&& properties[i].isDirtyCheckable()
+						&& !layout.isEqual( packedPreviousState, i, currentState[i] )
+						&& properties[i].getType().isDirty(
+								layout.getValue( packedPreviousState, previousState, i ),
+								currentState[i],
+								includeColumns[i],
+								session
+						);
+			}
+			else {
+				dirty = isDirty( properties, currentState, previousState, includeColumns, session, i );
+			}
+			if ( dirty ) {
+				if ( results == null ) {
+					results = new int[span];
+				}
+				results[count++] = i;
+			}
+		}
+
+		return count == 0 ? null : ArrayHelper.trim( results, count );
+	}
+
 	private static boolean isDirty(
 			NonIdentifierAttribute[] properties,
 			Object[] currentState,
@@ -1099,6 +1099,21 @@ public class ProcedureCallImpl<R>
 		return this;
 	}
 
+	@Override
+	public ProcedureCallImplementor<R> setDetached(boolean detached) {
+		if ( detached ) {
+			throw new IllegalStateException( "Detached loading is not supported for ProcedureCall/StoredProcedureQuery" );
+		}
+		super.setDetached( false );
+		return this;
+	}
+
+	@Override
+	public ProcedureCallImplementor<R> setEvictOnScroll(boolean evictOnScroll) {
+		super.setEvictOnScroll( evictOnScroll );
+		return this;
+	}
+
 	// todo (5.3) : all of the parameter stuff here can be done in AbstractQuery
 	//		using #getParameterMetadata and #getQueryParameterBindings for abstraction.
 	//		this "win" is to define these in one place
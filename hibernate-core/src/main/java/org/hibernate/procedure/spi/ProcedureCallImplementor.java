@@ -78,6 +78,12 @@ public interface ProcedureCallImplementor<R> extends ProcedureCall, QueryImpleme
 	@Override
 	ProcedureCallImplementor<R> setFlushMode(FlushModeType flushMode);
 
+	@Override
+	ProcedureCallImplementor<R> setDetached(boolean detached);
+
+	@Override
+	ProcedureCallImplementor<R> setEvictOnScroll(boolean evictOnScroll);
+
 	@Override
 	ProcedureCallImplementor<R> registerStoredProcedureParameter(int position, Class type, ParameterMode mode);
 
@@ -536,6 +536,12 @@ public interface NativeQuery<T> extends Query<T>, SynchronizeableQuery {
 	@Override
 	NativeQuery<T> setReadOnly(boolean readOnly);
 
+	@Override
+	NativeQuery<T> setDetached(boolean detached);
+
+	@Override
+	NativeQuery<T> setEvictOnScroll(boolean evictOnScroll);
+
 	@Override
 	NativeQuery<T> setLockOptions(LockOptions lockOptions);
 
@@ -862,6 +862,12 @@ public interface Query<R> extends SelectionQuery<R>, MutationQuery, TypedQuery<R
 	@Override
 	Query<R> setReadOnly(boolean readOnly);
 
+	@Override
+	Query<R> setDetached(boolean detached);
+
+	@Override
+	Query<R> setEvictOnScroll(boolean evictOnScroll);
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// covariant overrides - jakarta.persistence.Query/TypedQuery
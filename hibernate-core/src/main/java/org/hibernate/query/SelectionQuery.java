@@ -237,6 +237,80 @@ public interface SelectionQuery<R> extends CommonQueryContract {
 	 */
 	SelectionQuery<R> setReadOnly(boolean readOnly);
 
+	/**
+	 * Are the entities returned by this query loaded detached from the
+	 * persistence context?
+	 *
+	 * @see #setDetached(boolean)
+	 */
+	boolean isDetached();
+
+	/**
+	 * Load the entities returned by this query detached from the persistence
+	 * context, for reading large results without the cost of managing them.
+	 *
+	 * The entities are loaded read-only, into a persistence context which lives
+	 * only as long as the results are being read: their identity is only resolved
+	 * within the results of the query (or within each row, when the results are
+	 * scrolled or streamed), entities already associated with the session are
+	 * not returned, and no load event is fired. Lazy associations which are not
+	 * fetched by the query cannot be relied upon: their proxies cannot be
+	 * initialized, and their collections only while the row which loaded them
+	 * is current, since the persistence context is cleared as soon as
+	 * {@link #list()} returns and, when the results are scrolled or streamed,
+	 * each time they move to the next row.
+	 *
+	 * This setting applies to HQL, criteria and native queries. It is not
+	 * supported by {@linkplain org.hibernate.procedure.ProcedureCall procedure
+	 * calls}.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @param detached {@code true} indicates that the entities are to be loaded
+	 * detached from the persistence context
+	 */
+	SelectionQuery<R> setDetached(boolean detached);
+
+	/**
+	 * Are the entities loaded for each row evicted from the persistence
+	 * context once the results are scrolled or streamed past that row?
+	 *
+	 * @see #setEvictOnScroll(boolean)
+	 */
+	boolean isEvictOnScroll();
+
+	/**
+	 * Evict the entities loaded for each row of the results from the
+	 * persistence context once the results are scrolled or streamed past
+	 * that row, for reading arbitrarily large results with a bounded
+	 * persistence context.
+	 *
+	 * The entities returned by a row, and the entities and collections
+	 * fetched with them, remain managed while that row is current, and
+	 * are then evicted, as by {@link org.hibernate.Session#evict(Object)}.
+	 * Entities which were already associated with the session are left
+	 * untouched. Changes made to the evicted entities are not flushed,
+	 * unless the session is flushed before moving to the next row. Since
+	 * identity is only resolved within a row, an entity referenced by
+	 * several rows is loaded again for each of them.
+	 *
+	 * Unless a {@linkplain #setFetchSize(int) fetch size} is set, for the
+	 * query or with {@value org.hibernate.cfg.AvailableSettings#STATEMENT_FETCH_SIZE},
+	 * {@linkplain org.hibernate.dialect.Dialect#getDefaultStreamingFetchSize()
+	 * the dialect default} is used, so that the results are fetched from
+	 * the database as they are read. Some drivers only honor it for
+	 * {@linkplain org.hibernate.ScrollMode#FORWARD_ONLY forward-only}
+	 * results read within a transaction, as is the case of PostgreSQL.
+	 *
+	 * This setting has no effect on {@link #list()}.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @param evictOnScroll {@code true} indicates that the entities of each
+	 * row are to be evicted once the results move past it
+	 */
+	SelectionQuery<R> setEvictOnScroll(boolean evictOnScroll);
+
 	/**
 	 * The max number of rows requested for the query results
 	 */
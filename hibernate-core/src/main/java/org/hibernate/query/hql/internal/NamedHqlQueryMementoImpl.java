@@ -15,12 +15,15 @@ import org.hibernate.LockOptions;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.hql.spi.SqmQueryImplementor;
 import org.hibernate.query.named.AbstractNamedQueryMemento;
+import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.QueryEngine;
+import org.hibernate.query.spi.QueryInterpretationCache;
 import org.hibernate.query.sqm.SqmSelectionQuery;
 import org.hibernate.query.sqm.internal.QuerySqmImpl;
 import org.hibernate.query.sqm.internal.SqmSelectionQueryImpl;
 import org.hibernate.query.sqm.spi.NamedSqmQueryMemento;
 import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -44,6 +47,8 @@ public class NamedHqlQueryMementoImpl extends AbstractNamedQueryMemento implemen
 	private final LockOptions lockOptions;
 	private final Map<String, String> parameterTypes;
 
+	private transient volatile ResolvedInterpretation resolvedInterpretation;
+
 	public NamedHqlQueryMementoImpl(
 			String name,
 			String hqlString,
@@ -125,6 +130,49 @@ public class NamedHqlQueryMementoImpl extends AbstractNamedQueryMemento implemen
 		);
 	}
 
+	/**
+	 * Resolve the interpretation of this query for the given expected result type.
+	 * <p/>
+	 * The interpretation resolved from the interpretation cache is kept by this memento,
+	 * so that creating this query again with the same expected result type is only a
+	 * matter of comparing the result type, rather than of hashing and comparing the
+	 * query string to look it up from the cache again.
+	 */
+	public HqlInterpretation resolveHqlInterpretation(
+			Class<?> expectedResultType,
+			SharedSessionContractImplementor session) {
+		final ResolvedInterpretation resolved = resolvedInterpretation;
+		if ( resolved != null && resolved.expectedResultType == expectedResultType ) {
+			final StatisticsImplementor statistics = session.getFactory().getStatistics();
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.queryPlanCacheHit( hqlString );
+			}
+			return resolved.interpretation;
+		}
+
+		final QueryEngine queryEngine = session.getFactory().getQueryEngine();
+		final QueryInterpretationCache interpretationCache = queryEngine.getInterpretationCache();
+		final HqlInterpretation interpretation = interpretationCache.resolveHqlInterpretation(
+				hqlString,
+				expectedResultType,
+				(s) -> queryEngine.getHqlTranslator().translate( hqlString, expectedResultType )
+		);
+		if ( interpretationCache.isEnabled() ) {
+			resolvedInterpretation = new ResolvedInterpretation( expectedResultType, interpretation );
+		}
+		return interpretation;
+	}
+
+	private static class ResolvedInterpretation {
+		private final Class<?> expectedResultType;
+		private final HqlInterpretation interpretation;
+
+		private ResolvedInterpretation(Class<?> expectedResultType, HqlInterpretation interpretation) {
+			this.expectedResultType = expectedResultType;
+			this.interpretation = interpretation;
+		}
+	}
+
 	@Override
 	public void validate(QueryEngine queryEngine) {
 		queryEngine.getHqlTranslator().translate( hqlString, null );
@@ -65,6 +65,12 @@ public interface SqmQueryImplementor<R> extends QueryImplementor<R>, SqmQuery, N
 
 	SqmQueryImplementor<R> setReadOnly(boolean readOnly);
 
+	@Override
+	SqmQueryImplementor<R> setDetached(boolean detached);
+
+	@Override
+	SqmQueryImplementor<R> setEvictOnScroll(boolean evictOnScroll);
+
 	@Override
 	SqmQueryImplementor<R> applyGraph(RootGraph graph, GraphSemantic semantic);
 
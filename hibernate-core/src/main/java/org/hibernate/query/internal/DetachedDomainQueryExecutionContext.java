@@ -0,0 +1,167 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import org.hibernate.LockMode;
+import org.hibernate.SessionException;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.internal.StatefulPersistenceContext;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionDelegatorBaseImpl;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.sql.results.internal.ResultsHelper;
+
+/**
+ * Executes a query {@linkplain org.hibernate.query.SelectionQuery#setDetached(boolean) detached}
+ * from the persistence context of its session: the entities are loaded, read-only, into a
+ * persistence context which lives only as long as the results are being read, so that their
+ * identity is only resolved within these results, and they are detached as soon as they
+ * have been read.
+ * <p/>
+ * Much like for a {@link org.hibernate.StatelessSession}, no load event is fired for the entities.
+ * The temporary persistence context is cleared once a list of results has been read, and after
+ * each row of scrolled results, so that lazy associations not fetched by the query cannot be
+ * fetched from the entities which were returned.
+ *
+ * @see org.hibernate.query.SelectionQuery#setDetached(boolean)
+ */
+public class DetachedDomainQueryExecutionContext extends DelegatingDomainQueryExecutionContext {
+	private final DetachedLoadingSession session;
+
+	private DetachedDomainQueryExecutionContext(DomainQueryExecutionContext delegate, SessionImplementor session) {
+		super( delegate );
+		this.session = new DetachedLoadingSession( session );
+	}
+
+	/**
+	 * Wrap the given context so that the query is executed detached from the persistence context of its
+	 * session, if that session has one.
+	 *
+	 * @return The context to use to execute the query, or {@code null} if the session is stateless
+	 */
+	public static DetachedDomainQueryExecutionContext from(DomainQueryExecutionContext delegate) {
+		return delegate.getSession() instanceof SessionImplementor
+				? new DetachedDomainQueryExecutionContext( delegate, (SessionImplementor) delegate.getSession() )
+				: null;
+	}
+
+	@Override
+	public SharedSessionContractImplementor getSession() {
+		return session;
+	}
+
+	/**
+	 * Detach the entities loaded so far.
+	 */
+	public void detach() {
+		session.temporaryPersistenceContext.clear();
+	}
+
+	private static class DetachedLoadingSession extends SessionDelegatorBaseImpl {
+		private final PersistenceContext temporaryPersistenceContext;
+
+		private DetachedLoadingSession(SessionImplementor delegate) {
+			super( delegate );
+			this.temporaryPersistenceContext = new StatefulPersistenceContext( this );
+			// no snapshot of the loaded state is needed
+			this.temporaryPersistenceContext.setDefaultReadOnly( true );
+		}
+
+		@Override
+		public PersistenceContext getPersistenceContext() {
+			return temporaryPersistenceContext;
+		}
+
+		@Override
+		public PersistenceContext getPersistenceContextInternal() {
+			return temporaryPersistenceContext;
+		}
+
+		@Override
+		public boolean isDefaultReadOnly() {
+			return true;
+		}
+
+		@Override
+		public void afterScrollOperation() {
+			// the entities of the current row have been read
+			temporaryPersistenceContext.clear();
+			super.afterScrollOperation();
+		}
+
+		@Override
+		public Object internalLoad(String entityName, Object id, boolean eager, boolean nullable) {
+			checkOpen();
+			final EntityPersister entityDescriptor = getFactory().getRuntimeMetamodels()
+					.getMappingMetamodel()
+					.getEntityDescriptor( entityName );
+			final EntityKey entityKey = generateEntityKey( id, entityDescriptor );
+
+			final Object loaded = temporaryPersistenceContext.getEntity( entityKey );
+			if ( loaded != null ) {
+				return loaded;
+			}
+
+			if ( !eager && entityDescriptor.hasProxy() ) {
+				final Object existingProxy = temporaryPersistenceContext.getProxy( entityKey );
+				if ( existingProxy != null ) {
+					return temporaryPersistenceContext.narrowProxy( existingProxy, entityDescriptor, entityKey, null );
+				}
+				final Object proxy = entityDescriptor.createProxy( id, this );
+				temporaryPersistenceContext.addProxy( entityKey, proxy );
+				return proxy;
+			}
+
+			temporaryPersistenceContext.beforeLoad();
+			try {
+				return entityDescriptor.load( id, null, LockMode.NONE, this );
+			}
+			finally {
+				temporaryPersistenceContext.afterLoad();
+			}
+		}
+
+		@Override
+		public Object immediateLoad(String entityName, Object id) {
+			if ( temporaryPersistenceContext.isLoadFinished() ) {
+				throw new SessionException( "proxies cannot be fetched once the results of a detached query have been read" );
+			}
+			return getFactory().getRuntimeMetamodels()
+					.getMappingMetamodel()
+					.getEntityDescriptor( entityName )
+					.load( id, null, LockMode.NONE, this );
+		}
+
+		@Override
+		public void initializeCollection(PersistentCollection<?> collection, boolean writing) {
+			final CollectionEntry entry = temporaryPersistenceContext.getCollectionEntry( collection );
+			if ( entry == null ) {
+				throw new SessionException( "collections cannot be fetched once the results of a detached query have been read" );
+			}
+			if ( !collection.wasInitialized() ) {
+				final CollectionPersister persister = entry.getLoadedPersister();
+				persister.initialize( entry.getLoadedKey(), this );
+				if ( !collection.wasInitialized() ) {
+					collection.initializeEmptyCollection( persister );
+					ResultsHelper.finalizeCollectionLoading(
+							temporaryPersistenceContext,
+							persister,
+							collection,
+							entry.getLoadedKey(),
+							true
+					);
+				}
+			}
+		}
+	}
+}
@@ -40,7 +40,7 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 	 */
 	private final BoundedConcurrentHashMap<Key, QueryPlan> queryPlanCache;
 
-	private final BoundedConcurrentHashMap<String, HqlInterpretation> hqlInterpretationCache;
+	private final BoundedConcurrentHashMap<HqlInterpretationKey, HqlInterpretation> hqlInterpretationCache;
 	private final BoundedConcurrentHashMap<String, ParameterInterpretation> nativeQueryParamCache;
 	private final Supplier<StatisticsImplementor> statisticsSupplier;
 
@@ -106,15 +106,11 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 			Function<String, SqmStatement<?>> creator) {
 		log.tracef( "QueryPlan#resolveHqlInterpretation( `%s` )", queryString );
 
-		final String cacheKey;
-		if ( expectedResultType != null
-				&& ( expectedResultType.isArray() || Tuple.class.isAssignableFrom( expectedResultType ) ) ) {
-			cacheKey = "multi_" + queryString;
-		}
-		else {
-			cacheKey = queryString;
-		}
-
+		final HqlInterpretationKey cacheKey = new HqlInterpretationKey(
+				queryString,
+				expectedResultType != null
+						&& ( expectedResultType.isArray() || Tuple.class.isAssignableFrom( expectedResultType ) )
+		);
 
 		final HqlInterpretation existing = hqlInterpretationCache.get( cacheKey );
 		if ( existing != null ) {
@@ -175,6 +171,46 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 		);
 	}
 
+	/**
+	 * The key of a cached HQL interpretation. The hash of the query string is cached
+	 * by the string itself, so this key never needs to copy or rehash it.
+	 */
+	private static final class HqlInterpretationKey {
+		private final String queryString;
+		private final boolean multiValued;
+		private final int hashCode;
+
+		private HqlInterpretationKey(String queryString, boolean multiValued) {
+			this.queryString = queryString;
+			this.multiValued = multiValued;
+			this.hashCode = 31 * queryString.hashCode() + Boolean.hashCode( multiValued );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof HqlInterpretationKey ) ) {
+				return false;
+			}
+			final HqlInterpretationKey that = (HqlInterpretationKey) o;
+			return hashCode == that.hashCode
+					&& multiValued == that.multiValued
+					&& queryString.equals( that.queryString );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return multiValued ? "multi_" + queryString : queryString;
+		}
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return true;
@@ -239,6 +239,18 @@ public abstract class AbstractQuery<R>
 		return this;
 	}
 
+	@Override
+	public QueryImplementor<R> setDetached(boolean detached) {
+		super.setDetached( detached );
+		return this;
+	}
+
+	@Override
+	public QueryImplementor<R> setEvictOnScroll(boolean evictOnScroll) {
+		super.setEvictOnScroll( evictOnScroll );
+		return this;
+	}
+
 	@Override
 	public LockOptions getLockOptions() {
 		return getQueryOptions().getLockOptions();
@@ -48,6 +48,8 @@ import org.hibernate.query.QueryParameter;
 import org.hibernate.query.QueryTypeMismatchException;
 import org.hibernate.query.SelectionQuery;
 import org.hibernate.query.criteria.JpaSelection;
+import org.hibernate.query.internal.DelegatingDomainQueryExecutionContext;
+import org.hibernate.query.internal.DetachedDomainQueryExecutionContext;
 import org.hibernate.query.internal.ScrollableResultsIterator;
 import org.hibernate.query.named.NamedQueryMemento;
 import org.hibernate.query.sqm.SqmExpressible;
@@ -93,6 +95,9 @@ public abstract class AbstractSelectionQuery<R>
 
 	private Callback callback;
 
+	private boolean detached;
+	private boolean evictOnScroll;
+
 	public AbstractSelectionQuery(SharedSessionContractImplementor session) {
 		super( session );
 	}
@@ -423,6 +428,75 @@ public abstract class AbstractSelectionQuery<R>
 
 	protected abstract List<R> doList();
 
+	/**
+	 * Execute the given plan to list the results of this query,
+	 * {@linkplain #isDetached() detached} from the persistence context if requested
+	 */
+	protected List<R> performList(SelectQueryPlan<R> queryPlan, DomainQueryExecutionContext executionContext) {
+		final DetachedDomainQueryExecutionContext detachedContext = detached
+				? DetachedDomainQueryExecutionContext.from( executionContext )
+				: null;
+		if ( detachedContext == null ) {
+			return queryPlan.performList( executionContext );
+		}
+		try {
+			return queryPlan.performList( detachedContext );
+		}
+		finally {
+			detachedContext.detach();
+		}
+	}
+
+	/**
+	 * Execute the given plan to scroll the results of this query,
+	 * {@linkplain #isDetached() detached} from the persistence context, or
+	 * {@linkplain #isEvictOnScroll() evicting} the entities of each row, if requested
+	 */
+	protected ScrollableResultsImplementor<R> performScroll(
+			SelectQueryPlan<R> queryPlan,
+			ScrollMode scrollMode,
+			DomainQueryExecutionContext executionContext) {
+		final DomainQueryExecutionContext contextToUse = evictOnScroll
+				? withStreamingFetchSize( executionContext )
+				: executionContext;
+		final DetachedDomainQueryExecutionContext detachedContext = detached
+				? DetachedDomainQueryExecutionContext.from( contextToUse )
+				: null;
+		if ( detachedContext != null ) {
+			// the entities of each row are already detached once the results move past it
+			return queryPlan.performScroll( scrollMode, detachedContext );
+		}
+		final ScrollableResultsImplementor<R> scrollableResults = queryPlan.performScroll( scrollMode, contextToUse );
+		if ( evictOnScroll ) {
+			scrollableResults.setEvictOnScroll( true );
+		}
+		return scrollableResults;
+	}
+
+	private DomainQueryExecutionContext withStreamingFetchSize(DomainQueryExecutionContext executionContext) {
+		final SessionFactoryImplementor factory = getSession().getFactory();
+		if ( executionContext.getQueryOptions().getFetchSize() != null
+				|| factory.getSessionFactoryOptions().getJdbcFetchSize() != null ) {
+			return executionContext;
+		}
+		final int fetchSize = factory.getJdbcServices().getDialect().getDefaultStreamingFetchSize();
+		if ( fetchSize <= 0 ) {
+			return executionContext;
+		}
+		final QueryOptions queryOptions = new DelegatingQueryOptions( executionContext.getQueryOptions() ) {
+			@Override
+			public Integer getFetchSize() {
+				return fetchSize;
+			}
+		};
+		return new DelegatingDomainQueryExecutionContext( executionContext ) {
+			@Override
+			public QueryOptions getQueryOptions() {
+				return queryOptions;
+			}
+		};
+	}
+
 	@Override
 	public ScrollableResultsImplementor<R> scroll() {
 		return scroll( getSession().getFactory().getJdbcServices().getJdbcEnvironment().getDialect().defaultScrollMode() );
@@ -653,6 +727,28 @@ public abstract class AbstractSelectionQuery<R>
 		getQueryOptions().setReadOnly( readOnly );
 		return this;
 	}
+
+	@Override
+	public boolean isDetached() {
+		return detached;
+	}
+
+	@Override
+	public SelectionQuery<R> setDetached(boolean detached) {
+		this.detached = detached;
+		return this;
+	}
+
+	@Override
+	public boolean isEvictOnScroll() {
+		return evictOnScroll;
+	}
+
+	@Override
+	public SelectionQuery<R> setEvictOnScroll(boolean evictOnScroll) {
+		this.evictOnScroll = evictOnScroll;
+		return this;
+	}
 	@Override
 	public CacheMode getCacheMode() {
 		return getQueryOptions().getCacheMode();
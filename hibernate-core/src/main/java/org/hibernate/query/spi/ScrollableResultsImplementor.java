@@ -17,4 +17,14 @@ import org.hibernate.ScrollableResults;
 @Incubating
 public interface ScrollableResultsImplementor<R> extends ScrollableResults<R> {
 	boolean isClosed();
+
+	/**
+	 * Evict the entities loaded for the current row from the persistence context
+	 * once these results move past it, or are closed.
+	 *
+	 * @see org.hibernate.query.SelectionQuery#setEvictOnScroll(boolean)
+	 */
+	default void setEvictOnScroll(boolean evictOnScroll) {
+		// nothing to evict by default
+	}
 }
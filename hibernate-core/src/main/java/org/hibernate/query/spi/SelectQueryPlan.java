@@ -42,4 +42,13 @@ public interface SelectQueryPlan<R> extends QueryPlan {
 	 */
 	ScrollableResultsImplementor<R> performScroll(ScrollMode scrollMode, DomainQueryExecutionContext executionContext);
 
+	/**
+	 * Prepare the plan for execution ahead of its first execution, translating the
+	 * query to SQL with no parameter values bound, if the plan caches its translation.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PRECOMPILE_NAMED_QUERIES
+	 */
+	default void prepare(DomainQueryExecutionContext executionContext) {
+	}
+
 }
@@ -593,7 +593,7 @@ public class NativeQueryImpl<R>
 
 	@Override
 	protected List<R> doList() {
-		return resolveSelectQueryPlan().performList( this );
+		return performList( resolveSelectQueryPlan(), this );
 	}
 
 	private SelectQueryPlan<R> resolveSelectQueryPlan() {
@@ -807,7 +807,7 @@ public class NativeQueryImpl<R>
 
 	@Override
 	protected ScrollableResultsImplementor<R> doScroll(ScrollMode scrollMode) {
-		return resolveSelectQueryPlan().performScroll( scrollMode, this );
+		return performScroll( resolveSelectQueryPlan(), scrollMode, this );
 	}
 
 	protected int doExecuteUpdate() {
@@ -1133,6 +1133,18 @@ public class NativeQueryImpl<R>
 		return this;
 	}
 
+	@Override
+	public NativeQueryImplementor<R> setDetached(boolean detached) {
+		super.setDetached( detached );
+		return this;
+	}
+
+	@Override
+	public NativeQueryImplementor<R> setEvictOnScroll(boolean evictOnScroll) {
+		super.setEvictOnScroll( evictOnScroll );
+		return this;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T unwrap(Class<T> javaType) {
@@ -180,6 +180,12 @@ public interface NativeQueryImplementor<R> extends QueryImplementor<R>, NativeQu
 	@Override
 	NativeQueryImplementor<R> setReadOnly(boolean readOnly);
 
+	@Override
+	NativeQueryImplementor<R> setDetached(boolean detached);
+
+	@Override
+	NativeQueryImplementor<R> setEvictOnScroll(boolean evictOnScroll);
+
 	@Override
 	NativeQueryImplementor<R> setLockOptions(LockOptions lockOptions);
 
@@ -161,4 +161,10 @@ public interface SqmSelectionQuery<R> extends SqmQuery, SelectionQuery<R> {
 
 	@Override
 	SqmSelectionQuery<R> setReadOnly(boolean readOnly);
+
+	@Override
+	SqmSelectionQuery<R> setDetached(boolean detached);
+
+	@Override
+	SqmSelectionQuery<R> setEvictOnScroll(boolean evictOnScroll);
 }
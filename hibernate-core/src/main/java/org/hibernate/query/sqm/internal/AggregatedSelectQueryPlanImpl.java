@@ -77,4 +77,11 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 		}
 		throw new NotYetImplementedFor6Exception();
 	}
+
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			aggregatedQueryPlan.prepare( executionContext );
+		}
+	}
 }
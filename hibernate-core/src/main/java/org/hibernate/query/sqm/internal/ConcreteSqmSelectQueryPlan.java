@@ -8,8 +8,10 @@ package org.hibernate.query.sqm.internal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.ScrollMode;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
@@ -19,6 +21,7 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
 import org.hibernate.internal.EmptyScrollableResults;
+import org.hibernate.internal.FilterJdbcParameter;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.mapping.MappingModelExpressible;
 import org.hibernate.query.IllegalQueryOperationException;
@@ -43,6 +46,7 @@ import org.hibernate.sql.ast.SqlAstTranslatorFactory;
 import org.hibernate.sql.ast.spi.FromClauseAccess;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.exec.internal.IndexedJdbcParameterBindings;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.exec.spi.JdbcSelectExecutor;
@@ -254,6 +258,25 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		return withCacheableSqmInterpretation( executionContext, scrollMode, scrollInterpreter );
 	}
 
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		if ( cacheableSqmInterpretation == null ) {
+			synchronized ( this ) {
+				if ( cacheableSqmInterpretation == null ) {
+					final CacheableSqmInterpretation interpretation = buildCacheableSqmInterpretation(
+							sqm,
+							domainParameterXref,
+							executionContext
+					);
+					// the bindings of the first execution are created, and the translation
+					// checked for compatibility with them, when it is executed
+					interpretation.firstParameterBindings = null;
+					cacheableSqmInterpretation = interpretation;
+				}
+			}
+		}
+	}
+
 	private <T, X> T withCacheableSqmInterpretation(DomainQueryExecutionContext executionContext, X context, SqmInterpreter<T, X> interpreter) {
 		// NOTE : VERY IMPORTANT - intentional double-lock checking
 		//		The other option would be to leverage `java.util.concurrent.locks.ReadWriteLock`
@@ -313,16 +336,16 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 				sqmInterpretation.getJdbcParamsXref(),
 				session.getFactory().getRuntimeMetamodels().getMappingMetamodel(),
 				sqmInterpretation.getTableGroupAccess()::findTableGroup,
-				new SqmParameterMappingModelResolutionAccess() {
-					//this is pretty ugly!
-					@Override @SuppressWarnings("unchecked")
-					public <T> MappingModelExpressible<T> getResolvedMappingModelType(SqmParameter<T> parameter) {
-						return (MappingModelExpressible<T>) sqmInterpretation.getSqmParameterMappingModelTypes().get(parameter);
-					}
-				},
-				session
+				sqmInterpretation,
+				session,
+				// the JDBC parameters of the translation are known, so the bindings are array based
+				new IndexedJdbcParameterBindings( sqmInterpretation.getJdbcParameterIndex() )
+		);
+		// the plan is shared by all the values of the enabled filters
+		sqmInterpretation.getJdbcSelect().bindFilterJdbcParameters(
+				jdbcParameterBindings,
+				session.getLoadQueryInfluencers().getEnabledFilters()
 		);
-		sqmInterpretation.getJdbcSelect().bindFilterJdbcParameters( jdbcParameterBindings );
 		return jdbcParameterBindings;
 	}
 
@@ -394,12 +417,13 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 				JdbcParameterBindings jdbcParameterBindings);
 	}
 
-	private static class CacheableSqmInterpretation {
+	private static class CacheableSqmInterpretation implements SqmParameterMappingModelResolutionAccess {
 		private final SelectStatement selectStatement;
 		private final JdbcSelect jdbcSelect;
 		private final FromClauseAccess tableGroupAccess;
 		private final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<List<JdbcParameter>>>> jdbcParamsXref;
 		private final Map<SqmParameter<?>, MappingModelExpressible<?>> sqmParameterMappingModelTypes;
+		private final IndexedJdbcParameterBindings.Index jdbcParameterIndex;
 		private transient JdbcParameterBindings firstParameterBindings;
 
 		CacheableSqmInterpretation(
@@ -414,9 +438,45 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			this.tableGroupAccess = tableGroupAccess;
 			this.jdbcParamsXref = jdbcParamsXref;
 			this.sqmParameterMappingModelTypes = sqmParameterMappingModelTypes;
+			this.jdbcParameterIndex = buildJdbcParameterIndex( jdbcParamsXref, jdbcSelect );
 			this.firstParameterBindings = firstParameterBindings;
 		}
 
+		private static IndexedJdbcParameterBindings.Index buildJdbcParameterIndex(
+				Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<List<JdbcParameter>>>> jdbcParamsXref,
+				JdbcSelect jdbcSelect) {
+			final Set<JdbcParameter> jdbcParameters = Collections.newSetFromMap( new IdentityHashMap<>() );
+			final List<JdbcParameter> orderedJdbcParameters = new ArrayList<>();
+			for ( Map<SqmParameter<?>, List<List<JdbcParameter>>> jdbcParamMap : jdbcParamsXref.values() ) {
+				for ( List<List<JdbcParameter>> jdbcParamsBinds : jdbcParamMap.values() ) {
+					if ( jdbcParamsBinds != null ) {
+						for ( List<JdbcParameter> jdbcParams : jdbcParamsBinds ) {
+							for ( JdbcParameter jdbcParameter : jdbcParams ) {
+								if ( jdbcParameters.add( jdbcParameter ) ) {
+									orderedJdbcParameters.add( jdbcParameter );
+								}
+							}
+						}
+					}
+				}
+			}
+			if ( jdbcSelect.getFilterJdbcParameters() != null ) {
+				for ( FilterJdbcParameter filterJdbcParameter : jdbcSelect.getFilterJdbcParameters() ) {
+					if ( jdbcParameters.add( filterJdbcParameter.getParameter() ) ) {
+						orderedJdbcParameters.add( filterJdbcParameter.getParameter() );
+					}
+				}
+			}
+			return orderedJdbcParameters.isEmpty()
+					? IndexedJdbcParameterBindings.Index.EMPTY
+					: new IndexedJdbcParameterBindings.Index( orderedJdbcParameters );
+		}
+
+		@Override @SuppressWarnings("unchecked")
+		public <T> MappingModelExpressible<T> getResolvedMappingModelType(SqmParameter<T> parameter) {
+			return (MappingModelExpressible<T>) sqmParameterMappingModelTypes.get( parameter );
+		}
+
 		SelectStatement getSelectStatement() {
 			return selectStatement;
 		}
@@ -437,6 +497,10 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			return sqmParameterMappingModelTypes;
 		}
 
+		IndexedJdbcParameterBindings.Index getJdbcParameterIndex() {
+			return jdbcParameterIndex;
+		}
+
 		JdbcParameterBindings getFirstParameterBindings() {
 			return firstParameterBindings;
 		}
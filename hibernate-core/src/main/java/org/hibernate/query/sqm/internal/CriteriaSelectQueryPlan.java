@@ -0,0 +1,209 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.internal.DelegatingDomainQueryExecutionContext;
+import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.query.spi.SelectQueryPlan;
+import org.hibernate.query.sqm.tree.SqmCopyContext;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+
+/**
+ * A cached {@link SelectQueryPlan} of a criteria query, which is shared by the
+ * criteria queries with the same {@link SqmCriteriaStructure structure}.
+ * <p/>
+ * The plan refers to the criteria parameters of the query it was built for, so
+ * when it is executed for another query, the bindings of the parameters of the
+ * plan are resolved from the bindings of the corresponding parameters of the
+ * executed query.
+ * <p/>
+ * Since the plan outlives the query it was built for, it is built from a copy of
+ * the statement of that query, which cannot be mutated afterwards.
+ */
+public class CriteriaSelectQueryPlan<R> implements SelectQueryPlan<R> {
+	private final SelectQueryPlan<R> delegate;
+	private final List<JpaCriteriaParameter<?>> parameters;
+
+	public CriteriaSelectQueryPlan(SelectQueryPlan<R> delegate, List<JpaCriteriaParameter<?>> parameters) {
+		this.delegate = delegate;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Create the plan of a criteria query, to be shared with the queries of the same structure
+	 *
+	 * @param statement The statement of the query
+	 * @param domainParameterXref The parameters of the statement
+	 * @param statementCopied Whether the statement is already a copy of the criteria,
+	 * as is the case when {@link org.hibernate.cfg.AvailableSettings#CRITERIA_COPY_TREE} is enabled
+	 * @param planCreator Creates the plan of a statement with the given parameters
+	 */
+	public static <R> CriteriaSelectQueryPlan<R> create(
+			SqmSelectStatement<R> statement,
+			DomainParameterXref domainParameterXref,
+			boolean statementCopied,
+			BiFunction<SqmSelectStatement<R>, DomainParameterXref, SelectQueryPlan<R>> planCreator) {
+		if ( statementCopied ) {
+			return new CriteriaSelectQueryPlan<>(
+					planCreator.apply( statement, domainParameterXref ),
+					SqmCriteriaStructure.from( statement ).getParameters()
+			);
+		}
+		// the criteria may still be mutated, which must not affect the other queries sharing the plan;
+		// the copy has its own value bound parameters, which are mapped to those of the executed query
+		final SqmSelectStatement<R> copy = statement.copy( SqmCopyContext.simpleContext() );
+		return new CriteriaSelectQueryPlan<>(
+				planCreator.apply( copy, DomainParameterXref.from( copy ) ),
+				SqmCriteriaStructure.from( copy ).getParameters()
+		);
+	}
+
+	/**
+	 * The plan to execute for a query with the given parameters
+	 */
+	public SelectQueryPlan<R> forParameters(List<JpaCriteriaParameter<?>> queryParameters) {
+		if ( isSameParameters( queryParameters ) ) {
+			return this;
+		}
+		final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping =
+				new IdentityHashMap<>( parameters.size() );
+		for ( int i = 0; i < parameters.size(); i++ ) {
+			parameterMapping.put( parameters.get( i ), queryParameters.get( i ) );
+		}
+		return new SelectQueryPlan<R>() {
+			@Override
+			public List<R> performList(DomainQueryExecutionContext executionContext) {
+				return delegate.performList( remap( executionContext, parameterMapping ) );
+			}
+
+			@Override
+			public ScrollableResultsImplementor<R> performScroll(
+					ScrollMode scrollMode,
+					DomainQueryExecutionContext executionContext) {
+				return delegate.performScroll( scrollMode, remap( executionContext, parameterMapping ) );
+			}
+
+			@Override
+			public void prepare(DomainQueryExecutionContext executionContext) {
+				delegate.prepare( remap( executionContext, parameterMapping ) );
+			}
+		};
+	}
+
+	private boolean isSameParameters(List<JpaCriteriaParameter<?>> queryParameters) {
+		for ( int i = 0; i < parameters.size(); i++ ) {
+			if ( parameters.get( i ) != queryParameters.get( i ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public List<R> performList(DomainQueryExecutionContext executionContext) {
+		return delegate.performList( executionContext );
+	}
+
+	@Override
+	public ScrollableResultsImplementor<R> performScroll(
+			ScrollMode scrollMode,
+			DomainQueryExecutionContext executionContext) {
+		return delegate.performScroll( scrollMode, executionContext );
+	}
+
+	@Override
+	public void prepare(DomainQueryExecutionContext executionContext) {
+		delegate.prepare( executionContext );
+	}
+
+	private static DomainQueryExecutionContext remap(
+			DomainQueryExecutionContext executionContext,
+			Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping) {
+		final QueryParameterBindings bindings = new RemappedQueryParameterBindings(
+				executionContext.getQueryParameterBindings(),
+				parameterMapping
+		);
+		return new DelegatingDomainQueryExecutionContext( executionContext ) {
+			@Override
+			public QueryParameterBindings getQueryParameterBindings() {
+				return bindings;
+			}
+		};
+	}
+
+	private static class RemappedQueryParameterBindings implements QueryParameterBindings {
+		private final QueryParameterBindings delegate;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping;
+
+		private RemappedQueryParameterBindings(
+				QueryParameterBindings delegate,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping) {
+			this.delegate = delegate;
+			this.parameterMapping = parameterMapping;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <P> QueryParameterImplementor<P> remap(QueryParameterImplementor<P> parameter) {
+			final QueryParameterImplementor<?> queryParameter = parameterMapping.get( parameter );
+			return queryParameter == null ? parameter : (QueryParameterImplementor<P>) queryParameter;
+		}
+
+		@Override
+		public boolean isBound(QueryParameterImplementor<?> parameter) {
+			return delegate.isBound( remap( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(QueryParameterImplementor<P> parameter) {
+			return delegate.getBinding( remap( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(String name) {
+			return delegate.getBinding( name );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(int position) {
+			return delegate.getBinding( position );
+		}
+
+		@Override
+		public void validate() {
+			delegate.validate();
+		}
+
+		@Override
+		public boolean hasAnyMultiValuedBindings() {
+			return delegate.hasAnyMultiValuedBindings();
+		}
+
+		@Override
+		public QueryKey.ParameterBindingsMemento generateQueryKeyMemento(SharedSessionContractImplementor persistenceContext) {
+			return delegate.generateQueryKeyMemento( persistenceContext );
+		}
+
+		@Override
+		public void visitBindings(BiConsumer<QueryParameterImplementor<?>, QueryParameterBinding<?>> action) {
+			delegate.visitBindings( action );
+		}
+	}
+}
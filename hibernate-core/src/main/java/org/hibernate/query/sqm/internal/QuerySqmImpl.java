@@ -69,7 +69,6 @@ import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.MutableQueryOptions;
 import org.hibernate.query.spi.NonSelectQueryPlan;
 import org.hibernate.query.spi.ParameterMetadataImplementor;
-import org.hibernate.query.spi.QueryEngine;
 import org.hibernate.query.spi.QueryInterpretationCache;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.query.spi.QueryParameterBindings;
@@ -133,6 +132,9 @@ public class QuerySqmImpl<R>
 	private final Class<R> resultType;
 	private final TupleMetadata tupleMetadata;
 
+	private SqmCriteriaStructure criteriaStructure;
+	private boolean criteriaStructureResolved;
+
 	/**
 	 * Creates a Query instance from a named HQL memento
 	 */
@@ -145,14 +147,7 @@ public class QuerySqmImpl<R>
 		this.hql = memento.getHqlString();
 		this.resultType = expectedResultType;
 
-		final SessionFactoryImplementor factory = session.getFactory();
-		final QueryEngine queryEngine = factory.getQueryEngine();
-		final QueryInterpretationCache interpretationCache = queryEngine.getInterpretationCache();
-		final HqlInterpretation hqlInterpretation = interpretationCache.resolveHqlInterpretation(
-				hql,
-				expectedResultType,
-				(s) -> queryEngine.getHqlTranslator().translate( hql, expectedResultType )
-		);
+		final HqlInterpretation hqlInterpretation = memento.resolveHqlInterpretation( expectedResultType, session );
 
 		this.sqm = hqlInterpretation.getSqmStatement();
 
@@ -456,6 +451,15 @@ public class QuerySqmImpl<R>
 		return getSession().getLoadQueryInfluencers();
 	}
 
+	@Override
+	public SqmCriteriaStructure getCriteriaStructure() {
+		if ( !criteriaStructureResolved ) {
+			criteriaStructure = SqmCriteriaStructure.from( sqm );
+			criteriaStructureResolved = true;
+		}
+		return criteriaStructure;
+	}
+
 	@Override
 	protected boolean resolveJdbcParameterTypeIfNecessary() {
 		// No need to resolve JDBC parameter types as we know them from the SQM model
@@ -534,7 +538,7 @@ public class QuerySqmImpl<R>
 			executionContextToUse = this;
 		}
 
-		final List<R> list = resolveSelectQueryPlan().performList( executionContextToUse );
+		final List<R> list = performList( resolveSelectQueryPlan(), executionContextToUse );
 
 		if ( needsDistinct ) {
 			int includedCount = -1;
@@ -569,7 +573,7 @@ public class QuerySqmImpl<R>
 	@Override
 	protected ScrollableResultsImplementor doScroll(ScrollMode scrollMode) {
 		getSession().prepareForQueryExecution( requiresTxn( getQueryOptions().getLockOptions().findGreatestLockMode() ) );
-		return resolveSelectQueryPlan().performScroll( scrollMode, this );
+		return performScroll( resolveSelectQueryPlan(), scrollMode, this );
 	}
 
 
@@ -577,11 +581,11 @@ public class QuerySqmImpl<R>
 	// Select query plan
 
 	private SelectQueryPlan<R> resolveSelectQueryPlan() {
-		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
+		final SqmInterpretationsKey cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
 		if ( cacheKey != null ) {
-			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
-					cacheKey,
-					this::buildSelectQueryPlan
+			return cacheKey.resolveSelectQueryPlan(
+					getSession().getFactory().getQueryEngine().getInterpretationCache(),
+					this::buildCacheableSelectQueryPlan
 			);
 		}
 		else {
@@ -589,21 +593,63 @@ public class QuerySqmImpl<R>
 		}
 	}
 
+	/**
+	 * Build the select query plan of this query, and translate it to SQL, ahead of
+	 * its first execution, if the plan can be cached.
+	 *
+	 * @return {@code true} if the plan was cached
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PRECOMPILE_NAMED_QUERIES
+	 */
+	public boolean prepareSelectQueryPlan() {
+		if ( !( getSqmStatement() instanceof SqmSelectStatement<?> )
+				|| SqmInterpretationsKey.createInterpretationsKey( this ) == null ) {
+			return false;
+		}
+		resolveSelectQueryPlan().prepare( this );
+		return true;
+	}
+
+	private SelectQueryPlan<R> buildCacheableSelectQueryPlan() {
+		if ( CRITERIA_HQL_STRING.equals( getQueryString() ) ) {
+			return CriteriaSelectQueryPlan.create(
+					(SqmSelectStatement<R>) getSqmStatement(),
+					getDomainParameterXref(),
+					getSession().isCriteriaCopyTreeEnabled(),
+					this::buildSelectQueryPlan
+			);
+		}
+		return buildSelectQueryPlan();
+	}
+
 	private SelectQueryPlan<R> buildSelectQueryPlan() {
+		return buildSelectQueryPlan( (SqmSelectStatement<R>) getSqmStatement(), getDomainParameterXref() );
+	}
+
+	private SelectQueryPlan<R> buildSelectQueryPlan(
+			SqmSelectStatement<R> sqmStatement,
+			DomainParameterXref domainParameterXref) {
 		final SqmSelectStatement<R>[] concreteSqmStatements = QuerySplitter.split(
-				(SqmSelectStatement<R>) getSqmStatement(),
+				sqmStatement,
 				getSession().getFactory()
 		);
 
 		if ( concreteSqmStatements.length > 1 ) {
-			return buildAggregatedSelectQueryPlan( concreteSqmStatements );
+			return buildAggregatedSelectQueryPlan( concreteSqmStatements, domainParameterXref );
 		}
 		else {
-			return buildConcreteSelectQueryPlan( concreteSqmStatements[0], getResultType(), getQueryOptions() );
+			return buildConcreteSelectQueryPlan(
+					concreteSqmStatements[0],
+					domainParameterXref,
+					getResultType(),
+					getQueryOptions()
+			);
 		}
 	}
 
-	private SelectQueryPlan<R> buildAggregatedSelectQueryPlan(SqmSelectStatement<?>[] concreteSqmStatements) {
+	private SelectQueryPlan<R> buildAggregatedSelectQueryPlan(
+			SqmSelectStatement<?>[] concreteSqmStatements,
+			DomainParameterXref domainParameterXref) {
 		//noinspection unchecked
 		final SelectQueryPlan<R>[] aggregatedQueryPlans = new SelectQueryPlan[ concreteSqmStatements.length ];
 
@@ -612,6 +658,7 @@ public class QuerySqmImpl<R>
 		for ( int i = 0, x = concreteSqmStatements.length; i < x; i++ ) {
 			aggregatedQueryPlans[i] = buildConcreteSelectQueryPlan(
 					concreteSqmStatements[i],
+					domainParameterXref,
 					getResultType(),
 					getQueryOptions()
 			);
@@ -622,12 +669,13 @@ public class QuerySqmImpl<R>
 
 	private <T> SelectQueryPlan<T> buildConcreteSelectQueryPlan(
 			SqmSelectStatement<?> concreteSqmStatement,
+			DomainParameterXref domainParameterXref,
 			Class<T> resultType,
 			QueryOptions queryOptions) {
 		return new ConcreteSqmSelectQueryPlan<>(
 				concreteSqmStatement,
 				getQueryString(),
-				getDomainParameterXref(),
+				domainParameterXref,
 				resultType,
 				tupleMetadata,
 				queryOptions
@@ -1160,6 +1208,18 @@ public class QuerySqmImpl<R>
 		return this;
 	}
 
+	@Override
+	public SqmQueryImplementor<R> setDetached(boolean detached) {
+		super.setDetached( detached );
+		return this;
+	}
+
+	@Override
+	public SqmQueryImplementor<R> setEvictOnScroll(boolean evictOnScroll) {
+		super.setEvictOnScroll( evictOnScroll );
+		return this;
+	}
+
 	@Override
 	public SqmQueryImplementor<R> setProperties(Object bean) {
 		super.setProperties( bean );
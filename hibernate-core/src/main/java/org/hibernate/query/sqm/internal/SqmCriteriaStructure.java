@@ -0,0 +1,411 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.query.sqm.function.SelfRenderingSqmAggregateFunction;
+import org.hibernate.query.sqm.function.SelfRenderingSqmFunction;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.SqmTypedNode;
+import org.hibernate.query.sqm.tree.domain.SqmBagJoin;
+import org.hibernate.query.sqm.tree.domain.SqmBasicValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEmbeddedValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEntityValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmListJoin;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.domain.SqmSetJoin;
+import org.hibernate.query.sqm.tree.domain.SqmSingularJoin;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.expression.SqmBinaryArithmetic;
+import org.hibernate.query.sqm.tree.expression.SqmDistinct;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmJpaCriteriaParameterWrapper;
+import org.hibernate.query.sqm.tree.expression.SqmLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmLiteralNull;
+import org.hibernate.query.sqm.tree.expression.SqmStar;
+import org.hibernate.query.sqm.tree.expression.SqmUnaryOperation;
+import org.hibernate.query.sqm.tree.from.SqmAttributeJoin;
+import org.hibernate.query.sqm.tree.from.SqmEntityJoin;
+import org.hibernate.query.sqm.tree.from.SqmFrom;
+import org.hibernate.query.sqm.tree.from.SqmJoin;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmBooleanExpressionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmGroupedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmLikePredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNegatedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNullnessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmPredicate;
+import org.hibernate.query.sqm.tree.select.SqmJpaCompoundSelection;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.select.SqmSelectableNode;
+import org.hibernate.query.sqm.tree.select.SqmSelection;
+import org.hibernate.query.sqm.tree.select.SqmSortSpecification;
+
+/**
+ * The structure of a criteria select statement, used to key the query plan cache,
+ * so that criteria queries which are built the same way share a query plan, even
+ * though they are distinct trees.
+ * <p/>
+ * The structure is a flat description of the statement, where criteria parameters,
+ * including the ones created for values, are placeholders numbered in the order in
+ * which they are encountered, so that the parameters of a statement correspond to
+ * the parameters of any other statement with the same structure.
+ * <p/>
+ * Only the node types commonly used to build dynamic queries are supported, and the
+ * structure of a statement containing any other node, such as a subquery, a case
+ * expression or a treat, is not resolved, so that its plan is not cached.
+ *
+ * @see SqmInterpretationsKey
+ */
+public final class SqmCriteriaStructure {
+
+	private static class UnsupportedNodeException extends RuntimeException {
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+	private final List<Object> structure;
+	private final List<JpaCriteriaParameter<?>> parameters;
+	private final int hashCode;
+
+	private SqmCriteriaStructure(List<Object> structure, List<JpaCriteriaParameter<?>> parameters) {
+		this.structure = structure;
+		this.parameters = Collections.unmodifiableList( parameters );
+		this.hashCode = structure.hashCode();
+	}
+
+	/**
+	 * Resolve the structure of the given statement.
+	 *
+	 * @return The structure, or {@code null} if the statement contains unsupported nodes
+	 */
+	public static SqmCriteriaStructure from(SqmStatement<?> statement) {
+		if ( !( statement instanceof SqmSelectStatement<?> ) ) {
+			return null;
+		}
+		final SqmSelectStatement<?> selectStatement = (SqmSelectStatement<?>) statement;
+		if ( !selectStatement.getCteStatements().isEmpty()
+				|| !( selectStatement.getQueryPart() instanceof SqmQuerySpec<?> ) ) {
+			return null;
+		}
+		final Builder builder = new Builder();
+		try {
+			builder.appendQuerySpec( (SqmQuerySpec<?>) selectStatement.getQueryPart() );
+		}
+		catch (UnsupportedNodeException e) {
+			return null;
+		}
+		return new SqmCriteriaStructure( builder.structure, builder.parameters );
+	}
+
+	/**
+	 * The criteria parameters of the statement, in the order in which they are encountered
+	 */
+	public List<JpaCriteriaParameter<?>> getParameters() {
+		return parameters;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof SqmCriteriaStructure ) ) {
+			return false;
+		}
+		final SqmCriteriaStructure that = (SqmCriteriaStructure) o;
+		return hashCode == that.hashCode && structure.equals( that.structure );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	private static class Builder {
+		private final List<Object> structure = new ArrayList<>();
+		private final List<JpaCriteriaParameter<?>> parameters = new ArrayList<>();
+		private final Map<JpaCriteriaParameter<?>, Integer> parameterPositions = new IdentityHashMap<>();
+		private final Map<SqmFrom<?, ?>, Integer> fromPositions = new IdentityHashMap<>();
+
+		private void appendQuerySpec(SqmQuerySpec<?> querySpec) {
+			// the from clause first, so that paths can refer to the position of their from node
+			final List<SqmRoot<?>> roots = querySpec.getFromClause().getRoots();
+			structure.add( roots.size() );
+			for ( SqmRoot<?> root : roots ) {
+				if ( root.getClass() != SqmRoot.class || root.hasTreats() ) {
+					throw new UnsupportedNodeException();
+				}
+				structure.add( root.getEntityName() );
+				registerFrom( root );
+				appendJoins( root );
+			}
+
+			structure.add( querySpec.getSelectClause().isDistinct() );
+			final List<SqmSelection<?>> selections = querySpec.getSelectClause().getSelections();
+			structure.add( selections.size() );
+			for ( SqmSelection<?> selection : selections ) {
+				structure.add( selection.getAlias() );
+				appendSelectable( selection.getSelectableNode() );
+			}
+
+			appendNullablePredicate( querySpec.getWhereClause() == null ? null : querySpec.getWhereClause().getPredicate() );
+
+			final List<SqmExpression<?>> groupByExpressions = querySpec.getGroupByClauseExpressions();
+			structure.add( groupByExpressions.size() );
+			for ( SqmExpression<?> expression : groupByExpressions ) {
+				appendExpression( expression );
+			}
+			appendNullablePredicate( querySpec.getHavingClausePredicate() );
+
+			final List<SqmSortSpecification> sortSpecifications = querySpec.getSortSpecifications();
+			structure.add( sortSpecifications.size() );
+			for ( SqmSortSpecification sortSpecification : sortSpecifications ) {
+				structure.add( sortSpecification.getSortOrder() );
+				structure.add( sortSpecification.getNullPrecedence() );
+				appendExpression( sortSpecification.getSortExpression() );
+			}
+
+			appendNullableExpression( querySpec.getOffsetExpression() );
+			appendNullableExpression( querySpec.getFetchExpression() );
+			structure.add( querySpec.getFetchClauseType() );
+		}
+
+		private void registerFrom(SqmFrom<?, ?> from) {
+			fromPositions.put( from, fromPositions.size() );
+		}
+
+		private void appendJoins(SqmFrom<?, ?> from) {
+			final List<? extends SqmJoin<?, ?>> joins = from.getSqmJoins();
+			structure.add( joins.size() );
+			for ( SqmJoin<?, ?> join : joins ) {
+				final Class<?> joinClass = join.getClass();
+				if ( join.hasTreats() ) {
+					throw new UnsupportedNodeException();
+				}
+				structure.add( joinClass );
+				structure.add( join.getSqmJoinType() );
+				if ( joinClass == SqmSingularJoin.class || joinClass == SqmBagJoin.class
+						|| joinClass == SqmSetJoin.class || joinClass == SqmListJoin.class ) {
+					final SqmAttributeJoin<?, ?> attributeJoin = (SqmAttributeJoin<?, ?>) join;
+					structure.add( attributeJoin.getReferencedPathSource().getPathName() );
+					structure.add( attributeJoin.isFetched() );
+					registerFrom( join );
+					appendNullablePredicate( attributeJoin.getJoinPredicate() );
+				}
+				else if ( joinClass == SqmEntityJoin.class ) {
+					final SqmEntityJoin<?> entityJoin = (SqmEntityJoin<?>) join;
+					structure.add( entityJoin.getEntityName() );
+					registerFrom( join );
+					appendNullablePredicate( entityJoin.getJoinPredicate() );
+				}
+				else {
+					throw new UnsupportedNodeException();
+				}
+				appendJoins( join );
+			}
+		}
+
+		private void appendSelectable(SqmSelectableNode<?> selectable) {
+			if ( selectable instanceof SqmJpaCompoundSelection<?> ) {
+				final SqmJpaCompoundSelection<?> compoundSelection = (SqmJpaCompoundSelection<?>) selectable;
+				structure.add( SqmJpaCompoundSelection.class );
+				structure.add( compoundSelection.getJavaType() );
+				final List<SqmSelectableNode<?>> items = compoundSelection.getSelectionItems();
+				structure.add( items.size() );
+				for ( SqmSelectableNode<?> item : items ) {
+					structure.add( item.getAlias() );
+					appendSelectable( item );
+				}
+			}
+			else if ( selectable instanceof SqmExpression<?> ) {
+				appendExpression( (SqmExpression<?>) selectable );
+			}
+			else {
+				throw new UnsupportedNodeException();
+			}
+		}
+
+		private void appendNullablePredicate(SqmPredicate predicate) {
+			if ( predicate == null ) {
+				structure.add( null );
+			}
+			else {
+				appendExpression( predicate );
+			}
+		}
+
+		private void appendNullableExpression(SqmExpression<?> expression) {
+			if ( expression == null ) {
+				structure.add( null );
+			}
+			else {
+				appendExpression( expression );
+			}
+		}
+
+		private void appendExpressions(List<? extends SqmTypedNode<?>> expressions) {
+			structure.add( expressions.size() );
+			for ( SqmTypedNode<?> expression : expressions ) {
+				appendArgument( expression );
+			}
+		}
+
+		private void appendArgument(SqmTypedNode<?> argument) {
+			if ( argument instanceof SqmExpression<?> ) {
+				appendExpression( (SqmExpression<?>) argument );
+			}
+			else if ( argument instanceof SqmDistinct<?> ) {
+				structure.add( SqmDistinct.class );
+				appendExpression( ( (SqmDistinct<?>) argument ).getExpression() );
+			}
+			else if ( argument instanceof SqmStar ) {
+				structure.add( SqmStar.class );
+			}
+			else {
+				throw new UnsupportedNodeException();
+			}
+		}
+
+		private void appendExpression(SqmExpression<?> expression) {
+			final Class<?> expressionClass = expression.getClass();
+			structure.add( expressionClass );
+			if ( expression instanceof SqmFrom<?, ?> ) {
+				structure.add( fromPosition( (SqmFrom<?, ?>) expression ) );
+			}
+			else if ( expressionClass == SqmBasicValuedSimplePath.class
+					|| expressionClass == SqmEmbeddedValuedSimplePath.class
+					|| expressionClass == SqmEntityValuedSimplePath.class ) {
+				final SqmPath<?> path = (SqmPath<?>) expression;
+				structure.add( path.getReferencedPathSource().getPathName() );
+				appendExpression( path.getLhs() );
+			}
+			else if ( expression instanceof JpaCriteriaParameter<?> ) {
+				appendParameter( (JpaCriteriaParameter<?>) expression );
+			}
+			else if ( expressionClass == SqmJpaCriteriaParameterWrapper.class ) {
+				appendParameter( ( (SqmJpaCriteriaParameterWrapper<?>) expression ).getJpaCriteriaParameter() );
+			}
+			else if ( expressionClass == SqmLiteral.class ) {
+				structure.add( expression.getNodeType() );
+				structure.add( ( (SqmLiteral<?>) expression ).getLiteralValue() );
+			}
+			else if ( expressionClass == SqmLiteralNull.class ) {
+				structure.add( expression.getNodeType() );
+			}
+			else if ( expressionClass == SqmBinaryArithmetic.class ) {
+				final SqmBinaryArithmetic<?> arithmetic = (SqmBinaryArithmetic<?>) expression;
+				structure.add( arithmetic.getOperator() );
+				appendExpression( arithmetic.getLeftHandOperand() );
+				appendExpression( arithmetic.getRightHandOperand() );
+			}
+			else if ( expressionClass == SqmUnaryOperation.class ) {
+				final SqmUnaryOperation<?> operation = (SqmUnaryOperation<?>) expression;
+				structure.add( operation.getOperation() );
+				appendExpression( operation.getOperand() );
+			}
+			else if ( expressionClass == SelfRenderingSqmFunction.class
+					|| expressionClass == SelfRenderingSqmAggregateFunction.class
+					&& ( (SelfRenderingSqmAggregateFunction<?>) expression ).getFilter() == null ) {
+				final SelfRenderingSqmFunction<?> function = (SelfRenderingSqmFunction<?>) expression;
+				structure.add( function.getFunctionName() );
+				structure.add( function.getNodeType() );
+				appendExpressions( function.getArguments() );
+			}
+			else if ( expressionClass == SqmComparisonPredicate.class ) {
+				final SqmComparisonPredicate predicate = (SqmComparisonPredicate) expression;
+				structure.add( predicate.isNegated() );
+				structure.add( predicate.getSqmOperator() );
+				appendExpression( predicate.getLeftHandExpression() );
+				appendExpression( predicate.getRightHandExpression() );
+			}
+			else if ( expressionClass == SqmJunctionPredicate.class ) {
+				final SqmJunctionPredicate predicate = (SqmJunctionPredicate) expression;
+				structure.add( predicate.isNegated() );
+				structure.add( predicate.getOperator() );
+				appendExpressions( predicate.getPredicates() );
+			}
+			else if ( expressionClass == SqmNegatedPredicate.class ) {
+				final SqmNegatedPredicate predicate = (SqmNegatedPredicate) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getWrappedPredicate() );
+			}
+			else if ( expressionClass == SqmGroupedPredicate.class ) {
+				final SqmGroupedPredicate predicate = (SqmGroupedPredicate) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getSubPredicate() );
+			}
+			else if ( expressionClass == SqmNullnessPredicate.class ) {
+				final SqmNullnessPredicate predicate = (SqmNullnessPredicate) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getExpression() );
+			}
+			else if ( expressionClass == SqmLikePredicate.class ) {
+				final SqmLikePredicate predicate = (SqmLikePredicate) expression;
+				structure.add( predicate.isNegated() );
+				structure.add( predicate.isCaseSensitive() );
+				appendExpression( predicate.getMatchExpression() );
+				appendExpression( predicate.getPattern() );
+				appendNullableExpression( predicate.getEscapeCharacter() );
+			}
+			else if ( expressionClass == SqmInListPredicate.class ) {
+				final SqmInListPredicate<?> predicate = (SqmInListPredicate<?>) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getTestExpression() );
+				appendExpressions( predicate.getListExpressions() );
+			}
+			else if ( expressionClass == SqmBetweenPredicate.class ) {
+				final SqmBetweenPredicate predicate = (SqmBetweenPredicate) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getExpression() );
+				appendExpression( predicate.getLowerBound() );
+				appendExpression( predicate.getUpperBound() );
+			}
+			else if ( expressionClass == SqmBooleanExpressionPredicate.class ) {
+				final SqmBooleanExpressionPredicate predicate = (SqmBooleanExpressionPredicate) expression;
+				structure.add( predicate.isNegated() );
+				appendExpression( predicate.getBooleanExpression() );
+			}
+			else {
+				throw new UnsupportedNodeException();
+			}
+		}
+
+		private int fromPosition(SqmFrom<?, ?> from) {
+			final Integer position = fromPositions.get( from );
+			if ( position == null ) {
+				// a from node of another query, or one that is not part of the from clause
+				throw new UnsupportedNodeException();
+			}
+			return position;
+		}
+
+		private void appendParameter(JpaCriteriaParameter<?> parameter) {
+			Integer position = parameterPositions.get( parameter );
+			if ( position == null ) {
+				position = parameters.size();
+				parameters.add( parameter );
+				parameterPositions.put( parameter, position );
+			}
+			structure.add( position );
+			structure.add( parameter.getAnticipatedType() );
+			structure.add( parameter.allowsMultiValuedBinding() );
+		}
+	}
+}
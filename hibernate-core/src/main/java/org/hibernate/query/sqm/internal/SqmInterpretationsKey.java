@@ -6,14 +6,27 @@
  */
 package org.hibernate.query.sqm.internal;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
 
+import org.hibernate.Filter;
 import org.hibernate.LockOptions;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.graph.spi.AppliedGraph;
+import org.hibernate.graph.spi.AttributeNodeImplementor;
+import org.hibernate.graph.spi.GraphImplementor;
+import org.hibernate.graph.spi.SubGraphImplementor;
+import org.hibernate.internal.FilterImpl;
 import org.hibernate.query.ResultListTransformer;
 import org.hibernate.query.TupleTransformer;
 import org.hibernate.query.spi.QueryInterpretationCache;
 import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.SelectQueryPlan;
 
 import static java.lang.Boolean.TRUE;
 
@@ -30,6 +43,14 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	public interface InterpretationsKeySource extends CacheabilityInfluencers {
 		Class<?> getResultType();
+
+		/**
+		 * The structure of the statement of a criteria query, or {@code null} if
+		 * it cannot be resolved
+		 */
+		default SqmCriteriaStructure getCriteriaStructure() {
+			return null;
+		}
 	}
 
 	public static SqmInterpretationsKey createInterpretationsKey(InterpretationsKeySource keySource) {
@@ -37,35 +58,107 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 			return null;
 		}
 
+		final SqmCriteriaStructure criteriaStructure;
+		if ( QuerySqmImpl.CRITERIA_HQL_STRING.equals( keySource.getQueryString() ) ) {
+			// criteria queries are keyed by the structure of their statement, with
+			// the criteria parameters as placeholders
+			criteriaStructure = keySource.getCriteriaStructure();
+			if ( criteriaStructure == null ) {
+				return null;
+			}
+		}
+		else {
+			criteriaStructure = null;
+		}
+
+		final LoadQueryInfluencers loadQueryInfluencers = keySource.getLoadQueryInfluencers();
 		return new SqmInterpretationsKey(
 				keySource.getQueryString(),
+				criteriaStructure,
 				keySource.getResultType(),
 				keySource.getQueryOptions().getLockOptions(),
 				keySource.getQueryOptions().getTupleTransformer(),
-				keySource.getQueryOptions().getResultListTransformer()
+				keySource.getQueryOptions().getResultListTransformer(),
+				loadQueryInfluencers.hasEnabledFilters()
+						? filterFingerprint( loadQueryInfluencers.getEnabledFilters() )
+						: null,
+				loadQueryInfluencers.hasEnabledFetchProfiles()
+						? new HashSet<>( loadQueryInfluencers.getEnabledFetchProfileNames() )
+						: null,
+				graphFingerprint( keySource.getQueryOptions().getAppliedGraph() )
 		);
 	}
-	@SuppressWarnings("RedundantIfStatement")
-	private static boolean isCacheable(InterpretationsKeySource keySource) {
-		assert keySource.getQueryOptions().getAppliedGraph() != null;
 
-		if ( QuerySqmImpl.CRITERIA_HQL_STRING.equals( keySource.getQueryString() ) ) {
-			// for now at least, skip caching Criteria-based plans
-			//		- especially wrt parameters atm; this works with HQL because the parameters
-			//			are part of the query string; with Criteria, they are not.
-			return false;
+	/**
+	 * The values of the filter parameters are bound again for each execution of a
+	 * cached plan, so the key only has to include the names of the enabled filters,
+	 * and the number of values of each parameter, which determines the number of
+	 * JDBC parameters rendered for it
+	 */
+	private static Map<String, Map<String, Integer>> filterFingerprint(Map<String, Filter> enabledFilters) {
+		final Map<String, Map<String, Integer>> fingerprint = new HashMap<>( enabledFilters.size() );
+		for ( Map.Entry<String, Filter> entry : enabledFilters.entrySet() ) {
+			final Map<String, ?> parameters = ( (FilterImpl) entry.getValue() ).getParameters();
+			final Map<String, Integer> parameterShapes = new HashMap<>( parameters.size() );
+			for ( Map.Entry<String, ?> parameter : parameters.entrySet() ) {
+				parameterShapes.put( parameter.getKey(), valueCount( parameter.getValue() ) );
+			}
+			fingerprint.put( entry.getKey(), parameterShapes );
 		}
+		return fingerprint;
+	}
 
-		if ( keySource.getLoadQueryInfluencers().hasEnabledFilters() ) {
-			// At the moment we cannot cache query plan if there is filter enabled.
-			return false;
+	private static int valueCount(Object value) {
+		if ( value instanceof Collection<?> ) {
+			return ( (Collection<?>) value ).size();
+		}
+		else if ( value instanceof Iterable<?> ) {
+			int count = 0;
+			for ( Object ignored : (Iterable<?>) value ) {
+				count++;
+			}
+			return count;
 		}
+		else {
+			return -1;
+		}
+	}
 
-		if ( keySource.getQueryOptions().getAppliedGraph().getSemantic() != null ) {
-			// At the moment we cannot cache query plan if there is an
-			// EntityGraph enabled.
-			return false;
+	/**
+	 * Entity graphs are mutable and compared by identity, and the same named graph
+	 * may be applied as different copies, so the key uses a description of the
+	 * structure of the graph
+	 */
+	private static String graphFingerprint(AppliedGraph appliedGraph) {
+		if ( appliedGraph.getSemantic() == null || appliedGraph.getGraph() == null ) {
+			return null;
 		}
+		final StringBuilder fingerprint = new StringBuilder( appliedGraph.getSemantic().name() ).append( ':' );
+		appendGraph( appliedGraph.getGraph(), fingerprint );
+		return fingerprint.toString();
+	}
+
+	private static void appendGraph(GraphImplementor<?> graph, StringBuilder fingerprint) {
+		fingerprint.append( graph.getGraphedType().getTypeName() ).append( '(' );
+		for ( AttributeNodeImplementor<?> attributeNode : graph.getAttributeNodeImplementors() ) {
+			fingerprint.append( attributeNode.getAttributeName() );
+			for ( SubGraphImplementor<?> subGraph : attributeNode.getSubGraphMap().values() ) {
+				fingerprint.append( '[' );
+				appendGraph( subGraph, fingerprint );
+				fingerprint.append( ']' );
+			}
+			for ( SubGraphImplementor<?> keySubGraph : attributeNode.getKeySubGraphMap().values() ) {
+				fingerprint.append( '{' );
+				appendGraph( keySubGraph, fingerprint );
+				fingerprint.append( '}' );
+			}
+			fingerprint.append( ',' );
+		}
+		fingerprint.append( ')' );
+	}
+	@SuppressWarnings("RedundantIfStatement")
+	private static boolean isCacheable(InterpretationsKeySource keySource) {
+		assert keySource.getQueryOptions().getAppliedGraph() != null;
 
 		if ( keySource.hasMultiValuedParameterBindingsChecker().get() == TRUE ) {
 			// todo (6.0) : this one may be ok because of how I implemented multi-valued param handling
@@ -88,33 +181,50 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 
 	private final String query;
+	private final SqmCriteriaStructure criteriaStructure;
 	private final Class<?> resultType;
 	private final LockOptions lockOptions;
 	private final TupleTransformer<?> tupleTransformer;
 	private final ResultListTransformer resultListTransformer;
+	private final Map<String, Map<String, Integer>> enabledFilters;
+	private final Set<String> enabledFetchProfiles;
+	private final String appliedGraph;
 
 	private SqmInterpretationsKey(
 			String query,
+			SqmCriteriaStructure criteriaStructure,
 			Class<?> resultType,
 			LockOptions lockOptions,
 			TupleTransformer<?> tupleTransformer,
-			ResultListTransformer resultListTransformer) {
+			ResultListTransformer resultListTransformer,
+			Map<String, Map<String, Integer>> enabledFilters,
+			Set<String> enabledFetchProfiles,
+			String appliedGraph) {
 		this.query = query;
+		this.criteriaStructure = criteriaStructure;
 		this.resultType = resultType;
 		this.lockOptions = lockOptions;
 		this.tupleTransformer = tupleTransformer;
 		this.resultListTransformer = resultListTransformer;
+		this.enabledFilters = enabledFilters;
+		this.enabledFetchProfiles = enabledFetchProfiles;
+		this.appliedGraph = appliedGraph;
 	}
 
 	@Override
 	public QueryInterpretationCache.Key prepareForStore() {
 		return new SqmInterpretationsKey(
 				query,
+				criteriaStructure,
 				resultType,
 				// Since lock options are mutable, we need a copy for the cache key
 				lockOptions.makeCopy(),
 				tupleTransformer,
-				resultListTransformer
+				resultListTransformer,
+				// the filter and fetch profile fingerprints are already copies
+				enabledFilters,
+				enabledFetchProfiles,
+				appliedGraph
 		);
 	}
 
@@ -134,10 +244,14 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 		final SqmInterpretationsKey that = (SqmInterpretationsKey) o;
 		return query.equals( that.query )
+				&& areEqual( criteriaStructure, that.criteriaStructure )
 				&& areEqual( resultType, that.resultType )
 				&& areEqual( lockOptions, that.lockOptions )
 				&& areEqual( tupleTransformer, that.tupleTransformer )
-				&& areEqual( resultListTransformer, that.resultListTransformer );
+				&& areEqual( resultListTransformer, that.resultListTransformer )
+				&& areEqual( enabledFilters, that.enabledFilters )
+				&& areEqual( enabledFetchProfiles, that.enabledFetchProfiles )
+				&& areEqual( appliedGraph, that.appliedGraph );
 	}
 
 	private <T> boolean areEqual(T o1, T o2) {
@@ -151,6 +265,27 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	@Override
 	public int hashCode() {
-		return query.hashCode();
+		int result = criteriaStructure == null ? query.hashCode() : criteriaStructure.hashCode();
+		result = 31 * result + Objects.hashCode( enabledFilters );
+		result = 31 * result + Objects.hashCode( enabledFetchProfiles );
+		result = 31 * result + Objects.hashCode( appliedGraph );
+		return result;
+	}
+
+	/**
+	 * Resolve the cached plan for this key, building it if necessary.
+	 * <p/>
+	 * The plan of a criteria query is shared by the queries with the same structure,
+	 * so the creator must then build a {@link CriteriaSelectQueryPlan}, which is adapted
+	 * to the parameters of the query for which it is resolved.
+	 */
+	public <R> SelectQueryPlan<R> resolveSelectQueryPlan(
+			QueryInterpretationCache interpretationCache,
+			Supplier<SelectQueryPlan<R>> creator) {
+		final SelectQueryPlan<R> plan = interpretationCache.resolveSelectQueryPlan( this, creator );
+		if ( criteriaStructure == null ) {
+			return plan;
+		}
+		return ( (CriteriaSelectQueryPlan<R>) plan ).forParameters( criteriaStructure.getParameters() );
 	}
 }
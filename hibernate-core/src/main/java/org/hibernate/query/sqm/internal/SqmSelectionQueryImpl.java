@@ -27,7 +27,6 @@ import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.ScrollMode;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
-import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.graph.spi.AppliedGraph;
 import org.hibernate.internal.util.collections.IdentitySet;
@@ -47,7 +46,6 @@ import org.hibernate.query.spi.DomainQueryExecutionContext;
 import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.MutableQueryOptions;
 import org.hibernate.query.spi.ParameterMetadataImplementor;
-import org.hibernate.query.spi.QueryEngine;
 import org.hibernate.query.spi.QueryInterpretationCache;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.query.spi.QueryParameterBindings;
@@ -89,6 +87,9 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 	private final Class<R> resultType;
 	private final TupleMetadata tupleMetadata;
 
+	private SqmCriteriaStructure criteriaStructure;
+	private boolean criteriaStructureResolved;
+
 	public SqmSelectionQueryImpl(
 			String hql,
 			HqlInterpretation hqlInterpretation,
@@ -138,14 +139,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		this.hql = memento.getHqlString();
 		this.resultType = resultType;
 
-		final SessionFactoryImplementor factory = session.getFactory();
-		final QueryEngine queryEngine = factory.getQueryEngine();
-		final QueryInterpretationCache interpretationCache = queryEngine.getInterpretationCache();
-		final HqlInterpretation hqlInterpretation = interpretationCache.resolveHqlInterpretation(
-				hql,
-				resultType,
-				(s) -> queryEngine.getHqlTranslator().translate( hql, resultType )
-		);
+		final HqlInterpretation hqlInterpretation = memento.resolveHqlInterpretation( resultType, session );
 
 		SqmUtil.verifyIsSelectStatement( hqlInterpretation.getSqmStatement(), hql );
 		//noinspection unchecked
@@ -292,7 +286,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 			executionContextToUse = this;
 		}
 
-		final List<R> list = resolveQueryPlan().performList( executionContextToUse );
+		final List<R> list = performList( resolveQueryPlan(), executionContextToUse );
 
 		if ( needsDistinct ) {
 			int includedCount = -1;
@@ -328,7 +322,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 	protected ScrollableResultsImplementor<R> doScroll(ScrollMode scrollMode) {
 		getSession().prepareForQueryExecution( requiresTxn( getQueryOptions().getLockOptions().findGreatestLockMode() ) );
 
-		return resolveQueryPlan().performScroll( scrollMode, this );
+		return performScroll( resolveQueryPlan(), scrollMode, this );
 	}
 
 
@@ -336,11 +330,11 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 	// Query plan
 
 	private SelectQueryPlan<R> resolveQueryPlan() {
-		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
+		final SqmInterpretationsKey cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
 		if ( cacheKey != null ) {
-			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
-					cacheKey,
-					this::buildQueryPlan
+			return cacheKey.resolveSelectQueryPlan(
+					getSession().getFactory().getQueryEngine().getInterpretationCache(),
+					this::buildCacheableQueryPlan
 			);
 		}
 		else {
@@ -348,21 +342,46 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		}
 	}
 
+	private SelectQueryPlan<R> buildCacheableQueryPlan() {
+		if ( CRITERIA_HQL_STRING.equals( getQueryString() ) ) {
+			return CriteriaSelectQueryPlan.create(
+					sqm,
+					getDomainParameterXref(),
+					getSession().isCriteriaCopyTreeEnabled(),
+					this::buildQueryPlan
+			);
+		}
+		return buildQueryPlan();
+	}
+
 	private SelectQueryPlan<R> buildQueryPlan() {
+		return buildQueryPlan( sqm, getDomainParameterXref() );
+	}
+
+	private SelectQueryPlan<R> buildQueryPlan(
+			SqmSelectStatement<R> sqmStatement,
+			DomainParameterXref domainParameterXref) {
 		final SqmSelectStatement<?>[] concreteSqmStatements = QuerySplitter.split(
-				(SqmSelectStatement<?>) getSqmStatement(),
+				sqmStatement,
 				getSession().getFactory()
 		);
 
 		if ( concreteSqmStatements.length > 1 ) {
-			return buildAggregatedQueryPlan( concreteSqmStatements );
+			return buildAggregatedQueryPlan( concreteSqmStatements, domainParameterXref );
 		}
 		else {
-			return buildConcreteQueryPlan( concreteSqmStatements[0], getResultType(), getQueryOptions() );
+			return buildConcreteQueryPlan(
+					concreteSqmStatements[0],
+					domainParameterXref,
+					getResultType(),
+					getQueryOptions()
+			);
 		}
 	}
 
-	private SelectQueryPlan<R> buildAggregatedQueryPlan(SqmSelectStatement<?>[] concreteSqmStatements) {
+	private SelectQueryPlan<R> buildAggregatedQueryPlan(
+			SqmSelectStatement<?>[] concreteSqmStatements,
+			DomainParameterXref domainParameterXref) {
 		//noinspection unchecked
 		final SelectQueryPlan<R>[] aggregatedQueryPlans = new SelectQueryPlan[ concreteSqmStatements.length ];
 
@@ -371,6 +390,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		for ( int i = 0, x = concreteSqmStatements.length; i < x; i++ ) {
 			aggregatedQueryPlans[i] = buildConcreteQueryPlan(
 					concreteSqmStatements[i],
+					domainParameterXref,
 					getResultType(),
 					getQueryOptions()
 			);
@@ -381,12 +401,13 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 
 	private <T> SelectQueryPlan<T> buildConcreteQueryPlan(
 			SqmSelectStatement<?> concreteSqmStatement,
+			DomainParameterXref domainParameterXref,
 			Class<T> resultType,
 			QueryOptions queryOptions) {
 		return new ConcreteSqmSelectQueryPlan<>(
 				concreteSqmStatement,
 				getQueryString(),
-				getDomainParameterXref(),
+				domainParameterXref,
 				resultType,
 				tupleMetadata,
 				queryOptions
@@ -408,6 +429,15 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		return getSession().getLoadQueryInfluencers();
 	}
 
+	@Override
+	public SqmCriteriaStructure getCriteriaStructure() {
+		if ( !criteriaStructureResolved ) {
+			criteriaStructure = SqmCriteriaStructure.from( sqm );
+			criteriaStructureResolved = true;
+		}
+		return criteriaStructure;
+	}
+
 	@Override
 	public Supplier<Boolean> hasMultiValuedParameterBindingsChecker() {
 		return this::hasMultiValuedParameterBindings;
@@ -505,6 +535,19 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		getQueryOptions().setReadOnly( readOnly );
 		return this;
 	}
+
+	@Override
+	public SqmSelectionQuery<R> setDetached(boolean detached) {
+		super.setDetached( detached );
+		return this;
+	}
+
+	@Override
+	public SqmSelectionQuery<R> setEvictOnScroll(boolean evictOnScroll) {
+		super.setEvictOnScroll( evictOnScroll );
+		return this;
+	}
+
 	@Override
 	public CacheMode getCacheMode() {
 		return getQueryOptions().getCacheMode();
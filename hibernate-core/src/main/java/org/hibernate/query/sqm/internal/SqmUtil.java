@@ -192,10 +192,30 @@ public class SqmUtil {
 			Function<NavigablePath, TableGroup> tableGroupLocator,
 			SqmParameterMappingModelResolutionAccess mappingModelResolutionAccess,
 			SharedSessionContractImplementor session) {
-		final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl(
-				domainParameterXref.getSqmParameterCount()
+		return createJdbcParameterBindings(
+				domainParamBindings,
+				domainParameterXref,
+				jdbcParamXref,
+				domainModel,
+				tableGroupLocator,
+				mappingModelResolutionAccess,
+				session,
+				new JdbcParameterBindingsImpl( domainParameterXref.getSqmParameterCount() )
 		);
+	}
 
+	/**
+	 * Create the JDBC parameter bindings into the given, empty, {@code jdbcParameterBindings}
+	 */
+	public static JdbcParameterBindings createJdbcParameterBindings(
+			QueryParameterBindings domainParamBindings,
+			DomainParameterXref domainParameterXref,
+			Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<List<JdbcParameter>>>> jdbcParamXref,
+			MappingMetamodel domainModel,
+			Function<NavigablePath, TableGroup> tableGroupLocator,
+			SqmParameterMappingModelResolutionAccess mappingModelResolutionAccess,
+			SharedSessionContractImplementor session,
+			JdbcParameterBindings jdbcParameterBindings) {
 		for ( Map.Entry<QueryParameterImplementor<?>, List<SqmParameter<?>>> entry :
 				domainParameterXref.getSqmParamByQueryParam().entrySet() ) {
 			final QueryParameterImplementor<?> queryParam = entry.getKey();
@@ -720,10 +720,18 @@ public abstract class AbstractSqlAstTranslator<T extends JdbcOperation> implemen
 				getAppliedParameterBindings(),
 				getJdbcLockStrategy(),
 				getOffsetParameter(),
-				getLimitParameter()
+				getLimitParameter(),
+				getRowKeyParameter( sqlAstSelect )
 		);
 	}
 
+	protected JdbcParameter getRowKeyParameter(SelectStatement sqlAstSelect) {
+		if ( getSessionFactory().getSessionFactoryOptions().getQueryCacheInvalidationBuckets() > 0 ) {
+			return RowKeyRestrictionChecker.resolveRowKeyParameter( sqlAstSelect );
+		}
+		return null;
+	}
+
 	protected int getRowsToSkip(SelectStatement sqlAstSelect, JdbcParameterBindings jdbcParameterBindings) {
 		if ( hasLimit() ) {
 			if ( offsetParameter != null && needsRowsToSkip() ) {
@@ -0,0 +1,224 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.spi;
+
+import java.util.List;
+
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.persister.internal.SqlFragmentPredicate;
+import org.hibernate.query.sqm.ComparisonOperator;
+import org.hibernate.query.sqm.sql.internal.SqmParameterInterpretation;
+import org.hibernate.sql.ast.tree.expression.Any;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Every;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.sql.ast.tree.expression.JdbcParameter;
+import org.hibernate.sql.ast.tree.from.FunctionTableReference;
+import org.hibernate.sql.ast.tree.from.QueryPartTableReference;
+import org.hibernate.sql.ast.tree.from.TableGroup;
+import org.hibernate.sql.ast.tree.from.TableGroupJoin;
+import org.hibernate.sql.ast.tree.from.TableReference;
+import org.hibernate.sql.ast.tree.from.ValuesTableReference;
+import org.hibernate.sql.ast.tree.predicate.ComparisonPredicate;
+import org.hibernate.sql.ast.tree.predicate.FilterPredicate;
+import org.hibernate.sql.ast.tree.predicate.Junction;
+import org.hibernate.sql.ast.tree.predicate.Predicate;
+import org.hibernate.sql.ast.tree.select.QueryGroup;
+import org.hibernate.sql.ast.tree.select.QuerySpec;
+import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.type.BasicType;
+
+/**
+ * A walker that checks whether a select statement only reads the rows of a single
+ * entity identified by a parameter, that is, whether it has a single root entity,
+ * whose identifier is restricted to be equal to a parameter, and no joins, subqueries
+ * or SQL fragments that could read any other row.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+ */
+public class RowKeyRestrictionChecker extends AbstractSqlAstWalker {
+
+	private static class OtherRowsException extends RuntimeException {}
+
+	private int querySpecCount;
+
+	private RowKeyRestrictionChecker() {
+	}
+
+	/**
+	 * Resolve the parameter the identifier of the single root entity of the statement is
+	 * restricted to.
+	 *
+	 * @return The parameter, or {@code null} if the statement may read other rows
+	 */
+	public static JdbcParameter resolveRowKeyParameter(SelectStatement statement) {
+		if ( !statement.getCteStatements().isEmpty() || !( statement.getQueryPart() instanceof QuerySpec ) ) {
+			return null;
+		}
+		final QuerySpec querySpec = (QuerySpec) statement.getQueryPart();
+		final List<TableGroup> roots = querySpec.getFromClause().getRoots();
+		if ( roots.size() != 1 ) {
+			return null;
+		}
+		final JdbcParameter parameter = resolveRowKeyParameter( roots.get( 0 ), querySpec.getWhereClauseRestrictions() );
+		if ( parameter == null ) {
+			return null;
+		}
+		try {
+			statement.accept( new RowKeyRestrictionChecker() );
+			return parameter;
+		}
+		catch (OtherRowsException ex) {
+			return null;
+		}
+	}
+
+	private static JdbcParameter resolveRowKeyParameter(TableGroup root, Predicate restriction) {
+		if ( !( root.getModelPart() instanceof EntityMappingType ) ) {
+			return null;
+		}
+		final EntityIdentifierMapping identifierMapping = ( (EntityMappingType) root.getModelPart() ).getIdentifierMapping();
+		if ( !( identifierMapping instanceof BasicEntityIdentifierMapping ) ) {
+			return null;
+		}
+		final BasicEntityIdentifierMapping basicIdentifierMapping = (BasicEntityIdentifierMapping) identifierMapping;
+		final JdbcMapping jdbcMapping = basicIdentifierMapping.getJdbcMapping();
+		// the bound value must be the identifier itself
+		if ( !( jdbcMapping instanceof BasicType<?> ) || ( (BasicType<?>) jdbcMapping ).getValueConverter() != null ) {
+			return null;
+		}
+		final TableReference tableReference = root.getTableReference( basicIdentifierMapping.getContainingTableExpression() );
+		if ( tableReference == null ) {
+			return null;
+		}
+
+		if ( restriction instanceof Junction ) {
+			final Junction junction = (Junction) restriction;
+			if ( junction.getNature() == Junction.Nature.CONJUNCTION ) {
+				for ( Predicate predicate : junction.getPredicates() ) {
+					final JdbcParameter parameter = resolveRowKeyParameter(
+							predicate,
+							tableReference.getIdentificationVariable(),
+							basicIdentifierMapping.getSelectionExpression()
+					);
+					if ( parameter != null ) {
+						return parameter;
+					}
+				}
+			}
+			return null;
+		}
+		return resolveRowKeyParameter(
+				restriction,
+				tableReference.getIdentificationVariable(),
+				basicIdentifierMapping.getSelectionExpression()
+		);
+	}
+
+	private static JdbcParameter resolveRowKeyParameter(Predicate predicate, String qualifier, String column) {
+		if ( !( predicate instanceof ComparisonPredicate ) ) {
+			return null;
+		}
+		final ComparisonPredicate comparison = (ComparisonPredicate) predicate;
+		if ( comparison.getOperator() != ComparisonOperator.EQUAL ) {
+			return null;
+		}
+		if ( isColumn( comparison.getLeftHandExpression(), qualifier, column ) ) {
+			return asParameter( comparison.getRightHandExpression() );
+		}
+		if ( isColumn( comparison.getRightHandExpression(), qualifier, column ) ) {
+			return asParameter( comparison.getLeftHandExpression() );
+		}
+		return null;
+	}
+
+	private static JdbcParameter asParameter(Expression expression) {
+		final Expression resolvedExpression = expression instanceof SqmParameterInterpretation
+				? ( (SqmParameterInterpretation) expression ).getResolvedExpression()
+				: expression;
+		return resolvedExpression instanceof JdbcParameter ? (JdbcParameter) resolvedExpression : null;
+	}
+
+	private static boolean isColumn(Expression expression, String qualifier, String column) {
+		if ( expression instanceof ColumnReference ) {
+			final ColumnReference columnReference = (ColumnReference) expression;
+			return !columnReference.isColumnExpressionFormula()
+					&& column.equals( columnReference.getColumnExpression() )
+					&& qualifier != null && qualifier.equals( columnReference.getQualifier() );
+		}
+		return false;
+	}
+
+	@Override
+	public void visitQuerySpec(QuerySpec querySpec) {
+		if ( ++querySpecCount > 1 ) {
+			throw new OtherRowsException();
+		}
+		super.visitQuerySpec( querySpec );
+	}
+
+	@Override
+	public void visitQueryGroup(QueryGroup queryGroup) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitTableGroupJoin(TableGroupJoin tableGroupJoin) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitColumnReference(ColumnReference columnReference) {
+		// a formula may contain a subquery
+		if ( columnReference.isColumnExpressionFormula() ) {
+			throw new OtherRowsException();
+		}
+	}
+
+	@Override
+	public void visitAny(Any any) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitEvery(Every every) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitFilterPredicate(FilterPredicate filterPredicate) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitFilterFragmentPredicate(FilterPredicate.FilterFragmentPredicate fragmentPredicate) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitSqlFragmentPredicate(SqlFragmentPredicate predicate) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitValuesTableReference(ValuesTableReference tableReference) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitQueryPartTableReference(QueryPartTableReference tableReference) {
+		throw new OtherRowsException();
+	}
+
+	@Override
+	public void visitFunctionTableReference(FunctionTableReference tableReference) {
+		throw new OtherRowsException();
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.ast.tree.expression;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.JdbcMappingContainer;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+
+/**
+ * The elements of an array, as the right-hand side of a quantified comparison
+ * like {@code value = any(?)}.
+ *
+ * @see org.hibernate.dialect.Dialect#supportsArrayAnyComparison()
+ */
+public class AnyOfArray implements SelfRenderingExpression {
+
+	private final Expression array;
+	private final JdbcMappingContainer elementType;
+
+	public AnyOfArray(Expression array, JdbcMappingContainer elementType) {
+		this.array = array;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public void renderToSql(SqlAppender sqlAppender, SqlAstTranslator<?> walker, SessionFactoryImplementor sessionFactory) {
+		sqlAppender.appendSql( "any(" );
+		walker.render( array, SqlAstNodeRenderingMode.DEFAULT );
+		sqlAppender.appendSql( ')' );
+	}
+
+	@Override
+	public JdbcMappingContainer getExpressionType() {
+		return elementType;
+	}
+
+	public Expression getArray() {
+		return array;
+	}
+}
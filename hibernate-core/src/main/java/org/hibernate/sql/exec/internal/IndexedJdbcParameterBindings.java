@@ -0,0 +1,130 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.hibernate.sql.ast.tree.expression.JdbcParameter;
+import org.hibernate.sql.exec.spi.JdbcParameterBinding;
+import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+
+/**
+ * JdbcParameterBindings for the JDBC parameters of a cached translation, whose bindings are
+ * held in an array indexed by the position of the parameter in an {@link Index} built once
+ * for the translation, rather than in a map created for each execution.
+ * <p/>
+ * Bindings for parameters which are not part of the index are kept separately.
+ */
+public class IndexedJdbcParameterBindings implements JdbcParameterBindings {
+	private final Index index;
+	private final JdbcParameterBinding[] bindings;
+	private JdbcParameterBindingsImpl additionalBindings;
+
+	public IndexedJdbcParameterBindings(Index index) {
+		this.index = index;
+		this.bindings = new JdbcParameterBinding[ index.parameters.length ];
+	}
+
+	@Override
+	public void addBinding(JdbcParameter parameter, JdbcParameterBinding binding) {
+		final int position = index.positionOf( parameter );
+		if ( position < 0 ) {
+			if ( additionalBindings == null ) {
+				additionalBindings = new JdbcParameterBindingsImpl( 1 );
+			}
+			additionalBindings.addBinding( parameter, binding );
+		}
+		else {
+			bindings[position] = binding;
+		}
+	}
+
+	@Override
+	public Collection<JdbcParameterBinding> getBindings() {
+		final List<JdbcParameterBinding> result = new ArrayList<>( bindings.length );
+		for ( JdbcParameterBinding binding : bindings ) {
+			if ( binding != null ) {
+				result.add( binding );
+			}
+		}
+		if ( additionalBindings != null ) {
+			result.addAll( additionalBindings.getBindings() );
+		}
+		return result;
+	}
+
+	@Override
+	public JdbcParameterBinding getBinding(JdbcParameter parameter) {
+		final int position = index.positionOf( parameter );
+		if ( position < 0 ) {
+			return additionalBindings == null ? null : additionalBindings.getBinding( parameter );
+		}
+		return bindings[position];
+	}
+
+	@Override
+	public void visitBindings(BiConsumer<JdbcParameter, JdbcParameterBinding> action) {
+		for ( int i = 0; i < bindings.length; i++ ) {
+			if ( bindings[i] != null ) {
+				action.accept( index.parameters[i], bindings[i] );
+			}
+		}
+		if ( additionalBindings != null ) {
+			additionalBindings.visitBindings( action );
+		}
+	}
+
+	/**
+	 * The positions of a fixed set of JDBC parameters.
+	 * <p/>
+	 * Small sets are searched linearly by identity, which is cheaper than hashing.
+	 */
+	public static final class Index {
+		private static final int LINEAR_SEARCH_LIMIT = 8;
+
+		public static final Index EMPTY = new Index( Collections.emptyList() );
+
+		private final JdbcParameter[] parameters;
+		private final Map<JdbcParameter, Integer> positions;
+
+		public Index(Collection<? extends JdbcParameter> parameters) {
+			this.parameters = parameters.toArray( new JdbcParameter[0] );
+			if ( this.parameters.length > LINEAR_SEARCH_LIMIT ) {
+				positions = new IdentityHashMap<>( this.parameters.length );
+				for ( int i = 0; i < this.parameters.length; i++ ) {
+					positions.put( this.parameters[i], i );
+				}
+			}
+			else {
+				positions = null;
+			}
+		}
+
+		public int size() {
+			return parameters.length;
+		}
+
+		int positionOf(JdbcParameter parameter) {
+			if ( positions == null ) {
+				for ( int i = 0; i < parameters.length; i++ ) {
+					if ( parameters[i] == parameter ) {
+						return i;
+					}
+				}
+				return -1;
+			}
+			final Integer position = positions.get( parameter );
+			return position == null ? -1 : position;
+		}
+	}
+}
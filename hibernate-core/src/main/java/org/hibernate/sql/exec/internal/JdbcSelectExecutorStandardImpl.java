@@ -37,12 +37,15 @@ import org.hibernate.query.spi.Limit;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.query.spi.QueryParameterBindings;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.sql.ast.tree.expression.JdbcParameter;
 import org.hibernate.sql.exec.SqlExecLogger;
 import org.hibernate.sql.exec.spi.Callback;
 import org.hibernate.sql.exec.spi.ExecutionContext;
+import org.hibernate.sql.exec.spi.JdbcParameterBinding;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.exec.spi.JdbcSelectExecutor;
+import org.hibernate.sql.results.caching.internal.ColumnarQueryResults;
 import org.hibernate.sql.results.graph.DomainResult;
 import org.hibernate.sql.results.internal.ResultsHelper;
 import org.hibernate.sql.results.internal.RowProcessingStateStandardImpl;
@@ -346,6 +349,7 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 				jdbcSelect,
 				resultsConsumer.canResultsBeCached(),
 				executionContext,
+				jdbcParameterBindings,
 				deferredResultSetAccess
 		);
 
@@ -468,6 +472,7 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 			JdbcSelect jdbcSelect,
 			boolean canBeCached,
 			ExecutionContext executionContext,
+			JdbcParameterBindings jdbcParameterBindings,
 			ResultSetAccess resultSetAccess) {
 		final SharedSessionContractImplementor session = executionContext.getSession();
 		final SessionFactoryImplementor factory = session.getFactory();
@@ -498,10 +503,11 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 					jdbcSelect.getSql(),
 					executionContext.getQueryOptions().getLimit(),
 					executionContext.getQueryParameterBindings(),
+					resolveRowKey( jdbcSelect, jdbcParameterBindings ),
 					session
 			);
 
-			cachedResults = queryCache.get(
+			List<?> results = queryCache.get(
 					// todo (6.0) : QueryCache#get takes the `queryResultsCacheKey` see tat discussion above
 					queryResultsCacheKey,
 					// todo (6.0) : `querySpaces` and `session` make perfect sense as args, but its odd passing those into this method just to pass along
@@ -509,6 +515,22 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 					querySpaces,
 					session
 			);
+			final boolean refresh;
+			if ( results == null ) {
+				refresh = false;
+				if ( !queryCache.startLoad( queryResultsCacheKey, session ) ) {
+					// another session ran the same query meanwhile, and hopefully cached its results
+					results = queryCache.get( queryResultsCacheKey, querySpaces, session );
+				}
+			}
+			else {
+				// the cached results are refreshed by running the query as if they had not been found
+				refresh = queryCache.isRefreshDue( queryResultsCacheKey, session );
+				if ( refresh ) {
+					results = null;
+				}
+			}
+			cachedResults = results;
 
 			// todo (6.0) : `querySpaces` and `session` are used in QueryCache#get to verify "up-to-dateness" via UpdateTimestampsCache
 			//		better imo to move UpdateTimestampsCache handling here and have QueryCache be a simple access to
@@ -518,7 +540,7 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 			//		invalidation strategies - QueryCacheInvalidationStrategy
 
 			final StatisticsImplementor statistics = factory.getStatistics();
-			if ( statistics.isStatisticsEnabled() ) {
+			if ( statistics.isStatisticsEnabled() && !refresh ) {
 				if ( cachedResults == null ) {
 					statistics.queryCacheMiss( queryIdentifier, queryCache.getRegion().getName() );
 				}
@@ -538,6 +560,7 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 						jdbcSelect.getSql(),
 						executionContext.getQueryOptions().getLimit(),
 						executionContext.getQueryParameterBindings(),
+						resolveRowKey( jdbcSelect, jdbcParameterBindings ),
 						session
 				);
 			}
@@ -547,28 +570,39 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 		}
 
 		if ( cachedResults == null ) {
-			final JdbcValuesMetadata metadataForCache;
-			final JdbcValuesMapping jdbcValuesMapping;
-			if ( queryResultsCacheKey == null ) {
-				jdbcValuesMapping = mappingProducer.resolve( resultSetAccess, factory );
-				metadataForCache = null;
+			try {
+				final JdbcValuesMetadata metadataForCache;
+				final JdbcValuesMapping jdbcValuesMapping;
+				if ( queryResultsCacheKey == null ) {
+					jdbcValuesMapping = mappingProducer.resolve( resultSetAccess, factory );
+					metadataForCache = null;
+				}
+				else {
+					// If we need to put the values into the cache, we need to be able to capture the JdbcValuesMetadata
+					final CapturingJdbcValuesMetadata capturingMetadata = new CapturingJdbcValuesMetadata( resultSetAccess );
+					jdbcValuesMapping = mappingProducer.resolve( capturingMetadata, factory );
+					metadataForCache = capturingMetadata.resolveMetadataForCache();
+				}
+
+				return new JdbcValuesResultSetImpl(
+						resultSetAccess,
+						queryResultsCacheKey,
+						queryIdentifier,
+						executionContext.getQueryOptions(),
+						jdbcValuesMapping,
+						metadataForCache,
+						executionContext
+				);
 			}
-			else {
-				// If we need to put the values into the cache, we need to be able to capture the JdbcValuesMetadata
-				final CapturingJdbcValuesMetadata capturingMetadata = new CapturingJdbcValuesMetadata( resultSetAccess );
-				jdbcValuesMapping = mappingProducer.resolve( capturingMetadata, factory );
-				metadataForCache = capturingMetadata.resolveMetadataForCache();
+			catch (RuntimeException e) {
+				if ( queryResultsCacheKey != null ) {
+					// the results will not be cached, so the sessions waiting for them need not wait any longer
+					factory.getCache()
+							.getQueryResultsCache( executionContext.getQueryOptions().getResultCacheRegionName() )
+							.endLoad( queryResultsCacheKey, session );
+				}
+				throw e;
 			}
-
-			return new JdbcValuesResultSetImpl(
-					resultSetAccess,
-					queryResultsCacheKey,
-					queryIdentifier,
-					executionContext.getQueryOptions(),
-					jdbcValuesMapping,
-					metadataForCache,
-					executionContext
-			);
 		}
 		else {
 			final JdbcValuesMapping jdbcValuesMapping;
@@ -578,10 +612,25 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 			else {
 				jdbcValuesMapping = mappingProducer.resolve( (JdbcValuesMetadata) cachedResults.get( 0 ), factory );
 			}
+			if ( cachedResults instanceof ColumnarQueryResults ) {
+				return new JdbcValuesCacheHit( (ColumnarQueryResults) cachedResults, jdbcValuesMapping );
+			}
 			return new JdbcValuesCacheHit( cachedResults, jdbcValuesMapping );
 		}
 	}
 
+	private static Serializable resolveRowKey(JdbcSelect jdbcSelect, JdbcParameterBindings jdbcParameterBindings) {
+		final JdbcParameter rowKeyParameter = jdbcSelect.getRowKeyParameter();
+		if ( rowKeyParameter == null || jdbcParameterBindings == null ) {
+			return null;
+		}
+		final JdbcParameterBinding binding = jdbcParameterBindings.getBinding( rowKeyParameter );
+		if ( binding == null || !( binding.getBindValue() instanceof Serializable ) ) {
+			return null;
+		}
+		return (Serializable) binding.getBindValue();
+	}
+
 	private static class CapturingJdbcValuesMetadata implements JdbcValuesMetadata {
 		private final ResultSetAccess resultSetAccess;
 		private String[] columnNames;
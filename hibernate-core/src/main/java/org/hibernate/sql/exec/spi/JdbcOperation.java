@@ -7,8 +7,10 @@
 package org.hibernate.sql.exec.spi;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.Filter;
 import org.hibernate.internal.FilterJdbcParameter;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.query.spi.QueryOptions;
@@ -49,4 +51,21 @@ public interface JdbcOperation {
 			}
 		}
 	}
+
+	/**
+	 * Bind the current values of the parameters of the given enabled filters, for
+	 * the execution of a cached operation
+	 */
+	default void bindFilterJdbcParameters(
+			JdbcParameterBindings jdbcParameterBindings,
+			Map<String, Filter> enabledFilters) {
+		if ( CollectionHelper.isNotEmpty( getFilterJdbcParameters() ) ) {
+			for ( FilterJdbcParameter filterJdbcParameter : getFilterJdbcParameters() ) {
+				jdbcParameterBindings.addBinding(
+						filterJdbcParameter.getParameter(),
+						filterJdbcParameter.getBinding( enabledFilters )
+				);
+			}
+		}
+	}
 }
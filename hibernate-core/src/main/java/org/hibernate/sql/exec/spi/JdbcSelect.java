@@ -29,6 +29,7 @@ public class JdbcSelect extends AbstractJdbcOperation {
 	private final JdbcParameter offsetParameter;
 	private final JdbcParameter limitParameter;
 	private final JdbcLockStrategy jdbcLockStrategy;
+	private final JdbcParameter rowKeyParameter;
 
 	public JdbcSelect(
 			String sql,
@@ -63,6 +64,35 @@ public class JdbcSelect extends AbstractJdbcOperation {
 			JdbcLockStrategy jdbcLockStrategy,
 			JdbcParameter offsetParameter,
 			JdbcParameter limitParameter) {
+		this(
+				sql,
+				parameterBinders,
+				jdbcValuesMappingProducer,
+				affectedTableNames,
+				filterJdbcParameters,
+				rowsToSkip,
+				maxRows,
+				appliedParameters,
+				jdbcLockStrategy,
+				offsetParameter,
+				limitParameter,
+				null
+		);
+	}
+
+	public JdbcSelect(
+			String sql,
+			List<JdbcParameterBinder> parameterBinders,
+			JdbcValuesMappingProducer jdbcValuesMappingProducer,
+			Set<String> affectedTableNames,
+			Set<FilterJdbcParameter> filterJdbcParameters,
+			int rowsToSkip,
+			int maxRows,
+			Map<JdbcParameter, JdbcParameterBinding> appliedParameters,
+			JdbcLockStrategy jdbcLockStrategy,
+			JdbcParameter offsetParameter,
+			JdbcParameter limitParameter,
+			JdbcParameter rowKeyParameter) {
 		super( sql, parameterBinders, affectedTableNames, filterJdbcParameters, appliedParameters );
 		this.jdbcValuesMappingProducer = jdbcValuesMappingProducer;
 		this.rowsToSkip = rowsToSkip;
@@ -70,6 +100,7 @@ public class JdbcSelect extends AbstractJdbcOperation {
 		this.jdbcLockStrategy = jdbcLockStrategy;
 		this.offsetParameter = offsetParameter;
 		this.limitParameter = limitParameter;
+		this.rowKeyParameter = rowKeyParameter;
 	}
 
 	public JdbcValuesMappingProducer getJdbcValuesMappingProducer() {
@@ -100,6 +131,16 @@ public class JdbcSelect extends AbstractJdbcOperation {
 		return jdbcLockStrategy;
 	}
 
+	/**
+	 * The parameter the identifier of the single entity read by this select is bound to,
+	 * if the query cache invalidates results by row key.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS
+	 */
+	public JdbcParameter getRowKeyParameter() {
+		return rowKeyParameter;
+	}
+
 	@Override
 	public boolean isCompatibleWith(JdbcParameterBindings jdbcParameterBindings, QueryOptions queryOptions) {
 		if ( !appliedParameters.isEmpty() ) {
@@ -0,0 +1,304 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.results.caching.internal;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
+
+/**
+ * An immutable, column-oriented representation of the query results put into
+ * the query cache.
+ * <p/>
+ * Viewed as a {@link List}, it has the same elements as the list of rows it was
+ * created from: the {@link JdbcValuesMetadata}, if any, followed by one
+ * {@code Object[]} for each row. Each row is materialized on access though, and
+ * the cache hit reads the values through {@link #getValue(int, int)} instead.
+ * <p/>
+ * The values of a column holding only integers, longs, doubles or booleans are
+ * stored in a primitive array, along with a bitmap of the null values. The values
+ * of a column holding only strings are dictionary-encoded. Any other column is
+ * stored as an array of objects.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_COLUMNAR_QUERY_CACHE
+ */
+public final class ColumnarQueryResults extends AbstractList<Object> implements RandomAccess, Serializable {
+	private final JdbcValuesMetadata metadata;
+	private final int rowCount;
+	private final Column[] columns;
+
+	private ColumnarQueryResults(JdbcValuesMetadata metadata, int rowCount, Column[] columns) {
+		this.metadata = metadata;
+		this.rowCount = rowCount;
+		this.columns = columns;
+	}
+
+	/**
+	 * Create the columnar representation of the given results, as built by
+	 * {@link QueryCachePutManagerEnabledImpl}.
+	 *
+	 * @return The columnar results, or {@code null} if the results are not
+	 * a list of rows of the same length
+	 */
+	public static ColumnarQueryResults from(List<?> results) {
+		final int offset;
+		final JdbcValuesMetadata metadata;
+		if ( !results.isEmpty() && results.get( 0 ) instanceof JdbcValuesMetadata ) {
+			if ( !( results.get( 0 ) instanceof Serializable ) ) {
+				return null;
+			}
+			metadata = (JdbcValuesMetadata) results.get( 0 );
+			offset = 1;
+		}
+		else {
+			metadata = null;
+			offset = 0;
+		}
+
+		final int rowCount = results.size() - offset;
+		final Object[][] rows = new Object[rowCount][];
+		for ( int i = 0; i < rowCount; i++ ) {
+			final Object row = results.get( i + offset );
+			if ( !( row instanceof Object[] ) ) {
+				return null;
+			}
+			rows[i] = (Object[]) row;
+			if ( rows[i].length != rows[0].length ) {
+				return null;
+			}
+		}
+
+		final int columnCount = rowCount == 0 ? 0 : rows[0].length;
+		final Column[] columns = new Column[columnCount];
+		for ( int i = 0; i < columnCount; i++ ) {
+			columns[i] = createColumn( rows, i );
+		}
+		return new ColumnarQueryResults( metadata, rowCount, columns );
+	}
+
+	private static Column createColumn(Object[][] rows, int column) {
+		Class<?> valueClass = null;
+		for ( Object[] row : rows ) {
+			final Object value = row[column];
+			if ( value != null ) {
+				if ( valueClass == null ) {
+					valueClass = value.getClass();
+				}
+				else if ( valueClass != value.getClass() ) {
+					return new ObjectColumn( rows, column );
+				}
+			}
+		}
+
+		if ( valueClass == Integer.class ) {
+			return new IntColumn( rows, column );
+		}
+		else if ( valueClass == Long.class ) {
+			return new LongColumn( rows, column );
+		}
+		else if ( valueClass == Double.class ) {
+			return new DoubleColumn( rows, column );
+		}
+		else if ( valueClass == Boolean.class ) {
+			return new BooleanColumn( rows, column );
+		}
+		else if ( valueClass == String.class ) {
+			return new StringColumn( rows, column );
+		}
+		else {
+			return new ObjectColumn( rows, column );
+		}
+	}
+
+	public JdbcValuesMetadata getMetadata() {
+		return metadata;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * Get the value of the given column of the given row, both zero-based
+	 */
+	public Object getValue(int row, int column) {
+		return columns[column].get( row );
+	}
+
+	/**
+	 * Materialize the given zero-based row
+	 */
+	public Object[] getRow(int row) {
+		final Object[] values = new Object[columns.length];
+		for ( int i = 0; i < columns.length; i++ ) {
+			values[i] = columns[i].get( row );
+		}
+		return values;
+	}
+
+	@Override
+	public Object get(int index) {
+		if ( metadata == null ) {
+			return getRow( index );
+		}
+		else {
+			return index == 0 ? metadata : getRow( index - 1 );
+		}
+	}
+
+	@Override
+	public int size() {
+		return metadata == null ? rowCount : rowCount + 1;
+	}
+
+	private interface Column extends Serializable {
+		Object get(int row);
+	}
+
+	private static BitSet nulls(Object[][] rows, int column) {
+		final BitSet nulls = new BitSet();
+		for ( int i = 0; i < rows.length; i++ ) {
+			if ( rows[i][column] == null ) {
+				nulls.set( i );
+			}
+		}
+		return nulls.isEmpty() ? null : nulls;
+	}
+
+	private static final class IntColumn implements Column {
+		private final int[] values;
+		private final BitSet nulls;
+
+		private IntColumn(Object[][] rows, int column) {
+			this.values = new int[rows.length];
+			this.nulls = nulls( rows, column );
+			for ( int i = 0; i < rows.length; i++ ) {
+				if ( rows[i][column] != null ) {
+					values[i] = (Integer) rows[i][column];
+				}
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			return nulls != null && nulls.get( row ) ? null : values[row];
+		}
+	}
+
+	private static final class LongColumn implements Column {
+		private final long[] values;
+		private final BitSet nulls;
+
+		private LongColumn(Object[][] rows, int column) {
+			this.values = new long[rows.length];
+			this.nulls = nulls( rows, column );
+			for ( int i = 0; i < rows.length; i++ ) {
+				if ( rows[i][column] != null ) {
+					values[i] = (Long) rows[i][column];
+				}
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			return nulls != null && nulls.get( row ) ? null : values[row];
+		}
+	}
+
+	private static final class DoubleColumn implements Column {
+		private final double[] values;
+		private final BitSet nulls;
+
+		private DoubleColumn(Object[][] rows, int column) {
+			this.values = new double[rows.length];
+			this.nulls = nulls( rows, column );
+			for ( int i = 0; i < rows.length; i++ ) {
+				if ( rows[i][column] != null ) {
+					values[i] = (Double) rows[i][column];
+				}
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			return nulls != null && nulls.get( row ) ? null : values[row];
+		}
+	}
+
+	private static final class BooleanColumn implements Column {
+		private final BitSet values = new BitSet();
+		private final BitSet nulls;
+
+		private BooleanColumn(Object[][] rows, int column) {
+			this.nulls = nulls( rows, column );
+			for ( int i = 0; i < rows.length; i++ ) {
+				if ( Boolean.TRUE.equals( rows[i][column] ) ) {
+					values.set( i );
+				}
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			return nulls != null && nulls.get( row ) ? null : values.get( row );
+		}
+	}
+
+	/**
+	 * Each distinct string is stored once, and each row refers to it by its position
+	 * in the dictionary, or by {@code -1} for null
+	 */
+	private static final class StringColumn implements Column {
+		private final String[] dictionary;
+		private final int[] codes;
+
+		private StringColumn(Object[][] rows, int column) {
+			final Map<String, Integer> codesByValue = new HashMap<>();
+			this.codes = new int[rows.length];
+			for ( int i = 0; i < rows.length; i++ ) {
+				final String value = (String) rows[i][column];
+				codes[i] = value == null ? -1 : codesByValue.computeIfAbsent( value, v -> codesByValue.size() );
+			}
+			this.dictionary = new String[codesByValue.size()];
+			for ( Map.Entry<String, Integer> entry : codesByValue.entrySet() ) {
+				dictionary[entry.getValue()] = entry.getKey();
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			final int code = codes[row];
+			return code < 0 ? null : dictionary[code];
+		}
+	}
+
+	private static final class ObjectColumn implements Column {
+		private final Object[] values;
+
+		private ObjectColumn(Object[][] rows, int column) {
+			this.values = new Object[rows.length];
+			for ( int i = 0; i < rows.length; i++ ) {
+				values[i] = rows[i][column];
+			}
+		}
+
+		@Override
+		public Object get(int row) {
+			return values[row];
+		}
+	}
+}
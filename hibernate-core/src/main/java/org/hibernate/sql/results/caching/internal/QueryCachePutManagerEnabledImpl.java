@@ -9,6 +9,7 @@ package org.hibernate.sql.results.caching.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
@@ -29,6 +30,7 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 	private final QueryKey queryKey;
 	private final String queryIdentifier;
 	private final List<Object> dataToCache = new ArrayList<>();
+	private final long startTime = System.nanoTime();
 
 	public QueryCachePutManagerEnabledImpl(
 			QueryResultsCache queryCache,
@@ -58,13 +60,26 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 	@Override
 	public void finishUp(SharedSessionContractImplementor session) {
 		if ( queryKey != null ) {
-			final boolean put = queryCache.put(
-					queryKey,
-					dataToCache,
-					session
-			);
-			if ( put && statistics.isStatisticsEnabled() ) {
-				statistics.queryCachePut( queryIdentifier, queryCache.getRegion().getName() );
+			try {
+				final boolean refresh = queryCache.isRefreshDue( queryKey, session );
+				final boolean put = queryCache.put(
+						queryKey,
+						dataToCache,
+						session
+				);
+				if ( put && statistics.isStatisticsEnabled() ) {
+					statistics.queryCachePut( queryIdentifier, queryCache.getRegion().getName() );
+					if ( refresh ) {
+						statistics.queryCacheRefresh(
+								queryIdentifier,
+								queryCache.getRegion().getName(),
+								TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime )
+						);
+					}
+				}
+			}
+			finally {
+				queryCache.endLoad( queryKey, session );
 			}
 		}
 	}
@@ -0,0 +1,208 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.sql.results.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.query.named.RowReaderMemento;
+import org.hibernate.sql.results.graph.DomainResultAssembler;
+import org.hibernate.sql.results.graph.Initializer;
+import org.hibernate.sql.results.graph.collection.CollectionInitializer;
+import org.hibernate.sql.results.graph.entity.internal.EntityDelayedFetchInitializer;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesSourceProcessingOptions;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesSourceProcessingState;
+import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
+import org.hibernate.sql.results.spi.RowReader;
+import org.hibernate.sql.results.spi.RowTransformer;
+import org.hibernate.type.descriptor.java.JavaType;
+
+/**
+ * Base class for the {@link RowReader}s generated for a given shape of assemblers and
+ * initializers, reading rows exactly like {@link StandardRowReader}.
+ * <p/>
+ * The assemblers and initializers are kept in arrays, ordered as they are called in each
+ * phase of reading a row. A generated subclass implements each phase by calling every
+ * element of the corresponding array from a distinct call site, rather than from a loop.
+ * Since a subclass is generated for the concrete classes of the elements, each call site
+ * sees a single receiver class.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#COMPILED_ROW_READERS
+ * @see org.hibernate.bytecode.internal.bytebuddy.RowReaderCompiler
+ */
+@SuppressWarnings("rawtypes")
+public abstract class CompiledRowReader<T> implements RowReader<T> {
+	/**
+	 * The result assemblers
+	 */
+	protected final DomainResultAssembler[] assemblers;
+	/**
+	 * All initializers, in the order they are initialized and finished
+	 */
+	protected final Initializer[] initializers;
+	/**
+	 * The initializers, in the order their keys are resolved
+	 */
+	protected final Initializer[] keyInitializers;
+	/**
+	 * The initializers, in the order their instances are resolved
+	 */
+	protected final Initializer[] instanceInitializers;
+
+	private final List<DomainResultAssembler<?>> resultAssemblers;
+	private final List<Initializer> initializerList;
+	private final RowTransformer<T> rowTransformer;
+	private final Class<T> domainResultJavaType;
+
+	protected CompiledRowReader(
+			List<DomainResultAssembler<?>> resultAssemblers,
+			List<Initializer> initializers,
+			RowTransformer<T> rowTransformer,
+			Class<T> domainResultJavaType) {
+		this.resultAssemblers = resultAssemblers;
+		this.initializerList = initializers;
+		this.rowTransformer = rowTransformer;
+		this.domainResultJavaType = domainResultJavaType;
+
+		this.assemblers = resultAssemblers.toArray( new DomainResultAssembler[0] );
+		this.initializers = initializers.toArray( new Initializer[0] );
+		this.keyInitializers = orderKeyInitializers( initializers );
+		this.instanceInitializers = orderInstanceInitializers( initializers );
+	}
+
+	/**
+	 * Collection keys are resolved after the keys of all other initializers
+	 */
+	private static Initializer[] orderKeyInitializers(List<Initializer> initializers) {
+		final Initializer[] ordered = new Initializer[initializers.size()];
+		int position = 0;
+		for ( Initializer initializer : initializers ) {
+			if ( !( initializer instanceof CollectionInitializer ) ) {
+				ordered[position++] = initializer;
+			}
+		}
+		for ( Initializer initializer : initializers ) {
+			if ( initializer instanceof CollectionInitializer ) {
+				ordered[position++] = initializer;
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Delayed fetches are resolved after the instances of all other initializers
+	 */
+	private static Initializer[] orderInstanceInitializers(List<Initializer> initializers) {
+		final Initializer[] ordered = new Initializer[initializers.size()];
+		int position = 0;
+		for ( Initializer initializer : initializers ) {
+			if ( !( initializer instanceof EntityDelayedFetchInitializer ) ) {
+				ordered[position++] = initializer;
+			}
+		}
+		for ( Initializer initializer : initializers ) {
+			if ( initializer instanceof EntityDelayedFetchInitializer ) {
+				ordered[position++] = initializer;
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Call {@link Initializer#resolveKey} on each of the {@link #keyInitializers}
+	 */
+	protected abstract void resolveKeys(RowProcessingState rowProcessingState);
+
+	/**
+	 * Call {@link Initializer#resolveInstance} on each of the {@link #instanceInitializers}
+	 */
+	protected abstract void resolveInstances(RowProcessingState rowProcessingState);
+
+	/**
+	 * Call {@link Initializer#initializeInstance} on each of the {@link #initializers}
+	 */
+	protected abstract void initializeInstances(RowProcessingState rowProcessingState);
+
+	/**
+	 * Assemble the value of each of the {@link #assemblers} into the given row
+	 */
+	protected abstract void assemble(
+			Object[] resultRow,
+			RowProcessingState rowProcessingState,
+			JdbcValuesSourceProcessingOptions options);
+
+	/**
+	 * Call {@link Initializer#finishUpRow} on each of the {@link #initializers}
+	 */
+	protected abstract void finishUpRow(RowProcessingState rowProcessingState);
+
+	@Override
+	public T readRow(RowProcessingState rowProcessingState, JdbcValuesSourceProcessingOptions options) {
+		resolveKeys( rowProcessingState );
+		resolveInstances( rowProcessingState );
+		initializeInstances( rowProcessingState );
+
+		final Object[] resultRow = new Object[ assemblers.length ];
+		assemble( resultRow, rowProcessingState, options );
+
+		finishUpRow( rowProcessingState );
+
+		return rowTransformer.transformRow( resultRow );
+	}
+
+	@Override
+	public Class<T> getDomainResultResultJavaType() {
+		return domainResultJavaType;
+	}
+
+	@Override
+	public Class<?> getResultJavaType() {
+		if ( assemblers.length == 1 ) {
+			return assemblers[0].getAssembledJavaType().getJavaTypeClass();
+		}
+
+		return Object[].class;
+	}
+
+	@Override
+	public List<JavaType<?>> getResultJavaTypes() {
+		final List<JavaType<?>> javaTypes = new ArrayList<>( assemblers.length );
+		for ( DomainResultAssembler resultAssembler : resultAssemblers ) {
+			javaTypes.add( resultAssembler.getAssembledJavaType() );
+		}
+		return javaTypes;
+	}
+
+	@Override
+	public List<Initializer> getInitializers() {
+		return initializerList;
+	}
+
+	@Override
+	public void finishUp(JdbcValuesSourceProcessingState processingState) {
+		for ( Initializer initializer : initializers ) {
+			initializer.endLoading( processingState.getExecutionContext() );
+		}
+	}
+
+	@Override
+	public RowReaderMemento toMemento(SessionFactoryImplementor factory) {
+		return new RowReaderMemento() {
+			@Override
+			public Class<?>[] getResultClasses() {
+				return ArrayHelper.EMPTY_CLASS_ARRAY;
+			}
+
+			@Override
+			public String[] getResultMappingNames() {
+				return ArrayHelper.EMPTY_STRING_ARRAY;
+			}
+		};
+	}
+}
@@ -16,6 +16,8 @@ import org.hibernate.CacheMode;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.bytecode.internal.bytebuddy.BytecodeProviderImpl;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -109,9 +111,37 @@ public class ResultsHelper {
 
 		logInitializers( initializerMap );
 
+		if ( sessionFactory.getSessionFactoryOptions().isCompiledRowReadersEnabled() ) {
+			final RowReader<R> compiledRowReader = compileRowReader(
+					sessionFactory,
+					assemblers,
+					initializers,
+					rowTransformer,
+					transformedResultJavaType
+			);
+			if ( compiledRowReader != null ) {
+				return compiledRowReader;
+			}
+		}
+
 		return new StandardRowReader<>( assemblers, initializers, rowTransformer, transformedResultJavaType );
 	}
 
+	private static <R> RowReader<R> compileRowReader(
+			SessionFactoryImplementor sessionFactory,
+			List<DomainResultAssembler<?>> assemblers,
+			List<Initializer> initializers,
+			RowTransformer<R> rowTransformer,
+			Class<R> transformedResultJavaType) {
+		final BytecodeProvider bytecodeProvider = sessionFactory.getServiceRegistry()
+				.getService( BytecodeProvider.class );
+		if ( bytecodeProvider instanceof BytecodeProviderImpl ) {
+			return ( (BytecodeProviderImpl) bytecodeProvider ).getRowReaderCompiler()
+					.compile( assemblers, initializers, rowTransformer, transformedResultJavaType );
+		}
+		return null;
+	}
+
 	private static void logInitializers(Map<NavigablePath, Initializer> initializerMap) {
 		if ( ! ResultsLogger.DEBUG_ENABLED ) {
 			return;
@@ -139,7 +139,7 @@ public class RowProcessingStateStandardImpl implements RowProcessingState {
 
 	@Override
 	public Object getJdbcValue(int position) {
-		return jdbcValues.getCurrentRowValuesArray()[ position ];
+		return jdbcValues.getCurrentRowValue( position );
 	}
 
 	@Override
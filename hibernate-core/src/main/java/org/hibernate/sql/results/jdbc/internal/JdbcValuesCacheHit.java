@@ -10,6 +10,7 @@ import java.util.List;
 
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.sql.results.ResultsLogger;
+import org.hibernate.sql.results.caching.internal.ColumnarQueryResults;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
@@ -24,6 +25,7 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 	private static final Object[][] NO_DATA = new Object[0][];
 
 	private Object[][] cachedData;
+	private ColumnarQueryResults columnarData;
 	private final int numberOfRows;
 	private final JdbcValuesMapping resolvedMapping;
 	private int position = -1;
@@ -44,6 +46,16 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 		this( extractData( cachedResults ), resolvedMapping );
 	}
 
+	/**
+	 * Reads the values of columnar cached results directly, without copying them into rows
+	 */
+	public JdbcValuesCacheHit(ColumnarQueryResults cachedResults, JdbcValuesMapping resolvedMapping) {
+		super( QueryCachePutManagerDisabledImpl.INSTANCE );
+		this.columnarData = cachedResults;
+		this.numberOfRows = cachedResults.getRowCount();
+		this.resolvedMapping = resolvedMapping;
+	}
+
 	private static Object[][] extractData(List<?> cachedResults) {
 		if ( CollectionHelper.isEmpty( cachedResults ) ) {
 			return NO_DATA;
@@ -220,12 +232,24 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 		if ( position >= numberOfRows ) {
 			return null;
 		}
+		if ( columnarData != null ) {
+			return columnarData.getRow( position );
+		}
 		return cachedData[position];
 	}
 
+	@Override
+	public Object getCurrentRowValue(int valuePosition) {
+		if ( columnarData != null ) {
+			return columnarData.getValue( position, valuePosition );
+		}
+		return cachedData[position][valuePosition];
+	}
+
 	@Override
 	protected void release() {
 		cachedData = null;
+		columnarData = null;
 	}
 
 	@Override
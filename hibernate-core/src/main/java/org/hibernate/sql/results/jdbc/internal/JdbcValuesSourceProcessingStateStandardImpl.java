@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.EntityKey;
@@ -45,6 +46,7 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 	private final JdbcValuesSourceProcessingOptions processingOptions;
 
 	private final BiConsumer<EntityKey,LoadingEntityEntry> loadingEntityEntryConsumer;
+	private Consumer<Object> loadedEntityConsumer;
 
 	private Map<EntityKey, LoadingEntityEntry> loadingEntityMap;
 	private Map<EntityKey, Initializer> initializerMap;
@@ -73,6 +75,14 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 		}
 	}
 
+	/**
+	 * Register a consumer for the instance of each entity loaded, once its loading
+	 * has been {@linkplain #finishUp() finished}
+	 */
+	public void setLoadedEntityConsumer(Consumer<Object> loadedEntityConsumer) {
+		this.loadedEntityConsumer = loadedEntityConsumer;
+	}
+
 	@Override
 	public ExecutionContext getExecutionContext() {
 		return executionContext;
@@ -217,6 +227,10 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 								(Loadable) loadingEntityEntry.getDescriptor()
 						);
 					}
+
+					if ( loadedEntityConsumer != null ) {
+						loadedEntityConsumer.accept( loadingEntityEntry.getEntityInstance() );
+					}
 				}
 		);
 		loadingEntityMap = null;
@@ -74,6 +74,14 @@ public interface JdbcValues {
 	 */
 	Object[] getCurrentRowValuesArray();
 
+	/**
+	 * Get the JDBC value at the given zero-based position of the row currently
+	 * positioned at within this source, without requiring the whole row.
+	 */
+	default Object getCurrentRowValue(int valuePosition) {
+		return getCurrentRowValuesArray()[valuePosition];
+	}
+
 	/**
 	 * Give implementations a chance to finish processing
 	 */
@@ -41,6 +41,15 @@ public interface CacheRegionStatistics extends Serializable {
 	 */
 	long getMissCount();
 
+	/**
+	 * The number of successful cache look-ups against the region since the
+	 * last Statistics clearing, which were served by the in-process near cache
+	 * of the region, and so are also counted as {@linkplain #getHitCount() hits}
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#NEAR_CACHE_MAX_ENTRIES
+	 */
+	long getNearCacheHitCount();
+
 	/**
 	 * The number of elements currently in memory within the cache provider.
 	 * <p>
@@ -105,4 +105,24 @@ public interface QueryStatistics extends Serializable {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * The number of times the cached results of this query
+	 * were refreshed ahead of expiry.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_REFRESH_AHEAD
+	 */
+	default long getCacheRefreshCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * The overall time, in milliseconds, spent executing this
+	 * query to refresh its cached results.
+	 */
+	default long getCacheRefreshTotalTime() {
+		//For backward compatibility
+		return 0;
+	}
 }
@@ -24,6 +24,7 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 	private final LongAdder hitCount = new LongAdder();
 	private final LongAdder missCount = new LongAdder();
 	private final LongAdder putCount = new LongAdder();
+	private final LongAdder nearCacheHitCount = new LongAdder();
 
 	CacheRegionStatisticsImpl(Region region) {
 		this.region = region;
@@ -44,6 +45,11 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 		return missCount.sum();
 	}
 
+	@Override
+	public long getNearCacheHitCount() {
+		return nearCacheHitCount.sum();
+	}
+
 	@Override
 	public long getPutCount() {
 		return putCount.sum();
@@ -85,6 +91,10 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 		putCount.increment();
 	}
 
+	void incrementNearCacheHitCount() {
+		nearCacheHitCount.increment();
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder buf = new StringBuilder().append( "CacheRegionStatistics" )
@@ -92,6 +102,7 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 				.append( ",hitCount=").append( this.hitCount )
 				.append( ",missCount=").append( this.missCount )
 				.append( ",putCount=").append( this.putCount )
+				.append( ",nearCacheHitCount=").append( this.nearCacheHitCount )
 				.append( ",elementCountInMemory=" ).append( this.getElementCountInMemory() )
 				.append( ",elementCountOnDisk=" ).append( this.getElementCountOnDisk() )
 				.append( ",sizeInMemory=" ).append( this.getSizeInMemory() )
@@ -28,6 +28,8 @@ public class QueryStatisticsImpl implements QueryStatistics {
 	private final LongAdder cacheHitCount = new LongAdder();
 	private final LongAdder cacheMissCount = new LongAdder();
 	private final LongAdder cachePutCount = new LongAdder();
+	private final LongAdder cacheRefreshCount = new LongAdder();
+	private final AtomicLong totalCacheRefreshTime = new AtomicLong();
 	private final LongAdder executionCount = new LongAdder();
 	private final LongAdder executionRowCount = new LongAdder();
 	private final AtomicLong executionMaxTime = new AtomicLong();
@@ -71,6 +73,20 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		return cacheMissCount.sum();
 	}
 
+	/**
+	 * Cached results refreshed ahead of expiry
+	 */
+	public long getCacheRefreshCount() {
+		return cacheRefreshCount.sum();
+	}
+
+	/**
+	 * Time spent executing the query to refresh its cached results
+	 */
+	public long getCacheRefreshTotalTime() {
+		return totalCacheRefreshTime.get();
+	}
+
 	/**
 	 * Number of lines returned by all the executions of this query (from DB)
 	 * For now, {@link Query#stream()}}
@@ -199,6 +215,11 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		cachePutCount.increment();
 	}
 
+	void cacheRefreshed(long time) {
+		cacheRefreshCount.increment();
+		totalCacheRefreshTime.addAndGet( time );
+	}
+
 	void incrementPlanCacheHitCount() {
 		planCacheHitCount.increment();
 	}
@@ -213,6 +234,7 @@ public class QueryStatisticsImpl implements QueryStatistics {
 				+ ",cacheHitCount=" + this.cacheHitCount
 				+ ",cacheMissCount=" + this.cacheMissCount
 				+ ",cachePutCount=" + this.cachePutCount
+				+ ",cacheRefreshCount=" + this.cacheRefreshCount
 				+ ",planCacheHitCount=" + this.planCacheHitCount
 				+ ",planCacheMissCount=" + this.planCacheMissCount
 				+ ",executionCount=" + this.executionCount
@@ -47,6 +47,20 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void closeStatement();
 
+	/**
+	 * Callback about a prepared statement being taken from the statement cache.
+	 */
+	default void preparedStatementCacheHit() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback about a prepared statement not being found in the statement cache.
+	 */
+	default void preparedStatementCacheMiss() {
+		//For backward compatibility
+	}
+
 	/**
 	 * Callback about a transaction completing.
 	 *
@@ -248,6 +262,17 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void updateTimestampsCachePut();
 
+	/**
+	 * Callback indicating a get from a domain data region was served by its near cache.
+	 *
+	 * @param regionName The name of the region
+	 *
+	 * @see org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess
+	 */
+	default void nearCacheHit(String regionName) {
+		//For backward compatibility
+	}
+
 	/**
 	 * Callback indicating a get from the query plan cache resulted in a hit.
 	 *
@@ -275,4 +300,17 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Callback indicating the cached results of a query were refreshed ahead of expiry.
+	 *
+	 * @param hql The query
+	 * @param regionName The name of the cache region
+	 * @param time The time taken to execute the query again
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_REFRESH_AHEAD
+	 */
+	default void queryCacheRefresh(String hql, String regionName, long time) {
+		//For backward compatibility
+	}
 }
@@ -0,0 +1,214 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DialectFeatureChecks;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialectFeature;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hibernate.testing.jdbc.SQLStatementInspector.extractFromSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link AvailableSettings#BATCH_MULTI_ROW_INSERTS}
+ */
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "5" ),
+				@Setting( name = AvailableSettings.BATCH_MULTI_ROW_INSERTS, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting( name = AvailableSettings.STATEMENT_INSPECTOR, value = "org.hibernate.testing.jdbc.SQLStatementInspector" )
+		}
+)
+@DomainModel( annotatedClasses = {
+		MultiRowInsertBatchTest.Item.class,
+		MultiRowInsertBatchTest.TaggedItem.class,
+		MultiRowInsertBatchTest.CustomItem.class
+} )
+@SessionFactory
+@RequiresDialectFeature( feature = DialectFeatureChecks.SupportsMultiRowValuesListForInsert.class )
+public class MultiRowInsertBatchTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createQuery( "from TaggedItem", TaggedItem.class ).getResultList().forEach( session::remove );
+			session.createMutationQuery( "delete from Item" ).executeUpdate();
+			session.createMutationQuery( "delete from CustomItem" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testInsertsAreWrittenByMultiRowStatements(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			statementInspector.clear();
+			for ( int i = 0; i < 12; i++ ) {
+				session.persist( new Item( i, i % 2 == 0 ? "item " + i : null ) );
+			}
+			session.flush();
+
+			final List<String> inserts = statementInspector.getSqlQueries()
+					.stream()
+					.filter( sql -> sql.startsWith( "insert" ) )
+					.collect( Collectors.toList() );
+			assertEquals( 4, inserts.size() );
+			assertEquals( "insert into Item (name, id) values (?, ?)", inserts.get( 0 ) );
+			assertEquals( "insert into Item (name, id) values (?, ?), (?, ?), (?, ?), (?, ?), (?, ?)", inserts.get( 1 ) );
+			assertEquals( inserts.get( 1 ), inserts.get( 2 ) );
+			assertEquals( "insert into Item (name, id) values (?, ?), (?, ?)", inserts.get( 3 ) );
+		} );
+		assertEquals( 12, statistics.getEntityInsertCount() );
+
+		scope.inTransaction( session -> {
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+			assertEquals( 12, items.size() );
+			for ( int i = 0; i < 12; i++ ) {
+				assertEquals( Integer.valueOf( i ), items.get( i ).id );
+				if ( i % 2 == 0 ) {
+					assertEquals( "item " + i, items.get( i ).name );
+				}
+				else {
+					assertNull( items.get( i ).name );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testSingleRowIsWrittenBySingleRowStatement(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			statementInspector.clear();
+			session.persist( new Item( 1, "single" ) );
+			session.flush();
+			statementInspector.assertExecutedCount( 1 );
+			statementInspector.assertExecuted( "insert into Item (name, id) values (?, ?)" );
+		} );
+		scope.inTransaction( session -> assertEquals( "single", session.get( Item.class, 1 ).name ) );
+	}
+
+	@Test
+	public void testOnlyEntityInsertsAreRewritten(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			statementInspector.clear();
+			for ( int i = 0; i < 3; i++ ) {
+				final TaggedItem item = new TaggedItem( i );
+				item.tags.add( "first" );
+				item.tags.add( "second" );
+				session.persist( item );
+			}
+			session.flush();
+
+			final List<String> inserts = statementInspector.getSqlQueries()
+					.stream()
+					.filter( sql -> sql.startsWith( "insert" ) )
+					.collect( Collectors.toList() );
+			// one multi-row insert of the entities, then six single-row inserts of the tags
+			assertEquals( 7, inserts.size() );
+			assertEquals( "insert into TaggedItem (id) values (?), (?), (?)", inserts.get( 0 ) );
+			for ( String insert : inserts.subList( 1, inserts.size() ) ) {
+				assertFalse( insert.contains( "), (" ), insert );
+			}
+		} );
+		scope.inTransaction( session -> assertEquals( 2, session.get( TaggedItem.class, 1 ).tags.size() ) );
+	}
+
+	@Test
+	public void testCustomSqlIsNotRewritten(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			statementInspector.clear();
+			for ( int i = 0; i < 3; i++ ) {
+				session.persist( new CustomItem( i, "item " + i ) );
+			}
+			session.flush();
+
+			final List<String> inserts = statementInspector.getSqlQueries()
+					.stream()
+					.filter( sql -> sql.startsWith( "insert" ) )
+					.collect( Collectors.toList() );
+			assertEquals( 3, inserts.size() );
+			for ( String insert : inserts ) {
+				assertEquals( "insert into CustomItem (name, id) values (upper(?), ?)", insert );
+			}
+		} );
+		scope.inTransaction( session -> assertEquals( "ITEM 2", session.get( CustomItem.class, 2 ).name ) );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		Integer id;
+
+		String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "TaggedItem")
+	public static class TaggedItem {
+		@Id
+		Integer id;
+
+		@ElementCollection
+		List<String> tags = new ArrayList<>();
+
+		public TaggedItem() {
+		}
+
+		public TaggedItem(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "CustomItem")
+	@SQLInsert( sql = "insert into CustomItem (name, id) values (upper(?), ?)" )
+	public static class CustomItem {
+		@Id
+		Integer id;
+
+		String name;
+
+		public CustomItem() {
+		}
+
+		public CustomItem(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
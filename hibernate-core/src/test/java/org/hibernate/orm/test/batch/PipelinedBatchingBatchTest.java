@@ -0,0 +1,265 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.batch;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.batch.internal.PipelinedBatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.jdbc.ConnectionProviderDelegate;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AvailableSettings#BATCH_PIPELINING}
+ */
+public class PipelinedBatchingBatchTest extends BaseCoreFunctionalTestCase {
+	private static final String PIPELINE_THREAD_NAME = "Hibernate Batch Execution Thread";
+
+	private final BatchRecordingConnectionProvider connectionProvider = new BatchRecordingConnectionProvider();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { User.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "3" );
+		configuration.setProperty( AvailableSettings.BATCH_PIPELINING, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		// disable in-vm nullability checking, so we can force in-db not-null constraint violations
+		configuration.setProperty( AvailableSettings.CHECK_NULLABILITY, "false" );
+		configuration.getProperties().put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from User" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testBatchesAreExecuted() {
+		assertTrue( sessionFactory().getServiceRegistry().getService( BatchBuilder.class ) instanceof PipelinedBatchBuilder );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		connectionProvider.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int i = 0; i < 10; i++ ) {
+				s.persist( new User( i, "user " + i ) );
+			}
+		} );
+		assertEquals( 10, statistics.getEntityInsertCount() );
+		// the full batches ran on the pipeline thread, the remainder at the end of the flush
+		assertTrue( connectionProvider.executingThreadNames.contains( PIPELINE_THREAD_NAME ) );
+		assertTrue( connectionProvider.executingThreadNames.contains( Thread.currentThread().getName() ) );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<User> users = s.createQuery( "from User order by id", User.class ).getResultList();
+			assertEquals( 10, users.size() );
+			for ( int i = 0; i < 10; i++ ) {
+				assertEquals( "user " + i, users.get( i ).getName() );
+			}
+			for ( User user : users ) {
+				user.setName( user.getName().toUpperCase( Locale.ROOT ) );
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<User> users = s.createQuery( "from User order by id", User.class ).getResultList();
+			for ( int i = 0; i < 10; i++ ) {
+				assertEquals( "USER " + i, users.get( i ).getName() );
+			}
+		} );
+	}
+
+	@Test
+	public void testFailureOfBackgroundExecutionAtEndOfFlush() {
+		// the second batch fails in the background while the last row is bound,
+		// so the failure surfaces when the remainder is executed at the end of the flush
+		assertFailureSurfacesAt( 7, 7 );
+	}
+
+	@Test
+	public void testFailureOfBackgroundExecutionAtNextFullBatch() {
+		// the second batch fails in the background while the third one is bound,
+		// so the failure surfaces as soon as the third batch is full
+		assertFailureSurfacesAt( 10, 9 );
+	}
+
+	private void assertFailureSurfacesAt(int userCount, int expectedAddBatchCount) {
+		final Session session = openSession();
+		session.getTransaction().begin();
+		try {
+			for ( int i = 0; i < userCount; i++ ) {
+				session.persist( new User( i, i == 4 ? null : "ok" ) );
+			}
+			connectionProvider.clear();
+			try {
+				session.flush();
+				fail( "Expecting failed flush" );
+			}
+			catch (Exception expected) {
+				assertEquals( expectedAddBatchCount, connectionProvider.addBatchCount.get() );
+				assertTrue( connectionProvider.failingThreadNames.contains( PIPELINE_THREAD_NAME ) );
+				assertFalse( connectionProvider.failingThreadNames.contains( Thread.currentThread().getName() ) );
+			}
+		}
+		finally {
+			session.getTransaction().rollback();
+			session.close();
+		}
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( 0, s.createQuery( "from User", User.class ).getResultList().size() );
+		} );
+	}
+
+	@Entity( name = "User" )
+	@Table( name = "`USER`" )
+	public static class User {
+		private Integer id;
+		private String name;
+
+		public User() {
+		}
+
+		public User(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		@Column( nullable = false )
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Records the threads executing the batches and the number of rows added to them.
+	 */
+	public static class BatchRecordingConnectionProvider extends ConnectionProviderDelegate {
+		private final Map<Connection, Connection> connections = new ConcurrentHashMap<>();
+		private final Set<String> executingThreadNames = ConcurrentHashMap.newKeySet();
+		private final Set<String> failingThreadNames = ConcurrentHashMap.newKeySet();
+		private final AtomicInteger addBatchCount = new AtomicInteger();
+
+		public void clear() {
+			executingThreadNames.clear();
+			failingThreadNames.clear();
+			addBatchCount.set( 0 );
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = super.getConnection();
+			final Connection proxy = (Connection) Proxy.newProxyInstance(
+					getClass().getClassLoader(),
+					new Class<?>[] { Connection.class },
+					(p, method, args) -> {
+						final Object result = invoke( p, connection, method, args );
+						return method.getName().equals( "prepareStatement" )
+								? recording( (PreparedStatement) result )
+								: result;
+					}
+			);
+			connections.put( proxy, connection );
+			return proxy;
+		}
+
+		@Override
+		public void closeConnection(Connection conn) throws SQLException {
+			final Connection connection = connections.remove( conn );
+			super.closeConnection( connection == null ? conn : connection );
+		}
+
+		private PreparedStatement recording(PreparedStatement statement) {
+			return (PreparedStatement) Proxy.newProxyInstance(
+					getClass().getClassLoader(),
+					new Class<?>[] { PreparedStatement.class },
+					(p, method, args) -> {
+						if ( method.getName().equals( "addBatch" ) && args == null ) {
+							addBatchCount.incrementAndGet();
+						}
+						else if ( method.getName().equals( "executeBatch" ) ) {
+							final String threadName = Thread.currentThread().getName();
+							executingThreadNames.add( threadName );
+							try {
+								return invoke( p, statement, method, args );
+							}
+							catch (Throwable t) {
+								failingThreadNames.add( threadName );
+								throw t;
+							}
+						}
+						return invoke( p, statement, method, args );
+					}
+			);
+		}
+
+		private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+			if ( method.getDeclaringClass() == Object.class ) {
+				// identity semantics, so the proxies can be used as keys
+				switch ( method.getName() ) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode( proxy );
+				}
+			}
+			try {
+				return method.invoke( target, args );
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DialectFeatureChecks;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialectFeature;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hibernate.testing.jdbc.SQLStatementInspector.extractFromSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER}
+ */
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.BATCH_FETCH_ARRAY_PARAMETER, value = "true" ),
+				@Setting( name = AvailableSettings.STATEMENT_INSPECTOR, value = "org.hibernate.testing.jdbc.SQLStatementInspector" )
+		}
+)
+@DomainModel( annotatedClasses = { BatchFetchArrayParameterTest.Department.class, BatchFetchArrayParameterTest.Employee.class } )
+@SessionFactory
+@RequiresDialectFeature( feature = DialectFeatureChecks.SupportsArrayAnyComparison.class )
+public class BatchFetchArrayParameterTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				final Department department = new Department( i, "department " + i );
+				session.persist( department );
+				session.persist( new Employee( i * 10, department ) );
+				session.persist( new Employee( i * 10 + 1, department ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete from Employee" ).executeUpdate();
+			session.createMutationQuery( "delete from Department" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testEntityBatchesShareOneStatement(SessionFactoryScope scope) {
+		final List<String> batchSelects = new ArrayList<>();
+		for ( int numberOfDepartments : new int[] { 2, 5 } ) {
+			scope.inTransaction( session -> {
+				final SQLStatementInspector statementInspector = extractFromSession( session );
+				final List<Employee> employees = session.createQuery(
+								"from Employee where id < :maxId and mod(id, 10) = 0 order by id",
+								Employee.class
+						)
+						.setParameter( "maxId", numberOfDepartments * 10 + 1 )
+						.getResultList();
+				assertEquals( numberOfDepartments, employees.size() );
+				statementInspector.clear();
+
+				assertEquals( "department 1", employees.get( 0 ).getDepartment().getName() );
+				for ( Employee employee : employees ) {
+					assertTrue( Hibernate.isInitialized( employee.getDepartment() ) );
+				}
+				statementInspector.assertExecutedCount( 1 );
+				batchSelects.add( statementInspector.getSqlQueries().get( 0 ) );
+			} );
+		}
+		assertSingleArrayParameter( batchSelects.get( 0 ) );
+		assertEquals( batchSelects.get( 0 ), batchSelects.get( 1 ) );
+	}
+
+	@Test
+	public void testCollectionBatch(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			final List<Department> departments = session.createQuery( "from Department order by id", Department.class )
+					.getResultList();
+			statementInspector.clear();
+
+			assertEquals( 2, departments.get( 0 ).getEmployees().size() );
+			for ( Department department : departments ) {
+				assertTrue( Hibernate.isInitialized( department.getEmployees() ) );
+				assertEquals( 2, department.getEmployees().size() );
+			}
+			statementInspector.assertExecutedCount( 1 );
+			assertSingleArrayParameter( statementInspector.getSqlQueries().get( 0 ) );
+		} );
+	}
+
+	@Test
+	public void testMultiLoad(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final SQLStatementInspector statementInspector = extractFromSession( session );
+			statementInspector.clear();
+
+			final List<Department> departments = session.byMultipleIds( Department.class ).multiLoad( 1, 3, 5, 7 );
+			assertEquals( 4, departments.size() );
+			assertEquals( "department 1", departments.get( 0 ).getName() );
+			assertEquals( "department 3", departments.get( 1 ).getName() );
+			assertEquals( "department 5", departments.get( 2 ).getName() );
+			assertNull( departments.get( 3 ) );
+			statementInspector.assertExecutedCount( 1 );
+			assertSingleArrayParameter( statementInspector.getSqlQueries().get( 0 ) );
+		} );
+	}
+
+	private static void assertSingleArrayParameter(String sql) {
+		assertTrue( sql.contains( "any(?)" ), sql );
+		assertEquals( sql.indexOf( '?' ), sql.lastIndexOf( '?' ), sql );
+		assertFalse( sql.contains( " in(" ), sql );
+	}
+
+	@Entity(name = "Department")
+	@BatchSize(size = 10)
+	public static class Department {
+		@Id
+		Integer id;
+
+		String name;
+
+		@OneToMany(mappedBy = "department")
+		@BatchSize(size = 10)
+		List<Employee> employees = new ArrayList<>();
+
+		public Department() {
+		}
+
+		public Department(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public List<Employee> getEmployees() {
+			return employees;
+		}
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee {
+		@Id
+		Integer id;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Department department;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, Department department) {
+			this.id = id;
+			this.department = department;
+		}
+
+		public Department getDepartment() {
+			return department;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.bytecode.enhancement.dirty;
+
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.bytecode.enhancement.BytecodeEnhancerRunner;
+import org.hibernate.testing.bytecode.enhancement.EnhancementOptions;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link AvailableSettings#FLUSH_DIRTY_REGION_ONLY}
+ */
+@RunWith(BytecodeEnhancerRunner.class)
+@EnhancementOptions(lazyLoading = true, inlineDirtyChecking = true)
+public class DirtyRegionFlushTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private static final int ITEM_COUNT = 50;
+
+	@Override
+	protected void configureStandardServiceRegistryBuilder(StandardServiceRegistryBuilder ssrb) {
+		super.configureStandardServiceRegistryBuilder( ssrb );
+		ssrb.applySetting( AvailableSettings.FLUSH_DIRTY_REGION_ONLY, "true" );
+		ssrb.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class };
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int i = 0; i < ITEM_COUNT; i++ ) {
+				s.persist( new Item( (long) i, "item " + i ) );
+			}
+		} );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Item" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testOnlyModifiedEntitiesAreFlushed() {
+		final Statistics stats = sessionFactory().getStatistics();
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContextInternal();
+			final List<Item> items = s.createQuery( "from Item order by id", Item.class ).getResultList();
+			assertEquals( ITEM_COUNT, persistenceContext.reentrantSafeEntityEntries().length );
+
+			// the first flush visits the freshly loaded entities, after which they are known to be clean
+			s.flush();
+			assertEquals( 0, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+
+			items.get( 3 ).setName( "updated" );
+			assertEquals( 1, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+
+			stats.clear();
+			s.flush();
+			assertEquals( 1, stats.getEntityUpdateCount() );
+			assertEquals( 0, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+			assertEquals( ITEM_COUNT, persistenceContext.reentrantSafeEntityEntries().length );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "updated", s.get( Item.class, 3L ).getName() );
+		} );
+	}
+
+	@Test
+	public void testEntitiesWithoutInterceptorAreAlwaysFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContextInternal();
+			final Item item = new Item( 1000L, "new" );
+			s.persist( item );
+			s.flush();
+
+			// instantiated by the application, the entity cannot report its own modifications
+			assertEquals( 1, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+
+			item.setName( "renamed" );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "renamed", s.get( Item.class, 1000L ).getName() );
+		} );
+	}
+
+	@Test
+	public void testDeletedEntityIsFlushed() {
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContextInternal();
+			final Item item = s.get( Item.class, 7L );
+			s.flush();
+			assertEquals( 0, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+
+			s.remove( item );
+			assertEquals( 1, persistenceContext.reentrantSafePossiblyDirtyEntityEntries().length );
+		} );
+
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( null, s.get( Item.class, 7L ) );
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		Long id;
+
+		String name;
+
+		public Item() {
+		}
+
+		public Item(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
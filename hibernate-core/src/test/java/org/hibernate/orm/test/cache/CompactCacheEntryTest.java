@@ -0,0 +1,259 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the compact format of entity cache entries
+ */
+@DomainModel( annotatedClasses = CompactCacheEntryTest.Product.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_COMPACT_CACHE_ENTRIES, value = "true" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class CompactCacheEntryTest {
+	private static final UUID SKU = UUID.randomUUID();
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Product product = new Product();
+			product.id = 1L;
+			product.name = "Espresso machine";
+			product.description = null;
+			product.price = new BigDecimal( "249.90" );
+			product.available = true;
+			product.sku = SKU;
+			product.releaseDate = LocalDate.of( 2022, 5, 17 );
+			product.lastModified = LocalDateTime.of( 2022, 6, 1, 10, 15, 30, 123456789 );
+			product.category = Category.KITCHEN;
+			product.locale = Locale.ITALY;
+			product.dimensions = new Dimensions( 30, 25, 40 );
+			session.persist( product );
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Product" ).executeUpdate() );
+	}
+
+	@Test
+	public void testEntityRoundTrip(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Product.class );
+		assertTrue( persister.getCacheEntryStructure() instanceof CompactCacheEntry );
+
+		scope.inSession( session -> {
+			final EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+			final Object key = cacheAccess.generateCacheKey( 1L, persister, scope.getSessionFactory(), null );
+			assertTrue( cacheAccess.get( (SessionImplementor) session, key ) instanceof byte[] );
+		} );
+
+		scope.inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( "Espresso machine", product.name );
+			assertNull( product.description );
+			assertEquals( new BigDecimal( "249.90" ), product.price );
+			assertTrue( product.available );
+			assertEquals( SKU, product.sku );
+			assertEquals( LocalDate.of( 2022, 5, 17 ), product.releaseDate );
+			assertEquals( LocalDateTime.of( 2022, 6, 1, 10, 15, 30, 123456789 ), product.lastModified );
+			assertEquals( Category.KITCHEN, product.category );
+			assertEquals( Locale.ITALY, product.locale );
+			assertEquals( 40, product.dimensions.height );
+			assertEquals( 0, product.version );
+		} );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getEntityLoadCount() );
+	}
+
+	@Test
+	public void testUpdate(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.get( Product.class, 1L ).price = new BigDecimal( "199.90" ) );
+		scope.inTransaction( session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( new BigDecimal( "199.90" ), product.price );
+			assertEquals( 1, product.version );
+		} );
+	}
+
+	@Test
+	public void testValues(SessionFactoryScope scope) {
+		final Serializable[] state = {
+				"a",
+				null,
+				"a",
+				-1,
+				Long.MIN_VALUE,
+				(short) 7,
+				(byte) -3,
+				'x',
+				1.5d,
+				-2.5f,
+				false,
+				new byte[] { 1, 2, 3 },
+				new java.sql.Timestamp( 1_000L ),
+				new Object[] { null, 42, "a" },
+				LazyPropertyInitializer.UNFETCHED_PROPERTY,
+				Category.GARDEN,
+				Locale.ITALY
+		};
+		final CompactCacheEntry structure = new CompactCacheEntry();
+		final byte[] bytes = (byte[]) structure.structure( new TestCacheEntry( state, "Product", 3 ) );
+		final CacheEntry entry = (CacheEntry) structure.destructure( bytes, scope.getSessionFactory() );
+
+		assertEquals( "Product", entry.getSubclass() );
+		assertEquals( 3, entry.getVersion() );
+		final Serializable[] result = entry.getDisassembledState();
+		assertEquals( state.length, result.length );
+		for ( int i = 0; i < state.length; i++ ) {
+			if ( state[i] instanceof byte[] ) {
+				assertArrayEquals( (byte[]) state[i], (byte[]) result[i] );
+			}
+			else if ( state[i] instanceof Object[] ) {
+				assertArrayEquals( (Object[]) state[i], (Object[]) result[i] );
+			}
+			else {
+				assertEquals( state[i], result[i] );
+			}
+		}
+		assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, result[14] );
+	}
+
+	private static class TestCacheEntry implements CacheEntry {
+		private final Serializable[] state;
+		private final String subclass;
+		private final Object version;
+
+		private TestCacheEntry(Serializable[] state, String subclass, Object version) {
+			this.state = state;
+			this.subclass = subclass;
+			this.version = version;
+		}
+
+		@Override
+		public boolean isReferenceEntry() {
+			return false;
+		}
+
+		@Override
+		public String getSubclass() {
+			return subclass;
+		}
+
+		@Override
+		public Object getVersion() {
+			return version;
+		}
+
+		@Override
+		public Serializable[] getDisassembledState() {
+			return state;
+		}
+	}
+
+	public enum Category {
+		KITCHEN,
+		GARDEN
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		int width;
+		int depth;
+		int height;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(int width, int depth, int height) {
+			this.width = width;
+			this.depth = depth;
+			this.height = height;
+		}
+	}
+
+	@Entity( name = "Product" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Product {
+		@Id
+		Long id;
+
+		@Version
+		int version;
+
+		String name;
+
+		String description;
+
+		BigDecimal price;
+
+		boolean available;
+
+		UUID sku;
+
+		LocalDate releaseDate;
+
+		LocalDateTime lastModified;
+
+		@Enumerated( EnumType.STRING )
+		Category category;
+
+		Locale locale;
+
+		@Embedded
+		Dimensions dimensions;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.cache;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the near cache in front of a domain data region
+ */
+@DomainModel( annotatedClasses = NearCacheTest.Currency.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.NEAR_CACHE_MAX_ENTRIES, value = "100" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class NearCacheTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.persist( new Currency( "EUR", "Euro" ) ) );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Currency" ).executeUpdate() );
+	}
+
+	@Test
+	public void testNearCacheHits(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Currency.class );
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) persister.getCacheAccessStrategy().getRegion();
+		assertTrue( region.getCacheStorageAccess() instanceof NearCacheDomainDataStorageAccess );
+
+		final CacheRegionStatistics statistics = scope.getSessionFactory()
+				.getStatistics()
+				.getDomainDataRegionStatistics( region.getName() );
+
+		scope.inTransaction( session -> assertEquals( "Euro", session.get( Currency.class, "EUR" ).name ) );
+		scope.inTransaction( session -> assertEquals( "Euro", session.get( Currency.class, "EUR" ).name ) );
+		final long hits = statistics.getHitCount();
+		final long nearHits = statistics.getNearCacheHitCount();
+		assertTrue( nearHits > 0 );
+
+		scope.inTransaction( session -> assertEquals( "Euro", session.get( Currency.class, "EUR" ).name ) );
+		assertEquals( hits + 1, statistics.getHitCount() );
+		assertEquals( nearHits + 1, statistics.getNearCacheHitCount() );
+	}
+
+	@Test
+	public void testUpdateInvalidatesNearCache(SessionFactoryScope scope) {
+		scope.inTransaction( session -> assertEquals( "Euro", session.get( Currency.class, "EUR" ).name ) );
+		scope.inTransaction( session -> assertEquals( "Euro", session.get( Currency.class, "EUR" ).name ) );
+
+		scope.inTransaction( session -> session.get( Currency.class, "EUR" ).name = "Euro currency" );
+
+		scope.inTransaction( session -> assertEquals( "Euro currency", session.get( Currency.class, "EUR" ).name ) );
+	}
+
+	@Entity( name = "Currency" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Currency {
+		@Id
+		String code;
+
+		String name;
+
+		public Currency() {
+		}
+
+		public Currency(String code, String name) {
+			this.code = code;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.List;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.OffHeapRegionFactory;
+import org.hibernate.cache.internal.OffHeapStorageAccess;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the off-heap second-level cache
+ */
+@DomainModel( annotatedClasses = { OffHeapRegionFactoryTest.Country.class, OffHeapRegionFactoryTest.Book.class } )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.CACHE_REGION_FACTORY, value = "org.hibernate.cache.internal.OffHeapRegionFactory" ),
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_COMPACT_CACHE_ENTRIES, value = "true" ),
+		@Setting( name = AvailableSettings.OFF_HEAP_CACHE_MAX_SIZE, value = "4096" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class OffHeapRegionFactoryTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete from Country" ).executeUpdate();
+			session.createMutationQuery( "delete from Book" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAll();
+	}
+
+	@Test
+	public void testReadOnly(SessionFactoryScope scope) {
+		assertTrue( scope.getSessionFactory().getCache().getRegionFactory() instanceof OffHeapRegionFactory );
+		assertTrue( getStorageAccess( scope, Country.class ) instanceof OffHeapStorageAccess );
+
+		scope.inTransaction( session -> session.persist( new Country( "IT", "Italy" ) ) );
+		scope.getSessionFactory().getStatistics().clear();
+
+		scope.inTransaction( session -> assertEquals( "Italy", session.get( Country.class, "IT" ).name ) );
+		scope.inTransaction( session -> assertEquals( "Italy", session.get( Country.class, "IT" ).name ) );
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getEntityLoadCount() );
+	}
+
+	@Test
+	public void testNonStrictReadWrite(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.persist( new Book( 1, "Il nome della rosa" ) ) );
+		scope.inTransaction( session -> assertEquals( "Il nome della rosa", session.get( Book.class, 1 ).title ) );
+
+		scope.inTransaction( session -> session.get( Book.class, 1 ).title = "The name of the rose" );
+		scope.getSessionFactory().getStatistics().clear();
+
+		scope.inTransaction( session -> assertEquals( "The name of the rose", session.get( Book.class, 1 ).title ) );
+		scope.inTransaction( session -> assertEquals( "The name of the rose", session.get( Book.class, 1 ).title ) );
+		assertEquals( 1, scope.getSessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+	}
+
+	@Test
+	public void testEviction(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 500; i++ ) {
+				session.persist( new Book( i, "A book with a fairly long title, number " + i ) );
+			}
+		} );
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 500; i++ ) {
+				session.get( Book.class, i );
+			}
+		} );
+
+		// the region holds far less than 500 entries, and still holds the most recent ones
+		final OffHeapStorageAccess storageAccess = (OffHeapStorageAccess) getStorageAccess( scope, Book.class );
+		assertTrue( storageAccess.getEntryCount() > 0 );
+		assertTrue( storageAccess.getEntryCount() < 500 );
+		scope.getSessionFactory().getStatistics().clear();
+		scope.inTransaction( session -> assertEquals(
+				"A book with a fairly long title, number 499",
+				session.get( Book.class, 499 ).title
+		) );
+		assertEquals( 1, scope.getSessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+	}
+
+	@Test
+	public void testQueryCache(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.persist( new Country( "FR", "France" ) ) );
+		scope.getSessionFactory().getStatistics().clear();
+		for ( int i = 0; i < 2; i++ ) {
+			scope.inTransaction( session -> {
+				final List<String> names = session.createSelectionQuery( "select c.name from Country c", String.class )
+						.setCacheable( true )
+						.getResultList();
+				assertEquals( List.of( "France" ), names );
+			} );
+		}
+		assertEquals( 1, scope.getSessionFactory().getStatistics().getQueryCacheHitCount() );
+	}
+
+	private static Object getStorageAccess(SessionFactoryScope scope, Class<?> entityClass) {
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( entityClass )
+				.getCacheAccessStrategy()
+				.getRegion();
+		return region.getCacheStorageAccess();
+	}
+
+	@Entity( name = "Country" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_ONLY )
+	public static class Country {
+		@Id
+		String code;
+
+		String name;
+
+		public Country() {
+		}
+
+		public Country(String code, String name) {
+			this.code = code;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class Book {
+		@Id
+		Integer id;
+
+		String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
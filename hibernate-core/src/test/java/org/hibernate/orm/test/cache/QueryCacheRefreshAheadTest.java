@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.Collections;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.cache.spi.QueryResultsCache;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the coalescing of concurrent query cache misses, and the refresh-ahead of cached query results
+ */
+@DomainModel( annotatedClasses = QueryCacheRefreshAheadTest.City.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.QUERY_CACHE_COALESCING_TIMEOUT, value = "200" ),
+		@Setting( name = AvailableSettings.QUERY_CACHE_REFRESH_AHEAD, value = "50" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class QueryCacheRefreshAheadTest {
+	private static final String QUERY = "select c.name from City c";
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from City" ).executeUpdate() );
+		scope.getSessionFactory().getCache().evictQueryRegions();
+	}
+
+	@Test
+	public void testRefreshAhead(SessionFactoryScope scope) throws InterruptedException {
+		scope.inTransaction( session -> session.persist( new City( 1, "Rome" ) ) );
+		scope.getSessionFactory().getStatistics().clear();
+
+		runQuery( scope );
+		Thread.sleep( 100 );
+		runQuery( scope );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		final QueryStatistics queryStatistics = statistics.getQueryStatistics( QUERY );
+		assertEquals( 2, queryStatistics.getExecutionCount() );
+		assertEquals( 2, queryStatistics.getCachePutCount() );
+		assertEquals( 1, queryStatistics.getCacheMissCount() );
+		assertEquals( 0, queryStatistics.getCacheHitCount() );
+		assertEquals( 1, queryStatistics.getCacheRefreshCount() );
+	}
+
+	@Test
+	public void testCoalescing(SessionFactoryScope scope) throws InterruptedException {
+		final QueryResultsCache queryCache = scope.getSessionFactory().getCache().getDefaultQueryResultsCache();
+		final QueryKey key = new QueryKey(
+				QUERY,
+				QueryParameterBindings.NO_PARAMETER_BINDING_MEMENTO,
+				null,
+				null,
+				null,
+				Collections.emptySet()
+		);
+		try ( SessionImplementor first = (SessionImplementor) scope.getSessionFactory().openSession();
+				SessionImplementor second = (SessionImplementor) scope.getSessionFactory().openSession() ) {
+			assertTrue( queryCache.startLoad( key, first ) );
+			assertTrue( queryCache.startLoad( key, first ) );
+
+			// waits for the first session, which never ends its load
+			final long start = System.currentTimeMillis();
+			assertFalse( queryCache.startLoad( key, second ) );
+			assertTrue( System.currentTimeMillis() - start >= 150 );
+
+			// the load of the first session expires
+			Thread.sleep( 50 );
+			assertTrue( queryCache.startLoad( key, second ) );
+			assertFalse( queryCache.isRefreshDue( key, second ) );
+			queryCache.endLoad( key, first );
+			queryCache.endLoad( key, second );
+			assertTrue( queryCache.startLoad( key, first ) );
+			queryCache.endLoad( key, first );
+		}
+	}
+
+	private static void runQuery(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final List<String> names = session.createSelectionQuery( QUERY, String.class )
+					.setCacheable( true )
+					.getResultList();
+			assertEquals( List.of( "Rome" ), names );
+		} );
+	}
+
+	@Entity( name = "City" )
+	public static class City {
+		@Id
+		Integer id;
+
+		String name;
+
+		public City() {
+		}
+
+		public City(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -7,6 +7,7 @@
 package org.hibernate.orm.test.customstructures;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
 import org.hibernate.internal.util.collections.IdentityMap;
@@ -45,6 +46,37 @@ public class IdentityMapTest {
         Assert.assertEquals( 3, count );
     }
 
+    @Test
+    public void removalKeepsInsertionOrder() {
+        final IdentityMap<Holder, Object> map = IdentityMap.instantiateSequenced( 2 );
+        final Holder[] holders = new Holder[100];
+        for ( int i = 0; i < holders.length; i++ ) {
+            holders[i] = new Holder( "h", i );
+            map.put( holders[i], i );
+        }
+        for ( int i = 0; i < holders.length; i += 2 ) {
+            Assert.assertEquals( i, map.remove( holders[i] ) );
+        }
+        Assert.assertNull( map.remove( holders[0] ) );
+        Assert.assertEquals( 50, map.size() );
+
+        // re-adding must append, and compaction must not reorder the survivors
+        for ( int i = 0; i < holders.length; i += 2 ) {
+            map.put( holders[i], i );
+        }
+        Assert.assertEquals( 100, map.size() );
+
+        final Map.Entry<Holder, Object>[] entries = IdentityMap.concurrentEntries( map );
+        Assert.assertEquals( 100, entries.length );
+        for ( int i = 0; i < 50; i++ ) {
+            Assert.assertSame( holders[2 * i + 1], entries[i].getKey() );
+            Assert.assertSame( holders[2 * i], entries[50 + i].getKey() );
+        }
+        for ( Holder holder : holders ) {
+            Assert.assertEquals( holder.value, map.get( holder ) );
+        }
+    }
+
     private static class Holder {
 
         //Evil: mutable keys!
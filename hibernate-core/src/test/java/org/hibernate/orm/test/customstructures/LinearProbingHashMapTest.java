@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.customstructures;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.hibernate.internal.util.collections.LinearProbingHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinearProbingHashMapTest {
+
+	@Test
+	public void basicFunctionality() {
+		final LinearProbingHashMap<String, Object> map = new LinearProbingHashMap<>( 2 );
+		Assert.assertTrue( map.isEmpty() );
+		Assert.assertNull( map.put( "a", 1 ) );
+		Assert.assertNull( map.put( "b", 2 ) );
+		Assert.assertEquals( 1, map.put( "a", 3 ) );
+		Assert.assertEquals( 2, map.size() );
+		Assert.assertEquals( 3, map.get( "a" ) );
+		Assert.assertTrue( map.containsKey( "b" ) );
+		Assert.assertFalse( map.containsKey( "c" ) );
+		Assert.assertNull( map.get( null ) );
+		Assert.assertEquals( 2, map.remove( "b" ) );
+		Assert.assertNull( map.remove( "b" ) );
+		Assert.assertEquals( 1, map.size() );
+		map.clear();
+		Assert.assertTrue( map.isEmpty() );
+		Assert.assertNull( map.get( "a" ) );
+	}
+
+	@Test
+	public void collidingKeys() {
+		final LinearProbingHashMap<Colliding, Integer> map = new LinearProbingHashMap<>();
+		for ( int i = 0; i < 50; i++ ) {
+			map.put( new Colliding( i ), i );
+		}
+		// removing from the middle of a probe sequence must keep the rest of it reachable
+		for ( int i = 0; i < 50; i += 3 ) {
+			Assert.assertEquals( Integer.valueOf( i ), map.remove( new Colliding( i ) ) );
+		}
+		for ( int i = 0; i < 50; i++ ) {
+			if ( i % 3 == 0 ) {
+				Assert.assertFalse( map.containsKey( new Colliding( i ) ) );
+			}
+			else {
+				Assert.assertEquals( Integer.valueOf( i ), map.get( new Colliding( i ) ) );
+			}
+		}
+	}
+
+	@Test
+	public void behavesLikeHashMap() {
+		final Map<Integer, Integer> expected = new HashMap<>();
+		final LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>();
+		final Random random = new Random( 42 );
+		for ( int i = 0; i < 100_000; i++ ) {
+			final Integer key = random.nextInt( 5_000 );
+			if ( random.nextInt( 3 ) == 0 ) {
+				Assert.assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				Assert.assertEquals( expected.put( key, i ), map.put( key, i ) );
+			}
+		}
+		Assert.assertEquals( expected, map );
+		Assert.assertEquals( expected.keySet(), map.keySet() );
+
+		final Set<Integer> values = new HashSet<>( map.values() );
+		Assert.assertEquals( new HashSet<>( expected.values() ), values );
+
+		final Map<Integer, Integer> visited = new HashMap<>();
+		map.forEach( visited::put );
+		Assert.assertEquals( expected, visited );
+	}
+
+	private static class Colliding {
+		private final int value;
+
+		private Colliding(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Colliding && ( (Colliding) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value % 4;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#AUTO_FLUSH_QUERY_SPACES_PRECHECK}
+ */
+public class AutoFlushQuerySpacesPrecheckTest extends BaseCoreFunctionalTestCase {
+
+	private Long publisherId;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class, Publisher.class, UnrelatedEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.AUTO_FLUSH_QUERY_SPACES_PRECHECK, "true" );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Publisher publisher = new Publisher();
+			publisher.setName( "name" );
+			s.save( publisher );
+			s.save( new UnrelatedEntity() );
+			publisherId = publisher.getId();
+		} );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Book" ).executeUpdate();
+			s.createQuery( "delete from Author" ).executeUpdate();
+			s.createQuery( "delete from Publisher" ).executeUpdate();
+			s.createQuery( "delete from UnrelatedEntity" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testUnrelatedQueryDoesNotDirtyCheck() {
+		doInHibernate( this::sessionFactory, s -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContextInternal();
+			final Publisher publisher = s.get( Publisher.class, publisherId );
+			assertTrue( persistenceContext.getPossiblyDirtyEntityPersisters().contains(
+					sessionFactory().getMappingMetamodel().getEntityDescriptor( Publisher.class )
+			) );
+
+			final Author author = new Author();
+			author.setPublisher( publisher );
+			publisher.getAuthors().add( author );
+
+			// the cascade to the new author would have been processed by a dirty check
+			assertEquals( 1, s.createQuery( "from UnrelatedEntity" ).list().size() );
+			assertFalse( s.contains( author ) );
+
+			// the Author table is reachable from Publisher through a cascade
+			assertEquals( 1, s.createQuery( "from Author" ).list().size() );
+			assertTrue( s.contains( author ) );
+		} );
+	}
+
+	@Test
+	public void testRelatedQueryFlushes() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Publisher publisher = s.get( Publisher.class, publisherId );
+			publisher.setName( "updated" );
+			assertEquals( 1, s.createQuery( "from UnrelatedEntity" ).list().size() );
+			assertEquals( 1, s.createQuery( "from Publisher p where p.name = 'updated'" ).list().size() );
+		} );
+	}
+
+	@Test
+	public void testPendingActionsFlush() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.save( new UnrelatedEntity() );
+			assertEquals( 2, s.createQuery( "from UnrelatedEntity" ).list().size() );
+		} );
+	}
+}
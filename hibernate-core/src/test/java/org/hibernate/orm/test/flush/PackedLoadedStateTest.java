@@ -0,0 +1,247 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Persister;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.internal.AbstractEntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.metamodel.spi.RuntimeModelCreationContext;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#PACK_LOADED_STATE}
+ */
+public class PackedLoadedStateTest extends BaseCoreFunctionalTestCase {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Measurement.class, CustomMeasurement.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.PACK_LOADED_STATE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.persist( new Measurement( 1, "first", 10L, 1.5d, 'a' ) );
+			s.persist( new Measurement( 2, "second", 20L, 2.5d, 'b' ) );
+		} );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Measurement" ).executeUpdate();
+			s.createQuery( "delete from CustomMeasurement" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testLoadedStateIsPacked() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Measurement measurement = s.get( Measurement.class, 1 );
+			final AbstractEntityEntry entry = (AbstractEntityEntry) ( (SessionImplementor) s )
+					.getPersistenceContextInternal()
+					.getEntry( measurement );
+			assertTrue( entry.isLoadedStatePacked() );
+			assertEquals( 10L, entry.getLoadedValue( "total" ) );
+			assertEquals( "first", entry.getLoadedValue( "name" ) );
+			assertTrue( entry.isLoadedStatePacked() );
+
+			final Object[] loadedState = entry.getLoadedState();
+			assertFalse( entry.isLoadedStatePacked() );
+			assertArrayEquals(
+					sessionFactory().getMappingMetamodel().getEntityDescriptor( Measurement.class )
+							.getValues( measurement ),
+					loadedState
+			);
+
+			s.flush();
+			assertTrue( entry.isLoadedStatePacked() );
+		} );
+	}
+
+	@Test
+	public void testDirtyCheckingOfPackedState() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			final Measurement first = s.get( Measurement.class, 1 );
+			s.get( Measurement.class, 2 );
+			first.reading = 3.5d;
+			s.flush();
+			first.unit = 'c';
+		} );
+		assertEquals( 2, statistics.getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final Measurement first = s.get( Measurement.class, 1 );
+			assertEquals( 3.5d, first.reading, 0d );
+			assertEquals( 'c', first.unit );
+			final Measurement second = s.get( Measurement.class, 2 );
+			assertEquals( 20L, second.total );
+			assertEquals( 'b', second.unit );
+		} );
+	}
+
+	@Test
+	public void testDirtyCheckLeavesStatePacked() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Measurement measurement = s.get( Measurement.class, 1 );
+			final SessionImplementor session = (SessionImplementor) s;
+			final AbstractEntityEntry entry = (AbstractEntityEntry) session.getPersistenceContextInternal()
+					.getEntry( measurement );
+			final EntityPersister persister = entry.getPersister();
+			assertTrue( entry.isLoadedStatePacked() );
+
+			assertNull( entry.findDirty( persister.getValues( measurement ), measurement, session ) );
+			measurement.total = 11L;
+			measurement.unit = 'z';
+			final int[] dirty = entry.findDirty( persister.getValues( measurement ), measurement, session );
+			assertTrue( entry.isLoadedStatePacked() );
+			assertArrayEquals(
+					persister.findDirty( persister.getValues( measurement ), entry.getLoadedState(), measurement, session ),
+					dirty
+			);
+			assertEquals( 2, dirty.length );
+		} );
+	}
+
+	@Test
+	public void testFlushOnlyPacksUnpackedStates() {
+		doInHibernate( this::sessionFactory, s -> {
+			final SessionImplementor session = (SessionImplementor) s;
+			final Measurement first = s.get( Measurement.class, 1 );
+			final Measurement second = s.get( Measurement.class, 2 );
+			final Measurement third = new Measurement( 3, "third", 30L, 3.5d, 'c' );
+			s.persist( third );
+			final AbstractEntityEntry firstEntry = entry( session, first );
+			final AbstractEntityEntry secondEntry = entry( session, second );
+			final AbstractEntityEntry thirdEntry = entry( session, third );
+			assertTrue( firstEntry.isLoadedStatePacked() );
+			assertTrue( secondEntry.isLoadedStatePacked() );
+			assertFalse( thirdEntry.isLoadedStatePacked() );
+
+			first.total = 12L;
+			s.flush();
+			// the updated and the persisted entities are packed again, the other one stayed packed
+			assertTrue( firstEntry.isLoadedStatePacked() );
+			assertTrue( secondEntry.isLoadedStatePacked() );
+			assertTrue( thirdEntry.isLoadedStatePacked() );
+			assertEquals( 12L, firstEntry.getLoadedValue( "total" ) );
+		} );
+	}
+
+	@Test
+	public void testCustomFindDirtyIsNotBypassed() {
+		doInHibernate( this::sessionFactory, s -> s.persist( new CustomMeasurement( 1, 10L ) ) );
+		CustomMeasurementPersister.findDirtyCount = 0;
+		doInHibernate( this::sessionFactory, s -> {
+			final CustomMeasurement measurement = s.get( CustomMeasurement.class, 1 );
+			assertFalse( entry( (SessionImplementor) s, measurement ).isLoadedStatePacked() );
+			measurement.total = 11L;
+			s.flush();
+			assertTrue( CustomMeasurementPersister.findDirtyCount > 0 );
+		} );
+	}
+
+	private static AbstractEntityEntry entry(SessionImplementor session, Object entity) {
+		return (AbstractEntityEntry) session.getPersistenceContextInternal().getEntry( entity );
+	}
+
+	@Entity(name = "Measurement")
+	public static class Measurement {
+		@Id
+		Integer id;
+
+		String name;
+
+		long total;
+
+		double reading;
+
+		char unit;
+
+		public Measurement() {
+		}
+
+		public Measurement(Integer id, String name, long total, double reading, char unit) {
+			this.id = id;
+			this.name = name;
+			this.total = total;
+			this.reading = reading;
+			this.unit = unit;
+		}
+	}
+
+	@Entity(name = "CustomMeasurement")
+	@Persister(impl = CustomMeasurementPersister.class)
+	public static class CustomMeasurement {
+		@Id
+		Integer id;
+
+		long total;
+
+		public CustomMeasurement() {
+		}
+
+		public CustomMeasurement(Integer id, long total) {
+			this.id = id;
+			this.total = total;
+		}
+	}
+
+	public static class CustomMeasurementPersister extends SingleTableEntityPersister {
+		static int findDirtyCount;
+
+		public CustomMeasurementPersister(
+				PersistentClass persistentClass,
+				EntityDataAccess cacheAccessStrategy,
+				NaturalIdDataAccess naturalIdRegionAccessStrategy,
+				RuntimeModelCreationContext creationContext) {
+			super( persistentClass, cacheAccessStrategy, naturalIdRegionAccessStrategy, creationContext );
+		}
+
+		@Override
+		public int[] findDirty(
+				Object[] currentState,
+				Object[] previousState,
+				Object entity,
+				SharedSessionContractImplementor session) {
+			findDirtyCount++;
+			return super.findDirty( currentState, previousState, entity, session );
+		}
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.flush;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
+
+import org.hibernate.Interceptor;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.Type;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernateSessionBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD}
+ */
+public class ParallelDirtyCheckTest extends BaseCoreFunctionalTestCase {
+
+	private static final int ITEM_COUNT = 200;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class, Tag.class, Note.class, Watcher.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, "16" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int i = 0; i < ITEM_COUNT; i++ ) {
+				final Item item = new Item( i, "item " + i, new Dimensions( i, i ) );
+				s.persist( item );
+				s.persist( new Tag( i, item ) );
+			}
+		} );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Tag" ).executeUpdate();
+			s.createQuery( "delete from Item" ).executeUpdate();
+			s.createQuery( "delete from Note" ).executeUpdate();
+			s.createQuery( "delete from Watcher" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testDirtyCheckRunsInParallel() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int i = 0; i < ITEM_COUNT; i++ ) {
+				s.persist( new Note( i, "note " + i ) );
+			}
+		} );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Note> notes = s.createQuery( "from Note order by id", Note.class ).getResultList();
+			for ( int i = 0; i < ITEM_COUNT; i += 2 ) {
+				notes.get( i ).setText( "updated " + i );
+			}
+			Note.READING_THREADS.clear();
+			Note.flushingThread = Thread.currentThread();
+			try {
+				s.flush();
+			}
+			finally {
+				Note.flushingThread = null;
+			}
+		} );
+		assertEquals( ITEM_COUNT / 2, statistics.getEntityUpdateCount() );
+		assertTrue(
+				"The state of the entities was not read by the common pool",
+				Note.READING_THREADS.stream().anyMatch( thread -> thread instanceof ForkJoinWorkerThread )
+		);
+	}
+
+	@Test
+	public void testOnlyModifiedEntitiesAreUpdated() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Item> items = s.createQuery( "from Item order by id", Item.class ).getResultList();
+			final List<Tag> tags = s.createQuery( "from Tag order by id", Tag.class ).getResultList();
+			for ( int i = 0; i < ITEM_COUNT; i += 3 ) {
+				items.get( i ).name = "updated " + i;
+			}
+			for ( int i = 1; i < ITEM_COUNT; i += 5 ) {
+				items.get( i ).dimensions.width = -1;
+			}
+			// not eligible to be dirty checked in parallel, because of the association
+			tags.get( 0 ).item = items.get( 1 );
+		} );
+		int expectedUpdates = 1;
+		for ( int i = 0; i < ITEM_COUNT; i++ ) {
+			if ( i % 3 == 0 || i % 5 == 1 ) {
+				expectedUpdates++;
+			}
+		}
+		assertEquals( expectedUpdates, statistics.getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Item> items = s.createQuery( "from Item order by id", Item.class ).getResultList();
+			for ( int i = 0; i < ITEM_COUNT; i++ ) {
+				final Item item = items.get( i );
+				assertEquals( i % 3 == 0 ? "updated " + i : "item " + i, item.name );
+				assertEquals( i % 5 == 1 ? -1 : i, item.dimensions.width );
+			}
+			assertSame( items.get( 1 ), s.get( Tag.class, 0 ).item );
+		} );
+	}
+
+	@Test
+	public void testInterceptorModifyingOtherEntities() {
+		persistNotes();
+		final Interceptor interceptor = new Interceptor() {
+			@Override
+			public boolean onFlushDirty(
+					Object entity,
+					Object id,
+					Object[] currentState,
+					Object[] previousState,
+					String[] propertyNames,
+					Type[] types) {
+				( (Note) entity ).next.setText( "touched" );
+				return false;
+			}
+		};
+		doInHibernateSessionBuilder( () -> sessionFactory().withOptions().interceptor( interceptor ), s -> {
+			final List<Note> notes = s.createQuery( "from Note order by id", Note.class ).getResultList();
+			for ( int i = 0; i < ITEM_COUNT - 1; i++ ) {
+				notes.get( i ).next = notes.get( i + 1 );
+			}
+			// only the first note is dirty, and its interceptor call modifies the following one, and so on
+			notes.get( 0 ).setText( "touched" );
+			notes.get( ITEM_COUNT - 1 ).next = new Note();
+			flushRecordingReadingThreads( s );
+		} );
+		assertNoStateReadByCommonPool();
+		assertAllNotesTouched();
+	}
+
+	@Test
+	public void testCallbackModifyingOtherEntities() {
+		persistNotes();
+		doInHibernate( this::sessionFactory, s -> s.persist( new Watcher( 1, 0 ) ) );
+		doInHibernate( this::sessionFactory, s -> {
+			// the watcher is flushed first, and its callback modifies the last note
+			final Watcher watcher = s.get( Watcher.class, 1 );
+			final List<Note> notes = s.createQuery( "from Note order by id", Note.class ).getResultList();
+			watcher.watched = notes.get( ITEM_COUNT - 1 );
+			watcher.revision++;
+			flushRecordingReadingThreads( s );
+		} );
+		assertNoStateReadByCommonPool();
+		doInHibernate( this::sessionFactory, s -> {
+			assertEquals( "touched", s.get( Note.class, ITEM_COUNT - 1 ).getText() );
+		} );
+	}
+
+	private void persistNotes() {
+		doInHibernate( this::sessionFactory, s -> {
+			for ( int i = 0; i < ITEM_COUNT; i++ ) {
+				s.persist( new Note( i, "note " + i ) );
+			}
+		} );
+	}
+
+	private static void flushRecordingReadingThreads(Session session) {
+		Note.READING_THREADS.clear();
+		Note.flushingThread = Thread.currentThread();
+		try {
+			session.flush();
+		}
+		finally {
+			Note.flushingThread = null;
+		}
+	}
+
+	private static void assertNoStateReadByCommonPool() {
+		assertFalse(
+				"The state of the entities was read by the common pool",
+				Note.READING_THREADS.stream().anyMatch( thread -> thread instanceof ForkJoinWorkerThread )
+		);
+	}
+
+	private void assertAllNotesTouched() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Note> notes = s.createQuery( "from Note order by id", Note.class ).getResultList();
+			for ( Note note : notes ) {
+				assertEquals( "touched", note.getText() );
+			}
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		Integer id;
+
+		String name;
+
+		@Embedded
+		Dimensions dimensions;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, Dimensions dimensions) {
+			this.id = id;
+			this.name = name;
+			this.dimensions = dimensions;
+		}
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		int width;
+		int height;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+	}
+
+	@Entity(name = "Note")
+	@Access(AccessType.PROPERTY)
+	public static class Note {
+		static final Set<Thread> READING_THREADS = ConcurrentHashMap.newKeySet();
+		static volatile Thread flushingThread;
+
+		private Integer id;
+		private String text;
+		private Note next;
+
+		public Note() {
+		}
+
+		public Note(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getText() {
+			final Thread flushingThread = Note.flushingThread;
+			if ( flushingThread != null ) {
+				READING_THREADS.add( Thread.currentThread() );
+				if ( Thread.currentThread() == flushingThread ) {
+					// leave time for the workers of the common pool to take their share
+					try {
+						Thread.sleep( 1 );
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+			return text;
+		}
+
+		public void setText(String text) {
+			this.text = text;
+		}
+
+		@Transient
+		public Note getNext() {
+			return next;
+		}
+
+		public void setNext(Note next) {
+			this.next = next;
+		}
+	}
+
+	@Entity(name = "Watcher")
+	public static class Watcher {
+		@Id
+		Integer id;
+
+		int revision;
+
+		@Transient
+		Note watched;
+
+		public Watcher() {
+		}
+
+		public Watcher(Integer id, int revision) {
+			this.id = id;
+			this.revision = revision;
+		}
+
+		@PreUpdate
+		public void touchWatched() {
+			if ( watched != null ) {
+				watched.setText( "touched" );
+			}
+		}
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		Integer id;
+
+		@ManyToOne
+		Item item;
+
+		public Tag() {
+		}
+
+		public Tag(Integer id, Item item) {
+			this.id = id;
+			this.item = item;
+		}
+	}
+}
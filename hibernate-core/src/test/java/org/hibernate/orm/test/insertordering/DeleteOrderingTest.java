@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.insertordering;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AvailableSettings#ORDER_DELETES}, and for the ordering of inserts
+ * across several levels of dependent entity types.
+ */
+public class DeleteOrderingTest extends BaseInsertOrderingTest {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Country.class, City.class, Street.class };
+	}
+
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder builer) {
+		super.applySettings( builer );
+		builer.applySetting( AvailableSettings.ORDER_DELETES, "true" );
+	}
+
+	@Test
+	public void testBatching() {
+		sessionFactoryScope().inTransaction( session -> {
+			int id = 0;
+			for ( int i = 0; i < 3; i++ ) {
+				final Country country = new Country( id++ );
+				session.persist( country );
+				final City city = new City( id++, country );
+				session.persist( city );
+				session.persist( new Street( id++, city ) );
+			}
+			clearBatches();
+		} );
+
+		verifyContainsBatches(
+				new Batch( "insert into Country (ID) values (?)", 3 ),
+				new Batch( "insert into City (country_ID, ID) values (?, ?)", 3 ),
+				new Batch( "insert into Street (city_ID, ID) values (?, ?)", 3 )
+		);
+		clearBatches();
+
+		sessionFactoryScope().inTransaction( session -> {
+			final List<Object> entities = new ArrayList<>();
+			entities.addAll( session.createQuery( "from Country", Country.class ).getResultList() );
+			entities.addAll( session.createQuery( "from City", City.class ).getResultList() );
+			entities.addAll( session.createQuery( "from Street", Street.class ).getResultList() );
+			clearBatches();
+			// the referenced rows are removed first, which would violate the foreign keys if not reordered
+			entities.forEach( session::remove );
+		} );
+
+		verifyContainsBatches(
+				new Batch( "delete from Street where ID=?", 3 ),
+				new Batch( "delete from City where ID=?", 3 ),
+				new Batch( "delete from Country where ID=?", 3 )
+		);
+		verifyPreparedStatementCount( 3 );
+	}
+
+	@Entity(name = "Country")
+	public static class Country {
+		@Id
+		@Column(name = "ID")
+		Integer id;
+
+		public Country() {
+		}
+
+		public Country(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "City")
+	public static class City {
+		@Id
+		@Column(name = "ID")
+		Integer id;
+
+		@ManyToOne
+		Country country;
+
+		public City() {
+		}
+
+		public City(Integer id, Country country) {
+			this.id = id;
+			this.country = country;
+		}
+	}
+
+	@Entity(name = "Street")
+	public static class Street {
+		@Id
+		@Column(name = "ID")
+		Integer id;
+
+		@ManyToOne
+		City city;
+
+		public Street() {
+		}
+
+		public Street(Integer id, City city) {
+			this.id = id;
+			this.city = city;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.jdbc;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the reuse of prepared statements through the statement cache
+ */
+@DomainModel( annotatedClasses = PreparedStatementCacheTest.Customer.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.STATEMENT_CACHE_SIZE, value = "4" ),
+		@Setting( name = AvailableSettings.POOL_SIZE, value = "1" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class PreparedStatementCacheTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 3; i++ ) {
+				session.persist( new Customer( i, "customer" + i ) );
+			}
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Customer" ).executeUpdate() );
+	}
+
+	@Test
+	public void testStatementReuse(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( "customer1", findName( session, 1 ) );
+			final long prepared = statistics.getPrepareStatementCount();
+			final long hits = statistics.getPreparedStatementCacheHitCount();
+
+			// the statement was returned to the cache, and is reused with fresh parameters
+			assertEquals( "customer2", findName( session, 2 ) );
+			assertEquals( "customer3", findName( session, 3 ) );
+			assertEquals( prepared, statistics.getPrepareStatementCount() );
+			assertEquals( hits + 2, statistics.getPreparedStatementCacheHitCount() );
+		} );
+	}
+
+	@Test
+	public void testReuseAcrossSessions(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> assertEquals( "customer1", findName( session, 1 ) ) );
+		final long prepared = statistics.getPrepareStatementCount();
+		final long hits = statistics.getPreparedStatementCacheHitCount();
+
+		// the pool holds a single connection, whose cached statement outlives the first session
+		scope.inTransaction( session -> assertEquals( "customer2", findName( session, 2 ) ) );
+		assertEquals( prepared, statistics.getPrepareStatementCount() );
+		assertEquals( hits + 1, statistics.getPreparedStatementCacheHitCount() );
+	}
+
+	@Test
+	public void testEviction(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			// more distinct statements than the cache holds
+			for ( int i = 0; i < 6; i++ ) {
+				assertEquals( Long.valueOf( 3 ), countCustomers( session, i ) );
+			}
+			final long prepared = statistics.getPrepareStatementCount();
+			final long misses = statistics.getPreparedStatementCacheMissCount();
+			final long hits = statistics.getPreparedStatementCacheHitCount();
+
+			// the least recently used statement was evicted, and is prepared again
+			assertEquals( Long.valueOf( 3 ), countCustomers( session, 0 ) );
+			assertEquals( prepared + 1, statistics.getPrepareStatementCount() );
+			assertEquals( misses + 1, statistics.getPreparedStatementCacheMissCount() );
+
+			// the most recently used statement is still cached
+			assertEquals( Long.valueOf( 3 ), countCustomers( session, 5 ) );
+			assertEquals( prepared + 1, statistics.getPrepareStatementCount() );
+			assertEquals( hits + 1, statistics.getPreparedStatementCacheHitCount() );
+		} );
+	}
+
+	private static Long countCustomers(Session session, int i) {
+		return session.createSelectionQuery( "select count(*) from Customer c where c.id > " + -i, Long.class )
+				.getSingleResult();
+	}
+
+	private static String findName(Session session, int id) {
+		return session.createSelectionQuery( "select c.name from Customer c where c.id = :id", String.class )
+				.setParameter( "id", id )
+				.getSingleResult();
+	}
+
+	@Entity( name = "Customer" )
+	public static class Customer {
+		@Id
+		Integer id;
+
+		String name;
+
+		public Customer() {
+		}
+
+		public Customer(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
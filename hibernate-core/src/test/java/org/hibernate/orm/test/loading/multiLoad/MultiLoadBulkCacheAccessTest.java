@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.loading.multiLoad;
+
+import java.util.List;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests that multi-loads and batch fetching access the second-level cache
+ * once for several entities, rather than once for each entity
+ */
+@DomainModel( annotatedClasses = { MultiLoadBulkCacheAccessTest.Country.class, MultiLoadBulkCacheAccessTest.City.class } )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+})
+public class MultiLoadBulkCacheAccessTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				final Country country = new Country( i, "country" + i );
+				session.persist( country );
+				session.persist( new City( i, "city" + i, country ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete from City" ).executeUpdate();
+			session.createMutationQuery( "delete from Country" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAll();
+	}
+
+	@Test
+	public void testMultiLoad(SessionFactoryScope scope) {
+		final CacheAccessCounter counter = new CacheAccessCounter();
+		try (Session session = openSession( scope, counter )) {
+			final List<Country> countries = session.byMultipleIds( Country.class )
+					.with( CacheMode.NORMAL )
+					.multiLoad( 1, 2, 3, 4, 5 );
+			assertEquals( 5, countries.size() );
+			for ( int i = 0; i < 5; i++ ) {
+				assertEquals( "country" + ( i + 1 ), countries.get( i ).name );
+			}
+			assertEquals( 1, counter.cacheGets );
+			assertEquals( 5, scope.getSessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		}
+	}
+
+	@Test
+	public void testBatchFetch(SessionFactoryScope scope) {
+		scope.getSessionFactory().getCache().evictEntityData( Country.class, 1 );
+		final CacheAccessCounter counter = new CacheAccessCounter();
+		try (Session session = openSession( scope, counter )) {
+			final List<City> cities = session.createSelectionQuery( "from City c order by c.id", City.class )
+					.getResultList();
+			assertEquals( 5, cities.size() );
+			counter.cacheGets = 0;
+
+			// one access for the country being loaded, and a single one to find out that
+			// the other countries of the batch are cached, and need not be fetched
+			assertEquals( "country1", cities.get( 0 ).country.name );
+			assertEquals( 2, counter.cacheGets );
+			for ( int i = 1; i < 5; i++ ) {
+				assertFalse( Hibernate.isInitialized( cities.get( i ).country ) );
+			}
+		}
+	}
+
+	private static Session openSession(SessionFactoryScope scope, CacheAccessCounter counter) {
+		scope.getSessionFactory().getStatistics().clear();
+		return scope.getSessionFactory().withOptions().eventListeners( counter ).openSession();
+	}
+
+	private static class CacheAccessCounter extends BaseSessionEventListener {
+		int cacheGets;
+
+		@Override
+		public void cacheGetStart() {
+			cacheGets++;
+		}
+	}
+
+	@Entity( name = "Country" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	@BatchSize( size = 10 )
+	public static class Country {
+		@Id
+		Integer id;
+
+		String name;
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "City" )
+	public static class City {
+		@Id
+		Integer id;
+
+		String name;
+
+		@ManyToOne( fetch = FetchType.LAZY )
+		Country country;
+
+		public City() {
+		}
+
+		public City(Integer id, String name, Country country) {
+			this.id = id;
+			this.name = name;
+			this.country = country;
+		}
+	}
+}
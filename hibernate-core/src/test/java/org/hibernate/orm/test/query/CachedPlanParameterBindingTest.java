@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.List;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.query.SelectionQuery;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the JDBC parameter bindings of repeated executions of a cached query plan
+ */
+@DomainModel( annotatedClasses = CachedPlanParameterBindingTest.Item.class )
+@SessionFactory
+public class CachedPlanParameterBindingTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 12; i++ ) {
+				session.persist( new Item( i, "item" + i, i % 3 ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Item" ).executeUpdate() );
+	}
+
+	@Test
+	public void testFewParameters(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 3; i++ ) {
+				assertEquals(
+						"item" + i,
+						session.createSelectionQuery( "select i.name from Item i where i.id = :id", String.class )
+								.setParameter( "id", i )
+								.getSingleResult()
+				);
+			}
+		} );
+	}
+
+	@Test
+	public void testManyParameters(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			assertEquals( List.of( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 ), findIdsBetween( session, 1 ) );
+			assertEquals( List.of( 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 ), findIdsBetween( session, 3 ) );
+		} );
+	}
+
+	@Test
+	public void testFilterParameters(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.enableFilter( "group" ).setParameter( "group", 1 );
+			for ( int i = 0; i < 2; i++ ) {
+				assertEquals(
+						List.of( 4, 7, 10 ),
+						session.createSelectionQuery( "select i.id from Item i where i.id > :id order by i.id", Integer.class )
+								.setParameter( "id", 1 )
+								.getResultList()
+				);
+			}
+		} );
+	}
+
+	private static List<Integer> findIdsBetween(Session session, int first) {
+		final StringBuilder hql = new StringBuilder( "select i.id from Item i where i.id in (" );
+		for ( int i = 0; i < 10; i++ ) {
+			hql.append( i == 0 ? ":p" : ", :p" ).append( i );
+		}
+		hql.append( ") order by i.id" );
+		final SelectionQuery<Integer> query = session.createSelectionQuery( hql.toString(), Integer.class );
+		for ( int i = 0; i < 10; i++ ) {
+			query.setParameter( "p" + i, first + i );
+		}
+		return query.getResultList();
+	}
+
+	@Entity( name = "Item" )
+	@FilterDef( name = "group", parameters = @ParamDef( name = "group", type = Integer.class ) )
+	@Filter( name = "group", condition = "group_id = :group" )
+	public static class Item {
+		@Id
+		Integer id;
+
+		String name;
+
+		@Column( name = "group_id" )
+		int group;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, int group) {
+			this.id = id;
+			this.name = name;
+			this.group = group;
+		}
+	}
+}
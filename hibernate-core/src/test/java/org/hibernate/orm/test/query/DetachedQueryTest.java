@@ -0,0 +1,187 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.procedure.spi.ProcedureCallImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link org.hibernate.query.SelectionQuery#setDetached(boolean)}
+ */
+public class DetachedQueryTest extends BaseCoreFunctionalTestCase {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Department.class, Employee.class };
+	}
+
+	@Before
+	public void prepare() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Department department = new Department( 1, "R&D" );
+			s.persist( department );
+			for ( int i = 0; i < 10; i++ ) {
+				s.persist( new Employee( i, "employee " + i, department ) );
+			}
+		} );
+	}
+
+	@After
+	public void tearDown() {
+		doInHibernate( this::sessionFactory, s -> {
+			s.createQuery( "delete from Employee" ).executeUpdate();
+			s.createQuery( "delete from Department" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testListIsDetached() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Employee> employees = s.createQuery(
+							"from Employee e join fetch e.department order by e.id",
+							Employee.class
+					)
+					.setDetached( true )
+					.getResultList();
+			assertEquals( 10, employees.size() );
+			for ( Employee employee : employees ) {
+				assertFalse( s.contains( employee ) );
+				assertFalse( s.contains( employee.department ) );
+				// identity is resolved within the results
+				assertSame( employees.get( 0 ).department, employee.department );
+			}
+			assertEquals( 0, ( (SessionImplementor) s ).getPersistenceContextInternal().getNumberOfManagedEntities() );
+
+			// modifications are never flushed
+			employees.get( 0 ).name = "updated";
+			s.flush();
+			assertEquals( "employee 0", s.get( Employee.class, 0 ).name );
+		} );
+	}
+
+	@Test
+	public void testManagedEntitiesAreNotReturned() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Employee managed = s.get( Employee.class, 0 );
+			final Employee detached = s.createQuery( "from Employee e where e.id = 0", Employee.class )
+					.setDetached( true )
+					.getSingleResult();
+			assertNotSame( managed, detached );
+			assertSame( managed, s.createQuery( "from Employee e where e.id = 0", Employee.class ).getSingleResult() );
+		} );
+	}
+
+	@Test
+	public void testLazyAssociationIsNotFetchedOnceDetached() {
+		doInHibernate( this::sessionFactory, s -> {
+			final Employee employee = s.createQuery( "from Employee e where e.id = 0", Employee.class )
+					.setDetached( true )
+					.getSingleResult();
+			assertFalse( Hibernate.isInitialized( employee.department ) );
+			assertFalse( s.contains( employee.department ) );
+		} );
+	}
+
+	@Test
+	public void testStreamIsDetached() {
+		doInHibernate( this::sessionFactory, s -> {
+			try ( Stream<Employee> stream = s.createQuery( "from Employee e order by e.id", Employee.class )
+					.setDetached( true )
+					.getResultStream() ) {
+				final List<String> names = stream.peek( employee -> assertFalse( s.contains( employee ) ) )
+						.map( employee -> employee.name )
+						.collect( Collectors.toList() );
+				assertEquals( 10, names.size() );
+				assertEquals( "employee 9", names.get( 9 ) );
+			}
+			assertEquals( 0, ( (SessionImplementor) s ).getPersistenceContextInternal().getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Test
+	public void testNativeQueryIsDetached() {
+		doInHibernate( this::sessionFactory, s -> {
+			final List<Employee> employees = s.createNativeQuery( "select * from Employee order by id", Employee.class )
+					.setDetached( true )
+					.addSynchronizedEntityClass( Employee.class )
+					.getResultList();
+			assertEquals( 10, employees.size() );
+			assertFalse( s.contains( employees.get( 0 ) ) );
+		} );
+	}
+
+	@Test
+	public void testProcedureCallCannotBeDetached() {
+		doInHibernate( this::sessionFactory, s -> {
+			final ProcedureCallImplementor<?> call = (ProcedureCallImplementor<?>) s.createStoredProcedureCall( "employee_names" );
+			try {
+				call.setDetached( true );
+				fail( "detached procedure calls should be rejected" );
+			}
+			catch (IllegalStateException expected) {
+				assertFalse( call.isDetached() );
+			}
+		} );
+	}
+
+	@Entity(name = "Department")
+	public static class Department {
+		@Id
+		Integer id;
+
+		String name;
+
+		public Department() {
+		}
+
+		public Department(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee {
+		@Id
+		Integer id;
+
+		String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Department department;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, String name, Department department) {
+			this.id = id;
+			this.name = name;
+			this.department = department;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.PersistenceContext;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link org.hibernate.query.SelectionQuery#setEvictOnScroll(boolean)}
+ */
+@DomainModel( annotatedClasses = { EvictOnScrollTest.Department.class, EvictOnScrollTest.Employee.class } )
+@SessionFactory
+public class EvictOnScrollTest {
+	private static final int DEPARTMENTS = 10;
+	private static final int EMPLOYEES_PER_DEPARTMENT = 50;
+
+	@BeforeEach
+	public void prepare(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < DEPARTMENTS; i++ ) {
+				final Department department = new Department( i, "department " + i );
+				session.persist( department );
+				for ( int j = 0; j < EMPLOYEES_PER_DEPARTMENT; j++ ) {
+					final int id = i * EMPLOYEES_PER_DEPARTMENT + j;
+					session.persist( new Employee( id, "employee " + id, department ) );
+				}
+			}
+		} );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete from Employee" ).executeUpdate();
+			session.createMutationQuery( "delete from Department" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testPersistenceContextSizeIsBounded(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final List<Integer> managedEntityCounts = new ArrayList<>();
+			try ( Stream<Employee> employees = session.createQuery(
+							"from Employee e join fetch e.department order by e.id",
+							Employee.class
+					)
+					.setEvictOnScroll( true )
+					.getResultStream() ) {
+				employees.forEach( employee -> {
+					// the current row is managed...
+					assertTrue( session.contains( employee ) );
+					assertTrue( session.contains( employee.department ) );
+					managedEntityCounts.add( persistenceContext.getNumberOfManagedEntities() );
+				} );
+			}
+			assertEquals( DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT, managedEntityCounts.size() );
+			// ...and the previous ones are not, whatever the size of the results
+			for ( int count : managedEntityCounts ) {
+				assertEquals( 2, count );
+			}
+			assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Test
+	public void testWithoutEviction(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<Employee> employees = session.createQuery(
+							"from Employee e join fetch e.department",
+							Employee.class
+					)
+					.getResultStream() ) {
+				assertEquals( DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT, employees.count() );
+			}
+			assertEquals(
+					DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT + DEPARTMENTS,
+					session.getPersistenceContextInternal().getNumberOfManagedEntities()
+			);
+		} );
+	}
+
+	@Test
+	public void testCollectionFetch(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			final List<Department> departments = new ArrayList<>();
+			try ( Stream<Department> stream = session.createQuery(
+							"from Department d join fetch d.employees order by d.id",
+							Department.class
+					)
+					.setEvictOnScroll( true )
+					.getResultStream() ) {
+				stream.forEach( department -> {
+					assertEquals( EMPLOYEES_PER_DEPARTMENT, department.employees.size() );
+					assertEquals( EMPLOYEES_PER_DEPARTMENT + 1, persistenceContext.getNumberOfManagedEntities() );
+					assertEquals( 1, persistenceContext.getCollectionEntriesSize() );
+					departments.add( department );
+				} );
+			}
+			assertEquals( DEPARTMENTS, departments.size() );
+			for ( Department department : departments ) {
+				assertFalse( session.contains( department ) );
+			}
+			assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+			assertEquals( 0, persistenceContext.getCollectionEntriesSize() );
+		} );
+	}
+
+	@Test
+	public void testScroll(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( ScrollableResults<Employee> results = session.createQuery(
+							"from Employee e join fetch e.department where e.department.id = 0 order by e.id",
+							Employee.class
+					)
+					.setEvictOnScroll( true )
+					.scroll( ScrollMode.FORWARD_ONLY ) ) {
+				assertTrue( results.next() );
+				final Employee first = results.get();
+				assertTrue( results.next() );
+				assertFalse( session.contains( first ) );
+				assertTrue( session.contains( results.get() ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testEntitiesAlreadyManagedAreNotEvicted(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Department department = session.find( Department.class, 0 );
+			final Employee employee = session.find( Employee.class, 0 );
+			try ( Stream<Employee> employees = session.createQuery(
+							"from Employee e join fetch e.department where e.department.id = 0",
+							Employee.class
+					)
+					.setEvictOnScroll( true )
+					.getResultStream() ) {
+				assertEquals( EMPLOYEES_PER_DEPARTMENT, employees.count() );
+			}
+			assertTrue( session.contains( department ) );
+			assertTrue( session.contains( employee ) );
+			assertEquals( 2, session.getPersistenceContextInternal().getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Test
+	public void testDeletionIsFlushed(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<Employee> employees = session.createQuery(
+							"from Employee e where e.id < 10",
+							Employee.class
+					)
+					.setEvictOnScroll( true )
+					.getResultStream() ) {
+				employees.forEach( session::remove );
+			}
+		} );
+		scope.inTransaction( session -> assertNull( session.find( Employee.class, 0 ) ) );
+		scope.inTransaction( session -> assertEquals(
+				DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT - 10,
+				session.createQuery( "select count(*) from Employee", Long.class ).getSingleResult()
+		) );
+	}
+
+	@Entity( name = "Department" )
+	public static class Department {
+		@Id
+		Integer id;
+
+		String name;
+
+		@OneToMany( mappedBy = "department" )
+		List<Employee> employees = new ArrayList<>();
+
+		public Department() {
+		}
+
+		public Department(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Employee" )
+	public static class Employee {
+		@Id
+		Integer id;
+
+		String name;
+
+		@ManyToOne( fetch = FetchType.LAZY )
+		Department department;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, String name, Department department) {
+			this.id = id;
+			this.name = name;
+			this.department = department;
+		}
+	}
+}
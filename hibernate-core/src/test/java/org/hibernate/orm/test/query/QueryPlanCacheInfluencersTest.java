@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.FetchProfile;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that query plans are cached, and not shared, when filters, fetch profiles
+ * or entity graphs are applied, and that the plans are shared by the values of
+ * the filter parameters
+ */
+@DomainModel( annotatedClasses = { QueryPlanCacheInfluencersTest.Customer.class, QueryPlanCacheInfluencersTest.Purchase.class } )
+@SessionFactory
+@ServiceRegistry(settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ))
+public class QueryPlanCacheInfluencersTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 4; i++ ) {
+				final Customer customer = new Customer( i, i % 2 == 0 ? "even" : "odd" );
+				session.persist( customer );
+				session.persist( new Purchase( i, customer ) );
+			}
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete from Purchase" ).executeUpdate();
+			session.createMutationQuery( "delete from Customer" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testFilterParameterValues(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertEquals( List.of( 2, 4 ), findCustomerIds( scope, "even" ) );
+		final long misses = statistics.getQueryPlanCacheMissCount();
+
+		assertEquals( List.of( 2, 4 ), findCustomerIds( scope, "even" ) );
+		assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+
+		// the current value is bound to the filter parameter of the cached SQL
+		assertEquals( List.of( 1, 3 ), findCustomerIds( scope, "odd" ) );
+		assertEquals( List.of( 2, 4 ), findCustomerIds( scope, "even" ) );
+		assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+
+		// the plan without the filter is not shared either
+		assertEquals(
+				List.of( 1, 2, 3, 4 ),
+				scope.fromTransaction( session -> session.createQuery(
+						"select c.id from Customer c order by c.id",
+						Integer.class
+				).getResultList() )
+		);
+	}
+
+	@Test
+	public void testFilterParameterListValues(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertEquals( List.of( 1, 2 ), findCustomerIds( scope, List.of( 1, 2 ) ) );
+		final long misses = statistics.getQueryPlanCacheMissCount();
+
+		// the same number of values shares the plan
+		assertEquals( List.of( 3, 4 ), findCustomerIds( scope, List.of( 3, 4 ) ) );
+		assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+
+		// a different number of values renders a different number of JDBC parameters
+		assertEquals( List.of( 1, 2, 3 ), findCustomerIds( scope, List.of( 1, 2, 3 ) ) );
+		assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+
+		assertEquals( List.of( 2, 4 ), findCustomerIds( scope, List.of( 2, 4 ) ) );
+		assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+	}
+
+	@Test
+	public void testFetchProfile(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> assertFalse( Hibernate.isInitialized( findPurchase( session ).customer ) ) );
+		scope.inTransaction( session -> {
+			session.enableFetchProfile( "purchase.customer" );
+			assertTrue( Hibernate.isInitialized( findPurchase( session ).customer ) );
+		} );
+		final long misses = statistics.getQueryPlanCacheMissCount();
+		scope.inTransaction( session -> {
+			session.enableFetchProfile( "purchase.customer" );
+			assertTrue( Hibernate.isInitialized( findPurchase( session ).customer ) );
+		} );
+		scope.inTransaction( session -> assertFalse( Hibernate.isInitialized( findPurchase( session ).customer ) ) );
+		assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+	}
+
+	@Test
+	public void testEntityGraph(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> assertFalse( Hibernate.isInitialized( findPurchase( session ).customer ) ) );
+		scope.inTransaction( session -> assertTrue( Hibernate.isInitialized( findPurchaseWithGraph( session ).customer ) ) );
+		final long misses = statistics.getQueryPlanCacheMissCount();
+		// a different copy of the same graph
+		scope.inTransaction( session -> assertTrue( Hibernate.isInitialized( findPurchaseWithGraph( session ).customer ) ) );
+		scope.inTransaction( session -> assertFalse( Hibernate.isInitialized( findPurchase( session ).customer ) ) );
+		assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+	}
+
+	private static List<Integer> findCustomerIds(SessionFactoryScope scope, String parity) {
+		return scope.fromTransaction( session -> {
+			session.enableFilter( "parity" ).setParameter( "parity", parity );
+			return session.createQuery( "select c.id from Customer c order by c.id", Integer.class )
+					.getResultList();
+		} );
+	}
+
+	private static List<Integer> findCustomerIds(SessionFactoryScope scope, List<Integer> ids) {
+		return scope.fromTransaction( session -> {
+			session.enableFilter( "ids" ).setParameterList( "ids", ids );
+			return session.createQuery( "select c.id from Customer c order by c.id", Integer.class )
+					.getResultList();
+		} );
+	}
+
+	private static Purchase findPurchase(Session session) {
+		return session.createQuery( "from Purchase p where p.id = 1", Purchase.class ).getSingleResult();
+	}
+
+	private static Purchase findPurchaseWithGraph(Session session) {
+		final RootGraph<Purchase> graph = session.createEntityGraph( Purchase.class );
+		graph.addAttributeNodes( "customer" );
+		return session.createQuery( "from Purchase p where p.id = 1", Purchase.class )
+				.applyGraph( graph, GraphSemantic.FETCH )
+				.getSingleResult();
+	}
+
+	@Entity( name = "Customer" )
+	@FilterDef( name = "parity", parameters = @ParamDef( name = "parity", type = String.class ) )
+	@Filter( name = "parity", condition = "parity = :parity" )
+	@FilterDef( name = "ids", parameters = @ParamDef( name = "ids", type = Integer.class ) )
+	@Filter( name = "ids", condition = "id in (:ids)" )
+	public static class Customer {
+		@Id
+		Integer id;
+
+		String parity;
+
+		@OneToMany( mappedBy = "customer" )
+		List<Purchase> purchases = new ArrayList<>();
+
+		public Customer() {
+		}
+
+		public Customer(Integer id, String parity) {
+			this.id = id;
+			this.parity = parity;
+		}
+	}
+
+	@Entity( name = "Purchase" )
+	@Table( name = "purchases" )
+	@FetchProfile( name = "purchase.customer", fetchOverrides = @FetchProfile.FetchOverride(
+			entity = Purchase.class, association = "customer", mode = FetchMode.JOIN
+	) )
+	public static class Purchase {
+		@Id
+		Integer id;
+
+		@ManyToOne( fetch = FetchType.LAZY )
+		Customer customer;
+
+		public Purchase() {
+		}
+
+		public Purchase(Integer id, Customer customer) {
+			this.id = id;
+			this.customer = customer;
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query.criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that criteria queries built the same way share a cached query plan
+ */
+@DomainModel( annotatedClasses = CriteriaQueryPlanCacheTest.Product.class )
+@SessionFactory
+@ServiceRegistry(settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ))
+public class CriteriaQueryPlanCacheTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.persist( new Product( 1, "apple", "fruit", 3 ) );
+			session.persist( new Product( 2, "apricot", "fruit", 5 ) );
+			session.persist( new Product( 3, "carrot", "vegetable", 2 ) );
+			session.persist( new Product( 4, "cabbage", "vegetable", 4 ) );
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Product" ).executeUpdate() );
+	}
+
+	@Test
+	public void testSameStructureSharesPlan(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( List.of( 1, 2 ), search( session, "a%", "fruit", null ) );
+			final long misses = statistics.getQueryPlanCacheMissCount();
+			final long hits = statistics.getQueryPlanCacheHitCount();
+
+			// the values are bound to the parameters of the cached plan
+			assertEquals( List.of( 4 ), search( session, "c%", "vegetable", null ) );
+			assertEquals( List.of(), search( session, "c%", "fruit", null ) );
+			assertEquals( List.of( 1, 2 ), search( session, "a%", "fruit", null ) );
+			assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+			assertEquals( hits + 3, statistics.getQueryPlanCacheHitCount() );
+
+			// a different structure is a different plan
+			assertEquals( List.of( 2, 4 ), search( session, null, null, 4 ) );
+			assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+			assertEquals( List.of( 1, 2, 4 ), search( session, null, null, 3 ) );
+			assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testExplicitParameters(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( List.of( 2 ), findByCategoryAndMinPrice( session, "fruit", 4 ) );
+			final long misses = statistics.getQueryPlanCacheMissCount();
+			assertEquals( List.of( 3, 4 ), findByCategoryAndMinPrice( session, "vegetable", 0 ) );
+			assertEquals( misses, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testLiteralsAreNotShared(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( List.of( 3, 4 ), findByCategoryLiteral( session, "vegetable" ) );
+			final long misses = statistics.getQueryPlanCacheMissCount();
+			assertEquals( List.of( 1, 2 ), findByCategoryLiteral( session, "fruit" ) );
+			assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+			assertEquals( List.of( 3, 4 ), findByCategoryLiteral( session, "vegetable" ) );
+			assertEquals( misses + 1, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testMutatedCriteriaDoesNotAffectSharedPlan(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+			final CriteriaQuery<Integer> criteria = cb.createQuery( Integer.class );
+			final Root<Product> root = criteria.from( Product.class );
+			final ParameterExpression<String> parameter = cb.parameter( String.class, "category" );
+			criteria.select( root.<Integer>get( "id" ) )
+					.where( cb.equal( root.get( "category" ), parameter ) )
+					.orderBy( cb.asc( root.get( "id" ) ) );
+			// the plan is cached, but not translated to SQL, by an execution returning no rows
+			session.createQuery( criteria )
+					.setParameter( parameter, "fruit" )
+					.setMaxResults( 0 )
+					.getResultList();
+
+			// mutating the criteria after creating a query from it is allowed
+			criteria.where( cb.equal( root.get( "name" ), parameter ) );
+
+			// the cached plan is translated for the structure it was created for
+			assertEquals( List.of( 1, 2 ), findByCategory( session, "fruit" ) );
+		} );
+	}
+
+	private static List<Integer> findByCategory(Session session, String category) {
+		final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<Integer> criteria = cb.createQuery( Integer.class );
+		final Root<Product> root = criteria.from( Product.class );
+		final ParameterExpression<String> parameter = cb.parameter( String.class, "category" );
+		criteria.select( root.<Integer>get( "id" ) )
+				.where( cb.equal( root.get( "category" ), parameter ) )
+				.orderBy( cb.asc( root.get( "id" ) ) );
+		return session.createQuery( criteria ).setParameter( parameter, category ).getResultList();
+	}
+
+	private static List<Integer> search(Session session, String namePattern, String category, Integer minPrice) {
+		final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<Integer> criteria = cb.createQuery( Integer.class );
+		final Root<Product> root = criteria.from( Product.class );
+		final List<Predicate> predicates = new ArrayList<>();
+		if ( namePattern != null ) {
+			predicates.add( cb.like( root.<String>get( "name" ), namePattern ) );
+		}
+		if ( category != null ) {
+			predicates.add( cb.equal( root.get( "category" ), category ) );
+		}
+		if ( minPrice != null ) {
+			predicates.add( cb.ge( root.<Integer>get( "price" ), minPrice ) );
+		}
+		criteria.select( root.<Integer>get( "id" ) )
+				.where( predicates.toArray( new Predicate[0] ) )
+				.orderBy( cb.asc( root.get( "id" ) ) );
+		return session.createQuery( criteria ).getResultList();
+	}
+
+	private static List<Integer> findByCategoryAndMinPrice(Session session, String category, int minPrice) {
+		final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<Integer> criteria = cb.createQuery( Integer.class );
+		final Root<Product> root = criteria.from( Product.class );
+		final ParameterExpression<String> categoryParameter = cb.parameter( String.class, "category" );
+		final ParameterExpression<Integer> priceParameter = cb.parameter( Integer.class, "price" );
+		criteria.select( root.<Integer>get( "id" ) )
+				.where(
+						cb.equal( root.get( "category" ), categoryParameter ),
+						cb.ge( root.<Integer>get( "price" ), priceParameter )
+				)
+				.orderBy( cb.asc( root.get( "id" ) ) );
+		return session.createQuery( criteria )
+				.setParameter( categoryParameter, category )
+				.setParameter( priceParameter, minPrice )
+				.getResultList();
+	}
+
+	private static List<Integer> findByCategoryLiteral(Session session, String category) {
+		final HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<Integer> criteria = cb.createQuery( Integer.class );
+		final Root<Product> root = criteria.from( Product.class );
+		criteria.select( root.<Integer>get( "id" ) )
+				.where( cb.equal( root.get( "category" ), cb.literal( category ) ) )
+				.orderBy( cb.asc( root.get( "id" ) ) );
+		return session.createQuery( criteria ).getResultList();
+	}
+
+	@Entity( name = "Product" )
+	public static class Product {
+		@Id
+		Integer id;
+
+		String name;
+
+		String category;
+
+		int price;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name, String category, int price) {
+			this.id = id;
+			this.name = name;
+			this.category = category;
+			this.price = price;
+		}
+	}
+}
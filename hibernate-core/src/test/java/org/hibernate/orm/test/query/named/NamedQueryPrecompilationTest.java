@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query.named;
+
+import java.util.List;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQuery;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link AvailableSettings#PRECOMPILE_NAMED_QUERIES}
+ */
+@DomainModel( annotatedClasses = NamedQueryPrecompilationTest.Book.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.PRECOMPILE_NAMED_QUERIES, value = "true" ),
+})
+public class NamedQueryPrecompilationTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.persist( new Book( 1, "Hibernate in Action", 2004 ) );
+			session.persist( new Book( 2, "Java Persistence with Hibernate", 2015 ) );
+			session.persist( new Book( 3, "High-Performance Java Persistence", 2016 ) );
+		} );
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testPlansAreCachedAtStartup(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( 3, session.createNamedQuery( "Book.all" ).getResultList().size() );
+			assertEquals( 3, session.createNamedQuery( "Book.all", Book.class ).getResultList().size() );
+			assertEquals(
+					"Hibernate in Action",
+					session.createNamedQuery( "Book.titleById", String.class )
+							.setParameter( "id", 1 )
+							.getSingleResult()
+			);
+			assertArrayEquals(
+					new Object[] { 2, "Java Persistence with Hibernate" },
+					session.createNamedQuery( "Book.idAndTitleByPublished", Object[].class )
+							.setParameter( "published", 2015 )
+							.getSingleResult()
+			);
+		} );
+		assertEquals( 0, statistics.getQueryPlanCacheMissCount() );
+	}
+
+	@Test
+	public void testPrecompiledPlanHonoursQueryOptions(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final List<Book> books = session.createNamedQuery( "Book.all", Book.class )
+					.setFirstResult( 1 )
+					.setMaxResults( 1 )
+					.getResultList();
+			assertEquals( 1, books.size() );
+			assertEquals( 2, books.get( 0 ).id );
+			assertEquals(
+					2,
+					session.createNamedQuery( "Book.byIds", Book.class )
+							.setParameterList( "ids", List.of( 1, 3 ) )
+							.getResultList()
+							.size()
+			);
+		} );
+	}
+
+	@Entity( name = "Book" )
+	@NamedQuery( name = "Book.all", query = "from Book b order by b.id" )
+	@NamedQuery( name = "Book.titleById", query = "select b.title from Book b where b.id = :id" )
+	@NamedQuery( name = "Book.idAndTitleByPublished", query = "select b.id, b.title from Book b where b.published = :published" )
+	@NamedQuery( name = "Book.byIds", query = "from Book b where b.id in :ids" )
+	public static class Book {
+		@Id
+		Integer id;
+
+		String title;
+
+		@Column( name = "published_year" )
+		int published;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, int published) {
+			this.id = id;
+			this.title = title;
+			this.published = published;
+		}
+	}
+}
@@ -12,7 +12,9 @@ import org.hibernate.CacheMode;
 import org.hibernate.query.Query;
 import org.hibernate.query.named.NamedObjectRepository;
 import org.hibernate.query.spi.QueryImplementor;
+import org.hibernate.query.spi.SqmQuery;
 import org.hibernate.query.sqm.spi.NamedSqmQueryMemento;
+import org.hibernate.query.sqm.tree.SqmStatement;
 
 import org.hibernate.testing.orm.junit.DomainModel;
 import org.hibernate.testing.orm.junit.SessionFactory;
@@ -20,7 +22,9 @@ import org.hibernate.testing.orm.junit.SessionFactoryScope;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -61,6 +65,26 @@ public class SimpleNamedQueryTests {
 		assertThat( restrictedMemento, notNullValue() );
 	}
 
+	@Test
+	public void testInterpretationReuse(SessionFactoryScope scope) {
+		final SqmStatement<?> first = scope.fromTransaction(
+				session -> ( (SqmQuery) session.createNamedQuery( "restricted", SimpleEntityWithNamedQueries.class ) ).getSqmStatement()
+		);
+		final SqmStatement<?> second = scope.fromTransaction(
+				session -> ( (SqmQuery) session.createNamedQuery( "restricted", SimpleEntityWithNamedQueries.class ) ).getSqmStatement()
+		);
+		assertThat( second, sameInstance( first ) );
+
+		final SqmStatement<?> multiValued = scope.fromTransaction(
+				session -> ( (SqmQuery) session.createNamedQuery( "restricted", Object[].class ) ).getSqmStatement()
+		);
+		assertThat( multiValued, not( sameInstance( first ) ) );
+		final SqmStatement<?> again = scope.fromTransaction(
+				session -> ( (SqmQuery) session.createNamedQuery( "restricted", SimpleEntityWithNamedQueries.class ) ).getSqmStatement()
+		);
+		assertThat( again, sameInstance( first ) );
+	}
+
 	@Test
 	public void testStoring(SessionFactoryScope scope) {
 		scope.inTransaction(
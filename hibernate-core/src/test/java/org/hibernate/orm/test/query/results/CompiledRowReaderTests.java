@@ -0,0 +1,230 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query.results;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Tuple;
+
+import org.hibernate.Hibernate;
+import org.hibernate.bytecode.internal.bytebuddy.BytecodeProviderImpl;
+import org.hibernate.bytecode.internal.bytebuddy.RowReaderCompiler;
+import org.hibernate.bytecode.spi.BytecodeProvider;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AvailableSettings#COMPILED_ROW_READERS}
+ */
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.COMPILED_ROW_READERS, value = "true" ) )
+@DomainModel( annotatedClasses = { CompiledRowReaderTests.Author.class, CompiledRowReaderTests.Book.class } )
+@SessionFactory
+public class CompiledRowReaderTests {
+	@BeforeEach
+	public void prepareTestData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final Author tolkien = new Author( 1, "Tolkien" );
+			final Author pratchett = new Author( 2, "Pratchett" );
+			session.persist( tolkien );
+			session.persist( pratchett );
+			session.persist( new Book( 1, "The Hobbit", tolkien ) );
+			session.persist( new Book( 2, "The Silmarillion", tolkien ) );
+			session.persist( new Book( 3, "Mort", pratchett ) );
+		} );
+	}
+
+	@AfterEach
+	public void dropTestData(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			session.createMutationQuery( "delete Book" ).executeUpdate();
+			session.createMutationQuery( "delete Author" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testEntityResults(SessionFactoryScope scope) {
+		final RowReaderCompiler compiler = rowReaderCompiler( scope );
+		final int shapeCount = compiler.getCompiledShapeCount();
+		scope.inTransaction( (session) -> {
+			final List<Book> books = session.createQuery( "from Book b join fetch b.author order by b.id", Book.class )
+					.getResultList();
+			assertThat( books ).extracting( book -> book.title )
+					.containsExactly( "The Hobbit", "The Silmarillion", "Mort" );
+			assertThat( Hibernate.isInitialized( books.get( 0 ).author ) ).isTrue();
+			assertThat( books.get( 0 ).author ).isSameAs( books.get( 1 ).author );
+			assertThat( books.get( 2 ).author.name ).isEqualTo( "Pratchett" );
+		} );
+		assertThat( compiler.getCompiledShapeCount() ).isEqualTo( shapeCount + 1 );
+	}
+
+	@Test
+	public void testCollectionFetch(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Author> authors = session.createQuery(
+							"select distinct a from Author a join fetch a.books order by a.id",
+							Author.class
+					)
+					.getResultList();
+			assertThat( authors ).hasSize( 2 );
+			assertThat( Hibernate.isInitialized( authors.get( 0 ).books ) ).isTrue();
+			assertThat( authors.get( 0 ).books ).hasSize( 2 );
+			assertThat( authors.get( 1 ).books ).hasSize( 1 );
+		} );
+	}
+
+	@Test
+	public void testTupleResults(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<Tuple> tuples = session.createQuery(
+							"select b.id as id, b.title as title, b.author.name as author from Book b order by b.id",
+							Tuple.class
+					)
+					.getResultList();
+			assertThat( tuples ).hasSize( 3 );
+			assertThat( tuples.get( 0 ).get( "id" ) ).isEqualTo( 1 );
+			assertThat( tuples.get( 0 ).get( "title" ) ).isEqualTo( "The Hobbit" );
+			assertThat( tuples.get( 2 ).get( "author" ) ).isEqualTo( "Pratchett" );
+		} );
+	}
+
+	@Test
+	public void testDynamicInstantiationResults(SessionFactoryScope scope) {
+		scope.inTransaction( (session) -> {
+			final List<BookSummary> summaries = session.createQuery(
+							"select new " + BookSummary.class.getName() + "( b.title, b.author.name ) from Book b order by b.id",
+							BookSummary.class
+					)
+					.getResultList();
+			assertThat( summaries ).extracting( summary -> summary.title + " by " + summary.author )
+					.containsExactly( "The Hobbit by Tolkien", "The Silmarillion by Tolkien", "Mort by Pratchett" );
+		} );
+	}
+
+	@Test
+	public void testRepeatedExecutions(SessionFactoryScope scope) {
+		// the class generated for the first execution is reused by the following ones
+		final RowReaderCompiler compiler = rowReaderCompiler( scope );
+		final int shapeCount = compiler.getCompiledShapeCount();
+		for ( int i = 0; i < 3; i++ ) {
+			scope.inTransaction( (session) -> {
+				final List<Object[]> rows = session.createQuery(
+								"select b.title, a from Book b join b.author a where a.id = :id order by b.id",
+								Object[].class
+						)
+						.setParameter( "id", 1 )
+						.getResultList();
+				assertThat( rows ).hasSize( 2 );
+				assertThat( rows.get( 1 )[0] ).isEqualTo( "The Silmarillion" );
+				assertThat( ( (Author) rows.get( 1 )[1] ).name ).isEqualTo( "Tolkien" );
+			} );
+			assertThat( compiler.getCompiledShapeCount() ).isEqualTo( shapeCount + 1 );
+		}
+	}
+
+	@Test
+	public void testLargestCompiledShape(SessionFactoryScope scope) {
+		final RowReaderCompiler compiler = rowReaderCompiler( scope );
+		final int shapeCount = compiler.getCompiledShapeCount();
+		assertTitles( scope, RowReaderCompiler.MAX_CALL_SITES );
+		assertThat( compiler.getCompiledShapeCount() ).isEqualTo( shapeCount + 1 );
+	}
+
+	@Test
+	public void testFallbackForOversizedShape(SessionFactoryScope scope) {
+		// too many assemblers, so the StandardRowReader is used instead
+		final RowReaderCompiler compiler = rowReaderCompiler( scope );
+		final int shapeCount = compiler.getCompiledShapeCount();
+		assertTitles( scope, RowReaderCompiler.MAX_CALL_SITES + 1 );
+		assertThat( compiler.getCompiledShapeCount() ).isEqualTo( shapeCount );
+	}
+
+	private static void assertTitles(SessionFactoryScope scope, int selectionCount) {
+		scope.inTransaction( (session) -> {
+			final List<Object[]> rows = session.createQuery(
+							"select " + String.join( ", ", Collections.nCopies( selectionCount, "b.title" ) )
+									+ " from Book b order by b.id",
+							Object[].class
+					)
+					.getResultList();
+			assertThat( rows ).hasSize( 3 );
+			assertThat( rows.get( 2 ) ).hasSize( selectionCount ).containsOnly( "Mort" );
+		} );
+	}
+
+	private static RowReaderCompiler rowReaderCompiler(SessionFactoryScope scope) {
+		final BytecodeProvider bytecodeProvider = scope.getSessionFactory()
+				.getServiceRegistry()
+				.getService( BytecodeProvider.class );
+		assertThat( bytecodeProvider ).isInstanceOf( BytecodeProviderImpl.class );
+		return ( (BytecodeProviderImpl) bytecodeProvider ).getRowReaderCompiler();
+	}
+
+	@Entity( name = "Author" )
+	public static class Author {
+		@Id
+		Integer id;
+
+		String name;
+
+		@OneToMany( mappedBy = "author" )
+		List<Book> books = new ArrayList<>();
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	public static class Book {
+		@Id
+		Integer id;
+
+		String title;
+
+		@ManyToOne( fetch = FetchType.LAZY )
+		Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	public static class BookSummary {
+		final String title;
+		final String author;
+
+		public BookSummary(String title, String author) {
+			this.title = title;
+			this.author = author;
+		}
+	}
+}
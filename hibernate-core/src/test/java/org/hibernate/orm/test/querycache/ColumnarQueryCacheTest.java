@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.sql.results.caching.internal.ColumnarQueryResults;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#USE_COLUMNAR_QUERY_CACHE}
+ */
+@DomainModel( annotatedClasses = ColumnarQueryCacheTest.Product.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.USE_COLUMNAR_QUERY_CACHE, value = "true" ),
+})
+public class ColumnarQueryCacheTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 10; i++ ) {
+				session.persist( new Product(
+						i,
+						"category " + ( i % 3 ),
+						i % 4 == 0 ? null : i * 1000L,
+						i * 1.5,
+						i % 2 == 0,
+						LocalDate.of( 2020, 1, i )
+				) );
+			}
+		} );
+		scope.getSessionFactory().getCache().evictQueryRegions();
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Product" ).executeUpdate() );
+	}
+
+	@Test
+	public void testScalarResults(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		final List<List<Object[]>> results = new ArrayList<>();
+		for ( int i = 0; i < 2; i++ ) {
+			scope.inTransaction( session -> results.add(
+					session.createQuery(
+									"select p.id, p.category, p.stock, p.price, p.available, p.released from Product p order by p.id",
+									Object[].class
+							)
+							.setCacheable( true )
+							.getResultList()
+			) );
+		}
+		assertEquals( 1, statistics.getQueryCachePutCount() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		assertEquals( 10, results.get( 1 ).size() );
+		for ( int i = 0; i < 10; i++ ) {
+			assertArrayEquals( results.get( 0 ).get( i ), results.get( 1 ).get( i ) );
+		}
+		final Object[] fourth = results.get( 1 ).get( 3 );
+		assertEquals( 4, fourth[0] );
+		assertEquals( "category 1", fourth[1] );
+		assertNull( fourth[2] );
+		assertEquals( 6.0, fourth[3] );
+		assertEquals( true, fourth[4] );
+		assertEquals( LocalDate.of( 2020, 1, 4 ), fourth[5] );
+	}
+
+	@Test
+	public void testEntityResults(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		for ( int i = 0; i < 2; i++ ) {
+			scope.inTransaction( session -> {
+				final List<Product> products = session.createQuery(
+								"from Product p where p.category = :category order by p.id",
+								Product.class
+						)
+						.setParameter( "category", "category 2" )
+						.setCacheable( true )
+						.getResultList();
+				assertEquals( 3, products.size() );
+				assertEquals( 2, products.get( 0 ).id );
+				assertEquals( 5000L, products.get( 1 ).stock );
+				assertEquals( LocalDate.of( 2020, 1, 8 ), products.get( 2 ).released );
+			} );
+		}
+		assertEquals( 1, statistics.getQueryCachePutCount() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testSerializedSize() {
+		final List<Object> rows = new ArrayList<>();
+		for ( int i = 0; i < 1000; i++ ) {
+			rows.add( new Object[] {
+					i,
+					"category " + ( i % 5 ),
+					i % 7 == 0 ? null : (long) i,
+					i * 0.5,
+					i % 2 == 0
+			} );
+		}
+		final ColumnarQueryResults columnarResults = ColumnarQueryResults.from( rows );
+
+		assertEquals( rows.size(), columnarResults.size() );
+		for ( int i = 0; i < rows.size(); i++ ) {
+			assertArrayEquals( (Object[]) rows.get( i ), (Object[]) columnarResults.get( i ) );
+		}
+
+		final int rowsSize = SerializationHelper.serialize( new ArrayList<>( rows ) ).length;
+		final int columnarSize = SerializationHelper.serialize( columnarResults ).length;
+		assertTrue( columnarSize * 2 < rowsSize, "Columnar size " + columnarSize + ", rows size " + rowsSize );
+
+		final ColumnarQueryResults deserialized = (ColumnarQueryResults) SerializationHelper.deserialize(
+				SerializationHelper.serialize( columnarResults )
+		);
+		assertArrayEquals( (Object[]) rows.get( 7 ), deserialized.getRow( 7 ) );
+	}
+
+	@Entity( name = "Product" )
+	public static class Product {
+		@Id
+		Integer id;
+
+		String category;
+
+		Long stock;
+
+		Double price;
+
+		Boolean available;
+
+		LocalDate released;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String category, Long stock, Double price, Boolean available, LocalDate released) {
+			this.id = id;
+			this.category = category;
+			this.stock = stock;
+			this.price = price;
+			this.available = available;
+			this.released = released;
+		}
+	}
+}
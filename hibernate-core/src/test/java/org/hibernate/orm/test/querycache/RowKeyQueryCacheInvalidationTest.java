@@ -0,0 +1,166 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.util.List;
+import java.util.Random;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#QUERY_CACHE_INVALIDATION_BUCKETS}
+ */
+@DomainModel( annotatedClasses = RowKeyQueryCacheInvalidationTest.Item.class )
+@SessionFactory
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.QUERY_CACHE_INVALIDATION_BUCKETS, value = "64" ),
+})
+public class RowKeyQueryCacheInvalidationTest {
+	private static final int ITEMS = 10;
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= ITEMS; i++ ) {
+				session.persist( new Item( i, "item " + i ) );
+			}
+		} );
+		scope.getSessionFactory().getCache().evictQueryRegions();
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Item" ).executeUpdate() );
+	}
+
+	@Test
+	public void testUpdateInvalidatesOnlyItsRow(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		for ( int i = 1; i <= ITEMS; i++ ) {
+			findByIdCached( scope, i );
+		}
+		assertEquals( ITEMS, statistics.getQueryCachePutCount() );
+
+		scope.inTransaction( session -> session.find( Item.class, 3 ).name = "updated" );
+
+		for ( int i = 1; i <= ITEMS; i++ ) {
+			assertEquals( i == 3 ? "updated" : "item " + i, findByIdCached( scope, i ).get( 0 ).name );
+		}
+		assertEquals( ITEMS - 1, statistics.getQueryCacheHitCount() );
+		assertEquals( ITEMS + 1, statistics.getQueryCachePutCount() );
+	}
+
+	@Test
+	public void testInsertAndDeleteInvalidateTheirRow(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertTrue( findByIdCached( scope, ITEMS + 1 ).isEmpty() );
+		findByIdCached( scope, 1 );
+
+		scope.inTransaction( session -> {
+			session.persist( new Item( ITEMS + 1, "new item" ) );
+			session.remove( session.find( Item.class, 1 ) );
+		} );
+
+		assertEquals( "new item", findByIdCached( scope, ITEMS + 1 ).get( 0 ).name );
+		assertTrue( findByIdCached( scope, 1 ).isEmpty() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testOtherQueriesInvalidatedByAnyRow(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertEquals( ITEMS, findAllCached( scope ).size() );
+		assertEquals( ITEMS, findAllCached( scope ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		scope.inTransaction( session -> session.find( Item.class, 3 ).name = "updated" );
+
+		assertEquals( "updated", findAllCached( scope ).get( 2 ).name );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testBulkUpdateInvalidatesAllRows(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		findByIdCached( scope, 1 );
+		findByIdCached( scope, 2 );
+
+		scope.inTransaction( session -> session.createMutationQuery( "update Item set name = 'bulk'" ).executeUpdate() );
+
+		assertEquals( "bulk", findByIdCached( scope, 1 ).get( 0 ).name );
+		assertEquals( "bulk", findByIdCached( scope, 2 ).get( 0 ).name );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testMixedWorkloadHitRate(SessionFactoryScope scope) {
+		// with whole table invalidation, every update would invalidate every cached result,
+		// and almost no lookup following an update would be a hit
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		final Random random = new Random( 42 );
+		for ( int i = 0; i < 100; i++ ) {
+			final int updatedId = 1 + random.nextInt( ITEMS );
+			scope.inTransaction( session -> session.find( Item.class, updatedId ).name = "updated " + updatedId );
+			for ( int j = 0; j < 4; j++ ) {
+				final int id = 1 + random.nextInt( ITEMS );
+				assertEquals( 1, findByIdCached( scope, id ).size() );
+			}
+		}
+		final long lookups = statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount();
+		assertEquals( 400, lookups );
+		final double hitRate = (double) statistics.getQueryCacheHitCount() / lookups;
+		assertTrue( hitRate > 0.5, "Hit rate " + hitRate );
+	}
+
+	private static List<Item> findByIdCached(SessionFactoryScope scope, int id) {
+		return scope.fromTransaction( session -> session.createQuery( "from Item where id = :id", Item.class )
+				.setParameter( "id", id )
+				.setCacheable( true )
+				.getResultList() );
+	}
+
+	private static List<Item> findAllCached(SessionFactoryScope scope) {
+		return scope.fromTransaction( session -> session.createQuery( "from Item order by id", Item.class )
+				.setCacheable( true )
+				.getResultList() );
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		Integer id;
+
+		String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
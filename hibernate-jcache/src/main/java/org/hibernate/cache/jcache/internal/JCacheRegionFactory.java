@@ -71,7 +71,7 @@ public class JCacheRegionFactory extends RegionFactoryTemplate {
 		return new JCacheDomainDataRegionImpl(
 				regionConfig,
 				this,
-				createDomainDataStorageAccess( regionConfig, buildingContext ),
+				applyNearCache( createDomainDataStorageAccess( regionConfig, buildingContext ), regionConfig, buildingContext ),
 				cacheKeysFactory,
 				buildingContext
 		);
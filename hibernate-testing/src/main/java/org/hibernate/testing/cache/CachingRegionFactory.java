@@ -59,7 +59,7 @@ public class CachingRegionFactory extends RegionFactoryTemplate {
 		return new DomainDataRegionImpl(
 				regionConfig,
 				this,
-				new MapStorageAccessImpl(),
+				applyNearCache( new MapStorageAccessImpl(), regionConfig, buildingContext ),
 				cacheKeysFactory,
 				buildingContext
 		);
@@ -327,6 +327,18 @@ abstract public class DialectFeatureChecks {
 		}
 	}
 
+	public static class SupportsMultiRowValuesListForInsert implements DialectFeatureCheck {
+		public boolean apply(Dialect dialect) {
+			return dialect.supportsMultiRowValuesListForInsert();
+		}
+	}
+
+	public static class SupportsArrayAnyComparison implements DialectFeatureCheck {
+		public boolean apply(Dialect dialect) {
+			return dialect.supportsArrayAnyComparison();
+		}
+	}
+
 	public static class SupportsFormat implements DialectFeatureCheck {
 		public boolean apply(Dialect dialect) {
 			try {